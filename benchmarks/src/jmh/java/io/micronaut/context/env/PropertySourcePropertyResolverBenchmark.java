@@ -25,18 +25,25 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @State(Scope.Benchmark)
 public class PropertySourcePropertyResolverBenchmark {
 
     Map<String, String> props = new HashMap<>();
+    Map<String, Object> largeProps = new LinkedHashMap<>();
+    PropertySourcePropertyResolver largeResolver;
 
     @Setup
     public void prepare() {
         for (int i = 0; i < 600; i++) {
              props.put(i + "}_A_B_C_D_E_F_G_SERVICE_PORT", "foo");
         }
+        for (int i = 0; i < 10_000; i++) {
+            largeProps.put("micronaut.group" + (i % 100) + ".service" + i + ".name", "service" + i);
+        }
+        largeResolver = new PropertySourcePropertyResolver(PropertySource.of("large", largeProps));
     }
 
     @Benchmark
@@ -44,6 +51,26 @@ public class PropertySourcePropertyResolverBenchmark {
         new PropertySourcePropertyResolver(new EnvironmentPropertySource(props));
     }
 
+    @Benchmark
+    public Object benchmarkLargePropertyResolverConstruction() {
+        return new PropertySourcePropertyResolver(PropertySource.of("large", largeProps));
+    }
+
+    @Benchmark
+    public Object benchmarkLargePrefixLookup() {
+        return largeResolver.getProperties("micronaut.group42");
+    }
+
+    @Benchmark
+    public Object benchmarkLargePropertyEntries() {
+        return largeResolver.getPropertyEntries("micronaut.group42");
+    }
+
+    @Benchmark
+    public boolean benchmarkLargeContainsProperties() {
+        return largeResolver.containsProperties("micronaut.group99");
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + PropertySourcePropertyResolverBenchmark.class.getSimpleName() + ".*")
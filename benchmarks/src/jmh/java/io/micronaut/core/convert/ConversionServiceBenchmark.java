@@ -19,17 +19,21 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
+import java.util.UUID;
 
 @State(Scope.Benchmark)
 public class ConversionServiceBenchmark {
 
     ConversionService conversionService;
+    URI uri = URI.create("http://test.com");
 
     @Setup
     public void prepare() {
@@ -46,6 +50,17 @@ public class ConversionServiceBenchmark {
         conversionService.convert(URI.create("http://test.com"), Integer.class);
     }
 
+    @Benchmark
+    public void convertMixedTypes(Blackhole blackhole) {
+        blackhole.consume(conversionService.convert("10", Integer.class));
+        blackhole.consume(conversionService.convert("10", Long.class));
+        blackhole.consume(conversionService.convert("true", Boolean.class));
+        blackhole.consume(conversionService.convert("7f1ef0d6-3d4c-4b3e-9f5a-2f0a6c1f3e21", UUID.class));
+        blackhole.consume(conversionService.convert("2022-10-01", LocalDate.class));
+        blackhole.consume(conversionService.convert(10, String.class));
+        blackhole.consume(conversionService.convert(uri, Integer.class));
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + ConversionServiceBenchmark.class.getSimpleName() + ".*")
@@ -18,15 +18,36 @@ package io.micronaut.http.server;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.http.server.binding.TestController;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 
+import java.util.Collections;
+
 @State(Scope.Benchmark)
 public class StartupBenchmark {
 
+    @Param({"false", "true"})
+    boolean parallelStartup;
+
     @Benchmark
     public void startup() {
-        try (ApplicationContext context = ApplicationContext.run()) {
+        try (ApplicationContext context = ApplicationContext.builder().parallelStartup(parallelStartup).start()) {
+            final TestController controller =
+                    context.getBean(TestController.class);
+        }
+    }
+
+    /**
+     * Starts a context with the 2000 beans generated by the {@code generateStartupBeans} task, a quarter of them
+     * eagerly initialized.
+     */
+    @Benchmark
+    public void startupWith2kBeans() {
+        try (ApplicationContext context = ApplicationContext.builder()
+                .properties(Collections.singletonMap("startup.beans.enabled", true))
+                .parallelStartup(parallelStartup)
+                .start()) {
             final TestController controller =
                     context.getBean(TestController.class);
         }
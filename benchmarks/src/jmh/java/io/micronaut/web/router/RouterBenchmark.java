@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.server.binding.TestController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the cost of looking up a route as the number of routes grows. {@link #indexedLookup} goes through
+ * the segment index of {@link DefaultRouter}, {@link #linearLookup} matches every route as the router used to.
+ */
+@State(Scope.Benchmark)
+public class RouterBenchmark {
+
+    @Param({"10", "100", "1000", "2000"})
+    int routeCount;
+
+    ApplicationContext applicationContext;
+    Router router;
+    List<UriRoute> routes;
+    String lastUri;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        applicationContext = ApplicationContext.run();
+        DefaultRouteBuilder builder = new DefaultRouteBuilder(applicationContext) {
+        };
+        for (int i = 0; i < routeCount; i++) {
+            builder.GET("/resource" + i + "/{name}/items/{age}", TestController.class, "show", String.class, int.class);
+        }
+        router = new DefaultRouter(builder);
+        routes = router.uriRoutes().sorted().collect(Collectors.toList());
+        lastUri = "/resource" + (routeCount - 1) + "/foo/items/10";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public void indexedLookup(Blackhole blackhole) {
+        blackhole.consume(router.route(HttpMethod.GET, lastUri));
+    }
+
+    @Benchmark
+    public void linearLookup(Blackhole blackhole) {
+        for (UriRoute route : routes) {
+            Optional<UriRouteMatch> match = route.match(lastUri);
+            if (match.isPresent()) {
+                blackhole.consume(match);
+                return;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + RouterBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -38,5 +38,13 @@ public interface TaskExecutors {
      */
     String MESSAGE_CONSUMER = "consumer";
 
+    /**
+     * The name of the {@link java.util.concurrent.ExecutorService} that runs each task on a new virtual thread.
+     * Only available if the JVM supports virtual threads.
+     *
+     * @since 3.8.0
+     */
+    String VIRTUAL = "virtual";
+
 
 }
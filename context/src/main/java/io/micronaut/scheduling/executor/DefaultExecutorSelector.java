@@ -47,6 +47,7 @@ public class DefaultExecutorSelector implements ExecutorSelector {
     private static final String EXECUTE_ON = ExecuteOn.class.getName();
     private final BeanLocator beanLocator;
     private final Supplier<ExecutorService> ioExecutor;
+    private final Supplier<ExecutorService> virtualExecutor;
 
     /**
      * Default constructor.
@@ -57,6 +58,10 @@ public class DefaultExecutorSelector implements ExecutorSelector {
     protected DefaultExecutorSelector(BeanLocator beanLocator, @jakarta.inject.Named(TaskExecutors.IO) BeanProvider<ExecutorService> ioExecutor) {
         this.beanLocator = beanLocator;
         this.ioExecutor = SupplierUtil.memoized(ioExecutor::get);
+        this.virtualExecutor = SupplierUtil.memoized(() ->
+                beanLocator.findBean(ExecutorService.class, Qualifiers.byName(TaskExecutors.VIRTUAL))
+                        .orElseGet(this.ioExecutor)
+        );
     }
 
     @Override
@@ -74,30 +79,36 @@ public class DefaultExecutorSelector implements ExecutorSelector {
                 );
             }
         } else if (threadSelection == ThreadSelection.AUTO) {
-            if (method.hasStereotype(NonBlocking.class)) {
-                return Optional.empty();
-            } else if (method.hasStereotype(Blocking.class)) {
-                return Optional.of(ioExecutor.get());
-            } else {
-                TypeInformation<?> returnType = method.getReturnType();
-                if (returnType.isWrapperType()) {
-                    Optional<Argument<?>> generic = method.getReturnType().getFirstTypeVariable();
-                    if (generic.isPresent()) {
-                        returnType = generic.get();
-                    }
-                }
-                if (returnType.isAsyncOrReactive()) {
-                    return Optional.empty();
-                } else {
-                    return Optional.of(ioExecutor.get());
-                }
-            }
+            return selectBlocking(method, ioExecutor);
+        } else if (threadSelection == ThreadSelection.VIRTUAL) {
+            return selectBlocking(method, virtualExecutor);
         } else if (threadSelection == ThreadSelection.IO) {
             return Optional.of(ioExecutor.get());
         }
         return Optional.empty();
     }
 
+    private Optional<ExecutorService> selectBlocking(MethodReference method, Supplier<ExecutorService> blockingExecutor) {
+        if (method.hasStereotype(NonBlocking.class)) {
+            return Optional.empty();
+        } else if (method.hasStereotype(Blocking.class)) {
+            return Optional.of(blockingExecutor.get());
+        } else {
+            TypeInformation<?> returnType = method.getReturnType();
+            if (returnType.isWrapperType()) {
+                Optional<Argument<?>> generic = method.getReturnType().getFirstTypeVariable();
+                if (generic.isPresent()) {
+                    returnType = generic.get();
+                }
+            }
+            if (returnType.isAsyncOrReactive()) {
+                return Optional.empty();
+            } else {
+                return Optional.of(blockingExecutor.get());
+            }
+        }
+    }
+
     @Override
     public Optional<ExecutorService> select(String name) {
         return beanLocator.findBean(ExecutorService.class, Qualifiers.byName(name));
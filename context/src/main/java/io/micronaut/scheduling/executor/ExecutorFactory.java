@@ -79,12 +79,24 @@ public class ExecutorFactory {
                 return Executors.newScheduledThreadPool(executorConfiguration.getCorePoolSize(), getThreadFactory(executorConfiguration));
             case WORK_STEALING:
                 return Executors.newWorkStealingPool(executorConfiguration.getParallelism());
+            case THREAD_PER_TASK:
+                return LoomSupport.newThreadPerTaskExecutor(getVirtualThreadFactory(executorConfiguration));
 
             default:
                 throw new IllegalStateException("Could not create Executor service for enum value: " + executorType);
         }
     }
 
+    private ThreadFactory getVirtualThreadFactory(ExecutorConfiguration executorConfiguration) {
+        return executorConfiguration
+                .getThreadFactoryClass()
+                .flatMap(InstantiationUtils::tryInstantiate)
+                .map(ThreadFactory.class::cast)
+                .orElseGet(() -> LoomSupport.newVirtualThreadFactory(
+                        (executorConfiguration.getName() == null ? "virtual" : executorConfiguration.getName()) + "-executor-thread-"
+                ));
+    }
+
     private ThreadFactory getThreadFactory(ExecutorConfiguration executorConfiguration) {
         return executorConfiguration
                 .getThreadFactoryClass()
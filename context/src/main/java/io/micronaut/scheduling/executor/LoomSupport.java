@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor;
+
+import io.micronaut.context.condition.Condition;
+import io.micronaut.context.condition.ConditionContext;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual thread API of the running JVM. The API is looked up reflectively since Micronaut is compiled
+ * against Java 8, and is only considered supported if a virtual thread can actually be created, which excludes JVMs
+ * where virtual threads are a preview feature that has not been enabled.
+ *
+ * @since 3.8.0
+ */
+@Internal
+public final class LoomSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoomSupport.class);
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle FACTORY;
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+    private static final Throwable FAILURE;
+
+    static {
+        MethodHandle ofVirtual;
+        MethodHandle name;
+        MethodHandle factory;
+        MethodHandle newThreadPerTaskExecutor;
+        Throwable failure;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+            name = lookup.findVirtual(virtualBuilderClass, "name", MethodType.methodType(virtualBuilderClass, String.class, long.class));
+            factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            newThreadPerTaskExecutor = lookup.findStatic(java.util.concurrent.Executors.class, "newThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            // fails if virtual threads are a preview feature that is not enabled
+            ((ThreadFactory) factory.invoke(ofVirtual.invoke())).newThread(() -> { });
+            failure = null;
+        } catch (Throwable e) {
+            ofVirtual = null;
+            name = null;
+            factory = null;
+            newThreadPerTaskExecutor = null;
+            failure = e;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        FAILURE = failure;
+    }
+
+    private LoomSupport() {
+    }
+
+    /**
+     * @return Whether virtual threads are supported by the running JVM
+     */
+    public static boolean isSupported() {
+        return FAILURE == null;
+    }
+
+    /**
+     * Fails if virtual threads are not supported by the running JVM.
+     */
+    public static void checkSupported() {
+        if (FAILURE != null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM: " + FAILURE, FAILURE);
+        }
+    }
+
+    /**
+     * Creates a factory of virtual threads.
+     *
+     * @param namePrefix The prefix of the thread names, followed by an incrementing counter
+     * @return The thread factory
+     */
+    @NonNull
+    public static ThreadFactory newVirtualThreadFactory(@NonNull String namePrefix) {
+        checkSupported();
+        try {
+            return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(), namePrefix, 0L));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create virtual thread factory: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates an executor that starts a new thread for each task.
+     *
+     * @param threadFactory The factory of the threads
+     * @return The executor
+     */
+    @NonNull
+    public static ExecutorService newThreadPerTaskExecutor(@NonNull ThreadFactory threadFactory) {
+        checkSupported();
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create thread per task executor: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Condition that matches if virtual threads are supported.
+     */
+    @Internal
+    public static final class LoomCondition implements Condition {
+        @Override
+        public boolean matches(ConditionContext context) {
+            if (isSupported()) {
+                return true;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Virtual threads are not supported: {}", FAILURE.toString());
+            }
+            context.fail("Virtual threads are not supported by this JVM");
+            return false;
+        }
+    }
+}
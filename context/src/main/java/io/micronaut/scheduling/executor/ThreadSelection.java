@@ -39,5 +39,14 @@ public enum ThreadSelection {
     /**
      * I/O selection will run all operations regardless of return type and annotations on the I/O thread pool and will never schedule an operation on the server event loop thread.
      */
-    IO
+    IO,
+    /**
+     * Selects threads like {@link #AUTO} but runs blocking operations on the {@link io.micronaut.scheduling.TaskExecutors#VIRTUAL} executor,
+     * starting a virtual thread per operation instead of occupying a thread of the I/O thread pool.
+     *
+     * <p>If the JVM does not support virtual threads the I/O thread pool is used.</p>
+     *
+     * @since 3.8.0
+     */
+    VIRTUAL
 }
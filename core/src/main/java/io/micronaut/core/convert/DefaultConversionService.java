@@ -94,6 +94,7 @@ public class DefaultConversionService implements ConversionService<DefaultConver
     private final Map<ConvertiblePair, TypeConverter> converterCache = new ConcurrentLinkedHashMap.Builder<ConvertiblePair, TypeConverter>()
             .maximumWeightedCapacity(CACHE_MAX)
             .build();
+    private final TypeConverterTable converterTable = new TypeConverterTable();
 
     /**
      * Constructor.
@@ -140,22 +141,8 @@ public class DefaultConversionService implements ConversionService<DefaultConver
                 return typeConverter.convert(object, targetType, context);
             }
         } else {
-            ConvertiblePair pair = new ConvertiblePair(sourceType, targetType, null);
-            TypeConverter typeConverter = converterCache.get(pair);
-            if (typeConverter == null) {
-                typeConverter = findTypeConverter(sourceType, targetType, null);
-                if (typeConverter == null) {
-                    converterCache.put(pair, UNCONVERTIBLE);
-                    return Optional.empty();
-                } else {
-                    converterCache.put(pair, typeConverter);
-                    if (typeConverter == UNCONVERTIBLE) {
-                        return Optional.empty();
-                    } else {
-                        return typeConverter.convert(object, targetType, context);
-                    }
-                }
-            } else if (typeConverter != UNCONVERTIBLE) {
+            TypeConverter typeConverter = resolveTypeConverter(sourceType, targetType);
+            if (typeConverter != UNCONVERTIBLE) {
                 return typeConverter.convert(object, targetType, context);
             }
         }
@@ -165,17 +152,7 @@ public class DefaultConversionService implements ConversionService<DefaultConver
 
     @Override
     public <S, T> boolean canConvert(Class<S> sourceType, Class<T> targetType) {
-        ConvertiblePair pair = new ConvertiblePair(sourceType, targetType, null);
-        TypeConverter typeConverter = converterCache.get(pair);
-        if (typeConverter == null) {
-            typeConverter = findTypeConverter(sourceType, targetType, null);
-            if (typeConverter != null) {
-                converterCache.put(pair, typeConverter);
-                return typeConverter != UNCONVERTIBLE;
-            }
-            return false;
-        }
-        return typeConverter != UNCONVERTIBLE;
+        return resolveTypeConverter(sourceType, targetType) != UNCONVERTIBLE;
     }
 
     @Override
@@ -183,6 +160,7 @@ public class DefaultConversionService implements ConversionService<DefaultConver
         ConvertiblePair pair = newPair(sourceType, targetType, typeConverter);
         typeConverters.put(pair, typeConverter);
         converterCache.put(pair, typeConverter);
+        converterTable.clear();
         return this;
     }
 
@@ -192,6 +170,7 @@ public class DefaultConversionService implements ConversionService<DefaultConver
         TypeConverter<S, T> typeConverter = TypeConverter.of(sourceType, targetType, function);
         typeConverters.put(pair, typeConverter);
         converterCache.put(pair, typeConverter);
+        converterTable.clear();
         return this;
     }
 
@@ -205,6 +184,7 @@ public class DefaultConversionService implements ConversionService<DefaultConver
     public void reset() {
         typeConverters.clear();
         converterCache.clear();
+        converterTable.clear();
         registerDefaultConverters();
     }
 
@@ -1004,6 +984,32 @@ public class DefaultConversionService implements ConversionService<DefaultConver
         return typeConverter;
     }
 
+    /**
+     * Resolves the converter for the given types without a formatting annotation. Resolved converters,
+     * including the absence of one, are kept in the converter table first and the LRU cache second.
+     *
+     * @param sourceType The source type
+     * @param targetType The target type
+     * @return The converter or {@link #UNCONVERTIBLE}
+     */
+    private TypeConverter resolveTypeConverter(Class<?> sourceType, Class<?> targetType) {
+        TypeConverter typeConverter = converterTable.get(sourceType, targetType);
+        if (typeConverter != null) {
+            return typeConverter;
+        }
+        ConvertiblePair pair = new ConvertiblePair(sourceType, targetType, null);
+        typeConverter = converterCache.get(pair);
+        if (typeConverter == null) {
+            typeConverter = findTypeConverter(sourceType, targetType, null);
+            if (typeConverter == null) {
+                typeConverter = UNCONVERTIBLE;
+            }
+            converterCache.put(pair, typeConverter);
+        }
+        converterTable.put(sourceType, targetType, typeConverter);
+        return typeConverter;
+    }
+
     private SimpleDateFormat resolveFormat(ConversionContext context) {
         AnnotationMetadata annotationMetadata = context.getAnnotationMetadata();
         Optional<String> format = annotationMetadata.stringValue(Format.class);
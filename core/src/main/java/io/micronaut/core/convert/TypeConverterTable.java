@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.core.convert;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free table of the resolved type converters, indexed by source type and then by target type.
+ *
+ * <p>Every source type is assigned a slot once per class and table. A slot holds a small immutable array
+ * of target types and their converters that is replaced on write, so reads never lock nor allocate.
+ * Unlike an LRU cache, entries are never evicted, which means negative entries (pairs that cannot be
+ * converted) are not pushed out by frequently used converters. A source type has at most
+ * {@link #MAX_TARGET_TYPES} entries, further lookups are not cached here.</p>
+ *
+ * <p>The slot ids are owned by the table, so they are released with its conversion service. Once
+ * {@link #MAX_SOURCE_TYPES} source types have been seen, for example because classes are loaded dynamically,
+ * the table starts over with new ids, which also drops the entries of classes that were unloaded. This is
+ * logged the first time it happens.</p>
+ *
+ * <p>Registering a converter invalidates the whole table, since it may change the converter resolved
+ * for any subtype of its source and target.</p>
+ *
+ * @since 3.8.0
+ */
+@Internal
+final class TypeConverterTable {
+
+    static final int MAX_SOURCE_TYPES = 1024;
+    static final int MAX_TARGET_TYPES = 32;
+
+    private static final Logger LOG = LoggerFactory.getLogger(TypeConverterTable.class);
+
+    private volatile Slots slots = new Slots();
+    private volatile int generation;
+    private boolean renewalLogged;
+
+    /**
+     * Find the converter resolved for the given types.
+     *
+     * @param sourceType The source type
+     * @param targetType The target type
+     * @return The converter or {@code null} if it is not in the table
+     */
+    @Nullable
+    TypeConverter get(Class<?> sourceType, Class<?> targetType) {
+        Slots slots = this.slots;
+        int id = slots.ids.get(sourceType);
+        if (id >= MAX_SOURCE_TYPES) {
+            return null;
+        }
+        Targets targets = slots.targets.get(id);
+        if (targets == null || targets.generation != generation) {
+            return null;
+        }
+        return targets.get(targetType);
+    }
+
+    /**
+     * Store the converter resolved for the given types.
+     *
+     * @param sourceType    The source type
+     * @param targetType    The target type
+     * @param typeConverter The converter
+     */
+    void put(Class<?> sourceType, Class<?> targetType, TypeConverter typeConverter) {
+        Slots slots = this.slots;
+        int id = slots.ids.get(sourceType);
+        if (id >= MAX_SOURCE_TYPES) {
+            renew(slots);
+            return;
+        }
+        int currentGeneration = generation;
+        while (true) {
+            Targets targets = slots.targets.get(id);
+            Targets updated;
+            if (targets == null || targets.generation != currentGeneration) {
+                updated = new Targets(currentGeneration, new Class[] {targetType}, new TypeConverter[] {typeConverter});
+            } else if (targets.targetTypes.length >= MAX_TARGET_TYPES || targets.get(targetType) != null) {
+                return;
+            } else {
+                updated = targets.with(targetType, typeConverter);
+            }
+            if (slots.targets.compareAndSet(id, targets, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Invalidate all entries.
+     */
+    void clear() {
+        synchronized (this) {
+            generation++;
+        }
+    }
+
+    /**
+     * Start over with new slot ids once they are exhausted.
+     *
+     * @param exhausted The slots whose ids are exhausted
+     */
+    private synchronized void renew(Slots exhausted) {
+        if (slots != exhausted) {
+            return;
+        }
+        slots = new Slots();
+        if (!renewalLogged) {
+            renewalLogged = true;
+            if (LOG.isInfoEnabled()) {
+                LOG.info("More than {} source types were converted, the converter cache starts over. This is expected when classes are loaded dynamically, otherwise it reduces the conversion performance.", MAX_SOURCE_TYPES);
+            }
+        }
+    }
+
+    /**
+     * The slot ids of the source types and the converters of each slot.
+     */
+    private static final class Slots {
+        final AtomicInteger nextId = new AtomicInteger();
+        // the values are plain integers so that no class loader is retained
+        final ClassValue<Integer> ids = new ClassValue<Integer>() {
+            @Override
+            protected Integer computeValue(Class<?> type) {
+                return nextId.getAndIncrement();
+            }
+        };
+        final AtomicReferenceArray<Targets> targets = new AtomicReferenceArray<>(MAX_SOURCE_TYPES);
+    }
+
+    /**
+     * The converters of a source type.
+     */
+    private static final class Targets {
+        final int generation;
+        final Class<?>[] targetTypes;
+        final TypeConverter[] converters;
+
+        Targets(int generation, Class<?>[] targetTypes, TypeConverter[] converters) {
+            this.generation = generation;
+            this.targetTypes = targetTypes;
+            this.converters = converters;
+        }
+
+        TypeConverter get(Class<?> targetType) {
+            Class<?>[] targetTypes = this.targetTypes;
+            for (int i = 0; i < targetTypes.length; i++) {
+                if (targetTypes[i] == targetType) {
+                    return converters[i];
+                }
+            }
+            return null;
+        }
+
+        Targets with(Class<?> targetType, TypeConverter typeConverter) {
+            int length = targetTypes.length;
+            Class<?>[] newTargetTypes = new Class[length + 1];
+            TypeConverter[] newConverters = new TypeConverter[length + 1];
+            System.arraycopy(targetTypes, 0, newTargetTypes, 0, length);
+            System.arraycopy(converters, 0, newConverters, 0, length);
+            newTargetTypes[length] = targetType;
+            newConverters[length] = typeConverter;
+            return new Targets(generation, newTargetTypes, newConverters);
+        }
+    }
+}
@@ -106,4 +106,23 @@ class DefaultConversionServiceSpec extends Specification {
         "1"          | Optional   | [T: Argument.of(Long, 'T')]    | Optional.of(1L)
 
     }
+
+    void "test converters registered after a failed conversion are used"() {
+        given:
+        DefaultConversionService conversionService = new DefaultConversionService()
+        URI uri = URI.create("http://test.com")
+
+        expect:
+        !conversionService.convert(uri, Locale).isPresent()
+        !conversionService.canConvert(URI, Locale)
+
+        when:
+        conversionService.addConverter(URI, Locale, { URI u -> Locale.forLanguageTag(u.host) } as java.util.function.Function<URI, Locale>)
+
+        then:
+        conversionService.canConvert(URI, Locale)
+        conversionService.convert(uri, Locale).isPresent()
+        conversionService.convert("10", Integer).get() == 10
+        conversionService.convert("10", Integer).get() == 10
+    }
 }
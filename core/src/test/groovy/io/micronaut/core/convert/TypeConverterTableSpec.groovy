@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.core.convert
+
+import spock.lang.Specification
+
+import java.lang.reflect.Array
+
+class TypeConverterTableSpec extends Specification {
+
+    TypeConverter converter = { Object object, Class targetType, ConversionContext context -> Optional.empty() } as TypeConverter
+
+    void "test converters are cached per source and target type"() {
+        given:
+        TypeConverterTable table = new TypeConverterTable()
+
+        when:
+        table.put(String, Integer, converter)
+
+        then:
+        table.get(String, Integer).is(converter)
+        table.get(String, Long) == null
+        table.get(Integer, String) == null
+
+        when:
+        table.clear()
+
+        then:
+        table.get(String, Integer) == null
+    }
+
+    void "test source type ids are owned by each table"() {
+        given:
+        TypeConverterTable exhausted = new TypeConverterTable()
+        sourceTypes(TypeConverterTable.MAX_SOURCE_TYPES + 1).each { exhausted.put(it, String, converter) }
+        TypeConverterTable table = new TypeConverterTable()
+
+        when:
+        table.put(StringBuilder, String, converter)
+
+        then:
+        table.get(StringBuilder, String).is(converter)
+    }
+
+    void "test the table starts over once the source type ids are exhausted"() {
+        given:
+        TypeConverterTable table = new TypeConverterTable()
+        List<Class<?>> types = sourceTypes(TypeConverterTable.MAX_SOURCE_TYPES)
+        types.each { table.put(it, String, converter) }
+
+        expect:
+        types.every { table.get(it, String).is(converter) }
+
+        when: 'one more source type is converted'
+        table.put(Object, String, converter)
+
+        then: 'the previous entries are dropped'
+        table.get(types[0], String) == null
+
+        when:
+        table.put(Object, String, converter)
+
+        then: 'new entries are cached again'
+        table.get(Object, String).is(converter)
+    }
+
+    private static List<Class<?>> sourceTypes(int count) {
+        List<Class<?>> types = []
+        for (Class<?> base : [String, Integer, Long, Double, Float, Short, Byte, Character]) {
+            Class<?> type = base
+            for (int i = 0; i < 200 && types.size() < count; i++) {
+                type = Array.newInstance(type, 0).getClass()
+                types << type
+            }
+        }
+        return types
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.graal.requirements;
+
+import io.micronaut.context.RequirementsIndex;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Generates the {@link RequirementsIndex} of an application. Meant to be run at build time, with the runtime
+ * classpath of the application, by a task that adds the output directory to the application resources.
+ *
+ * <p>Usage: {@code RequirementsIndexGenerator <output directory>}</p>
+ *
+ * @since 3.8.0
+ */
+public final class RequirementsIndexGenerator {
+
+    private RequirementsIndexGenerator() {
+    }
+
+    /**
+     * Writes the index below the given directory.
+     *
+     * @param outputDirectory The resources output directory
+     * @param classLoader     The class loader of the runtime classpath
+     * @return The generated file
+     * @throws IOException If the index cannot be written
+     */
+    public static File generate(File outputDirectory, ClassLoader classLoader) throws IOException {
+        File file = new File(outputDirectory, RequirementsIndex.RESOURCE_NAME);
+        File parent = file.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create directory " + parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.ISO_8859_1)) {
+            RequirementsIndex.write(classLoader, writer);
+        }
+        return file;
+    }
+
+    /**
+     * @param args The output directory
+     * @throws IOException If the index cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: RequirementsIndexGenerator <output directory>");
+        }
+        generate(new File(args[0]), RequirementsIndexGenerator.class.getClassLoader());
+    }
+}
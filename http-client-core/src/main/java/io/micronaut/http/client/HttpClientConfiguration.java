@@ -658,8 +658,18 @@ public abstract class HttpClientConfiguration {
         @SuppressWarnings("WeakerAccess")
         public static final int DEFAULT_MAXCONNECTIONS = -1;
 
+        /**
+         * The default maximum number of HTTP/2 connections per host.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAXHTTP2CONNECTIONS = 1;
+
         private int maxConnections = DEFAULT_MAXCONNECTIONS;
 
+        private int maxHttp2Connections = DEFAULT_MAXHTTP2CONNECTIONS;
+
+        private int maxConcurrentRequestsPerHttp2Connection = Integer.MAX_VALUE;
+
         private int maxPendingAcquires = Integer.MAX_VALUE;
 
         private Duration acquireTimeout;
@@ -703,6 +713,49 @@ public abstract class HttpClientConfiguration {
             this.maxConnections = maxConnections;
         }
 
+        /**
+         * The maximum number of HTTP/2 connections per host. Requests are multiplexed over these connections and a new
+         * connection is only opened once the existing ones have reached their maximum number of concurrent requests.
+         * Defaults to ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_MAXHTTP2CONNECTIONS}).
+         *
+         * @return The maximum number of HTTP/2 connections per host
+         * @since 3.8.0
+         */
+        public int getMaxHttp2Connections() {
+            return maxHttp2Connections;
+        }
+
+        /**
+         * Sets the maximum number of HTTP/2 connections per host. Default value ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_MAXHTTP2CONNECTIONS}).
+         *
+         * @param maxHttp2Connections The maximum number of HTTP/2 connections per host
+         * @since 3.8.0
+         */
+        public void setMaxHttp2Connections(int maxHttp2Connections) {
+            this.maxHttp2Connections = maxHttp2Connections;
+        }
+
+        /**
+         * The maximum number of concurrent requests on a single HTTP/2 connection. The limit advertised by the server
+         * through {@code SETTINGS_MAX_CONCURRENT_STREAMS} is applied in addition. Defaults to no maximum.
+         *
+         * @return The maximum number of concurrent requests per HTTP/2 connection
+         * @since 3.8.0
+         */
+        public int getMaxConcurrentRequestsPerHttp2Connection() {
+            return maxConcurrentRequestsPerHttp2Connection;
+        }
+
+        /**
+         * Sets the maximum number of concurrent requests on a single HTTP/2 connection. Defaults to no maximum.
+         *
+         * @param maxConcurrentRequestsPerHttp2Connection The maximum number of concurrent requests per HTTP/2 connection
+         * @since 3.8.0
+         */
+        public void setMaxConcurrentRequestsPerHttp2Connection(int maxConcurrentRequestsPerHttp2Connection) {
+            this.maxConcurrentRequestsPerHttp2Connection = maxConcurrentRequestsPerHttp2Connection;
+        }
+
         /**
          * Maximum number of futures awaiting connection acquisition. Defaults to no maximum.
          *
@@ -77,10 +77,16 @@ import io.netty.handler.codec.http2.DefaultHttp2Connection;
 import io.netty.handler.codec.http2.DelegatingDecompressorFrameListener;
 import io.netty.handler.codec.http2.Http2ClientUpgradeCodec;
 import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
 import io.netty.handler.codec.http2.Http2FrameListener;
 import io.netty.handler.codec.http2.Http2FrameLogger;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
 import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2SettingsFrame;
 import io.netty.handler.codec.http2.Http2Stream;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.codec.http2.HttpConversionUtil;
 import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandler;
 import io.netty.handler.codec.http2.HttpToHttp2ConnectionHandlerBuilder;
@@ -102,6 +108,7 @@ import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.PromiseNotifier;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import reactor.core.publisher.Flux;
@@ -116,10 +123,13 @@ import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -159,6 +169,8 @@ final class ConnectionManager {
     private final SslContext sslContext;
     private final NettyClientCustomizer clientCustomizer;
     private final Collection<ChannelPipelineListener> pipelineListeners;
+    private final Collection<ConnectionPoolListener> connectionPoolListeners;
+    private final Map<DefaultHttpClient.RequestKey, ConnectionPoolMetrics> poolMetrics = new ConcurrentHashMap<>();
     private final String informationalServiceId;
 
     ConnectionManager(
@@ -172,6 +184,7 @@ final class ConnectionManager {
         NettyClientSslBuilder nettyClientSslBuilder,
         NettyClientCustomizer clientCustomizer,
         Collection<ChannelPipelineListener> pipelineListeners,
+        Collection<ConnectionPoolListener> connectionPoolListeners,
         String informationalServiceId) {
 
         if (httpVersion == null) {
@@ -185,6 +198,7 @@ final class ConnectionManager {
         this.instrumenter = instrumenter;
         this.clientCustomizer = clientCustomizer;
         this.pipelineListeners = pipelineListeners;
+        this.connectionPoolListeners = connectionPoolListeners;
         this.informationalServiceId = informationalServiceId;
 
         this.connectionTimeAliveMillis = configuration.getConnectTtl()
@@ -211,8 +225,31 @@ final class ConnectionManager {
         final ChannelHealthChecker channelHealthChecker = channel -> channel.eventLoop().newSucceededFuture(channel.isActive() && !ConnectTTLHandler.isChannelExpired(channel));
 
         HttpClientConfiguration.ConnectionPoolConfiguration connectionPoolConfiguration = configuration.getConnectionPoolConfiguration();
-        // HTTP/2 defaults to keep alive connections so should we should always use a pool
-        if (connectionPoolConfiguration.isEnabled() || httpVersion == io.micronaut.http.HttpVersion.HTTP_2_0) {
+        if (httpVersion == io.micronaut.http.HttpVersion.HTTP_2_0) {
+            // HTTP/2 defaults to keep alive connections so should we should always use a pool,
+            // requests are multiplexed over a bounded number of connections
+            poolMap = new AbstractChannelPoolMap<DefaultHttpClient.RequestKey, ChannelPool>() {
+                @Override
+                protected ChannelPool newPool(DefaultHttpClient.RequestKey key) {
+                    Bootstrap newBootstrap = bootstrap.clone(group);
+                    initBootstrapForProxy(newBootstrap, key.isSecure(), key.getHost(), key.getPort());
+                    newBootstrap.remoteAddress(key.getRemoteAddress());
+
+                    final long acquireTimeoutMillis = connectionPoolConfiguration.getAcquireTimeout().map(Duration::toMillis).orElse(-1L);
+                    return new Http2ChannelPool(
+                        newBootstrap,
+                        newPoolHandler(key, true),
+                        ConnectionManager.this::http2ConnectionReady,
+                        new Http2StreamInitializer(),
+                        poolMetrics(key),
+                        connectionPoolConfiguration.getMaxHttp2Connections(),
+                        connectionPoolConfiguration.getMaxConcurrentRequestsPerHttp2Connection(),
+                        connectionPoolConfiguration.getMaxPendingAcquires(),
+                        acquireTimeoutMillis
+                    );
+                }
+            };
+        } else if (connectionPoolConfiguration.isEnabled()) {
             int maxConnections = connectionPoolConfiguration.getMaxConnections();
             if (maxConnections > -1) {
                 poolMap = new AbstractChannelPoolMap<DefaultHttpClient.RequestKey, ChannelPool>() {
@@ -222,7 +259,7 @@ final class ConnectionManager {
                         initBootstrapForProxy(newBootstrap, key.isSecure(), key.getHost(), key.getPort());
                         newBootstrap.remoteAddress(key.getRemoteAddress());
 
-                        AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key);
+                        AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key, false);
                         final long acquireTimeoutMillis = connectionPoolConfiguration.getAcquireTimeout().map(Duration::toMillis).orElse(-1L);
                         return new FixedChannelPool(
                             newBootstrap,
@@ -244,7 +281,7 @@ final class ConnectionManager {
                         initBootstrapForProxy(newBootstrap, key.isSecure(), key.getHost(), key.getPort());
                         newBootstrap.remoteAddress(key.getRemoteAddress());
 
-                        AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key);
+                        AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key, false);
                         return new SimpleChannelPool(
                             newBootstrap,
                             channelPoolHandler,
@@ -375,6 +412,43 @@ final class ConnectionManager {
         return Schedulers.fromExecutor(group);
     }
 
+    /**
+     * @see DefaultHttpClient#getConnectionPoolStatistics()
+     *
+     * @return The statistics of the HTTP/2 connection pools, one per remote
+     */
+    List<ConnectionPoolStatistics> getConnectionPoolStatistics() {
+        List<ConnectionPoolStatistics> statistics = new ArrayList<>();
+        if (poolMap instanceof Iterable) {
+            Iterable<Map.Entry<DefaultHttpClient.RequestKey, ChannelPool>> i = (Iterable) poolMap;
+            for (Map.Entry<DefaultHttpClient.RequestKey, ChannelPool> entry : i) {
+                ChannelPool cp = entry.getValue();
+                if (cp instanceof Http2ChannelPool) {
+                    Http2ChannelPool pool = (Http2ChannelPool) cp;
+                    DefaultHttpClient.RequestKey key = entry.getKey();
+                    statistics.add(new ConnectionPoolStatistics(
+                        key.getHost(),
+                        key.getPort(),
+                        key.isSecure(),
+                        pool.getConnectionCount(),
+                        pool.getIdleConnectionCount(),
+                        pool.getActiveStreamCount(),
+                        pool.getPendingAcquireCount()
+                    ));
+                }
+            }
+        }
+        return statistics;
+    }
+
+    private ConnectionPoolMetrics poolMetrics(DefaultHttpClient.RequestKey key) {
+        return poolMetrics.computeIfAbsent(key, k -> new ConnectionPoolMetrics(
+            new ConnectionPoolListener.Pool(informationalServiceId, k.getHost(), k.getPort(), k.isSecure(), httpVersion),
+            connectionPoolListeners,
+            log
+        ));
+    }
+
     /**
      * Creates an initial connection to the given remote host.
      *
@@ -453,7 +527,10 @@ final class ConnectionManager {
             if (poolMap != null && !multipart) {
                 try {
                     ChannelPool channelPool = poolMap.get(requestKey);
+                    ConnectionPoolMetrics metrics = poolMetrics(requestKey);
+                    long acquireStart = metrics.acquireStarted();
                     addInstrumentedListener(channelPool.acquire(), future -> {
+                        metrics.acquireCompleted(acquireStart, future.cause());
                         if (future.isSuccess()) {
                             Channel channel = future.get();
                             PoolHandle poolHandle = new PoolHandle(channelPool, channel);
@@ -494,10 +571,12 @@ final class ConnectionManager {
     }
 
     private Publisher<?> delayUntilHttp2Ready(PoolHandle poolHandle) {
-        Http2SettingsHandler settingsHandler = (Http2SettingsHandler) poolHandle.channel.pipeline().get(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS);
-        if (settingsHandler == null) {
+        ChannelHandler handler = poolHandle.channel.pipeline().get(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS);
+        if (!(handler instanceof Http2SettingsHandler)) {
+            // pooled HTTP/2 streams are only handed out once the settings have been received
             return Flux.empty();
         }
+        Http2SettingsHandler settingsHandler = (Http2SettingsHandler) handler;
         Sinks.Empty<?> empty = Sinks.empty();
         addInstrumentedListener(settingsHandler.promise, future -> {
             if (future.isSuccess()) {
@@ -620,10 +699,12 @@ final class ConnectionManager {
         return initial.asMono();
     }
 
-    private AbstractChannelPoolHandler newPoolHandler(DefaultHttpClient.RequestKey key) {
+    private AbstractChannelPoolHandler newPoolHandler(DefaultHttpClient.RequestKey key, boolean multiplexHttp2) {
+        ConnectionPoolMetrics metrics = poolMetrics(key);
         return new AbstractChannelPoolHandler() {
             @Override
             public void channelCreated(Channel ch) {
+                metrics.connectionCreated(ch);
                 Promise<?> streamPipelineBuilt = ch.newPromise();
                 ch.attr(STREAM_CHANNEL_INITIALIZED).set(streamPipelineBuilt);
 
@@ -657,6 +738,11 @@ final class ConnectionManager {
                         // in the connection pooled scenario
                     }
 
+                    @Override
+                    boolean multiplexHttp2() {
+                        return multiplexHttp2;
+                    }
+
                     @Override
                     void onStreamPipelineBuilt() {
                         super.onStreamPipelineBuilt();
@@ -681,7 +767,10 @@ final class ConnectionManager {
                 ChannelPipeline pipeline = ch.pipeline();
                 if (ch.isOpen()) {
                     ch.config().setAutoRead(true);
-                    pipeline.addLast(IdlingConnectionHandler.INSTANCE);
+                    if (pipeline.get(Http2MultiplexHandler.class) == null) {
+                        // an idle HTTP/2 connection still receives control frames, e.g. pings
+                        pipeline.addLast(IdlingConnectionHandler.INSTANCE);
+                    }
                     if (idleTimeout.toNanos() > 0) {
                         pipeline.addLast(ChannelPipelineCustomizer.HANDLER_IDLE_STATE, new IdleStateHandler(idleTimeout.toNanos(), idleTimeout.toNanos(), 0, TimeUnit.NANOSECONDS));
                         pipeline.addLast(IdleTimeoutHandler.INSTANCE);
@@ -813,6 +902,144 @@ final class ConnectionManager {
         pipeline.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_UPGRADE_REQUEST, new H2cUpgradeRequestHandler(httpClientInitializer));
     }
 
+    /**
+     * Configures a multiplexed HTTP/2 connection when SSL is enabled. Requests are sent on
+     * {@link Http2StreamChannel}s initialized by {@link Http2StreamInitializer}.
+     *
+     * @param httpClientInitializer The client initializer
+     * @param ch                    The channel
+     * @param sslCtx                The SSL context
+     * @param host                  The host
+     * @param port                  The port
+     */
+    private void configureMultiplexedHttp2Ssl(
+        HttpClientInitializer httpClientInitializer,
+        @NonNull SocketChannel ch,
+        @NonNull SslContext sslCtx,
+        String host,
+        int port) {
+        ChannelPipeline pipeline = ch.pipeline();
+        // Specify Host in SSLContext New Handler to add TLS SNI Extension
+        pipeline.addLast(ChannelPipelineCustomizer.HANDLER_SSL, configureSslHandler(sslCtx.newHandler(ch.alloc(), host, port)));
+        pipeline.addLast(
+                ChannelPipelineCustomizer.HANDLER_HTTP2_PROTOCOL_NEGOTIATOR,
+                new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_2) {
+            @Override
+            protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                ChannelPipeline p = ctx.pipeline();
+                if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                    p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_CONNECTION, newHttp2FrameCodec());
+                    p.addLast(new Http2MultiplexHandler(DiscardingHandler.INSTANCE));
+                    p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS, new Http2ConnectionFrameHandler(ch.newPromise()));
+                } else if (ApplicationProtocolNames.HTTP_1_1.equals(protocol)) {
+                    // the pool hands out the connection exclusively
+                    httpClientInitializer.addHttp1Handlers(p);
+                } else {
+                    ctx.close();
+                    throw customizeException(new HttpClientException("Unknown Protocol: " + protocol));
+                }
+                httpClientInitializer.onStreamPipelineBuilt();
+            }
+        });
+    }
+
+    /**
+     * Configures a multiplexed HTTP/2 connection for plaintext (non-SSL) connections, using
+     * the cleartext upgrade. Requests are sent on {@link Http2StreamChannel}s initialized by
+     * {@link Http2StreamInitializer}.
+     *
+     * @param httpClientInitializer The client initializer
+     * @param ch                    The channel
+     */
+    private void configureMultiplexedHttp2ClearText(
+        HttpClientInitializer httpClientInitializer,
+        @NonNull SocketChannel ch) {
+        HttpClientCodec sourceCodec = new HttpClientCodec();
+        // the response to the upgrade request is received on stream 1 and discarded
+        Http2ClientUpgradeCodec upgradeCodec = new Http2ClientUpgradeCodec(
+            ChannelPipelineCustomizer.HANDLER_HTTP2_CONNECTION,
+            newHttp2FrameCodec(),
+            new Http2MultiplexHandler(DiscardingHandler.INSTANCE, DiscardingHandler.INSTANCE)
+        );
+        HttpClientUpgradeHandler upgradeHandler = new HttpClientUpgradeHandler(sourceCodec, upgradeCodec, 65536);
+        Http2ConnectionFrameHandler frameHandler = new Http2ConnectionFrameHandler(ch.newPromise());
+
+        final ChannelPipeline pipeline = ch.pipeline();
+        pipeline.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_CLIENT_CODEC, sourceCodec);
+        pipeline.addLast(upgradeHandler);
+        pipeline.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_UPGRADE_REQUEST, new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelActive(ChannelHandlerContext ctx) {
+                ctx.writeAndFlush(newUpgradeRequest((InetSocketAddress) ctx.channel().remoteAddress()));
+                ctx.fireChannelActive();
+            }
+
+            @Override
+            public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+                if (evt == HttpClientUpgradeHandler.UpgradeEvent.UPGRADE_SUCCESSFUL) {
+                    ctx.pipeline().remove(this);
+                    httpClientInitializer.onStreamPipelineBuilt();
+                } else if (evt == HttpClientUpgradeHandler.UpgradeEvent.UPGRADE_REJECTED) {
+                    frameHandler.settingsReceived.tryFailure(customizeException(new HttpClientException("Server rejected the upgrade to HTTP/2")));
+                    ctx.close();
+                }
+                ctx.fireUserEventTriggered(evt);
+            }
+        });
+        pipeline.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS, frameHandler);
+    }
+
+    /**
+     * Creates the frame codec of a multiplexed HTTP/2 connection.
+     *
+     * @return The {@link Http2FrameCodec}
+     */
+    private Http2FrameCodec newHttp2FrameCodec() {
+        Http2FrameCodecBuilder builder = Http2FrameCodecBuilder.forClient()
+                .validateHeaders(true)
+                .initialSettings(Http2Settings.defaultSettings().pushEnabled(false));
+        configuration.getLogLevel().ifPresent(logLevel -> {
+            try {
+                final io.netty.handler.logging.LogLevel nettyLevel = io.netty.handler.logging.LogLevel.valueOf(
+                        logLevel.name()
+                );
+                builder.frameLogger(new Http2FrameLogger(nettyLevel, DefaultHttpClient.class));
+            } catch (IllegalArgumentException e) {
+                throw customizeException(new HttpClientException("Unsupported log level: " + logLevel));
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * Resolves a future that completes once a new pooled HTTP/2 connection can open streams,
+     * that is once the protocol has been negotiated and the settings of the server have been
+     * received.
+     *
+     * @param channel The connection
+     * @return The future
+     */
+    private Future<?> http2ConnectionReady(Channel channel) {
+        Promise<Void> ready = channel.eventLoop().newPromise();
+        Future<?> initFuture = channel.attr(STREAM_CHANNEL_INITIALIZED).get();
+        if (initFuture == null) {
+            notifyWhenHttp2SettingsReceived(channel, ready);
+        } else {
+            initFuture.addListener(f -> notifyWhenHttp2SettingsReceived(channel, ready));
+        }
+        return ready;
+    }
+
+    private void notifyWhenHttp2SettingsReceived(Channel channel, Promise<Void> ready) {
+        ChannelHandler handler = channel.pipeline().get(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS);
+        if (handler instanceof Http2ConnectionFrameHandler) {
+            ((Http2ConnectionFrameHandler) handler).settingsReceived.addListener(new PromiseNotifier<>(ready));
+        } else {
+            // fell back to HTTP/1.1
+            ready.trySuccess(null);
+        }
+    }
+
     /**
      * Creates a new {@link HttpToHttp2ConnectionHandlerBuilder} for the given HTTP/2 connection object and config.
      *
@@ -907,13 +1134,14 @@ final class ConnectionManager {
 
     private void addReadTimeoutHandler(ChannelPipeline pipeline) {
         if (readTimeoutMillis != null) {
-            if (httpVersion == HttpVersion.HTTP_2_0) {
+            if (httpVersion == HttpVersion.HTTP_2_0 && pipeline.context(ChannelPipelineCustomizer.HANDLER_HTTP2_CONNECTION) != null) {
                 pipeline.addBefore(
                     ChannelPipelineCustomizer.HANDLER_HTTP2_CONNECTION,
                     ChannelPipelineCustomizer.HANDLER_READ_TIMEOUT,
                     new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS)
                 );
             } else {
+                // HTTP/1.1 connections and pooled HTTP/2 streams
                 pipeline.addBefore(
                         ChannelPipelineCustomizer.HANDLER_HTTP_CLIENT_CODEC,
                         ChannelPipelineCustomizer.HANDLER_READ_TIMEOUT,
@@ -937,6 +1165,25 @@ final class ConnectionManager {
         return sslHandler;
     }
 
+    /**
+     * Creates the initial HTTP request that triggers the cleartext upgrade to HTTP/2.
+     *
+     * @param remote The address of the remote
+     * @return The request
+     */
+    private static DefaultFullHttpRequest newUpgradeRequest(InetSocketAddress remote) {
+        DefaultFullHttpRequest upgradeRequest =
+                new DefaultFullHttpRequest(io.netty.handler.codec.http.HttpVersion.HTTP_1_1, HttpMethod.GET, "/", Unpooled.EMPTY_BUFFER);
+
+        // Set HOST header as the remote peer may require it.
+        String hostString = remote.getHostString();
+        if (hostString == null) {
+            hostString = remote.getAddress().getHostAddress();
+        }
+        upgradeRequest.headers().set(HttpHeaderNames.HOST, hostString + ':' + remote.getPort());
+        return upgradeRequest;
+    }
+
     /**
      * A handler that triggers the cleartext upgrade to HTTP/2 by sending an initial HTTP request.
      */
@@ -959,17 +1206,7 @@ final class ConnectionManager {
             final ChannelPipeline pipeline = ctx.pipeline();
 
             pipeline.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS, initializer.settingsHandler);
-            DefaultFullHttpRequest upgradeRequest =
-                    new DefaultFullHttpRequest(io.netty.handler.codec.http.HttpVersion.HTTP_1_1, HttpMethod.GET, "/", Unpooled.EMPTY_BUFFER);
-
-            // Set HOST header as the remote peer may require it.
-            InetSocketAddress remote = (InetSocketAddress) ctx.channel().remoteAddress();
-            String hostString = remote.getHostString();
-            if (hostString == null) {
-                hostString = remote.getAddress().getHostAddress();
-            }
-            upgradeRequest.headers().set(HttpHeaderNames.HOST, hostString + ':' + remote.getPort());
-            ctx.writeAndFlush(upgradeRequest);
+            ctx.writeAndFlush(newUpgradeRequest((InetSocketAddress) ctx.channel().remoteAddress()));
 
             ctx.fireChannelActive();
             if (initializer.contextConsumer != null) {
@@ -1041,6 +1278,92 @@ final class ConnectionManager {
         }
     }
 
+    /**
+     * Last handler of a multiplexed HTTP/2 connection. Notifies a {@link ChannelPromise} when the
+     * first {@link Http2SettingsFrame} is received and discards the other connection frames.
+     */
+    private static final class Http2ConnectionFrameHandler extends ChannelInboundHandlerAdapter {
+        final ChannelPromise settingsReceived;
+
+        /**
+         * @param settingsReceived Promise object used to notify when first settings are received
+         */
+        Http2ConnectionFrameHandler(ChannelPromise settingsReceived) {
+            this.settingsReceived = settingsReceived;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof Http2SettingsFrame) {
+                settingsReceived.trySuccess();
+            }
+            ReferenceCountUtil.release(msg);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            settingsReceived.tryFailure(new HttpClientException("Channel became inactive before settings frame was received"));
+            ctx.fireChannelInactive();
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            settingsReceived.tryFailure(cause);
+            ctx.close();
+        }
+    }
+
+    /**
+     * Handler for HTTP/2 streams opened by the server, which are not supported.
+     */
+    @ChannelHandler.Sharable
+    private static final class DiscardingHandler extends ChannelInboundHandlerAdapter {
+        static final DiscardingHandler INSTANCE = new DiscardingHandler();
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    /**
+     * Initializes the {@link Http2StreamChannel} of a pooled HTTP/2 request, translating the
+     * HTTP/2 frames to the HTTP/1.1 objects the client works with.
+     */
+    @ChannelHandler.Sharable
+    private final class Http2StreamInitializer extends ChannelInitializer<Http2StreamChannel> {
+        @Override
+        protected void initChannel(Http2StreamChannel ch) {
+            NettyClientCustomizer connectionCustomizer = ch.parent().attr(CHANNEL_CUSTOMIZER_KEY).get();
+            NettyClientCustomizer channelCustomizer = (connectionCustomizer == null ? clientCustomizer : connectionCustomizer)
+                .specializeForChannel(ch, NettyClientCustomizer.ChannelRole.HTTP2_STREAM);
+            ch.attr(CHANNEL_CUSTOMIZER_KEY).set(channelCustomizer);
+
+            ChannelPipeline p = ch.pipeline();
+            p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_CLIENT_CODEC, new Http2StreamFrameToHttpObjectCodec(false));
+            p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_DECODER, new HttpContentDecompressor());
+            p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_AGGREGATOR, newHttpObjectAggregator());
+            channelCustomizer.onInitialPipelineBuilt();
+            for (ChannelPipelineListener pipelineListener : pipelineListeners) {
+                pipelineListener.onConnect(p);
+            }
+            channelCustomizer.onStreamPipelineBuilt();
+        }
+    }
+
+    private HttpObjectAggregator newHttpObjectAggregator() {
+        return new HttpObjectAggregator(configuration.getMaxContentLength()) {
+            @Override
+            protected void finishAggregation(FullHttpMessage aggregated) throws Exception {
+                if (!HttpUtil.isContentLengthSet(aggregated)) {
+                    if (aggregated.content().readableBytes() > 0) {
+                        super.finishAggregation(aggregated);
+                    }
+                }
+            }
+        };
+    }
+
     /**
      * Initializes the HTTP client channel.
      */
@@ -1093,7 +1416,14 @@ final class ConnectionManager {
 
             configureProxy(p, sslContext != null, host, port);
 
-            if (httpVersion == HttpVersion.HTTP_2_0) {
+            if (httpVersion == HttpVersion.HTTP_2_0 && multiplexHttp2()) {
+                if (sslContext != null) {
+                    configureMultiplexedHttp2Ssl(this, ch, sslContext, host, port);
+                } else {
+                    configureMultiplexedHttp2ClearText(this, ch);
+                }
+                channelCustomizer.onInitialPipelineBuilt();
+            } else if (httpVersion == HttpVersion.HTTP_2_0) {
                 final Http2Connection connection = new DefaultHttp2Connection(false);
                 final HttpToHttp2ConnectionHandlerBuilder builder =
                         newHttp2ConnectionHandlerBuilder(connection, configuration, stream);
@@ -1172,24 +1502,21 @@ final class ConnectionManager {
             channelCustomizer.onStreamPipelineBuilt();
         }
 
+        /**
+         * @return Whether HTTP/2 requests are multiplexed over this connection using
+         * {@link Http2StreamChannel}s
+         */
+        boolean multiplexHttp2() {
+            return false;
+        }
+
         void addHttp1Handlers(ChannelPipeline p) {
             p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_CLIENT_CODEC, new HttpClientCodec());
 
             p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_DECODER, new HttpContentDecompressor());
 
-            int maxContentLength = configuration.getMaxContentLength();
-
             if (!stream) {
-                p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_AGGREGATOR, new HttpObjectAggregator(maxContentLength) {
-                    @Override
-                    protected void finishAggregation(FullHttpMessage aggregated) throws Exception {
-                        if (!HttpUtil.isContentLengthSet(aggregated)) {
-                            if (aggregated.content().readableBytes() > 0) {
-                                super.finishAggregation(aggregated);
-                            }
-                        }
-                    }
-                });
+                p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_AGGREGATOR, newHttpObjectAggregator());
             }
             addEventStreamHandlerIfNecessary(p);
             addFinalHandler(p);
@@ -1301,7 +1628,8 @@ final class ConnectionManager {
         void release() {
             if (channelPool != null) {
                 removeReadTimeoutHandler(channel.pipeline());
-                if (!canReturn) {
+                // an HTTP/2 stream is closed on release, the connection itself remains usable
+                if (!canReturn && !(channel instanceof Http2StreamChannel)) {
                     channel.closeFuture().addListener((future ->
                         channelPool.release(channel)
                     ));
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpVersion;
+
+import java.util.Objects;
+
+/**
+ * Listener for the activity of the connection pools of {@link DefaultHttpClient}, for example to
+ * record metrics. Beans of this type are registered with every client created by the
+ * {@link DefaultNettyHttpClientRegistry}.
+ *
+ * <p>Methods are called on the event loop of the client and must not block.</p>
+ *
+ * @since 3.8.0
+ */
+public interface ConnectionPoolListener {
+
+    /**
+     * Called when a connection, or a stream for HTTP/2, was acquired from the pool.
+     *
+     * @param pool      The pool
+     * @param waitNanos The time spent waiting for the connection, in nanoseconds
+     */
+    default void onAcquire(@NonNull Pool pool, long waitNanos) {
+    }
+
+    /**
+     * Called when a connection could not be acquired from the pool, for example because the
+     * acquire timeout elapsed or because connecting to the remote failed.
+     *
+     * @param pool      The pool
+     * @param waitNanos The time spent waiting for the connection, in nanoseconds
+     * @param cause     The cause of the failure
+     */
+    default void onAcquireFailure(@NonNull Pool pool, long waitNanos, @NonNull Throwable cause) {
+    }
+
+    /**
+     * Called when the number of requests waiting for a connection of the pool changes.
+     *
+     * @param pool            The pool
+     * @param pendingAcquires The number of requests waiting for a connection
+     */
+    default void onPendingAcquires(@NonNull Pool pool, int pendingAcquires) {
+    }
+
+    /**
+     * Called when the pool opened a new connection.
+     *
+     * @param pool The pool
+     */
+    default void onConnectionCreated(@NonNull Pool pool) {
+    }
+
+    /**
+     * Called when a connection of the pool was closed, for any reason.
+     *
+     * @param pool The pool
+     */
+    default void onConnectionClosed(@NonNull Pool pool) {
+    }
+
+    /**
+     * Called when an idle connection was closed because it reached the
+     * {@link io.micronaut.http.client.HttpClientConfiguration#getConnectionPoolIdleTimeout() idle timeout}.
+     * {@link #onConnectionClosed(Pool)} is called as well.
+     *
+     * @param pool The pool
+     */
+    default void onIdleConnectionEvicted(@NonNull Pool pool) {
+    }
+
+    /**
+     * Called when the number of active streams over the HTTP/2 connections of the pool changes.
+     *
+     * @param pool          The pool
+     * @param activeStreams The number of active streams
+     */
+    default void onActiveStreams(@NonNull Pool pool, int activeStreams) {
+    }
+
+    /**
+     * Identifies the connection pool of a client to a single remote.
+     */
+    final class Pool {
+        private final String clientId;
+        private final String host;
+        private final int port;
+        private final boolean secure;
+        private final HttpVersion httpVersion;
+
+        /**
+         * @param clientId    The id of the client, if any
+         * @param host        The host of the remote
+         * @param port        The port of the remote
+         * @param secure      Whether the connections use TLS
+         * @param httpVersion The HTTP version of the client
+         */
+        Pool(@Nullable String clientId, String host, int port, boolean secure, HttpVersion httpVersion) {
+            this.clientId = clientId;
+            this.host = host;
+            this.port = port;
+            this.secure = secure;
+            this.httpVersion = httpVersion;
+        }
+
+        /**
+         * @return The id of the client, or {@code null} if the client was not created for a service id
+         */
+        @Nullable
+        public String getClientId() {
+            return clientId;
+        }
+
+        /**
+         * @return The host of the remote
+         */
+        @NonNull
+        public String getHost() {
+            return host;
+        }
+
+        /**
+         * @return The port of the remote
+         */
+        public int getPort() {
+            return port;
+        }
+
+        /**
+         * @return Whether the connections use TLS
+         */
+        public boolean isSecure() {
+            return secure;
+        }
+
+        /**
+         * @return The HTTP version of the client
+         */
+        @NonNull
+        public HttpVersion getHttpVersion() {
+            return httpVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Pool pool = (Pool) o;
+            return port == pool.port &&
+                    secure == pool.secure &&
+                    Objects.equals(clientId, pool.clientId) &&
+                    host.equals(pool.host) &&
+                    httpVersion == pool.httpVersion;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clientId, host, port, secure, httpVersion);
+        }
+
+        @Override
+        public String toString() {
+            return "Pool{" +
+                    "clientId='" + clientId + '\'' +
+                    ", host='" + host + '\'' +
+                    ", port=" + port +
+                    ", secure=" + secure +
+                    ", httpVersion=" + httpVersion +
+                    '}';
+        }
+    }
+}
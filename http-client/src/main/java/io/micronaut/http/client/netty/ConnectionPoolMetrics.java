@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.netty.channel.Channel;
+import org.slf4j.Logger;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Reports the activity of a single connection pool to the {@link ConnectionPoolListener}s of the
+ * client.
+ *
+ * @since 3.8.0
+ */
+@Internal
+final class ConnectionPoolMetrics {
+
+    private final ConnectionPoolListener.Pool pool;
+    private final Collection<ConnectionPoolListener> listeners;
+    private final Logger log;
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+
+    /**
+     * @param pool      The pool
+     * @param listeners The listeners to notify
+     * @param log       The client logger
+     */
+    ConnectionPoolMetrics(ConnectionPoolListener.Pool pool, Collection<ConnectionPoolListener> listeners, Logger log) {
+        this.pool = pool;
+        this.listeners = listeners;
+        this.log = log;
+    }
+
+    /**
+     * Record the start of an acquisition.
+     *
+     * @return The start time to pass to {@link #acquireCompleted(long, Throwable)}
+     */
+    long acquireStarted() {
+        if (listeners.isEmpty()) {
+            return 0;
+        }
+        int pending = pendingAcquires.incrementAndGet();
+        notifyListeners(listener -> listener.onPendingAcquires(pool, pending));
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the end of an acquisition.
+     *
+     * @param startNanos The value returned by {@link #acquireStarted()}
+     * @param cause      The failure cause, or {@code null} if the acquisition was successful
+     */
+    void acquireCompleted(long startNanos, @Nullable Throwable cause) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        long waitNanos = System.nanoTime() - startNanos;
+        int pending = pendingAcquires.decrementAndGet();
+        notifyListeners(listener -> listener.onPendingAcquires(pool, pending));
+        if (cause == null) {
+            notifyListeners(listener -> listener.onAcquire(pool, waitNanos));
+        } else {
+            notifyListeners(listener -> listener.onAcquireFailure(pool, waitNanos, cause));
+        }
+    }
+
+    /**
+     * Record a new connection, and its closing once it happens.
+     *
+     * @param channel The connection
+     */
+    void connectionCreated(Channel channel) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        notifyListeners(listener -> listener.onConnectionCreated(pool));
+        channel.closeFuture().addListener(future -> {
+            if (IdleTimeoutHandler.isIdleTimedOut(channel)) {
+                notifyListeners(listener -> listener.onIdleConnectionEvicted(pool));
+            }
+            notifyListeners(listener -> listener.onConnectionClosed(pool));
+        });
+    }
+
+    /**
+     * Record a change of the number of active HTTP/2 streams.
+     *
+     * @param activeStreams The number of active streams
+     */
+    void activeStreams(int activeStreams) {
+        notifyListeners(listener -> listener.onActiveStreams(pool, activeStreams));
+    }
+
+    private void notifyListeners(Consumer<ConnectionPoolListener> action) {
+        for (ConnectionPoolListener listener : listeners) {
+            try {
+                action.accept(listener);
+            } catch (Exception e) {
+                if (log.isErrorEnabled()) {
+                    log.error("Error notifying connection pool listener [" + listener + "]: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+/**
+ * A snapshot of the state of the connection pool to a single remote.
+ *
+ * @since 3.8.0
+ */
+public final class ConnectionPoolStatistics {
+
+    private final String host;
+    private final int port;
+    private final boolean secure;
+    private final int connections;
+    private final int idleConnections;
+    private final int activeStreams;
+    private final int pendingAcquires;
+
+    /**
+     * @param host            The host of the remote
+     * @param port            The port of the remote
+     * @param secure          Whether the connections use TLS
+     * @param connections     The number of open connections
+     * @param idleConnections The number of open connections without active requests
+     * @param activeStreams   The number of active requests
+     * @param pendingAcquires The number of requests waiting for a connection
+     */
+    ConnectionPoolStatistics(String host, int port, boolean secure, int connections, int idleConnections, int activeStreams, int pendingAcquires) {
+        this.host = host;
+        this.port = port;
+        this.secure = secure;
+        this.connections = connections;
+        this.idleConnections = idleConnections;
+        this.activeStreams = activeStreams;
+        this.pendingAcquires = pendingAcquires;
+    }
+
+    /**
+     * @return The host of the remote
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return The port of the remote
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @return Whether the connections use TLS
+     */
+    public boolean isSecure() {
+        return secure;
+    }
+
+    /**
+     * @return The number of open connections
+     */
+    public int getConnections() {
+        return connections;
+    }
+
+    /**
+     * @return The number of open connections without active requests
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * @return The number of connections with active requests
+     */
+    public int getActiveConnections() {
+        return connections - idleConnections;
+    }
+
+    /**
+     * @return The number of active requests. On HTTP/2 connections each request is a stream
+     */
+    public int getActiveStreams() {
+        return activeStreams;
+    }
+
+    /**
+     * @return The number of requests waiting for a connection
+     */
+    public int getPendingAcquires() {
+        return pendingAcquires;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStatistics{" +
+                "host='" + host + '\'' +
+                ", port=" + port +
+                ", secure=" + secure +
+                ", connections=" + connections +
+                ", idleConnections=" + idleConnections +
+                ", activeStreams=" + activeStreams +
+                ", pendingAcquires=" + pendingAcquires +
+                '}';
+    }
+}
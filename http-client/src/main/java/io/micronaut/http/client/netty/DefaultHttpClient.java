@@ -288,6 +288,7 @@ public class DefaultHttpClient implements
             NioSocketChannel::new,
             Collections.emptySet(),
             CompositeNettyClientCustomizer.EMPTY,
+            Collections.emptyList(),
             invocationInstrumenterFactories, null);
     }
 
@@ -328,6 +329,67 @@ public class DefaultHttpClient implements
                              NettyClientCustomizer clientCustomizer,
                              List<InvocationInstrumenterFactory> invocationInstrumenterFactories,
                              @Nullable String informationalServiceId
+    ) {
+        this(loadBalancer,
+            explicitHttpVersion,
+            configuration,
+            contextPath,
+            filterResolver,
+            clientFilterEntries,
+            threadFactory,
+            nettyClientSslBuilder,
+            codecRegistry,
+            webSocketBeanRegistry,
+            requestBinderRegistry,
+            eventLoopGroup,
+            socketChannelFactory,
+            pipelineListeners,
+            clientCustomizer,
+            Collections.emptyList(),
+            invocationInstrumenterFactories,
+            informationalServiceId);
+    }
+
+    /**
+     * Construct a client for the given arguments.
+     *  @param loadBalancer                    The {@link LoadBalancer} to use for selecting servers
+     * @param explicitHttpVersion                     The HTTP version to use. Can be null and defaults to {@link io.micronaut.http.HttpVersion#HTTP_1_1}
+     * @param configuration                   The {@link HttpClientConfiguration} object
+     * @param contextPath                     The base URI to prepend to request uris
+     * @param filterResolver                  The http client filter resolver
+     * @param clientFilterEntries             The client filter entries
+     * @param threadFactory                   The thread factory to use for client threads
+     * @param nettyClientSslBuilder           The SSL builder
+     * @param codecRegistry                   The {@link MediaTypeCodecRegistry} to use for encoding and decoding objects
+     * @param webSocketBeanRegistry           The websocket bean registry
+     * @param requestBinderRegistry           The request binder registry
+     * @param eventLoopGroup                  The event loop group to use
+     * @param socketChannelFactory            The socket channel factory
+     * @param pipelineListeners               The listeners to call for pipeline customization
+     * @param clientCustomizer                The pipeline customizer
+     * @param connectionPoolListeners         The listeners notified of the activity of the connection pools
+     * @param invocationInstrumenterFactories The invocation instrumeter factories to instrument netty handlers execution with
+     * @param informationalServiceId          Optional service ID that will be passed to exceptions created by this client
+     * @since 3.8.0
+     */
+    public DefaultHttpClient(@Nullable LoadBalancer loadBalancer,
+                             @Nullable io.micronaut.http.HttpVersion explicitHttpVersion,
+                             @NonNull HttpClientConfiguration configuration,
+                             @Nullable String contextPath,
+                             @NonNull HttpClientFilterResolver<ClientFilterResolutionContext> filterResolver,
+                             List<HttpFilterResolver.FilterEntry<HttpClientFilter>> clientFilterEntries,
+                             @Nullable ThreadFactory threadFactory,
+                             @NonNull NettyClientSslBuilder nettyClientSslBuilder,
+                             @NonNull MediaTypeCodecRegistry codecRegistry,
+                             @NonNull WebSocketBeanRegistry webSocketBeanRegistry,
+                             @NonNull RequestBinderRegistry requestBinderRegistry,
+                             @Nullable EventLoopGroup eventLoopGroup,
+                             @NonNull ChannelFactory socketChannelFactory,
+                             Collection<ChannelPipelineListener> pipelineListeners,
+                             NettyClientCustomizer clientCustomizer,
+                             Collection<ConnectionPoolListener> connectionPoolListeners,
+                             List<InvocationInstrumenterFactory> invocationInstrumenterFactories,
+                             @Nullable String informationalServiceId
     ) {
         ArgumentUtils.requireNonNull("nettyClientSslBuilder", nettyClientSslBuilder);
         ArgumentUtils.requireNonNull("codecRegistry", codecRegistry);
@@ -376,6 +438,7 @@ public class DefaultHttpClient implements
             nettyClientSslBuilder,
             clientCustomizer,
             pipelineListeners,
+            connectionPoolListeners == null ? Collections.emptyList() : connectionPoolListeners,
             informationalServiceId);
     }
 
@@ -439,6 +502,14 @@ public class DefaultHttpClient implements
         return log;
     }
 
+    /**
+     * @return The statistics of the HTTP/2 connection pools of this client, one per remote
+     * @since 3.8.0
+     */
+    public List<ConnectionPoolStatistics> getConnectionPoolStatistics() {
+        return connectionManager.getConnectionPoolStatistics();
+    }
+
     @Override
     public HttpClient start() {
         if (!isRunning()) {
@@ -1283,7 +1354,8 @@ public class DefaultHttpClient implements
                                 if (log.isTraceEnabled()) {
                                     log.trace("Sending Bytes Chunk. Length: {}", bodyBytes.length);
                                 }
-                                return new DefaultHttpContent(Unpooled.wrappedBuffer(bodyBytes));
+                                // several chunks can be in flight, so a publisher reusing its array must not be wrapped
+                                return new DefaultHttpContent(Unpooled.copiedBuffer(bodyBytes));
                             } else if (o instanceof ByteBuffer) {
                                 ByteBuffer<?> byteBuffer = (ByteBuffer<?>) o;
                                 Object nativeBuffer = byteBuffer.asNativeBuffer();
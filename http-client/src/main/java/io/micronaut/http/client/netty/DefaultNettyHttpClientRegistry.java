@@ -420,6 +420,7 @@ class DefaultNettyHttpClientRegistry implements AutoCloseable,
                 resolveSocketChannelFactory(configuration, beanContext),
                 pipelineListeners,
                 clientCustomizer,
+                beanContext.getBeansOfType(ConnectionPoolListener.class),
                 invocationInstrumenterFactories,
                 clientId
         );
@@ -0,0 +1,472 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * A {@link ChannelPool} that multiplexes requests to a single remote over a bounded number of HTTP/2 connections.
+ *
+ * <p>{@link #acquire()} opens a new {@link Http2StreamChannel} on the least loaded connection that has not reached
+ * the stream limit of the peer ({@code SETTINGS_MAX_CONCURRENT_STREAMS}). A new connection is only opened once all
+ * existing connections are saturated, and acquisitions that cannot be served are queued, up to a maximum number and
+ * for a maximum time. If protocol negotiation falls back to HTTP/1.1 the connection is handed out exclusively, like a
+ * regular pooled connection.</p>
+ *
+ * <p>All the state of the pool is confined to a single {@link EventExecutor}.</p>
+ *
+ * @since 3.8.0
+ */
+@Internal
+final class Http2ChannelPool implements ChannelPool {
+
+    private final Bootstrap bootstrap;
+    private final EventExecutor executor;
+    private final ChannelPoolHandler handler;
+    private final Function<Channel, Future<?>> readiness;
+    private final ChannelHandler streamHandler;
+    private final ConnectionPoolMetrics metrics;
+    private final int maxConnections;
+    private final int maxStreamsPerConnection;
+    private final int maxPendingAcquires;
+    private final long acquireTimeoutMillis;
+
+    private final List<Connection> connections = new ArrayList<>();
+    private final Map<Channel, Connection> acquired = new HashMap<>();
+    private final Deque<PendingAcquire> pending = new ArrayDeque<>();
+    private int connecting;
+    private int lastMaxStreams = Integer.MAX_VALUE;
+    private boolean closed;
+
+    private volatile int connectionCount;
+    private volatile int idleConnectionCount;
+    private volatile int activeStreamCount;
+    private volatile int pendingAcquireCount;
+
+    /**
+     * @param bootstrap               The bootstrap to connect to the remote with
+     * @param handler                 The handler notified when a connection is created, becomes busy or becomes idle
+     * @param readiness               Resolves a future that completes once a new connection can be used
+     * @param streamHandler           The handler used to initialize new stream channels
+     * @param metrics                 The metrics notified of changes of the number of active streams
+     * @param maxConnections          The maximum number of connections
+     * @param maxStreamsPerConnection The maximum number of concurrent streams per connection, in addition to the limit of the peer
+     * @param maxPendingAcquires      The maximum number of queued acquisitions
+     * @param acquireTimeoutMillis    The maximum time an acquisition can be queued for, or a negative value for no limit
+     */
+    Http2ChannelPool(@NonNull Bootstrap bootstrap,
+                     @NonNull ChannelPoolHandler handler,
+                     @NonNull Function<Channel, Future<?>> readiness,
+                     @NonNull ChannelHandler streamHandler,
+                     @NonNull ConnectionPoolMetrics metrics,
+                     int maxConnections,
+                     int maxStreamsPerConnection,
+                     int maxPendingAcquires,
+                     long acquireTimeoutMillis) {
+        this.bootstrap = bootstrap.clone();
+        this.bootstrap.handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) throws Exception {
+                handler.channelCreated(ch);
+            }
+        });
+        this.executor = bootstrap.config().group().next();
+        this.handler = handler;
+        this.readiness = readiness;
+        this.streamHandler = streamHandler;
+        this.metrics = metrics;
+        this.maxConnections = Math.max(1, maxConnections);
+        this.maxStreamsPerConnection = Math.max(1, maxStreamsPerConnection);
+        this.maxPendingAcquires = maxPendingAcquires;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * @return The number of open connections
+     */
+    int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * @return The number of open connections without active streams
+     */
+    int getIdleConnectionCount() {
+        return idleConnectionCount;
+    }
+
+    /**
+     * @return The number of acquired streams, or acquired connections for connections that fell back to HTTP/1.1
+     */
+    int getActiveStreamCount() {
+        return activeStreamCount;
+    }
+
+    /**
+     * @return The number of acquisitions waiting for a stream
+     */
+    int getPendingAcquireCount() {
+        return pendingAcquireCount;
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        return acquire(executor.newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        execute(() -> acquire0(promise));
+        return promise;
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        return release(channel, executor.newPromise());
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        execute(() -> {
+            if (release0(channel)) {
+                promise.trySuccess(null);
+            } else {
+                channel.close();
+                promise.tryFailure(new IllegalArgumentException("Channel " + channel + " was not acquired from this pool"));
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public void close() {
+        try {
+            execute(this::close0);
+        } catch (RejectedExecutionException e) {
+            // the event loop is already shut down
+            close0();
+        }
+    }
+
+    private void execute(Runnable task) {
+        if (executor.inEventLoop()) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    private void acquire0(Promise<Channel> promise) {
+        if (closed) {
+            promise.tryFailure(new IllegalStateException("Connection pool is closed"));
+            return;
+        }
+        Connection connection = selectConnection();
+        if (connection != null) {
+            openStream(connection, promise);
+        } else if (pending.size() >= maxPendingAcquires) {
+            promise.tryFailure(new IllegalStateException("Too many outstanding acquire operations"));
+        } else {
+            PendingAcquire pendingAcquire = new PendingAcquire(promise);
+            if (acquireTimeoutMillis > -1) {
+                pendingAcquire.timeout = executor.schedule(() -> {
+                    if (pending.remove(pendingAcquire)) {
+                        promise.tryFailure(new TimeoutException("Acquire operation took longer than the configured maximum time"));
+                        updateStatistics();
+                    }
+                }, acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            pending.add(pendingAcquire);
+            connectIfSaturated();
+        }
+        updateStatistics();
+    }
+
+    private boolean release0(Channel channel) {
+        Connection connection = acquired.remove(channel);
+        if (connection == null) {
+            return false;
+        }
+        if (connection.multiplexed) {
+            // closing an unfinished stream resets it
+            channel.close();
+        }
+        streamReleased(connection);
+        drain();
+        return true;
+    }
+
+    private void close0() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        PendingAcquire pendingAcquire;
+        while ((pendingAcquire = pending.poll()) != null) {
+            pendingAcquire.fail(new IllegalStateException("Connection pool is closed"));
+        }
+        for (Connection connection : new ArrayList<>(connections)) {
+            connection.channel.close();
+        }
+        connections.clear();
+        acquired.clear();
+        updateStatistics();
+    }
+
+    /**
+     * @return The least loaded connection that can open another stream, if any
+     */
+    private Connection selectConnection() {
+        Connection selected = null;
+        for (Connection connection : connections) {
+            if (connection.hasCapacity() && (selected == null || connection.activeStreams < selected.activeStreams)) {
+                selected = connection;
+            }
+        }
+        return selected;
+    }
+
+    private void connectIfSaturated() {
+        // connections that are still being established are expected to serve as many streams as the last one did
+        if (!closed
+                && !pending.isEmpty()
+                && connections.size() + connecting < maxConnections
+                && (long) connecting * lastMaxStreams < pending.size()) {
+            connect();
+        }
+    }
+
+    private void connect() {
+        connecting++;
+        ChannelFuture connectFuture = bootstrap.connect();
+        connectFuture.addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                execute(() -> connectFailed(future.cause()));
+                return;
+            }
+            Channel channel = future.channel();
+            readiness.apply(channel).addListener(ready -> execute(() -> {
+                if (ready.isSuccess() && channel.isActive()) {
+                    connected(channel);
+                } else {
+                    channel.close();
+                    connectFailed(ready.cause() != null ? ready.cause() : new ClosedChannelException());
+                }
+            }));
+        });
+    }
+
+    private void connectFailed(Throwable cause) {
+        connecting--;
+        if (connections.isEmpty() && connecting == 0) {
+            // nothing left that could serve the queued acquisitions
+            PendingAcquire pendingAcquire;
+            while ((pendingAcquire = pending.poll()) != null) {
+                pendingAcquire.fail(cause);
+            }
+        } else {
+            connectIfSaturated();
+        }
+        updateStatistics();
+    }
+
+    private void connected(Channel channel) {
+        connecting--;
+        if (closed) {
+            channel.close();
+            return;
+        }
+        Connection connection = new Connection(channel);
+        connections.add(connection);
+        lastMaxStreams = connection.maxStreams();
+        channel.closeFuture().addListener(future -> execute(() -> {
+            connections.remove(connection);
+            connectIfSaturated();
+            updateStatistics();
+        }));
+        drain();
+        if (connection.activeStreams == 0) {
+            connectionIdle(connection);
+        }
+    }
+
+    private void drain() {
+        while (!pending.isEmpty()) {
+            Connection connection = selectConnection();
+            if (connection == null) {
+                break;
+            }
+            PendingAcquire pendingAcquire = pending.poll();
+            if (pendingAcquire.timeout != null) {
+                pendingAcquire.timeout.cancel(false);
+            }
+            if (!pendingAcquire.promise.isDone()) {
+                openStream(connection, pendingAcquire.promise);
+            }
+        }
+        connectIfSaturated();
+        updateStatistics();
+    }
+
+    private void openStream(Connection connection, Promise<Channel> promise) {
+        if (connection.activeStreams++ == 0) {
+            try {
+                handler.channelAcquired(connection.channel);
+            } catch (Exception e) {
+                connection.channel.close();
+            }
+        }
+        if (!connection.multiplexed) {
+            acquired.put(connection.channel, connection);
+            if (!promise.trySuccess(connection.channel)) {
+                release0(connection.channel);
+            }
+            return;
+        }
+        new Http2StreamChannelBootstrap(connection.channel)
+                .handler(streamHandler)
+                .open()
+                .addListener(future -> execute(() -> {
+                    if (future.isSuccess()) {
+                        Http2StreamChannel stream = (Http2StreamChannel) future.getNow();
+                        acquired.put(stream, connection);
+                        if (!promise.trySuccess(stream)) {
+                            // the acquisition was cancelled in the meantime
+                            release0(stream);
+                        }
+                    } else {
+                        streamReleased(connection);
+                        promise.tryFailure(future.cause());
+                        drain();
+                    }
+                    updateStatistics();
+                }));
+    }
+
+    private void streamReleased(Connection connection) {
+        if (--connection.activeStreams == 0) {
+            connectionIdle(connection);
+        }
+    }
+
+    private void connectionIdle(Connection connection) {
+        if (!connection.channel.isActive()) {
+            return;
+        }
+        try {
+            handler.channelReleased(connection.channel);
+        } catch (Exception e) {
+            connection.channel.close();
+        }
+    }
+
+    private void updateStatistics() {
+        int idle = 0;
+        int streams = 0;
+        for (Connection connection : connections) {
+            if (connection.activeStreams == 0) {
+                idle++;
+            }
+            streams += connection.activeStreams;
+        }
+        connectionCount = connections.size();
+        idleConnectionCount = idle;
+        pendingAcquireCount = pending.size();
+        if (activeStreamCount != streams) {
+            activeStreamCount = streams;
+            metrics.activeStreams(streams);
+        }
+    }
+
+    /**
+     * A connection of the pool.
+     */
+    private final class Connection {
+        final Channel channel;
+        final Http2FrameCodec frameCodec;
+        final boolean multiplexed;
+        int activeStreams;
+
+        Connection(Channel channel) {
+            this.channel = channel;
+            this.frameCodec = channel.pipeline().get(Http2FrameCodec.class);
+            this.multiplexed = frameCodec != null && channel.pipeline().get(Http2MultiplexHandler.class) != null;
+        }
+
+        int maxStreams() {
+            if (!multiplexed) {
+                return 1;
+            }
+            // the local endpoint is limited by the SETTINGS_MAX_CONCURRENT_STREAMS of the peer
+            return Math.min(maxStreamsPerConnection, frameCodec.connection().local().maxActiveStreams());
+        }
+
+        boolean hasCapacity() {
+            return channel.isActive()
+                    && !ConnectTTLHandler.isChannelExpired(channel)
+                    && (!multiplexed || !frameCodec.connection().goAwayReceived())
+                    && activeStreams < maxStreams();
+        }
+    }
+
+    /**
+     * An acquisition waiting for a stream.
+     */
+    private static final class PendingAcquire {
+        final Promise<Channel> promise;
+        ScheduledFuture<?> timeout;
+
+        PendingAcquire(Promise<Channel> promise) {
+            this.promise = promise;
+        }
+
+        void fail(Throwable cause) {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            promise.tryFailure(cause);
+        }
+    }
+}
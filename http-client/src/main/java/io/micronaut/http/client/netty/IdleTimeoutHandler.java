@@ -16,12 +16,14 @@
 package io.micronaut.http.client.netty;
 
 import io.micronaut.core.annotation.Internal;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandler;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.AttributeKey;
 
 /**
  * This class is responsible for detecting idle timeout events, upon which the channel in the pool is closed.
@@ -35,6 +37,8 @@ final class IdleTimeoutHandler extends ChannelDuplexHandler {
 
     static final ChannelInboundHandler INSTANCE = new IdleTimeoutHandler();
 
+    private static final AttributeKey<Boolean> IDLE_TIMED_OUT = AttributeKey.newInstance("micronaut.http.idleTimedOut");
+
     private IdleTimeoutHandler() {
     }
 
@@ -43,8 +47,19 @@ final class IdleTimeoutHandler extends ChannelDuplexHandler {
         if (evt instanceof IdleStateEvent) {
             IdleStateEvent e = (IdleStateEvent) evt;
             if (e.state() == IdleState.READER_IDLE || e.state() == IdleState.WRITER_IDLE) {
+                ctx.channel().attr(IDLE_TIMED_OUT).set(true);
                 ctx.close();
             }
         }
     }
+
+    /**
+     * Indicates whether the channel was closed by this handler.
+     * @param channel The channel to check
+     * @return true if the channel was closed because it was idle for too long
+     * @since 3.8.0
+     */
+    static boolean isIdleTimedOut(Channel channel) {
+        return Boolean.TRUE.equals(channel.attr(IDLE_TIMED_OUT).get());
+    }
 }
@@ -63,8 +63,8 @@ public interface NettyClientCustomizer {
     /**
      * Called when the "final" request pipeline has been built for processing http requests. This
      * is called for each request, potentially multiple times for the same connection if the
-     * connection is pooled. In the future, for HTTP2, this may use a new channel for each request
-     * stream.
+     * connection is pooled. Pooled HTTP/2 requests use a new {@link ChannelRole#HTTP2_STREAM}
+     * channel for each request.
      */
     default void onRequestPipelineBuilt() {
     }
@@ -79,6 +79,13 @@ public interface NettyClientCustomizer {
          * {@link io.netty.channel.socket.SocketChannel}, representing an HTTP connection.
          */
         CONNECTION,
+        /**
+         * The channel is a {@link io.netty.handler.codec.http2.Http2StreamChannel} representing
+         * a single request on a multiplexed HTTP/2 connection.
+         *
+         * @since 3.8.0
+         */
+        HTTP2_STREAM,
     }
 
     /**
@@ -0,0 +1,100 @@
+package io.micronaut.http.client.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import jakarta.inject.Singleton
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class ConnectionPoolListenerSpec extends Specification {
+
+    @AutoCleanup
+    @Shared
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'ConnectionPoolListenerSpec'])
+
+    def "connection pool activity is reported to the listeners"() {
+        setup:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'spec.name': 'ConnectionPoolListenerSpec',
+                'micronaut.http.client.connection-pool-idle-timeout': '500ms',
+                'micronaut.http.client.pool.enabled': true
+        )
+        RecordingListener listener = clientContext.getBean(RecordingListener)
+        HttpClient httpClient = clientContext.createBean(HttpClient, embeddedServer.getURL())
+
+        when:
+        httpClient.toBlocking().retrieve(HttpRequest.GET('/pool-listener'), String)
+        httpClient.toBlocking().retrieve(HttpRequest.GET('/pool-listener'), String)
+
+        then:
+        listener.events.findAll { it == 'created' }.size() == 1
+        listener.acquireWaits.size() == 2
+        listener.acquireWaits.every { it >= 0 }
+        listener.pending == [1, 0, 1, 0]
+        listener.pools.every { it.host == embeddedServer.host && it.port == embeddedServer.port && !it.secure }
+
+        and:
+        new PollingConditions(timeout: 3).eventually {
+            assert listener.events == ['created', 'evicted', 'closed']
+        }
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'ConnectionPoolListenerSpec')
+    @Singleton
+    static class RecordingListener implements ConnectionPoolListener {
+        final List<String> events = new CopyOnWriteArrayList<>()
+        final List<Long> acquireWaits = new CopyOnWriteArrayList<>()
+        final List<Integer> pending = new CopyOnWriteArrayList<>()
+        final Set<ConnectionPoolListener.Pool> pools = Collections.synchronizedSet(new HashSet<>())
+
+        @Override
+        void onAcquire(ConnectionPoolListener.Pool pool, long waitNanos) {
+            pools.add(pool)
+            acquireWaits.add(waitNanos)
+        }
+
+        @Override
+        void onPendingAcquires(ConnectionPoolListener.Pool pool, int pendingAcquires) {
+            pending.add(pendingAcquires)
+        }
+
+        @Override
+        void onConnectionCreated(ConnectionPoolListener.Pool pool) {
+            events.add('created')
+        }
+
+        @Override
+        void onConnectionClosed(ConnectionPoolListener.Pool pool) {
+            events.add('closed')
+        }
+
+        @Override
+        void onIdleConnectionEvicted(ConnectionPoolListener.Pool pool) {
+            events.add('evicted')
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'ConnectionPoolListenerSpec')
+    @Controller('/pool-listener')
+    static class GetController {
+
+        @Get(produces = MediaType.TEXT_PLAIN)
+        String get() {
+            return "success"
+        }
+    }
+}
@@ -28,6 +28,7 @@ import io.micronaut.http.netty.stream.DefaultStreamedHttpRequest;
 import io.micronaut.http.netty.stream.StreamedHttpRequest;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpConstants;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.handler.codec.http2.HttpConversionUtil;
@@ -59,7 +60,7 @@ public abstract class AbstractNettyHttpRequest<B> extends DefaultAttributeMap im
     protected final URI uri;
     protected final String httpMethodName;
 
-    private NettyHttpParameters httpParameters;
+    private LazyNettyHttpParameters httpParameters;
     private Optional<MediaType> mediaType;
     private Charset charset;
     private Optional<Locale> locale;
@@ -163,7 +164,7 @@ public abstract class AbstractNettyHttpRequest<B> extends DefaultAttributeMap im
 
     @Override
     public HttpParameters getParameters() {
-        NettyHttpParameters httpParameters = this.httpParameters;
+        LazyNettyHttpParameters httpParameters = this.httpParameters;
         if (httpParameters == null) {
             synchronized (this) { // double check
                 httpParameters = this.httpParameters;
@@ -253,9 +254,9 @@ public abstract class AbstractNettyHttpRequest<B> extends DefaultAttributeMap im
         return queryStringDecoder.rawPath();
     }
 
-    private NettyHttpParameters decodeParameters() {
-        QueryStringDecoder queryStringDecoder = createDecoder(uri);
-        return new NettyHttpParameters(queryStringDecoder.parameters(), conversionService, null);
+    private LazyNettyHttpParameters decodeParameters() {
+        Charset charset = getCharacterEncoding();
+        return new LazyNettyHttpParameters(uri.getRawQuery(), charset != null ? charset : HttpConstants.DEFAULT_CHARSET, conversionService);
     }
 
     @Override
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.convert.format.Format;
+import io.micronaut.core.convert.value.ConvertibleMultiValues;
+import io.micronaut.core.convert.value.ConvertibleMultiValuesMap;
+import io.micronaut.http.HttpParameters;
+import io.netty.handler.codec.http.QueryStringDecoder;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A read only {@link HttpParameters} view of a raw query string that decodes lazily. The query string is scanned once
+ * on first access to record the offsets of each name and value, after which lookups compare names in place and only
+ * decode the values that are read. Numeric values are parsed in place without going through the
+ * {@link ConversionService}. The decoding rules are those of Netty's {@link QueryStringDecoder}.
+ *
+ * @since 3.8.0
+ */
+@Internal
+public final class LazyNettyHttpParameters implements HttpParameters {
+
+    private static final int MAX_PARAMS = 1024;
+    private static final int[] EMPTY_OFFSETS = new int[0];
+    private static final long INVALID_NUMBER = Long.MIN_VALUE;
+
+    private final String query;
+    private final Charset charset;
+    private final ConversionService<?> conversionService;
+    // nameStart, valueStart and valueEnd for each parameter, valueStart being valueEnd + 1 without an '='
+    private volatile int[] offsets;
+    private volatile ConvertibleMultiValues<String> decoded;
+
+    /**
+     * @param query             The raw query string, without the leading '?'
+     * @param charset           The charset of the encoded values
+     * @param conversionService The conversion service
+     */
+    public LazyNettyHttpParameters(@Nullable String query, Charset charset, ConversionService<?> conversionService) {
+        this.query = query == null ? "" : query;
+        this.charset = charset;
+        this.conversionService = conversionService;
+    }
+
+    @Override
+    public boolean contains(String name) {
+        int[] offsets = offsets();
+        for (int i = 0; i < offsets.length; i += 3) {
+            if (nameMatches(offsets, i, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String get(CharSequence name) {
+        int[] offsets = offsets();
+        String n = name.toString();
+        for (int i = 0; i < offsets.length; i += 3) {
+            if (nameMatches(offsets, i, n)) {
+                return value(offsets, i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<String> getAll(CharSequence name) {
+        int[] offsets = offsets();
+        String n = name.toString();
+        List<String> values = null;
+        for (int i = 0; i < offsets.length; i += 3) {
+            if (nameMatches(offsets, i, n)) {
+                if (values == null) {
+                    values = new ArrayList<>(1);
+                }
+                values.add(value(offsets, i));
+            }
+        }
+        return values == null ? Collections.emptyList() : Collections.unmodifiableList(values);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Optional<T> get(CharSequence name, ArgumentConversionContext<T> conversionContext) {
+        int[] offsets = offsets();
+        String n = name.toString();
+        int found = -1;
+        for (int i = 0; i < offsets.length; i += 3) {
+            if (nameMatches(offsets, i, n)) {
+                if (found != -1) {
+                    // several values are converted as a whole
+                    return decoded().get(name, conversionContext);
+                }
+                found = i;
+            }
+        }
+        if (found == -1) {
+            // a missing name can still bind a map of the prefixed names
+            return decoded().get(name, conversionContext);
+        }
+        Object number = parseNumber(query, offsets[found + 1], offsets[found + 2], conversionContext);
+        if (number != null) {
+            return Optional.of((T) number);
+        }
+        String value = value(offsets, found);
+        if (conversionContext.getArgument().getType().isInstance(value)) {
+            return Optional.of((T) value);
+        }
+        return conversionService.convert(value, conversionContext);
+    }
+
+    /**
+     * @param name         The parameter name
+     * @param defaultValue The value when the parameter is missing or not an int
+     * @return The first value of the parameter as an int
+     */
+    public int getInt(CharSequence name, int defaultValue) {
+        long value = getLong(name, INVALID_NUMBER);
+        return value == INVALID_NUMBER || value != (int) value ? defaultValue : (int) value;
+    }
+
+    /**
+     * @param name         The parameter name
+     * @param defaultValue The value when the parameter is missing or not a long
+     * @return The first value of the parameter as a long
+     */
+    public long getLong(CharSequence name, long defaultValue) {
+        int[] offsets = offsets();
+        String n = name.toString();
+        for (int i = 0; i < offsets.length; i += 3) {
+            if (nameMatches(offsets, i, n)) {
+                long value = parseLong(query, offsets[i + 1], offsets[i + 2]);
+                return value == INVALID_NUMBER ? defaultValue : value;
+            }
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public Set<String> names() {
+        return decoded().names();
+    }
+
+    @Override
+    public Collection<List<String>> values() {
+        return decoded().values();
+    }
+
+    /**
+     * Parses a plain decimal number in place, as the {@link ConversionService} would for the given type.
+     *
+     * @param s                 The characters
+     * @param start             The start index
+     * @param end               The end index, exclusive
+     * @param conversionContext The conversion context
+     * @return An {@link Integer} or {@link Long}, or null if the type is not one of those, a format applies or the
+     * value is not a plain number in range, in which case the regular conversion applies
+     */
+    @Nullable
+    static Object parseNumber(CharSequence s, int start, int end, ArgumentConversionContext<?> conversionContext) {
+        Class<?> type = conversionContext.getArgument().getType();
+        if (type.isPrimitive() ? type != int.class && type != long.class : type != Integer.class && type != Long.class) {
+            return null;
+        }
+        if (conversionContext.getAnnotationMetadata().hasStereotype(Format.class)) {
+            return null;
+        }
+        if (type == Integer.class || type == int.class) {
+            long value = parseLong(s, start, end);
+            return value == INVALID_NUMBER || value != (int) value ? null : Integer.valueOf((int) value);
+        } else if (type == Long.class || type == long.class) {
+            long value = parseLong(s, start, end);
+            return value == INVALID_NUMBER ? null : Long.valueOf(value);
+        }
+        return null;
+    }
+
+    private static long parseLong(CharSequence s, int start, int end) {
+        boolean negative = start < end && s.charAt(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i >= end || end - i > 18) {
+            // empty, or possibly out of range
+            return INVALID_NUMBER;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID_NUMBER;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean nameMatches(int[] offsets, int i, String name) {
+        int start = offsets[i];
+        int end = offsets[i + 1] - 1;
+        if (isEncoded(start, end)) {
+            return QueryStringDecoder.decodeComponent(query.substring(start, end), charset).equals(name);
+        }
+        return end - start == name.length() && query.regionMatches(start, name, 0, name.length());
+    }
+
+    private String value(int[] offsets, int i) {
+        int start = offsets[i + 1];
+        int end = offsets[i + 2];
+        if (start >= end) {
+            return "";
+        }
+        String value = query.substring(start, end);
+        return isEncoded(start, end) ? QueryStringDecoder.decodeComponent(value, charset) : value;
+    }
+
+    private boolean isEncoded(int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = query.charAt(i);
+            if (c == '%' || c == '+') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ConvertibleMultiValues<String> decoded() {
+        ConvertibleMultiValues<String> decoded = this.decoded;
+        if (decoded == null) {
+            int[] offsets = offsets();
+            Map<CharSequence, List<String>> values = new LinkedHashMap<>();
+            for (int i = 0; i < offsets.length; i += 3) {
+                String name = QueryStringDecoder.decodeComponent(query.substring(offsets[i], offsets[i + 1] - 1), charset);
+                values.computeIfAbsent(name, k -> new ArrayList<>(1)).add(value(offsets, i));
+            }
+            decoded = new ConvertibleMultiValuesMap<>(values, conversionService);
+            this.decoded = decoded;
+        }
+        return decoded;
+    }
+
+    private int[] offsets() {
+        int[] offsets = this.offsets;
+        if (offsets == null) {
+            offsets = parse();
+            this.offsets = offsets;
+        }
+        return offsets;
+    }
+
+    private int[] parse() {
+        int len = query.length();
+        if (len == 0) {
+            return EMPTY_OFFSETS;
+        }
+        int[] offsets = new int[12];
+        int count = 0;
+        int nameStart = 0;
+        int valueStart = -1;
+        int i;
+        loop:
+        for (i = 0; i < len; i++) {
+            switch (query.charAt(i)) {
+                case '=':
+                    if (nameStart == i) {
+                        nameStart = i + 1;
+                    } else if (valueStart < nameStart) {
+                        valueStart = i + 1;
+                    }
+                    break;
+                case '&':
+                case ';':
+                    if (nameStart < i) {
+                        offsets = add(offsets, count++, nameStart, valueStart, i);
+                        if (count == MAX_PARAMS) {
+                            return Arrays.copyOf(offsets, count * 3);
+                        }
+                    }
+                    nameStart = i + 1;
+                    break;
+                case '#':
+                    break loop;
+                default:
+                    // continue
+            }
+        }
+        if (nameStart < i) {
+            offsets = add(offsets, count++, nameStart, valueStart, i);
+        }
+        return Arrays.copyOf(offsets, count * 3);
+    }
+
+    private static int[] add(int[] offsets, int index, int nameStart, int valueStart, int valueEnd) {
+        int position = index * 3;
+        if (position + 3 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[position] = nameStart;
+        offsets[position + 1] = valueStart <= nameStart ? valueEnd + 1 : valueStart;
+        offsets[position + 2] = valueEnd;
+        return offsets;
+    }
+}
@@ -92,6 +92,9 @@ public class NettyHttpHeaders implements MutableHttpHeaders {
 
     @Override
     public <T> Optional<T> get(CharSequence name, ArgumentConversionContext<T> conversionContext) {
+        if (!isCollectionOrArray(conversionContext.getArgument().getType())) {
+            return getFirst(name, conversionContext);
+        }
         List<String> values = nettyHeaders.getAll(name);
         if (!values.isEmpty()) {
             if (values.size() == 1 || !isCollectionOrArray(conversionContext.getArgument().getType())) {
@@ -103,6 +106,24 @@ public class NettyHttpHeaders implements MutableHttpHeaders {
         return Optional.empty();
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Optional<T> getFirst(CharSequence name, ArgumentConversionContext<T> conversionContext) {
+        // reads the first value in place rather than copying all of them into a list
+        String value = nettyHeaders.get(name);
+        if (value == null) {
+            return Optional.empty();
+        }
+        Object number = LazyNettyHttpParameters.parseNumber(value, 0, value.length(), conversionContext);
+        if (number != null) {
+            return Optional.of((T) number);
+        }
+        if (conversionContext.getArgument().getType().isInstance(value)) {
+            return Optional.of((T) value);
+        }
+        return conversionService.convert(value, conversionContext);
+    }
+
     private boolean isCollectionOrArray(Class<?> clazz) {
         return clazz.isArray() || Collection.class.isAssignableFrom(clazz);
     }
@@ -43,6 +43,8 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
 
     private final EventExecutor executor;
     private final AtomicBoolean hasSubscription = new AtomicBoolean();
+    // whether an element has been requested and not received yet
+    private final AtomicBoolean demanded = new AtomicBoolean();
 
     private volatile Subscription subscription;
     private volatile ChannelHandlerContext ctx;
@@ -178,11 +180,15 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
      * @param promise The promise
      */
     protected void onNext(T t, ChannelPromise promise) {
+        demanded.set(false);
         // Publish straight to the context.
         lastWriteFuture = ctx.writeAndFlush(t, promise);
         lastWriteFuture.addListener(future ->
                 maybeRequestMore()
         );
+        // keep requesting while the outbound buffer is below the high water mark, otherwise wait for
+        // channelWritabilityChanged
+        maybeRequestMore();
     }
 
     @Override
@@ -218,7 +224,7 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
     }
 
     private void maybeRequestMore() {
-        if (ctx.channel().isWritable() && !(state == COMPLETE || state == CANCELLED)) {
+        if (ctx.channel().isWritable() && !(state == COMPLETE || state == CANCELLED) && demanded.compareAndSet(false, true)) {
             subscription.request(1);
         }
     }
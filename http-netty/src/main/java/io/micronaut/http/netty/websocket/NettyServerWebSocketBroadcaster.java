@@ -98,6 +98,29 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
         }, FluxSink.OverflowStrategy.BUFFER);
     }
 
+    @Override
+    public <T> Publisher<T> broadcastToTopic(String topic, T message, MediaType mediaType) {
+        WebSocketTopicIndex topicIndex = webSocketSessionRepository.getTopicIndex();
+        if (topicIndex == null) {
+            return WebSocketBroadcaster.super.broadcastToTopic(topic, message, mediaType);
+        }
+        return Flux.create(emitter -> {
+            try {
+                WebSocketFrame frame = webSocketMessageEncoder.encodeMessage(message, mediaType);
+                topicIndex.broadcast(topic, message, frame, cause -> {
+                    if (cause != null) {
+                        emitter.error(new WebSocketSessionException("Broadcast Failure: " + cause.getMessage(), cause));
+                    } else {
+                        emitter.next(message);
+                        emitter.complete();
+                    }
+                });
+            } catch (Throwable e) {
+                emitter.error(new WebSocketSessionException("Broadcast Failure: " + e.getMessage(), e));
+            }
+        }, FluxSink.OverflowStrategy.BUFFER);
+    }
+
     /**
      * Attempt to extract a single failure from a failure of {@link io.netty.channel.group.ChannelGroup#write}
      * exception. {@link io.netty.channel.group.ChannelGroup} aggregates exceptions into a {@link ChannelGroupException}
@@ -121,11 +144,11 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
                 }
             }
             return singleCause;
-        } else if (failure instanceof ClosedChannelException) {
+        } else if (failure instanceof ClosedChannelException || failure instanceof WebSocketOutboundHandler.FrameDroppedException) {
             // ClosedChannelException can happen when there is a race condition between the call to writeAndFlush and
             // the closing of a channel. session.isOpen will still return true, but when the write is actually
             // performed, the channel is closed. Since we would have skipped the write anyway had we known the channel
-            // would go away, we can safely ignore this error.
+            // would go away, we can safely ignore this error. Frames dropped for slow consumers are ignored likewise.
             return null;
         } else {
             return failure;
@@ -44,7 +44,9 @@ import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implementation of the {@link WebSocketSession} interface for Netty.
@@ -67,6 +69,10 @@ public class NettyWebSocketSession implements WebSocketSession {
     private final MediaTypeCodecRegistry codecRegistry;
     private final MutableConvertibleValues<Object> attributes;
     private final WebSocketMessageEncoder messageEncoder;
+    @Nullable
+    private final WebSocketTopicIndex topicIndex;
+    private final Set<String> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean unsubscribeOnClose = new AtomicBoolean();
 
     /**
      * Creates a new netty web socket session.
@@ -84,11 +90,34 @@ public class NettyWebSocketSession implements WebSocketSession {
             MediaTypeCodecRegistry codecRegistry,
             String protocolVersion,
             boolean isSecure) {
+        this(id, channel, request, codecRegistry, protocolVersion, isSecure, null);
+    }
+
+    /**
+     * Creates a new netty web socket session.
+     * @param id The ID
+     * @param channel The channel
+     * @param request The original request used to create the session
+     * @param codecRegistry The codec registry
+     * @param protocolVersion The protocol version
+     * @param isSecure Whether the session is secure
+     * @param topicIndex The index to register the topic subscriptions with, if any
+     * @since 3.8.0
+     */
+    protected NettyWebSocketSession(
+            String id,
+            Channel channel,
+            HttpRequest<?> request,
+            MediaTypeCodecRegistry codecRegistry,
+            String protocolVersion,
+            boolean isSecure,
+            @Nullable WebSocketTopicIndex topicIndex) {
         this.id = id;
         this.channel = channel;
         this.request = request;
         this.protocolVersion = protocolVersion;
         this.isSecure = isSecure;
+        this.topicIndex = topicIndex;
         this.channel.attr(WEB_SOCKET_SESSION_KEY).set(this);
         this.codecRegistry = codecRegistry;
         this.messageEncoder = new WebSocketMessageEncoder(this.codecRegistry);
@@ -135,6 +164,52 @@ public class NettyWebSocketSession implements WebSocketSession {
         return request.getParameters();
     }
 
+    @Override
+    public void subscribe(@NonNull String topic) {
+        if (!isOpen()) {
+            throw new WebSocketSessionException("Session closed");
+        }
+        if (subscriptions.add(topic) && topicIndex != null) {
+            topicIndex.subscribe(topic, channel);
+            if (unsubscribeOnClose.compareAndSet(false, true)) {
+                channel.closeFuture().addListener(future -> {
+                    for (String subscription : subscriptions) {
+                        topicIndex.unsubscribe(subscription, channel);
+                    }
+                });
+            }
+            if (!channel.isOpen()) {
+                // closed while subscribing, after the close listener ran
+                topicIndex.unsubscribe(topic, channel);
+            }
+        }
+    }
+
+    @Override
+    public void unsubscribe(@NonNull String topic) {
+        if (subscriptions.remove(topic) && topicIndex != null) {
+            topicIndex.unsubscribe(topic, channel);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Set<String> getSubscriptions() {
+        return Collections.unmodifiableSet(subscriptions);
+    }
+
+    @Override
+    public long getQueuedBytes() {
+        WebSocketOutboundHandler outboundHandler = channel.pipeline().get(WebSocketOutboundHandler.class);
+        return outboundHandler == null ? 0 : outboundHandler.getQueuedBytes();
+    }
+
+    @Override
+    public long getDroppedMessages() {
+        WebSocketOutboundHandler outboundHandler = channel.pipeline().get(WebSocketOutboundHandler.class);
+        return outboundHandler == null ? 0 : outboundHandler.getDroppedFrames();
+    }
+
     @Override
     public String getProtocolVersion() {
         return protocolVersion;
@@ -151,7 +226,7 @@ public class NettyWebSocketSession implements WebSocketSession {
                 } else {
                     frame = messageEncoder.encodeMessage(message, mediaType);
                 }
-                channel.writeAndFlush(frame).addListener(f -> {
+                channel.writeAndFlush(WebSocketOutboundHandler.prepare(channel, message, frame)).addListener(f -> {
                     if (f.isSuccess()) {
                         future.complete(message);
                     } else {
@@ -178,7 +253,7 @@ public class NettyWebSocketSession implements WebSocketSession {
                     } else {
                         frame = messageEncoder.encodeMessage(message, mediaType);
                     }
-                    channel.writeAndFlush(frame).sync().get();
+                    channel.writeAndFlush(WebSocketOutboundHandler.prepare(channel, message, frame)).sync().get();
                 } catch (InterruptedException e) {
                     throw new WebSocketSessionException("Send interrupt: " + e.getMessage(), e);
                 } catch (ExecutionException e) {
@@ -207,7 +282,7 @@ public class NettyWebSocketSession implements WebSocketSession {
                     frame = messageEncoder.encodeMessage(message, mediaType);
                 }
 
-                ChannelFuture channelFuture = channel.writeAndFlush(frame);
+                ChannelFuture channelFuture = channel.writeAndFlush(WebSocketOutboundHandler.prepare(channel, message, frame));
                 channelFuture.addListener(future -> {
                     if (future.isSuccess()) {
                         emitter.next(message);
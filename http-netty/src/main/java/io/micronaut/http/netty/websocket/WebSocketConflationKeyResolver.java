@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.websocket;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Resolves the conflation key of an outbound WebSocket message for the
+ * {@link WebSocketOutboundHandler.OverflowPolicy#CONFLATE} policy. A queued message is replaced by a newer message
+ * with the same key, for example the latest price of a ticker.
+ *
+ * @since 3.8.0
+ */
+@FunctionalInterface
+public interface WebSocketConflationKeyResolver {
+
+    /**
+     * @param message The message being sent, before it is encoded
+     * @return The conflation key, or {@code null} if the message must not be conflated
+     */
+    @Nullable
+    Object resolveKey(@NonNull Object message);
+}
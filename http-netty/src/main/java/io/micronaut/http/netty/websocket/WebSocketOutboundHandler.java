@@ -0,0 +1,411 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.websocket;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.websocket.exceptions.WebSocketSessionException;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PongWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.util.ReferenceCounted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Protects the server from slow WebSocket consumers. Data frames are written through while the channel is writable and
+ * queued once it is not, so that the outbound buffer of a slow client cannot grow without bound. When the queue holds
+ * more frames or bytes than allowed, the {@link OverflowPolicy} decides which frames are dropped. Flushes are coalesced,
+ * the frames written during an event loop tick are flushed once at the end of it.
+ *
+ * <p>Control frames bypass the queue, and fragments of a message are never dropped.</p>
+ *
+ * @since 3.8.0
+ */
+@Internal
+public final class WebSocketOutboundHandler extends ChannelDuplexHandler {
+
+    /**
+     * The id of the handler used when adding it to the Netty pipeline.
+     */
+    public static final String ID = "websocket-outbound-handler";
+
+    /**
+     * The default maximum number of queued frames.
+     */
+    public static final int DEFAULT_MAX_QUEUED_FRAMES = 1024;
+
+    /**
+     * The default maximum number of queued bytes.
+     */
+    public static final long DEFAULT_MAX_QUEUED_BYTES = 4L * 1024 * 1024;
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebSocketOutboundHandler.class);
+
+    private final OverflowPolicy overflowPolicy;
+    private final int maxQueuedFrames;
+    private final long maxQueuedBytes;
+    @Nullable
+    private final WebSocketConflationKeyResolver conflationKeyResolver;
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    private final Map<Object, Entry> conflated = new HashMap<>();
+    private final AtomicInteger queuedFrames = new AtomicInteger();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final LongAdder droppedFrames = new LongAdder();
+    private ChannelHandlerContext ctx;
+    private boolean flushScheduled;
+    private final Runnable flushTask = () -> {
+        flushScheduled = false;
+        ctx.flush();
+    };
+
+    /**
+     * @param overflowPolicy        What to do when the queue is full
+     * @param maxQueuedFrames       The maximum number of queued frames
+     * @param maxQueuedBytes        The maximum number of queued bytes
+     * @param conflationKeyResolver Resolves the conflation keys of messages for {@link OverflowPolicy#CONFLATE}
+     */
+    public WebSocketOutboundHandler(@NonNull OverflowPolicy overflowPolicy,
+                                    int maxQueuedFrames,
+                                    long maxQueuedBytes,
+                                    @Nullable WebSocketConflationKeyResolver conflationKeyResolver) {
+        if (maxQueuedFrames <= 0) {
+            throw new IllegalArgumentException("Maximum queued frames must be positive: " + maxQueuedFrames);
+        }
+        if (maxQueuedBytes <= 0) {
+            throw new IllegalArgumentException("Maximum queued bytes must be positive: " + maxQueuedBytes);
+        }
+        this.overflowPolicy = overflowPolicy;
+        this.maxQueuedFrames = maxQueuedFrames;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.conflationKeyResolver = conflationKeyResolver;
+    }
+
+    /**
+     * @return The number of frames waiting for the channel to become writable
+     */
+    public int getQueuedFrames() {
+        return queuedFrames.get();
+    }
+
+    /**
+     * @return The number of bytes waiting for the channel to become writable
+     */
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    /**
+     * @return The number of frames dropped by the overflow policy or discarded when the channel closed
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.sum();
+    }
+
+    /**
+     * Prepares a frame to be written to a channel, attaching the conflation key of the message if the channel
+     * conflates messages.
+     *
+     * @param channel The channel
+     * @param message The message the frame was encoded from
+     * @param frame   The frame
+     * @return The message to write to the channel
+     */
+    static Object prepare(Channel channel, Object message, WebSocketFrame frame) {
+        WebSocketOutboundHandler handler = channel.pipeline().get(WebSocketOutboundHandler.class);
+        if (handler != null && handler.overflowPolicy == OverflowPolicy.CONFLATE && handler.conflationKeyResolver != null) {
+            Object key = handler.conflationKeyResolver.resolveKey(message);
+            if (key != null) {
+                return new KeyedFrame(key, frame);
+            }
+        }
+        return frame;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        discardAll();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        discardAll();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        drain();
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        Object key = null;
+        if (msg instanceof KeyedFrame) {
+            key = ((KeyedFrame) msg).key;
+            msg = ((KeyedFrame) msg).frame;
+        }
+        if (!(msg instanceof WebSocketFrame) || isControlFrame(msg)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        WebSocketFrame frame = (WebSocketFrame) msg;
+        if (queue.isEmpty() && ctx.channel().isWritable()) {
+            ctx.write(frame, promise);
+            return;
+        }
+        enqueue(frame, key, promise);
+        drain();
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            try {
+                ctx.executor().execute(flushTask);
+            } catch (RejectedExecutionException e) {
+                flushScheduled = false;
+                ctx.flush();
+            }
+        }
+    }
+
+    private void enqueue(WebSocketFrame frame, @Nullable Object key, ChannelPromise promise) {
+        int size = frame.content().readableBytes();
+        boolean droppable = frame.isFinalFragment() && !(frame instanceof ContinuationWebSocketFrame);
+        if (key != null && droppable) {
+            Entry existing = conflated.get(key);
+            if (existing != null) {
+                // keep the position of the queued message, only its latest value is written
+                drop(existing.frame, existing.promise);
+                queuedBytes.addAndGet(size - existing.size);
+                existing.frame = frame;
+                existing.size = size;
+                existing.promise = promise;
+                trim();
+                return;
+            }
+        }
+        Entry entry = new Entry(frame, size, droppable ? key : null, droppable, promise);
+        queue.add(entry);
+        if (entry.key != null) {
+            conflated.put(entry.key, entry);
+        }
+        queuedFrames.incrementAndGet();
+        queuedBytes.addAndGet(size);
+        trim();
+    }
+
+    private void trim() {
+        if (!isOverLimit()) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Closing slow WebSocket consumer {} with {} queued frames and {} queued bytes", ctx.channel(), queuedFrames.get(), queuedBytes.get());
+            }
+            discardAll();
+            ctx.close();
+            return;
+        }
+        Iterator<Entry> i = queue.iterator();
+        while (isOverLimit() && i.hasNext()) {
+            Entry entry = i.next();
+            if (entry.droppable) {
+                i.remove();
+                dequeued(entry);
+                drop(entry.frame, entry.promise);
+            }
+        }
+    }
+
+    private boolean isOverLimit() {
+        return queuedFrames.get() > maxQueuedFrames || queuedBytes.get() > maxQueuedBytes;
+    }
+
+    private void drain() {
+        boolean written = false;
+        while (!queue.isEmpty() && ctx.channel().isWritable()) {
+            Entry entry = queue.poll();
+            dequeued(entry);
+            ctx.write(entry.frame, entry.promise);
+            written = true;
+        }
+        if (written) {
+            flush(ctx);
+        }
+    }
+
+    private void dequeued(Entry entry) {
+        if (entry.key != null) {
+            conflated.remove(entry.key);
+        }
+        queuedFrames.decrementAndGet();
+        queuedBytes.addAndGet(-entry.size);
+    }
+
+    private void drop(WebSocketFrame frame, ChannelPromise promise) {
+        droppedFrames.increment();
+        frame.release();
+        if (!promise.isVoid()) {
+            promise.tryFailure(new FrameDroppedException());
+        }
+    }
+
+    private void discardAll() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            dequeued(entry);
+            droppedFrames.increment();
+            entry.frame.release();
+            if (!entry.promise.isVoid()) {
+                entry.promise.tryFailure(new ClosedChannelException());
+            }
+        }
+    }
+
+    private static boolean isControlFrame(Object msg) {
+        return msg instanceof CloseWebSocketFrame || msg instanceof PingWebSocketFrame || msg instanceof PongWebSocketFrame;
+    }
+
+    /**
+     * What to do with the queue of a slow consumer once it holds more frames or bytes than allowed.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the oldest queued frames.
+         */
+        DROP_OLDEST,
+        /**
+         * Replace a queued message by a newer message with the same conflation key, and drop the oldest queued frames
+         * if the queue is still full.
+         */
+        CONFLATE,
+        /**
+         * Close the connection.
+         */
+        DISCONNECT
+    }
+
+    /**
+     * The failure of a write whose frame was dropped by the {@link OverflowPolicy}.
+     */
+    public static final class FrameDroppedException extends WebSocketSessionException {
+
+        /**
+         * Default constructor.
+         */
+        public FrameDroppedException() {
+            super("WebSocket frame dropped, the consumer is too slow");
+        }
+    }
+
+    /**
+     * A queued frame.
+     */
+    private static final class Entry {
+        final Object key;
+        final boolean droppable;
+        WebSocketFrame frame;
+        int size;
+        ChannelPromise promise;
+
+        Entry(WebSocketFrame frame, int size, @Nullable Object key, boolean droppable, ChannelPromise promise) {
+            this.frame = frame;
+            this.size = size;
+            this.key = key;
+            this.droppable = droppable;
+            this.promise = promise;
+        }
+    }
+
+    /**
+     * A frame along with the conflation key of its message. Reference counting is delegated to the frame so that
+     * the frame is released if the channel discards the write before it reaches this handler.
+     */
+    private static final class KeyedFrame implements ReferenceCounted {
+        final Object key;
+        final WebSocketFrame frame;
+
+        KeyedFrame(Object key, WebSocketFrame frame) {
+            this.key = key;
+            this.frame = frame;
+        }
+
+        @Override
+        public int refCnt() {
+            return frame.refCnt();
+        }
+
+        @Override
+        public ReferenceCounted retain() {
+            frame.retain();
+            return this;
+        }
+
+        @Override
+        public ReferenceCounted retain(int increment) {
+            frame.retain(increment);
+            return this;
+        }
+
+        @Override
+        public ReferenceCounted touch() {
+            frame.touch();
+            return this;
+        }
+
+        @Override
+        public ReferenceCounted touch(Object hint) {
+            frame.touch(hint);
+            return this;
+        }
+
+        @Override
+        public boolean release() {
+            return frame.release();
+        }
+
+        @Override
+        public boolean release(int decrement) {
+            return frame.release(decrement);
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.micronaut.http.netty.websocket;
 
+import io.micronaut.core.annotation.Nullable;
 import io.netty.channel.Channel;
 import io.netty.channel.group.ChannelGroup;
 
@@ -43,4 +44,14 @@ public interface WebSocketSessionRepository {
      * @return A {@link io.netty.channel.group.ChannelGroup}
      */
     ChannelGroup getChannelGroup();
+
+    /**
+     * Returns the index of the channels by the topics their sessions subscribed to.
+     * @return The topic index, or {@code null} if topics are not indexed and a topic broadcast visits all the sessions
+     * @since 3.8.0
+     */
+    @Nullable
+    default WebSocketTopicIndex getTopicIndex() {
+        return null;
+    }
 }
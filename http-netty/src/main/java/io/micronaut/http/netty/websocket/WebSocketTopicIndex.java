@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.websocket;
+
+import io.micronaut.core.annotation.NonNull;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.util.concurrent.EventExecutor;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Indexes WebSocket channels by the topics their sessions subscribed to, so that a broadcast to a topic only visits
+ * its subscribers. The channels of a topic are sharded by event loop, and a broadcast writes each shard from its own
+ * event loop, encoding the frame once and writing retained duplicates of it.
+ *
+ * @since 3.8.0
+ * @see io.micronaut.websocket.WebSocketSession#subscribe(String)
+ */
+public final class WebSocketTopicIndex {
+
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+
+    /**
+     * @return The topics with at least one subscriber
+     */
+    @NonNull
+    public Set<String> getTopics() {
+        return Collections.unmodifiableSet(topics.keySet());
+    }
+
+    /**
+     * @param topic The topic
+     * @return The number of channels subscribed to the topic
+     */
+    public int getSubscriberCount(@NonNull String topic) {
+        Topic t = topics.get(topic);
+        if (t == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Set<Channel> shard : t.shards.values()) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    /**
+     * @param topic The topic
+     * @return The fan-out metrics of the topic, while it has subscribers
+     */
+    @NonNull
+    public Optional<WebSocketTopicMetrics> getMetrics(@NonNull String topic) {
+        Topic t = topics.get(topic);
+        return t == null ? Optional.empty() : Optional.of(t.metrics);
+    }
+
+    /**
+     * @param topic   The topic
+     * @param channel The channel to subscribe
+     */
+    void subscribe(String topic, Channel channel) {
+        topics.compute(topic, (name, t) -> {
+            if (t == null) {
+                t = new Topic();
+            }
+            t.shards.computeIfAbsent(channel.eventLoop(), loop -> ConcurrentHashMap.newKeySet()).add(channel);
+            return t;
+        });
+    }
+
+    /**
+     * @param topic   The topic
+     * @param channel The channel to unsubscribe
+     */
+    void unsubscribe(String topic, Channel channel) {
+        topics.computeIfPresent(topic, (name, t) -> {
+            EventExecutor eventLoop = channel.eventLoop();
+            Set<Channel> shard = t.shards.get(eventLoop);
+            if (shard != null && shard.remove(channel) && shard.isEmpty()) {
+                t.shards.remove(eventLoop);
+            }
+            return t.shards.isEmpty() ? null : t;
+        });
+    }
+
+    /**
+     * Writes the frame to the open channels subscribed to the topic. The frame is released once written.
+     *
+     * @param topic    The topic
+     * @param message  The message the frame was encoded from
+     * @param frame    The encoded frame
+     * @param callback Invoked once all the writes completed, with the first write failure if any
+     */
+    void broadcast(String topic, Object message, WebSocketFrame frame, Consumer<Throwable> callback) {
+        Topic t = topics.get(topic);
+        if (t == null) {
+            frame.release();
+            callback.accept(null);
+            return;
+        }
+        FanOut fanOut = new FanOut(t.metrics, message, frame, callback);
+        for (Map.Entry<EventExecutor, Set<Channel>> shard : t.shards.entrySet()) {
+            fanOut.pending.incrementAndGet();
+            EventExecutor eventLoop = shard.getKey();
+            Set<Channel> channels = shard.getValue();
+            if (eventLoop.inEventLoop()) {
+                fanOut.write(channels);
+            } else {
+                try {
+                    eventLoop.execute(() -> fanOut.write(channels));
+                } catch (RejectedExecutionException e) {
+                    // the event loop is shutting down along with its channels
+                    fanOut.complete();
+                }
+            }
+        }
+        fanOut.complete();
+    }
+
+    /**
+     * The subscribers of a topic, by event loop.
+     */
+    private static final class Topic {
+        final Map<EventExecutor, Set<Channel>> shards = new ConcurrentHashMap<>();
+        final WebSocketTopicMetrics metrics = new WebSocketTopicMetrics();
+    }
+
+    /**
+     * A broadcast in progress. Pending counts the shards still to be written, the writes in flight and one for the
+     * caller until it scheduled all the shards.
+     */
+    private static final class FanOut implements ChannelFutureListener {
+        final AtomicInteger pending = new AtomicInteger(1);
+        final AtomicInteger delivered = new AtomicInteger();
+        final WebSocketTopicMetrics metrics;
+        final Object message;
+        final WebSocketFrame frame;
+        final Consumer<Throwable> callback;
+        final long start = System.nanoTime();
+        volatile Throwable failure;
+
+        FanOut(WebSocketTopicMetrics metrics, Object message, WebSocketFrame frame, Consumer<Throwable> callback) {
+            this.metrics = metrics;
+            this.message = message;
+            this.frame = frame;
+            this.callback = callback;
+        }
+
+        void write(Set<Channel> channels) {
+            for (Channel channel : channels) {
+                if (channel.isActive()) {
+                    pending.incrementAndGet();
+                    delivered.incrementAndGet();
+                    channel.writeAndFlush(WebSocketOutboundHandler.prepare(channel, message, frame.retainedDuplicate())).addListener(this);
+                }
+            }
+            complete();
+        }
+
+        @Override
+        public void operationComplete(ChannelFuture future) {
+            Throwable cause = future.cause();
+            // a channel closing while the frame is written, or dropping it for a slow consumer, is not a broadcast failure
+            if (cause != null && !(cause instanceof ClosedChannelException)
+                    && !(cause instanceof WebSocketOutboundHandler.FrameDroppedException) && failure == null) {
+                failure = cause;
+            }
+            complete();
+        }
+
+        void complete() {
+            if (pending.decrementAndGet() == 0) {
+                frame.release();
+                metrics.record(System.nanoTime() - start, delivered.get());
+                callback.accept(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.websocket;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fan-out statistics of a WebSocket topic. The fan-out latency of a broadcast is the time from the broadcast call to
+ * the completion of the write to the last subscriber.
+ *
+ * @since 3.8.0
+ */
+public final class WebSocketTopicMetrics {
+
+    private final LongAdder broadcasts = new LongAdder();
+    private final LongAdder deliveries = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+    private volatile long lastLatency;
+
+    /**
+     * @return The number of completed broadcasts
+     */
+    public long getBroadcastCount() {
+        return broadcasts.sum();
+    }
+
+    /**
+     * @return The number of frames written to subscribers
+     */
+    public long getDeliveryCount() {
+        return deliveries.sum();
+    }
+
+    /**
+     * @return The mean fan-out latency in nanoseconds
+     */
+    public long getMeanLatencyNanos() {
+        long count = broadcasts.sum();
+        return count == 0 ? 0 : totalLatency.sum() / count;
+    }
+
+    /**
+     * @return The highest fan-out latency in nanoseconds
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatency.get();
+    }
+
+    /**
+     * @return The fan-out latency of the last broadcast in nanoseconds
+     */
+    public long getLastLatencyNanos() {
+        return lastLatency;
+    }
+
+    /**
+     * @param latencyNanos The fan-out latency
+     * @param delivered    The number of frames written
+     */
+    void record(long latencyNanos, int delivered) {
+        broadcasts.increment();
+        deliveries.add(delivered);
+        totalLatency.add(latencyNanos);
+        lastLatency = latencyNanos;
+        maxLatency.accumulateAndGet(latencyNanos, Math::max);
+    }
+}
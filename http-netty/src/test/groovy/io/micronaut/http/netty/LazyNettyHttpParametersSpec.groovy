@@ -0,0 +1,77 @@
+package io.micronaut.http.netty
+
+import io.micronaut.core.convert.ConversionContext
+import io.micronaut.core.convert.ConversionService
+import io.micronaut.core.type.Argument
+import io.netty.handler.codec.http.QueryStringDecoder
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+
+class LazyNettyHttpParametersSpec extends Specification {
+
+    @Unroll
+    void "test the parameters of #query match the Netty decoder"() {
+        given:
+        def parameters = new LazyNettyHttpParameters(query, StandardCharsets.UTF_8, ConversionService.SHARED)
+        def expected = new QueryStringDecoder(URI.create("/path?" + query)).parameters()
+
+        expect:
+        parameters.names() == expected.keySet()
+        expected.every { name, values -> parameters.getAll(name) == values && parameters.get(name) == values[0] && parameters.contains(name) }
+
+        where:
+        query << [
+                'a=1&b=2',
+                'a=1&a=2&b',
+                'a=1;b=2&&c=',
+                '=x&a==1&b=2=3',
+                'na%20me=va+lue&name=%C3%A9',
+                'a&b&c=3',
+                ''
+        ]
+    }
+
+    void "test missing parameters"() {
+        given:
+        def parameters = new LazyNettyHttpParameters(null, StandardCharsets.UTF_8, ConversionService.SHARED)
+
+        expect:
+        parameters.names().isEmpty()
+        parameters.get('a') == null
+        parameters.getAll('a').isEmpty()
+        !parameters.contains('a')
+        !parameters.get('a', ConversionContext.INT).isPresent()
+        parameters.getInt('a', 5) == 5
+    }
+
+    void "test numeric accessors"() {
+        given:
+        def parameters = new LazyNettyHttpParameters('i=42&n=-7&l=9000000000&x=abc&e=&s=%31', StandardCharsets.UTF_8, ConversionService.SHARED)
+
+        expect:
+        parameters.getInt('i', 0) == 42
+        parameters.getInt('n', 0) == -7
+        parameters.getInt('l', -1) == -1
+        parameters.getLong('l', 0) == 9000000000L
+        parameters.getInt('x', -1) == -1
+        parameters.getInt('e', -1) == -1
+        parameters.getInt('missing', -1) == -1
+    }
+
+    void "test conversions are the same with and without the numeric fast path"() {
+        given:
+        def parameters = new LazyNettyHttpParameters('i=42&n=-7&l=9000000000&x=abc&s=%31&m=1&m=2&f=1.5', StandardCharsets.UTF_8, ConversionService.SHARED)
+
+        expect:
+        parameters.get('i', ConversionContext.INT).get() == 42
+        parameters.get('n', ConversionContext.LONG).get() == -7L
+        parameters.get('l', ConversionContext.LONG).get() == 9000000000L
+        !parameters.get('x', ConversionContext.INT).isPresent()
+        parameters.get('s', ConversionContext.INT).get() == 1
+        parameters.get('m', ConversionContext.of(Argument.listOf(Integer))).get() == [1, 2]
+        parameters.get('f', ConversionContext.of(Argument.DOUBLE)).get() == 1.5d
+        parameters.get('i', ConversionContext.STRING).get() == '42'
+    }
+}
@@ -0,0 +1,167 @@
+package io.micronaut.http.netty.websocket
+
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelOutboundHandlerAdapter
+import io.netty.channel.WriteBufferWaterMark
+import io.netty.channel.embedded.EmbeddedChannel
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame
+import spock.lang.Specification
+
+class WebSocketOutboundHandlerSpec extends Specification {
+
+    def 'frames are written through while the channel is writable'() {
+        given:
+        def handler = new WebSocketOutboundHandler(WebSocketOutboundHandler.OverflowPolicy.DROP_OLDEST, 2, 1024, null)
+        def channel = new EmbeddedChannel(handler)
+
+        when:
+        channel.writeAndFlush(new TextWebSocketFrame('a'))
+        channel.writeAndFlush(new TextWebSocketFrame('b'))
+        channel.runPendingTasks()
+
+        then:
+        readText(channel) == ['a', 'b']
+        handler.queuedFrames == 0
+        handler.droppedFrames == 0
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    def 'flushes are coalesced within an event loop tick'() {
+        given:
+        int flushes = 0
+        def counter = new ChannelOutboundHandlerAdapter() {
+            @Override
+            void flush(ChannelHandlerContext ctx) throws Exception {
+                flushes++
+                ctx.flush()
+            }
+        }
+        def channel = new EmbeddedChannel(counter, new WebSocketOutboundHandler(WebSocketOutboundHandler.OverflowPolicy.DROP_OLDEST, 2, 1024, null))
+
+        when:
+        channel.writeAndFlush(new TextWebSocketFrame('a'))
+        channel.writeAndFlush(new TextWebSocketFrame('b'))
+        channel.writeAndFlush(new TextWebSocketFrame('c'))
+
+        then:
+        flushes == 0
+
+        when:
+        channel.runPendingTasks()
+
+        then:
+        flushes == 1
+        readText(channel) == ['a', 'b', 'c']
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    def 'the oldest frames are dropped once the queue is full'() {
+        given:
+        def handler = new WebSocketOutboundHandler(WebSocketOutboundHandler.OverflowPolicy.DROP_OLDEST, 2, 1024, null)
+        def channel = slowChannel(handler)
+        def first = new TextWebSocketFrame('1')
+
+        when:
+        channel.write(new TextWebSocketFrame('x' * 32))
+        def dropped = channel.write(first)
+        channel.write(new TextWebSocketFrame('2'))
+        channel.write(new TextWebSocketFrame('3'))
+
+        then:
+        !channel.isWritable()
+        handler.queuedFrames == 2
+        handler.queuedBytes == 2
+        handler.droppedFrames == 1
+        dropped.cause() instanceof WebSocketOutboundHandler.FrameDroppedException
+        first.refCnt() == 0
+
+        when:
+        flush(channel)
+
+        then:
+        readText(channel) == ['x' * 32, '2', '3']
+        handler.queuedFrames == 0
+        handler.queuedBytes == 0
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    def 'queued messages are conflated by key'() {
+        given:
+        def handler = new WebSocketOutboundHandler(WebSocketOutboundHandler.OverflowPolicy.CONFLATE, 10, 1024, { String message -> message.split(':')[0] })
+        def channel = slowChannel(handler)
+
+        when:
+        channel.write(new TextWebSocketFrame('x' * 32))
+        ['AAPL:1', 'MSFT:1', 'AAPL:2', 'AAPL:3'].each {
+            channel.write(WebSocketOutboundHandler.prepare(channel, it, new TextWebSocketFrame(it)))
+        }
+
+        then:
+        handler.queuedFrames == 2
+        handler.droppedFrames == 2
+
+        when:
+        flush(channel)
+
+        then:
+        readText(channel) == ['x' * 32, 'AAPL:3', 'MSFT:1']
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    def 'slow consumers are disconnected when the policy says so'() {
+        given:
+        def handler = new WebSocketOutboundHandler(WebSocketOutboundHandler.OverflowPolicy.DISCONNECT, 1, 1024, null)
+        def channel = slowChannel(handler)
+
+        when:
+        channel.write(new TextWebSocketFrame('x' * 32))
+        channel.write(new TextWebSocketFrame('1'))
+
+        then:
+        channel.isOpen()
+        handler.queuedFrames == 1
+
+        when:
+        channel.write(new TextWebSocketFrame('2'))
+        channel.runPendingTasks()
+
+        then:
+        !channel.isOpen()
+        handler.queuedFrames == 0
+        handler.droppedFrames == 2
+
+        cleanup:
+        channel.finishAndReleaseAll()
+    }
+
+    private static EmbeddedChannel slowChannel(WebSocketOutboundHandler handler) {
+        def channel = new EmbeddedChannel()
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16))
+        channel.pipeline().addLast(handler)
+        return channel
+    }
+
+    private static void flush(EmbeddedChannel channel) {
+        channel.flush()
+        // the writability change and the flush of the drained frames each run in a later task
+        3.times { channel.runPendingTasks() }
+    }
+
+    private static List<String> readText(EmbeddedChannel channel) {
+        List<String> texts = []
+        TextWebSocketFrame frame
+        while ((frame = channel.readOutbound()) != null) {
+            texts << frame.text()
+            frame.release()
+        }
+        return texts
+    }
+}
@@ -16,14 +16,21 @@
 package io.micronaut.http.server.netty;
 
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.util.concurrent.EventExecutor;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Default implementation of {@link HttpCompressionStrategy}.
  *
@@ -34,16 +41,22 @@ import jakarta.inject.Singleton;
 @Singleton
 class DefaultHttpCompressionStrategy implements HttpCompressionStrategy {
 
+    private static final int MIN_COMPRESSION_LEVEL = 1;
+    private static final long PROBE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
     private final int compressionThreshold;
     private final int compressionLevel;
+    private final long latencyThresholdNanos;
+    private final Map<EventExecutor, LatencyProbe> latencyProbes = new ConcurrentHashMap<>();
 
     /**
      * @param serverConfiguration The netty server configuration
      */
     @Inject
     DefaultHttpCompressionStrategy(NettyHttpServerConfiguration serverConfiguration) {
-        this.compressionThreshold = serverConfiguration.getCompressionThreshold();
-        this.compressionLevel = serverConfiguration.getCompressionLevel();
+        this(serverConfiguration.getCompressionThreshold(),
+                serverConfiguration.getCompressionLevel(),
+                serverConfiguration.getCompressionLatencyThreshold());
     }
 
     /**
@@ -51,8 +64,18 @@ class DefaultHttpCompressionStrategy implements HttpCompressionStrategy {
      * @param compressionLevel The compression level (0-9)
      */
     DefaultHttpCompressionStrategy(int compressionThreshold, int compressionLevel) {
+        this(compressionThreshold, compressionLevel, null);
+    }
+
+    /**
+     * @param compressionThreshold The compression threshold
+     * @param compressionLevel The compression level (0-9)
+     * @param latencyThreshold The event loop latency above which the compression level is lowered
+     */
+    DefaultHttpCompressionStrategy(int compressionThreshold, int compressionLevel, @Nullable Duration latencyThreshold) {
         this.compressionThreshold = compressionThreshold;
         this.compressionLevel = compressionLevel;
+        this.latencyThresholdNanos = latencyThreshold != null ? latencyThreshold.toNanos() : 0;
     }
 
     @Override
@@ -70,4 +93,39 @@ class DefaultHttpCompressionStrategy implements HttpCompressionStrategy {
     public int getCompressionLevel() {
         return compressionLevel;
     }
+
+    @Override
+    public int getCompressionLevel(HttpResponse response, EventExecutor executor) {
+        if (latencyThresholdNanos <= 0 || compressionLevel <= MIN_COMPRESSION_LEVEL) {
+            return compressionLevel;
+        }
+        return latencyProbes.computeIfAbsent(executor, e -> new LatencyProbe()).level(executor);
+    }
+
+    /**
+     * Tracks the task latency of an event loop and the resulting compression level. Only accessed from its event
+     * loop.
+     */
+    private final class LatencyProbe {
+        private int level = compressionLevel;
+        private long lastProbe = System.nanoTime() - PROBE_INTERVAL_NANOS;
+
+        int level(EventExecutor executor) {
+            long now = System.nanoTime();
+            if (now - lastProbe >= PROBE_INTERVAL_NANOS) {
+                lastProbe = now;
+                // the task runs once the tasks queued before it are done
+                executor.execute(() -> adjust(System.nanoTime() - now));
+            }
+            return level;
+        }
+
+        private void adjust(long latencyNanos) {
+            if (latencyNanos > latencyThresholdNanos) {
+                level = Math.max(MIN_COMPRESSION_LEVEL, level - 1);
+            } else if (latencyNanos < latencyThresholdNanos / 2) {
+                level = Math.min(compressionLevel, level + 1);
+            }
+        }
+    }
 }
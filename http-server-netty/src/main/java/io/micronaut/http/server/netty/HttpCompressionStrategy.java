@@ -16,6 +16,7 @@
 package io.micronaut.http.server.netty;
 
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.util.concurrent.EventExecutor;
 
 /**
  * Determines if a given http message should be compressed. It should
@@ -38,4 +39,17 @@ public interface HttpCompressionStrategy {
     default int getCompressionLevel() {
         return 6;
     }
+
+    /**
+     * Resolves the compression level of a response. Implementations can lower the level when the event loop is
+     * under pressure. The level only applies to gzip and deflate, brotli uses its own quality setting.
+     *
+     * @param response The HTTP response
+     * @param executor The event loop that compresses the response
+     * @return The compression level (1-9)
+     * @since 3.8.0
+     */
+    default int getCompressionLevel(HttpResponse response, EventExecutor executor) {
+        return getCompressionLevel();
+    }
 }
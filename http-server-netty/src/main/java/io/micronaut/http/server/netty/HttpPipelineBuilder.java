@@ -22,6 +22,8 @@ import io.micronaut.http.context.event.HttpRequestReceivedEvent;
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
 import io.micronaut.http.netty.stream.HttpStreamsServerHandler;
 import io.micronaut.http.netty.stream.StreamingInboundHttp2ToHttpAdapter;
+import io.micronaut.http.netty.websocket.WebSocketConflationKeyResolver;
+import io.micronaut.http.netty.websocket.WebSocketOutboundHandler;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.server.netty.decoders.HttpRequestDecoder;
 import io.micronaut.http.server.netty.encoders.HttpResponseEncoder;
@@ -76,6 +78,7 @@ import java.nio.channels.ClosedChannelException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * Helper class that manages the {@link ChannelPipeline} of incoming HTTP connections.
@@ -100,6 +103,7 @@ final class HttpPipelineBuilder {
     private final HttpAccessLogHandler accessLogHandler;
     private final HttpRequestDecoder requestDecoder;
     private final HttpResponseEncoder responseEncoder;
+    private final Supplier<WebSocketOutboundHandler> webSocketOutboundHandlerFactory;
 
     private final HttpRequestCertificateHandler requestCertificateHandler = new HttpRequestCertificateHandler();
 
@@ -118,11 +122,29 @@ final class HttpPipelineBuilder {
 
         NettyHttpServerConfiguration.AccessLogger accessLogger = server.getServerConfiguration().getAccessLogger();
         if (accessLogger != null && accessLogger.isEnabled()) {
-            accessLogHandler = new HttpAccessLogHandler(accessLogger.getLoggerName(), accessLogger.getLogFormat(), NettyHttpServer.inclusionPredicate(accessLogger));
+            String loggerName = accessLogger.getLoggerName();
+            accessLogHandler = new HttpAccessLogHandler(
+                    LoggerFactory.getLogger(loggerName == null || loggerName.isEmpty() ? HttpAccessLogHandler.HTTP_ACCESS_LOGGER : loggerName),
+                    accessLogger.getLogFormat(),
+                    NettyHttpServer.inclusionPredicate(accessLogger),
+                    accessLogger.isAsync() ? server.getAccessLogWriter(accessLogger) : null);
         } else {
             accessLogHandler = null;
         }
 
+        NettyHttpServerConfiguration.WebSocketOutbound webSocketOutbound = server.getServerConfiguration().getWebSocketOutbound();
+        if (webSocketOutbound.isEnabled()) {
+            WebSocketConflationKeyResolver conflationKeyResolver = embeddedServices.getApplicationContext()
+                    .findBean(WebSocketConflationKeyResolver.class).orElse(null);
+            webSocketOutboundHandlerFactory = () -> new WebSocketOutboundHandler(
+                    webSocketOutbound.getOverflowPolicy(),
+                    webSocketOutbound.getMaxQueuedFrames(),
+                    webSocketOutbound.getMaxQueuedBytes(),
+                    conflationKeyResolver);
+        } else {
+            webSocketOutboundHandlerFactory = null;
+        }
+
         requestDecoder = new HttpRequestDecoder(server,
                 server.getEnvironment(),
                 server.getServerConfiguration(),
@@ -269,7 +291,8 @@ final class HttpPipelineBuilder {
             pipeline.addLast(HttpResponseEncoder.ID, responseEncoder);
             pipeline.addLast(NettyServerWebSocketUpgradeHandler.ID, new NettyServerWebSocketUpgradeHandler(
                     embeddedServices,
-                    server.getWebSocketSessionRepository()));
+                    server.getWebSocketSessionRepository(),
+                    webSocketOutboundHandlerFactory));
             pipeline.addLast(ChannelPipelineCustomizer.HANDLER_MICRONAUT_INBOUND, routingInBoundHandler);
         }
 
@@ -36,9 +36,11 @@ import io.micronaut.http.netty.channel.DefaultEventLoopGroupConfiguration;
 import io.micronaut.http.netty.channel.EventLoopGroupConfiguration;
 import io.micronaut.http.netty.channel.converters.ChannelOptionFactory;
 import io.micronaut.http.netty.websocket.WebSocketSessionRepository;
+import io.micronaut.http.netty.websocket.WebSocketTopicIndex;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.exceptions.ServerStartupException;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.micronaut.http.server.netty.handler.accesslog.AsyncAccessLogWriter;
 import io.micronaut.http.server.netty.ssl.ServerSslBuilder;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandlerRegistry;
 import io.micronaut.http.server.util.DefaultHttpHostResolver;
@@ -122,12 +124,15 @@ public class NettyHttpServer implements NettyEmbeddedServer {
     private final ApplicationContext applicationContext;
     private final AtomicBoolean running = new AtomicBoolean(false);
     private final ChannelGroup webSocketSessions = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final WebSocketTopicIndex webSocketTopics = new WebSocketTopicIndex();
     private final HttpHostResolver hostResolver;
     private boolean shutdownWorker = false;
     private boolean shutdownParent = false;
     private EventLoopGroup workerGroup;
     private EventLoopGroup parentGroup;
     private EmbeddedServerInstance serviceInstance;
+    @Nullable
+    private AsyncAccessLogWriter accessLogWriter;
     private final Collection<ChannelPipelineListener> pipelineListeners = new ArrayList<>(2);
     @Nullable
     private volatile List<Listener> activeListeners = null;
@@ -253,6 +258,17 @@ public class NettyHttpServer implements NettyEmbeddedServer {
         return serverConfiguration;
     }
 
+    /**
+     * The writer of the asynchronous access logger, for example to monitor the number of dropped access logs and the
+     * queue depth.
+     *
+     * @return The writer, or empty if the access logger is not asynchronous or the server is not running
+     * @since 3.8.0
+     */
+    public synchronized Optional<AsyncAccessLogWriter> getAccessLogWriter() {
+        return Optional.ofNullable(accessLogWriter);
+    }
+
     @Override
     public boolean isRunning() {
         return running.get();
@@ -616,6 +632,7 @@ public class NettyHttpServer implements NettyEmbeddedServer {
                         .addListener(this::logShutdownErrorIfNecessary);
             }
             webSocketSessions.close();
+            closeAccessLogWriter();
             applicationContext.getEventPublisher(ServerShutdownEvent.class).publishEvent(new ServerShutdownEvent(this));
             if (serviceInstance != null) {
                 applicationContext.getEventPublisher(ServiceStoppedEvent.class)
@@ -676,6 +693,11 @@ public class NettyHttpServer implements NettyEmbeddedServer {
         return this.webSocketSessions;
     }
 
+    @Override
+    public WebSocketTopicIndex getTopicIndex() {
+        return this.webSocketTopics;
+    }
+
     /**
      * @return {@link io.micronaut.http.server.netty.NettyHttpServer} which implements {@link WebSocketSessionRepository}
      */
@@ -736,6 +758,27 @@ public class NettyHttpServer implements NettyEmbeddedServer {
         return embeddedChannel;
     }
 
+    /**
+     * Returns the writer shared by the access log handlers of this server when the access logger is async. It is
+     * closed, after writing the queued access logs, when the server stops.
+     *
+     * @param config The access logger configuration
+     * @return The writer
+     */
+    synchronized AsyncAccessLogWriter getAccessLogWriter(NettyHttpServerConfiguration.AccessLogger config) {
+        if (accessLogWriter == null) {
+            accessLogWriter = new AsyncAccessLogWriter(config.getQueueSize(), config.getOverflowPolicy());
+        }
+        return accessLogWriter;
+    }
+
+    private synchronized void closeAccessLogWriter() {
+        if (accessLogWriter != null) {
+            accessLogWriter.close();
+            accessLogWriter = null;
+        }
+    }
+
     static Predicate<String> inclusionPredicate(NettyHttpServerConfiguration.AccessLogger config) {
         List<String> exclusions = config.getExclusions();
         if (CollectionUtils.isEmpty(exclusions)) {
@@ -17,6 +17,8 @@ package io.micronaut.http.server.netty;
 
 import io.micronaut.context.annotation.Primary;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.bind.ArgumentBinder;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.bind.RequestBinderRegistry;
@@ -49,11 +51,14 @@ public class NettyRequestArgumentSatisfier extends RequestArgumentSatisfier {
     }
 
     @Override
-    protected Optional<Object> getValueForArgument(Argument argument, HttpRequest<?> request, boolean satisfyOptionals) {
+    protected Optional<Object> getValueForArgument(Argument argument,
+                                                   @Nullable ArgumentBinder argumentBinder,
+                                                   HttpRequest<?> request,
+                                                   boolean satisfyOptionals) {
         if (request instanceof NettyHttpRequest) {
             NettyHttpRequest nettyHttpRequest = (NettyHttpRequest) request;
             nettyHttpRequest.setBodyRequired(true);
         }
-        return super.getValueForArgument(argument, request, satisfyOptionals);
+        return super.getValueForArgument(argument, argumentBinder, request, satisfyOptionals);
     }
 }
@@ -17,15 +17,28 @@ package io.micronaut.http.server.netty;
 
 import io.micronaut.core.annotation.Internal;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
 import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpResponse;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
- * An extension of {@link HttpContentCompressor} that skips encoding if the content type is not compressible or if
- * the content is too small.
+ * An extension of {@link HttpContentCompressor} that skips encoding if the content type is not compressible, if
+ * the content is too small or if the content is already encoded.
+ *
+ * <p>The encoding is negotiated from the {@code Accept-Encoding} header, preferring brotli when it is on the classpath,
+ * then gzip and deflate. The gzip and deflate level is resolved per response by the
+ * {@link HttpCompressionStrategy}.</p>
  *
  * @author James Kleeh
  * @since 1.0
@@ -33,7 +46,13 @@ import java.util.List;
 @Internal
 public class SmartHttpContentCompressor extends HttpContentCompressor {
 
+    private static final int WINDOW_BITS = 15;
+    private static final int MEM_LEVEL = 8;
+
     private final HttpCompressionStrategy httpCompressionStrategy;
+    private final int compressionLevel;
+    private final boolean brotli;
+    private ChannelHandlerContext ctx;
     private boolean skipEncoding = false;
 
     /**
@@ -42,8 +61,10 @@ public class SmartHttpContentCompressor extends HttpContentCompressor {
      * @param httpCompressionStrategy The compression strategy
      */
     SmartHttpContentCompressor(HttpCompressionStrategy httpCompressionStrategy) {
-        super(httpCompressionStrategy.getCompressionLevel());
+        super(0, compressionOptions(httpCompressionStrategy.getCompressionLevel()));
         this.httpCompressionStrategy = httpCompressionStrategy;
+        this.compressionLevel = httpCompressionStrategy.getCompressionLevel();
+        this.brotli = Brotli.isAvailable();
     }
 
     /**
@@ -53,9 +74,20 @@ public class SmartHttpContentCompressor extends HttpContentCompressor {
      * @return True if the content should not be compressed
      */
     public boolean shouldSkip(HttpResponse response) {
+        String contentEncoding = response.headers().get(HttpHeaderNames.CONTENT_ENCODING);
+        if (contentEncoding != null && !HttpHeaderValues.IDENTITY.contentEqualsIgnoreCase(contentEncoding)) {
+            // already encoded, for example a precompressed file
+            return true;
+        }
         return !httpCompressionStrategy.shouldCompress(response);
     }
 
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+        super.handlerAdded(ctx);
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
         if (msg instanceof HttpResponse) {
@@ -70,6 +102,76 @@ public class SmartHttpContentCompressor extends HttpContentCompressor {
         if (skipEncoding) {
             return null;
         }
+        int level = httpCompressionStrategy.getCompressionLevel(headers, ctx.executor());
+        if (level != compressionLevel && !(brotli && accepts(acceptEncoding, "br"))) {
+            ZlibWrapper wrapper = determineZlibWrapper(acceptEncoding);
+            if (wrapper != null) {
+                String targetContentEncoding = wrapper == ZlibWrapper.GZIP ? "gzip" : "deflate";
+                return new Result(targetContentEncoding, new EmbeddedChannel(
+                        ctx.channel().id(), ctx.channel().metadata().hasDisconnect(), ctx.channel().config(),
+                        ZlibCodecFactory.newZlibEncoder(wrapper, level, WINDOW_BITS, MEM_LEVEL)));
+            }
+        }
         return super.beginEncode(headers, acceptEncoding);
     }
+
+    private static CompressionOptions[] compressionOptions(int compressionLevel) {
+        List<CompressionOptions> options = new ArrayList<>(3);
+        if (Brotli.isAvailable()) {
+            options.add(StandardCompressionOptions.brotli());
+        }
+        options.add(StandardCompressionOptions.gzip(compressionLevel, WINDOW_BITS, MEM_LEVEL));
+        options.add(StandardCompressionOptions.deflate(compressionLevel, WINDOW_BITS, MEM_LEVEL));
+        return options.toArray(new CompressionOptions[0]);
+    }
+
+    private static boolean accepts(String acceptEncoding, String encoding) {
+        return qualityOf(acceptEncoding, encoding) > 0;
+    }
+
+    /**
+     * Picks gzip or deflate the same way the {@link HttpContentCompressor} does.
+     *
+     * @param acceptEncoding The accept encoding header
+     * @return The wrapper or {@code null} if neither is accepted
+     */
+    private static ZlibWrapper determineZlibWrapper(String acceptEncoding) {
+        float gzipQ = qualityOf(acceptEncoding, "gzip");
+        float deflateQ = qualityOf(acceptEncoding, "deflate");
+        if (gzipQ > 0 || deflateQ > 0) {
+            return gzipQ >= deflateQ ? ZlibWrapper.GZIP : ZlibWrapper.ZLIB;
+        }
+        return null;
+    }
+
+    /**
+     * @param acceptEncoding The accept encoding header
+     * @param encoding       The encoding
+     * @return The quality of the encoding, {@code -1} if it is not listed
+     * @since 3.8.0
+     */
+    public static float qualityOf(String acceptEncoding, String encoding) {
+        float starQ = -1.0f;
+        float encodingQ = -1.0f;
+        for (String part : acceptEncoding.split(",")) {
+            float q = 1.0f;
+            int equalsPos = part.indexOf('=');
+            if (equalsPos != -1) {
+                try {
+                    q = Float.parseFloat(part.substring(equalsPos + 1).trim());
+                } catch (NumberFormatException e) {
+                    // Ignore encoding
+                    q = 0.0f;
+                }
+            }
+            int semicolonPos = part.indexOf(';');
+            String name = (semicolonPos != -1 ? part.substring(0, semicolonPos) : part).trim();
+            if (name.equals("*")) {
+                starQ = q;
+            } else if (name.equalsIgnoreCase(encoding) && q > encodingQ) {
+                encodingQ = q;
+            }
+        }
+        return encodingQ != -1.0f ? encodingQ : starQ;
+    }
 }
@@ -27,7 +27,9 @@ import io.micronaut.core.convert.format.ReadableBytes;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.http.netty.channel.ChannelPipelineListener;
 import io.micronaut.http.netty.channel.EventLoopGroupConfiguration;
+import io.micronaut.http.netty.websocket.WebSocketOutboundHandler;
 import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.http.server.netty.handler.accesslog.AsyncAccessLogWriter;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.logging.LogLevel;
@@ -132,10 +134,12 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     private LogLevel logLevel;
     private int compressionThreshold = DEFAULT_COMPRESSIONTHRESHOLD;
     private int compressionLevel = DEFAULT_COMPRESSIONLEVEL;
+    private Duration compressionLatencyThreshold;
     private boolean useNativeTransport = DEFAULT_USE_NATIVE_TRANSPORT;
     private String fallbackProtocol = ApplicationProtocolNames.HTTP_1_1;
     private AccessLogger accessLogger;
     private Http2Settings http2Settings = new Http2Settings();
+    private WebSocketOutbound webSocketOutbound = new WebSocketOutbound();
     private boolean keepAliveOnServerError = DEFAULT_KEEP_ALIVE_ON_SERVER_ERROR;
     private String pcapLoggingPathPattern = null;
     private List<NettyListenerConfiguration> listeners = null;
@@ -200,6 +204,26 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         }
     }
 
+    /**
+     * Returns the WebSocket outbound settings.
+     * @return The WebSocket outbound settings.
+     * @since 3.8.0
+     */
+    public WebSocketOutbound getWebSocketOutbound() {
+        return webSocketOutbound;
+    }
+
+    /**
+     * Sets the WebSocket outbound settings.
+     * @param webSocketOutbound The WebSocket outbound settings.
+     * @since 3.8.0
+     */
+    public void setWebSocketOutbound(WebSocketOutbound webSocketOutbound) {
+        if (webSocketOutbound != null) {
+            this.webSocketOutbound = webSocketOutbound;
+        }
+    }
+
     /**
      * @return The pipeline customizers
      */
@@ -332,6 +356,18 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         return compressionLevel;
     }
 
+    /**
+     * The event loop latency above which the compression level is lowered, or {@code null} if the compression level
+     * does not adapt to the event loop latency.
+     *
+     * @return The compression latency threshold
+     * @since 3.8.0
+     */
+    @Nullable
+    public Duration getCompressionLatencyThreshold() {
+        return compressionLatencyThreshold;
+    }
+
     /**
      * @return The Netty child channel options.
      * @see io.netty.bootstrap.ServerBootstrap#childOption(io.netty.channel.ChannelOption, Object)
@@ -517,6 +553,17 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         this.compressionLevel = compressionLevel;
     }
 
+    /**
+     * Sets the event loop latency above which the compression level is lowered, down to 1. The level is raised back
+     * to the configured compression level once the latency drops. Disabled by default.
+     *
+     * @param compressionLatencyThreshold The compression latency threshold
+     * @since 3.8.0
+     */
+    public void setCompressionLatencyThreshold(@Nullable Duration compressionLatencyThreshold) {
+        this.compressionLatencyThreshold = compressionLatencyThreshold;
+    }
+
     /**
      * Whether to send connection keep alive on internal server errors. Default value ({@value DEFAULT_KEEP_ALIVE_ON_SERVER_ERROR}).
      * @param keepAliveOnServerError The keep alive on server error flag
@@ -720,6 +767,9 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         private String loggerName;
         private String logFormat;
         private List<String> exclusions;
+        private boolean async;
+        private int queueSize = AsyncAccessLogWriter.DEFAULT_QUEUE_SIZE;
+        private AsyncAccessLogWriter.OverflowPolicy overflowPolicy = AsyncAccessLogWriter.OverflowPolicy.DROP;
 
         /**
          * Returns whether the access logger is enabled.
@@ -786,6 +836,139 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         public void setExclusions(List<String> exclusions) {
             this.exclusions = exclusions;
         }
+
+        /**
+         * @return Whether access logs are written from a dedicated thread instead of the event loop.
+         * @since 3.8.0
+         */
+        public boolean isAsync() {
+            return async;
+        }
+
+        /**
+         * Sets whether access logs are written from a dedicated thread instead of the event loop. Default value (false).
+         * @param async The flag.
+         * @since 3.8.0
+         */
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        /**
+         * @return The number of access logs that can wait to be written in async mode.
+         * @since 3.8.0
+         */
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        /**
+         * Sets the number of access logs that can wait to be written in async mode, rounded up to a power of two.
+         * Default value ({@value io.micronaut.http.server.netty.handler.accesslog.AsyncAccessLogWriter#DEFAULT_QUEUE_SIZE}).
+         * @param queueSize The queue size.
+         * @since 3.8.0
+         */
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        /**
+         * @return What to do in async mode when the queue is full.
+         * @since 3.8.0
+         */
+        public AsyncAccessLogWriter.OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        /**
+         * Sets what to do in async mode when the queue is full: drop and count the access log, or block the event
+         * loop until there is room. Default value (DROP).
+         * @param overflowPolicy The overflow policy.
+         * @since 3.8.0
+         */
+        public void setOverflowPolicy(AsyncAccessLogWriter.OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+    }
+
+    /**
+     * Slow consumer protection of WebSocket sessions.
+     *
+     * @since 3.8.0
+     * @see WebSocketOutboundHandler
+     */
+    @ConfigurationProperties("websocket.outbound")
+    public static class WebSocketOutbound {
+        private boolean enabled;
+        private WebSocketOutboundHandler.OverflowPolicy overflowPolicy = WebSocketOutboundHandler.OverflowPolicy.DROP_OLDEST;
+        private int maxQueuedFrames = WebSocketOutboundHandler.DEFAULT_MAX_QUEUED_FRAMES;
+        private long maxQueuedBytes = WebSocketOutboundHandler.DEFAULT_MAX_QUEUED_BYTES;
+
+        /**
+         * @return Whether the outbound messages of WebSocket sessions are queued and flushed in batches.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the outbound messages of a WebSocket session are queued once its channel is no longer
+         * writable, and flushed once per event loop tick. Default value (false).
+         * @param enabled The flag.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return What to do when the queue of a session is full.
+         */
+        public WebSocketOutboundHandler.OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        /**
+         * Sets what to do when the queue of a session is full: drop the oldest messages, replace queued messages by
+         * newer messages with the same conflation key, or disconnect the session. Default value (DROP_OLDEST).
+         * @param overflowPolicy The overflow policy.
+         * @see io.micronaut.http.netty.websocket.WebSocketConflationKeyResolver
+         */
+        public void setOverflowPolicy(WebSocketOutboundHandler.OverflowPolicy overflowPolicy) {
+            if (overflowPolicy != null) {
+                this.overflowPolicy = overflowPolicy;
+            }
+        }
+
+        /**
+         * @return The maximum number of messages queued per session.
+         */
+        public int getMaxQueuedFrames() {
+            return maxQueuedFrames;
+        }
+
+        /**
+         * Sets the maximum number of messages queued per session.
+         * Default value ({@value io.micronaut.http.netty.websocket.WebSocketOutboundHandler#DEFAULT_MAX_QUEUED_FRAMES}).
+         * @param maxQueuedFrames The maximum number of queued messages.
+         */
+        public void setMaxQueuedFrames(int maxQueuedFrames) {
+            this.maxQueuedFrames = maxQueuedFrames;
+        }
+
+        /**
+         * @return The maximum number of bytes queued per session.
+         */
+        public long getMaxQueuedBytes() {
+            return maxQueuedBytes;
+        }
+
+        /**
+         * Sets the maximum number of bytes queued per session. Default value (4MB).
+         * @param maxQueuedBytes The maximum number of queued bytes.
+         */
+        public void setMaxQueuedBytes(@ReadableBytes long maxQueuedBytes) {
+            this.maxQueuedBytes = maxQueuedBytes;
+        }
     }
 
     /**
@@ -834,7 +1017,14 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         @SuppressWarnings("WeakerAccess")
         public static final int DEFAULT_CACHESECONDS = 60;
 
+        /**
+         * The default for serving precompressed files.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_PRECOMPRESSED = false;
+
         private int cacheSeconds = DEFAULT_CACHESECONDS;
+        private boolean precompressed = DEFAULT_PRECOMPRESSED;
         private CacheControlConfiguration cacheControl = new CacheControlConfiguration();
 
         /**
@@ -878,6 +1068,25 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
             this.cacheSeconds = cacheSeconds;
         }
 
+        /**
+         * @return Whether precompressed siblings of files are served
+         * @since 3.8.0
+         */
+        public boolean isPrecompressed() {
+            return precompressed;
+        }
+
+        /**
+         * Whether to serve the {@code .br} or {@code .gz} sibling of a file, if the client accepts the encoding,
+         * instead of compressing the file on the fly. Default value ({@value #DEFAULT_PRECOMPRESSED}).
+         *
+         * @param precompressed Whether precompressed siblings of files are served
+         * @since 3.8.0
+         */
+        public void setPrecompressed(boolean precompressed) {
+            this.precompressed = precompressed;
+        }
+
         /**
          * @return The cache control configuration
          */
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.handler.accesslog;
+
+import io.micronaut.http.server.netty.handler.accesslog.element.AccessLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes access logs from a dedicated thread. The values of each access log are copied into a preallocated ring buffer
+ * on the event loop, and are formatted and logged in batches by the writer thread.
+ *
+ * @since 3.8.0
+ */
+public final class AsyncAccessLogWriter implements Closeable {
+    /**
+     * The default capacity of the ring buffer.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 8192;
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncAccessLogWriter.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writerThread;
+    private volatile long consumed;
+    private volatile boolean waiting;
+    private volatile boolean closed;
+
+    /**
+     * @param queueSize      The capacity of the ring buffer, rounded up to a power of two
+     * @param overflowPolicy What to do when the ring buffer is full
+     */
+    public AsyncAccessLogWriter(int queueSize, OverflowPolicy overflowPolicy) {
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("Queue size must be positive: " + queueSize);
+        }
+        int capacity = queueSize == 1 ? 1 : Integer.highestOneBit(queueSize - 1) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i - capacity);
+        }
+        this.mask = capacity - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.writerThread = new Thread(this::run, "access-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues an access log to be written.
+     *
+     * @param logger    The logger to write to
+     * @param accessLog The access log, its values are copied before this method returns
+     * @return {@code false} if the writer is closed and the caller should log synchronously. An access log dropped
+     * because of the {@link OverflowPolicy#DROP} policy counts as handled.
+     */
+    public boolean write(Logger logger, AccessLog accessLog) {
+        while (true) {
+            if (closed) {
+                return false;
+            }
+            long sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    dropped.increment();
+                    return true;
+                }
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            } else if (claimed.compareAndSet(sequence, sequence + 1)) {
+                Slot slot = slots[(int) sequence & mask];
+                slot.logger = logger;
+                slot.elements = accessLog.copyElements(slot.elements);
+                slot.published = sequence;
+                if (waiting) {
+                    LockSupport.unpark(writerThread);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return The number of access logs dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return The number of access logs waiting to be written
+     */
+    public int getQueueDepth() {
+        return (int) Math.max(0, claimed.get() - consumed);
+    }
+
+    /**
+     * @return The capacity of the ring buffer
+     */
+    public int getQueueSize() {
+        return slots.length;
+    }
+
+    /**
+     * Stops accepting access logs and waits for the queued ones to be written.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        StringBuilder builder = new StringBuilder(128);
+        while (true) {
+            boolean closing = closed;
+            if (drain(builder) == 0) {
+                if (closing && consumed == claimed.get()) {
+                    return;
+                }
+                waiting = true;
+                // re-check after announcing that we wait, a producer may have published in between
+                if (!isPublished(consumed) && !closed) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                waiting = false;
+            }
+        }
+    }
+
+    private int drain(StringBuilder builder) {
+        long sequence = consumed;
+        int count = 0;
+        while (isPublished(sequence)) {
+            Slot slot = slots[(int) sequence & mask];
+            try {
+                slot.logger.info(AccessLog.format(slot.elements, builder));
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error writing access log: " + e.getMessage(), e);
+                }
+            }
+            slot.logger = null;
+            Arrays.fill(slot.elements, null);
+            consumed = ++sequence;
+            count++;
+        }
+        return count;
+    }
+
+    private boolean isPublished(long sequence) {
+        return slots[(int) sequence & mask].published == sequence;
+    }
+
+    /**
+     * What to do when an access log is written while the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the access log and count it.
+         */
+        DROP,
+        /**
+         * Block the event loop until there is room in the ring buffer.
+         */
+        BLOCK
+    }
+
+    /**
+     * A preallocated entry of the ring buffer.
+     */
+    private static final class Slot {
+        Logger logger;
+        String[] elements;
+        volatile long published;
+
+        Slot(long published) {
+            this.published = published;
+        }
+    }
+}
@@ -62,6 +62,8 @@ public class HttpAccessLogHandler extends ChannelDuplexHandler {
     private final Logger logger;
     private final AccessLogFormatParser accessLogFormatParser;
     private final Predicate<String> uriInclusion;
+    @Nullable
+    private final AsyncAccessLogWriter asyncWriter;
 
     /**
      * Creates a HttpAccessLogHandler.
@@ -102,10 +104,24 @@ public class HttpAccessLogHandler extends ChannelDuplexHandler {
      * @param uriInclusion A filtering Predicate that will be checked per URI.
      */
     public HttpAccessLogHandler(Logger logger, String spec, Predicate<String> uriInclusion) {
+        this(logger, spec, uriInclusion, null);
+    }
+
+    /**
+     * Creates a HttpAccessLogHandler.
+     *
+     * @param logger A logger. Will log at info level.
+     * @param spec The log format specification.
+     * @param uriInclusion A filtering Predicate that will be checked per URI.
+     * @param asyncWriter The writer used to log off the event loop, or {@code null} to log synchronously.
+     * @since 3.8.0
+     */
+    public HttpAccessLogHandler(Logger logger, String spec, Predicate<String> uriInclusion, @Nullable AsyncAccessLogWriter asyncWriter) {
         super();
         this.logger = logger == null ? LoggerFactory.getLogger(HTTP_ACCESS_LOGGER) : logger;
         this.accessLogFormatParser = new AccessLogFormatParser(spec);
         this.uriInclusion = uriInclusion;
+        this.asyncWriter = asyncWriter;
     }
 
     @Override
@@ -143,7 +159,7 @@ public class HttpAccessLogHandler extends ChannelDuplexHandler {
 
     private void log(ChannelHandlerContext ctx, Object msg, ChannelPromise promise, AccessLog accessLog) {
         ctx.write(msg, promise.unvoid()).addListener(future -> {
-            if (future.isSuccess()) {
+            if (future.isSuccess() && (asyncWriter == null || !asyncWriter.write(logger, accessLog))) {
                 accessLog.log(logger);
             }
         });
@@ -15,6 +15,7 @@
  */
 package io.micronaut.http.server.netty.handler.accesslog.element;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.server.netty.handler.accesslog.element.AccessLogFormatParser.IndexedLogElement;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.socket.SocketChannel;
@@ -118,14 +119,39 @@ public class AccessLog {
      */
     public void log(Logger accessLogger) {
         if (accessLogger.isInfoEnabled()) {
-            final StringBuilder b = new StringBuilder(elements.length * 5);
-            for (int i = 0; i < elements.length; ++i) {
-                b.append(elements[i] == null ? ConstantElement.UNKNOWN_VALUE : elements[i]);
-            }
-            accessLogger.info(b.toString());
+            accessLogger.info(format(elements, new StringBuilder(elements.length * 5)));
         }
     }
 
+    /**
+     * Copies the accumulated values so that they can be formatted later, for example on another thread.
+     *
+     * @param target The array to copy into, reused if it has the right length
+     * @return The array holding the copied values
+     * @since 3.8.0
+     */
+    public String[] copyElements(@Nullable String[] target) {
+        String[] copy = target != null && target.length == elements.length ? target : new String[elements.length];
+        System.arraycopy(elements, 0, copy, 0, elements.length);
+        return copy;
+    }
+
+    /**
+     * Formats accumulated values into a log line.
+     *
+     * @param elements The values, as returned by {@link #copyElements(String[])}
+     * @param builder The builder to format into, it is cleared first
+     * @return The log line
+     * @since 3.8.0
+     */
+    public static String format(String[] elements, StringBuilder builder) {
+        builder.setLength(0);
+        for (String element : elements) {
+            builder.append(element == null ? ConstantElement.UNKNOWN_VALUE : element);
+        }
+        return builder.toString();
+    }
+
     private void resetIndexedLogElement(IndexedLogElement elt) {
         elements[elt.index] = null;
         elt.reset();
@@ -23,6 +23,7 @@ import io.micronaut.http.MutableHttpHeaders;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.netty.NettyMutableHttpResponse;
 import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.http.server.netty.SmartHttpContentCompressor;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandler;
 import io.micronaut.http.server.netty.types.NettyFileCustomizableResponseType;
@@ -52,6 +53,8 @@ public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Obj
     // https://tools.ietf.org/html/rfc2616#section-7.1
     private static final String[] ENTITY_HEADERS = new String[] {HttpHeaders.ALLOW, HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_LOCATION, HttpHeaders.CONTENT_MD5, HttpHeaders.CONTENT_RANGE, HttpHeaders.CONTENT_TYPE, HttpHeaders.EXPIRES, HttpHeaders.LAST_MODIFIED};
     private static final Class<?>[] SUPPORTED_TYPES = new Class[]{File.class, StreamedFile.class, NettyFileCustomizableResponseType.class, SystemFile.class};
+    // content encodings of precompressed files and their extensions, in order of preference
+    private static final String[][] PRECOMPRESSED_ENCODINGS = {{"br", ".br"}, {"gzip", ".gz"}};
     private final NettyHttpServerConfiguration.FileTypeHandlerConfiguration configuration;
 
     /**
@@ -76,6 +79,13 @@ public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Obj
         } else {
             throw new CustomizableResponseTypeException("FileTypeHandler only supports File or FileCustomizableResponseType types");
         }
+        if (configuration.isPrecompressed() && type instanceof NettySystemFileCustomizableResponseType &&
+                !response.getHeaders().contains(HttpHeaders.CONTENT_ENCODING)) {
+            String acceptEncoding = request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING);
+            if (acceptEncoding != null) {
+                type = findPrecompressed((NettySystemFileCustomizableResponseType) type, acceptEncoding);
+            }
+        }
 
         long lastModified = type.getLastModified();
 
@@ -111,6 +121,32 @@ public class FileTypeHandler implements NettyCustomizableResponseTypeHandler<Obj
             .anyMatch((aClass -> aClass.isAssignableFrom(type)));
     }
 
+    /**
+     * Finds the precompressed sibling of the file with the encoding preferred by the client.
+     *
+     * @param type           The file
+     * @param acceptEncoding The accepted encodings
+     * @return The precompressed file, or the given file if there is none
+     */
+    private NettyFileCustomizableResponseType findPrecompressed(NettySystemFileCustomizableResponseType type, String acceptEncoding) {
+        String[] preferred = null;
+        float preferredQ = 0;
+        for (String[] encoding : PRECOMPRESSED_ENCODINGS) {
+            float q = SmartHttpContentCompressor.qualityOf(acceptEncoding, encoding[0]);
+            if (q > preferredQ) {
+                File file = new File(type.getFile().getPath() + encoding[1]);
+                if (file.isFile() && file.canRead()) {
+                    preferred = encoding;
+                    preferredQ = q;
+                }
+            }
+        }
+        if (preferred == null) {
+            return type;
+        }
+        return new NettyPrecompressedFileCustomizableResponseType(new File(type.getFile().getPath() + preferred[1]), preferred[0], type);
+    }
+
     /**
      * @param response     The Http response
      * @param lastModified The last modified
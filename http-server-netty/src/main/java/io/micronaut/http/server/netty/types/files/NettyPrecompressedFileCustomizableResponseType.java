@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.types.files;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MutableHttpResponse;
+
+import java.io.File;
+import java.util.Optional;
+
+/**
+ * Writes the precompressed sibling of a file, for example {@code app.js.br} for {@code app.js}, with the media type
+ * and last modified date of the original file.
+ *
+ * @since 3.8.0
+ */
+@Internal
+final class NettyPrecompressedFileCustomizableResponseType extends NettySystemFileCustomizableResponseType {
+
+    private final String contentEncoding;
+
+    /**
+     * @param file            The precompressed file
+     * @param contentEncoding The encoding of the precompressed file
+     * @param original        The original file
+     */
+    NettyPrecompressedFileCustomizableResponseType(File file, String contentEncoding, NettySystemFileCustomizableResponseType original) {
+        super(file);
+        this.contentEncoding = contentEncoding;
+        this.delegate = Optional.of(original);
+    }
+
+    @Override
+    public void process(MutableHttpResponse response) {
+        delegate.ifPresent(type -> type.process(response));
+        response.header(HttpHeaders.CONTENT_LENGTH, String.valueOf(getLength()));
+        response.header(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+}
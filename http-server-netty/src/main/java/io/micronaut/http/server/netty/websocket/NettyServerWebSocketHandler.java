@@ -157,7 +157,8 @@ public class NettyServerWebSocketHandler extends AbstractNettyWebSocketHandler {
                 originatingRequest,
                 mediaTypeCodecRegistry,
                 webSocketVersion.toHttpHeaderValue(),
-                ctx.pipeline().get(SslHandler.class) != null
+                ctx.pipeline().get(SslHandler.class) != null,
+                webSocketSessionRepository.getTopicIndex()
         ) {
 
             private final ConvertibleValues<Object> uriVars = ConvertibleValues.of(uriVariables);
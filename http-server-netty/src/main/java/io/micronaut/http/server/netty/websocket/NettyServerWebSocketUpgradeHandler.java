@@ -17,6 +17,7 @@ package io.micronaut.http.server.netty.websocket;
 
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpMethod;
@@ -31,6 +32,7 @@ import io.micronaut.http.context.ServerRequestContext;
 import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.netty.NettyHttpHeaders;
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
+import io.micronaut.http.netty.websocket.WebSocketOutboundHandler;
 import io.micronaut.http.netty.websocket.WebSocketSessionRepository;
 import io.micronaut.http.server.netty.NettyEmbeddedServices;
 import io.micronaut.http.server.netty.NettyHttpRequest;
@@ -71,6 +73,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Handles WebSocket upgrade requests.
@@ -97,6 +100,8 @@ public class NettyServerWebSocketUpgradeHandler extends SimpleChannelInboundHand
     private final WebSocketSessionRepository webSocketSessionRepository;
     private final RouteExecutor routeExecutor;
     private final NettyEmbeddedServices nettyEmbeddedServices;
+    @Nullable
+    private final Supplier<WebSocketOutboundHandler> outboundHandlerFactory;
     private WebSocketServerHandshaker handshaker;
     private boolean cancelUpgrade = false;
 
@@ -109,6 +114,19 @@ public class NettyServerWebSocketUpgradeHandler extends SimpleChannelInboundHand
     public NettyServerWebSocketUpgradeHandler(
             NettyEmbeddedServices embeddedServices,
             WebSocketSessionRepository webSocketSessionRepository) {
+        this(embeddedServices, webSocketSessionRepository, null);
+    }
+
+    /**
+     * @param embeddedServices The embedded server services
+     * @param webSocketSessionRepository The websocket session repository
+     * @param outboundHandlerFactory Creates the slow consumer protection of each session, if enabled
+     * @since 3.8.0
+     */
+    public NettyServerWebSocketUpgradeHandler(
+            NettyEmbeddedServices embeddedServices,
+            WebSocketSessionRepository webSocketSessionRepository,
+            @Nullable Supplier<WebSocketOutboundHandler> outboundHandlerFactory) {
         this.router = embeddedServices.getRouter();
         this.binderRegistry = embeddedServices.getRequestArgumentSatisfier().getBinderRegistry();
         this.webSocketBeanRegistry = embeddedServices.getWebSocketBeanRegistry();
@@ -116,6 +134,7 @@ public class NettyServerWebSocketUpgradeHandler extends SimpleChannelInboundHand
         this.webSocketSessionRepository = webSocketSessionRepository;
         this.routeExecutor = embeddedServices.getRouteExecutor();
         this.nettyEmbeddedServices = embeddedServices;
+        this.outboundHandlerFactory = outboundHandlerFactory;
     }
 
     @Override
@@ -190,6 +209,9 @@ public class NettyServerWebSocketUpgradeHandler extends SimpleChannelInboundHand
                                     ctx,
                                     routeExecutor.getCoroutineHelper().orElse(null));
                             pipeline.addBefore(ctx.name(), NettyServerWebSocketHandler.ID, webSocketHandler);
+                            if (outboundHandlerFactory != null) {
+                                pipeline.addBefore(ctx.name(), WebSocketOutboundHandler.ID, outboundHandlerFactory.get());
+                            }
 
                             pipeline.remove(ChannelPipelineCustomizer.HANDLER_HTTP_STREAM);
                             pipeline.remove(NettyServerWebSocketUpgradeHandler.this);
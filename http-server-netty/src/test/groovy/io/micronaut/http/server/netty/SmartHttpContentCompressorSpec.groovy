@@ -1,5 +1,6 @@
 package io.micronaut.http.server.netty
 
+import io.netty.channel.embedded.EmbeddedChannel
 import io.netty.handler.codec.http.*
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -34,4 +35,56 @@ class SmartHttpContentCompressorSpec extends Specification {
         inCompressible | 0      | true      // incompressible, always skip
         null           | null   | true      // if the content type is unknown, skip
     }
+
+    void "test already encoded responses are skipped"() {
+        given:
+        HttpHeaders headers = new DefaultHttpHeaders()
+        headers.add(HttpHeaderNames.CONTENT_TYPE, compressible)
+        headers.add(HttpHeaderNames.CONTENT_LENGTH, 5000)
+        headers.add(HttpHeaderNames.CONTENT_ENCODING, encoding)
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, headers)
+
+        expect:
+        new SmartHttpContentCompressor(new DefaultHttpCompressionStrategy(1024, 6)).shouldSkip(response) == expected
+
+        where:
+        encoding   | expected
+        'gzip'     | true
+        'br'       | true
+        'identity' | false
+    }
+
+    @Unroll
+    void "test the quality of #encoding in #acceptEncoding is #quality"() {
+        expect:
+        SmartHttpContentCompressor.qualityOf(acceptEncoding, encoding) == quality
+
+        where:
+        acceptEncoding          | encoding | quality
+        'gzip, deflate, br'     | 'br'     | 1.0f
+        'gzip;q=0.5, br;q=0.8'  | 'gzip'   | 0.5f
+        'gzip;q=0.5, *;q=0.1'   | 'br'     | 0.1f
+        'gzip'                  | 'br'     | -1.0f
+        'br;q=0'                | 'br'     | 0.0f
+    }
+
+    void "test the compression level is lowered when the event loop latency is above the threshold"() {
+        given:
+        EmbeddedChannel channel = new EmbeddedChannel()
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK)
+        DefaultHttpCompressionStrategy strategy = new DefaultHttpCompressionStrategy(1024, 6, java.time.Duration.ofNanos(1))
+
+        expect:
+        strategy.getCompressionLevel(response, channel.eventLoop()) == 6
+
+        when:
+        Thread.sleep(1)
+        channel.runPendingTasks()
+
+        then:
+        strategy.getCompressionLevel(response, channel.eventLoop()) == 5
+
+        cleanup:
+        channel.close()
+    }
 }
@@ -11,7 +11,9 @@ import io.micronaut.http.annotation.Body
 import io.micronaut.http.annotation.Controller
 import io.micronaut.http.annotation.Get
 import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.HttpClient
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer
+import io.micronaut.http.server.netty.NettyHttpServer
 import io.micronaut.runtime.server.EmbeddedServer
 import io.netty.bootstrap.Bootstrap
 import io.netty.buffer.ByteBuf
@@ -61,6 +63,47 @@ import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CopyOnWriteArrayList
 
 class AccessLogSpec extends Specification {
+    def 'the async access log writer metrics are exposed by the server'() {
+        given:
+        def ctx = ApplicationContext.run([
+                'spec.name': 'AccessLogSpec',
+                'micronaut.server.netty.access-logger.enabled': true,
+                'micronaut.server.netty.access-logger.logger-name': 'http-access-log',
+                'micronaut.server.netty.access-logger.async': true,
+        ])
+        def server = (NettyHttpServer) ctx.getBean(EmbeddedServer)
+        server.start()
+        def client = ctx.createBean(HttpClient, server.URL)
+
+        def listAppender = new ListAppender<ILoggingEvent>()
+        listAppender.start()
+        ((Logger) LoggerFactory.getLogger('http-access-log')).addAppender(listAppender)
+
+        when:
+        def body = client.toBlocking().retrieve('/interleave/simple')
+        AsyncAccessLogWriter writer = server.accessLogWriter.get()
+
+        then:
+        body == 'simple'
+        new PollingConditions(timeout: 5).eventually {
+            listAppender.list.size() == 1
+            writer.queueDepth == 0
+        }
+        writer.droppedCount == 0
+        writer.queueSize == AsyncAccessLogWriter.DEFAULT_QUEUE_SIZE
+
+        when:
+        server.stop()
+
+        then:
+        !server.accessLogWriter.present
+
+        cleanup:
+        ((Logger) LoggerFactory.getLogger('http-access-log')).detachAppender(listAppender)
+        client.close()
+        ctx.close()
+    }
+
     @Issue('https://github.com/micronaut-projects/micronaut-core/issues/6782')
     def 'http1.1 concurrent pipelined requests'() {
         given:
@@ -0,0 +1,94 @@
+package io.micronaut.http.server.netty.handler.accesslog
+
+import ch.qos.logback.classic.Logger
+import ch.qos.logback.classic.spi.ILoggingEvent
+import ch.qos.logback.core.read.ListAppender
+import io.micronaut.http.server.netty.handler.accesslog.element.AccessLog
+import io.micronaut.http.server.netty.handler.accesslog.element.AccessLogFormatParser
+import io.netty.handler.codec.http.EmptyHttpHeaders
+import org.slf4j.LoggerFactory
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CountDownLatch
+
+class AsyncAccessLogWriterSpec extends Specification {
+
+    def 'access logs are written in order from the writer thread'() {
+        given:
+        def listAppender = new ListAppender<ILoggingEvent>()
+        listAppender.start()
+        def logger = (Logger) LoggerFactory.getLogger('async-access-log')
+        logger.addAppender(listAppender)
+        def writer = new AsyncAccessLogWriter(4, AsyncAccessLogWriter.OverflowPolicy.BLOCK)
+        def accessLog = new AccessLogFormatParser('%s').newAccessLogger()
+
+        when:
+        for (int i = 0; i < 100; i++) {
+            accessLog.reset()
+            accessLog.onResponseHeaders(null, EmptyHttpHeaders.INSTANCE, String.valueOf(i))
+            writer.write(logger, accessLog)
+        }
+        writer.close()
+
+        then:
+        listAppender.list*.message == (0..<100)*.toString()
+        listAppender.list.every { it.threadName == 'access-log-writer' }
+        writer.droppedCount == 0
+        writer.queueDepth == 0
+
+        cleanup:
+        logger.detachAppender(listAppender)
+    }
+
+    def 'access logs are dropped and counted when the queue is full'() {
+        given:
+        def release = new CountDownLatch(1)
+        def started = new CountDownLatch(1)
+        def written = Collections.synchronizedList([])
+        def logger = Stub(org.slf4j.Logger) {
+            info(_ as String) >> { String line ->
+                started.countDown()
+                release.await()
+                written.add(line)
+            }
+        }
+        def writer = new AsyncAccessLogWriter(3, AsyncAccessLogWriter.OverflowPolicy.DROP)
+        AccessLog accessLog = new AccessLogFormatParser('%s').newAccessLogger()
+        accessLog.onResponseHeaders(null, EmptyHttpHeaders.INSTANCE, '200')
+
+        expect:
+        writer.queueSize == 4
+
+        when:
+        writer.write(logger, accessLog)
+        started.await()
+        6.times { writer.write(logger, accessLog) }
+
+        then:
+        writer.queueDepth == 4
+        writer.droppedCount == 3
+
+        when:
+        release.countDown()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            written.size() == 4
+            writer.queueDepth == 0
+        }
+
+        cleanup:
+        release.countDown()
+        writer.close()
+    }
+
+    def 'closed writers hand the access log back to the caller'() {
+        given:
+        def writer = new AsyncAccessLogWriter(4, AsyncAccessLogWriter.OverflowPolicy.DROP)
+        writer.close()
+
+        expect:
+        !writer.write(LoggerFactory.getLogger('async-access-log'), new AccessLogFormatParser('%s').newAccessLogger())
+    }
+}
@@ -0,0 +1,153 @@
+package io.micronaut.http.server.netty.stream
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.buffer.netty.NettyByteBufferFactory
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.io.buffer.ByteBuffer
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.netty.channel.ChannelPipelineCustomizer
+import io.micronaut.http.server.netty.EmbeddedTestUtil
+import io.micronaut.http.server.netty.NettyHttpServer
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.buffer.ByteBuf
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelOutboundHandlerAdapter
+import io.netty.channel.ChannelPromise
+import io.netty.channel.embedded.EmbeddedChannel
+import io.netty.handler.codec.http.DefaultHttpRequest
+import io.netty.handler.codec.http.FullHttpResponse
+import io.netty.handler.codec.http.HttpClientCodec
+import io.netty.handler.codec.http.HttpContent
+import io.netty.handler.codec.http.HttpHeaderNames
+import io.netty.handler.codec.http.HttpHeaderValues
+import io.netty.handler.codec.http.HttpMethod
+import io.netty.handler.codec.http.HttpObjectAggregator
+import io.netty.handler.codec.http.HttpResponseStatus
+import io.netty.handler.codec.http.HttpVersion
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Flux
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.CopyOnWriteArrayList
+
+class StreamedBytesSpec extends Specification {
+
+    static final List<ByteBuf> EMITTED = new CopyOnWriteArrayList<>()
+
+    void "test emitted Netty buffers are written without copying and released once"() {
+        given:
+        EMITTED.clear()
+        ApplicationContext ctx = ApplicationContext.run(['spec.name': 'StreamedBytesSpec'])
+        def embeddedServer = (NettyHttpServer) ctx.getBean(EmbeddedServer)
+
+        def serverEmbeddedChannel = embeddedServer.buildEmbeddedChannel(false)
+        List<ByteBuf> written = new CopyOnWriteArrayList<>()
+        serverEmbeddedChannel.pipeline().addBefore(ChannelPipelineCustomizer.HANDLER_HTTP_STREAM, 'capture', new ChannelOutboundHandlerAdapter() {
+            @Override
+            void write(ChannelHandlerContext ctx_, Object msg, ChannelPromise promise) throws Exception {
+                if (msg instanceof HttpContent && msg.content().isReadable()) {
+                    written.add(msg.content())
+                }
+                ctx_.write(msg, promise)
+            }
+        })
+        def clientEmbeddedChannel = new EmbeddedChannel()
+        clientEmbeddedChannel.config().setAutoRead(true)
+
+        EmbeddedTestUtil.connect(serverEmbeddedChannel, clientEmbeddedChannel)
+
+        clientEmbeddedChannel.pipeline()
+                .addLast(new HttpClientCodec())
+                .addLast(new HttpObjectAggregator(1024))
+
+        def request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, '/streamed-buffers')
+        request.headers().add(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE)
+
+        when:
+        clientEmbeddedChannel.writeOneOutbound(request)
+        clientEmbeddedChannel.flushOutbound()
+        EmbeddedTestUtil.advance(serverEmbeddedChannel, clientEmbeddedChannel)
+        FullHttpResponse response = clientEmbeddedChannel.readInbound()
+
+        then: 'every chunk is the buffer emitted by the controller'
+        response.status() == HttpResponseStatus.OK
+        response.content().toString(StandardCharsets.UTF_8) == 'chunk1;chunk2;chunk3;chunk4;chunk5;'
+        EMITTED.size() == 5
+        written.size() == EMITTED.size()
+        (0..<EMITTED.size()).every { written[it].is(EMITTED[it]) }
+
+        when:
+        response.release()
+
+        then: 'the channel took over the reference of each emitted buffer'
+        EMITTED.every { it.refCnt() == 0 }
+
+        cleanup:
+        clientEmbeddedChannel.close()
+        serverEmbeddedChannel.close()
+        ctx.close()
+    }
+
+    void "test a publisher reusing its byte array"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(['spec.name': 'StreamedBytesSpec'])
+        def embeddedServer = (NettyHttpServer) ctx.getBean(EmbeddedServer)
+
+        def serverEmbeddedChannel = embeddedServer.buildEmbeddedChannel(false)
+        def clientEmbeddedChannel = new EmbeddedChannel()
+        clientEmbeddedChannel.config().setAutoRead(true)
+
+        EmbeddedTestUtil.connect(serverEmbeddedChannel, clientEmbeddedChannel)
+
+        clientEmbeddedChannel.pipeline()
+                .addLast(new HttpClientCodec())
+                .addLast(new HttpObjectAggregator(1024))
+
+        def request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, '/streamed-bytes')
+        request.headers().add(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE)
+
+        when:
+        clientEmbeddedChannel.writeOneOutbound(request)
+        clientEmbeddedChannel.flushOutbound()
+        EmbeddedTestUtil.advance(serverEmbeddedChannel, clientEmbeddedChannel)
+
+        then:
+        FullHttpResponse response = clientEmbeddedChannel.readInbound()
+        response.status() == HttpResponseStatus.OK
+        response.content().toString(StandardCharsets.UTF_8) == 'chunk1;chunk2;chunk3;chunk4;chunk5;'
+
+        cleanup:
+        response.release()
+        clientEmbeddedChannel.close()
+        serverEmbeddedChannel.close()
+        ctx.close()
+    }
+
+    @Controller
+    @Requires(property = 'spec.name', value = 'StreamedBytesSpec')
+    static class StreamedBytesController {
+        @Get(value = '/streamed-buffers', produces = MediaType.APPLICATION_OCTET_STREAM)
+        Publisher<ByteBuffer<ByteBuf>> buffers() {
+            Flux.range(1, 5).map { i ->
+                ByteBuffer<ByteBuf> buffer = NettyByteBufferFactory.DEFAULT.buffer(7)
+                buffer.write("chunk$i;".getBytes(StandardCharsets.UTF_8))
+                EMITTED.add(buffer.asNativeBuffer())
+                buffer
+            }
+        }
+
+        @Get(value = '/streamed-bytes', produces = MediaType.APPLICATION_OCTET_STREAM)
+        Publisher<byte[]> bytes() {
+            // pooled I/O commonly emits the same array, refilled for every chunk
+            byte[] buffer = new byte[7]
+            Flux.range(1, 5).map { i ->
+                byte[] chunk = "chunk$i;".getBytes(StandardCharsets.UTF_8)
+                System.arraycopy(chunk, 0, buffer, 0, chunk.length)
+                buffer
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.micronaut.http.server.netty.types
+
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.server.netty.AbstractMicronautSpec
+
+import java.util.zip.GZIPOutputStream
+
+class PrecompressedFileSpec extends AbstractMicronautSpec {
+
+    private static File htmlFile
+
+    static {
+        htmlFile = File.createTempFile("precompressedFileSpec", ".html")
+        htmlFile.deleteOnExit()
+        htmlFile.write("<html><body>original</body></html>")
+        File gzFile = new File(htmlFile.path + ".gz")
+        gzFile.deleteOnExit()
+        gzFile.withOutputStream { out ->
+            new GZIPOutputStream(out).withStream { it.write("<html><body>precompressed</body></html>".bytes) }
+        }
+    }
+
+    @Override
+    Map<String, Object> getConfiguration() {
+        super.getConfiguration() << ['micronaut.server.netty.responses.file.precompressed': true]
+    }
+
+    void "test the precompressed sibling is served if the client accepts its encoding"() {
+        when:
+        def response = rxClient.toBlocking().exchange(HttpRequest.GET('/precompressed/html').header(HttpHeaders.ACCEPT_ENCODING, 'gzip'), String)
+
+        then:
+        response.code() == HttpStatus.OK.code
+        response.header(HttpHeaders.CONTENT_TYPE) == "text/html"
+        response.body() == "<html><body>precompressed</body></html>"
+    }
+
+    void "test the original file is served if the client does not accept the encoding"() {
+        when:
+        def response = rxClient.toBlocking().exchange(HttpRequest.GET('/precompressed/html').header(HttpHeaders.ACCEPT_ENCODING, 'identity'), String)
+
+        then:
+        response.code() == HttpStatus.OK.code
+        response.body() == "<html><body>original</body></html>"
+    }
+
+    @Controller('/precompressed')
+    @Requires(property = 'spec.name', value = 'PrecompressedFileSpec')
+    static class PrecompressedController {
+
+        @Get('/html')
+        File html() {
+            htmlFile
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.micronaut.http.server.netty.websocket
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.MediaType
+import io.micronaut.http.server.netty.NettyHttpServer
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.websocket.WebSocketBroadcaster
+import io.micronaut.websocket.WebSocketClient
+import io.micronaut.websocket.WebSocketSession
+import io.micronaut.websocket.annotation.ClientWebSocket
+import io.micronaut.websocket.annotation.OnMessage
+import io.micronaut.websocket.annotation.OnOpen
+import io.micronaut.websocket.annotation.ServerWebSocket
+import reactor.core.publisher.Flux
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class TopicBroadcastSpec extends Specification {
+
+    void "test broadcasting to a topic only reaches its subscribers"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'TopicBroadcastSpec'])
+        PollingConditions conditions = new PollingConditions(timeout: 10, delay: 0.1)
+        WebSocketClient wsClient = embeddedServer.applicationContext.createBean(WebSocketClient, embeddedServer.URI)
+        def topics = ((NettyHttpServer) embeddedServer).webSocketSessionRepository.topicIndex
+        WebSocketBroadcaster broadcaster = embeddedServer.applicationContext.getBean(WebSocketBroadcaster)
+
+        when:
+        RoomClient fred = Flux.from(wsClient.connect(RoomClient, "/rooms/42")).blockFirst()
+        RoomClient bob = Flux.from(wsClient.connect(RoomClient, "/rooms/42")).blockFirst()
+        RoomClient alice = Flux.from(wsClient.connect(RoomClient, "/rooms/7")).blockFirst()
+
+        then:
+        conditions.eventually {
+            assert topics.getSubscriberCount('room:42') == 2
+            assert topics.getSubscriberCount('room:7') == 1
+        }
+
+        when:
+        Flux.from(broadcaster.broadcastToTopic('room:42', 'hello 42', MediaType.TEXT_PLAIN_TYPE)).blockFirst()
+        broadcaster.broadcastToTopicAsync('room:7', 'hello 7', MediaType.TEXT_PLAIN_TYPE).get()
+
+        then:
+        conditions.eventually {
+            assert fred.messages == ['hello 42']
+            assert bob.messages == ['hello 42']
+            assert alice.messages == ['hello 7']
+        }
+        topics.getMetrics('room:42').get().broadcastCount == 1
+        topics.getMetrics('room:42').get().deliveryCount == 2
+        topics.getMetrics('room:42').get().maxLatencyNanos > 0
+
+        when: 'a subscriber disconnects'
+        bob.session.close()
+
+        then: 'it is removed from the index'
+        conditions.eventually {
+            assert topics.getSubscriberCount('room:42') == 1
+        }
+
+        when: 'the last subscribers disconnect'
+        fred.session.close()
+        alice.session.close()
+
+        then: 'the topics are removed'
+        conditions.eventually {
+            assert topics.topics.isEmpty()
+        }
+
+        when: 'broadcasting to a topic without subscribers'
+        def result = Flux.from(broadcaster.broadcastToTopic('room:42', 'nobody', MediaType.TEXT_PLAIN_TYPE)).blockFirst()
+
+        then:
+        result == 'nobody'
+
+        cleanup:
+        wsClient.close()
+        embeddedServer.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'TopicBroadcastSpec')
+    @ServerWebSocket("/rooms/{room}")
+    static class RoomServer {
+
+        @OnOpen
+        void onOpen(String room, WebSocketSession session) {
+            session.subscribe("room:" + room)
+        }
+
+        @OnMessage
+        void onMessage(String message) {
+        }
+    }
+
+    @ClientWebSocket
+    static class RoomClient {
+
+        WebSocketSession session
+        List<String> messages = new CopyOnWriteArrayList<>()
+
+        @OnOpen
+        void onOpen(WebSocketSession session) {
+            this.session = session
+        }
+
+        @OnMessage
+        void onMessage(String message) {
+            messages.add(message)
+        }
+    }
+}
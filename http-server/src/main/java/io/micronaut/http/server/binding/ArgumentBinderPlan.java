@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.binding;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.bind.ArgumentBinder;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.bind.RequestBinderRegistry;
+
+/**
+ * The argument binders of a route method, resolved once and reused for every request.
+ *
+ * @since 3.8.0
+ */
+@Internal
+final class ArgumentBinderPlan {
+
+    private final Argument<?>[] arguments;
+    private final ArgumentBinder<?, HttpRequest<?>>[] binders;
+
+    /**
+     * @param arguments      The arguments of the method
+     * @param binderRegistry The binder registry, which must resolve binders independently of the request
+     */
+    @SuppressWarnings("unchecked")
+    ArgumentBinderPlan(Argument<?>[] arguments, RequestBinderRegistry binderRegistry) {
+        this.arguments = arguments;
+        this.binders = new ArgumentBinder[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            binders[i] = (ArgumentBinder<?, HttpRequest<?>>) binderRegistry.findArgumentBinder(arguments[i], null).orElse(null);
+        }
+    }
+
+    /**
+     * @param argument The argument
+     * @return The binder of the argument or {@code null} if the argument is not part of this plan
+     */
+    @Nullable
+    ArgumentBinder<?, HttpRequest<?>> findBinder(Argument<?> argument) {
+        Argument<?>[] arguments = this.arguments;
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] == argument) {
+                return binders[i];
+            }
+        }
+        return null;
+    }
+}
@@ -16,6 +16,7 @@
 package io.micronaut.http.server.binding;
 
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.bind.ArgumentBinder;
 import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionContext;
@@ -23,10 +24,13 @@ import io.micronaut.core.convert.ConversionError;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
+import io.micronaut.http.bind.DefaultRequestBinderRegistry;
 import io.micronaut.http.bind.RequestBinderRegistry;
 import io.micronaut.http.bind.binders.BodyArgumentBinder;
 import io.micronaut.http.bind.binders.NonBlockingBodyArgumentBinder;
 import io.micronaut.http.bind.binders.RequestBeanAnnotationBinder;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.web.router.MethodBasedRouteMatch;
 import io.micronaut.web.router.NullArgument;
 import io.micronaut.web.router.RouteMatch;
 import io.micronaut.web.router.UnresolvedArgument;
@@ -37,6 +41,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A class containing methods to aid in satisfying arguments of a {@link io.micronaut.web.router.Route}.
@@ -49,12 +54,17 @@ import java.util.Optional;
 public class RequestArgumentSatisfier {
 
     private final RequestBinderRegistry binderRegistry;
+    private final boolean precomputeBinders;
+    private final Map<ExecutableMethod<?, ?>, ArgumentBinderPlan> binderPlans = new ConcurrentHashMap<>();
 
     /**
      * @param requestBinderRegistry The Request binder registry
      */
     public RequestArgumentSatisfier(RequestBinderRegistry requestBinderRegistry) {
         this.binderRegistry = requestBinderRegistry;
+        // the default registry resolves binders from the argument alone, other registries, including subclasses of
+        // the default registry, may depend on the request
+        this.precomputeBinders = requestBinderRegistry.getClass() == DefaultRequestBinderRegistry.class;
     }
 
     /**
@@ -81,10 +91,17 @@ public class RequestArgumentSatisfier {
             argumentValues = Collections.emptyMap();
         } else {
             argumentValues = new LinkedHashMap<>(requiredArguments.size());
+            ArgumentBinderPlan binderPlan = findBinderPlan(route);
             // Begin try fulfilling the argument requirements
             for (Argument argument : requiredArguments) {
-                getValueForArgument(argument, request, satisfyOptionals).ifPresent(value ->
-                    argumentValues.put(argument.getName(), value));
+                ArgumentBinder<?, HttpRequest<?>> argumentBinder = binderPlan != null ? binderPlan.findBinder(argument) : null;
+                Optional<Object> value;
+                if (argumentBinder != null) {
+                    value = getValueForArgument(argument, argumentBinder, request, satisfyOptionals);
+                } else {
+                    value = getValueForArgument(argument, request, satisfyOptionals);
+                }
+                value.ifPresent(v -> argumentValues.put(argument.getName(), v));
             }
         }
 
@@ -93,17 +110,38 @@ public class RequestArgumentSatisfier {
     }
 
     /**
+     * Resolves the binder of the argument and binds its value. Subclasses customize binding by
+     * overriding {@link #getValueForArgument(Argument, ArgumentBinder, HttpRequest, boolean)}, which
+     * is also used for the binders precomputed per route.
+     *
      * @param argument         The argument
      * @param request          The HTTP request
      * @param satisfyOptionals Whether to satisfy optionals
      * @return An {@link Optional} for the value
      */
-    protected Optional<Object> getValueForArgument(Argument argument, HttpRequest<?> request, boolean satisfyOptionals) {
-        Object value = null;
+    protected final Optional<Object> getValueForArgument(Argument argument, HttpRequest<?> request, boolean satisfyOptionals) {
         Optional<ArgumentBinder> registeredBinder =
             binderRegistry.findArgumentBinder(argument, request);
-        if (registeredBinder.isPresent()) {
-            ArgumentBinder argumentBinder = registeredBinder.get();
+        return getValueForArgument(argument, registeredBinder.orElse(null), request, satisfyOptionals);
+    }
+
+    /**
+     * Binds the value of the argument with the given binder. This is the extension point for
+     * subclasses, it is called for every argument whether its binder was precomputed or not.
+     *
+     * @param argument         The argument
+     * @param argumentBinder   The binder of the argument
+     * @param request          The HTTP request
+     * @param satisfyOptionals Whether to satisfy optionals
+     * @return An {@link Optional} for the value
+     * @since 3.8.0
+     */
+    protected Optional<Object> getValueForArgument(Argument argument,
+                                                   @Nullable ArgumentBinder argumentBinder,
+                                                   HttpRequest<?> request,
+                                                   boolean satisfyOptionals) {
+        Object value = null;
+        if (argumentBinder != null) {
             ArgumentConversionContext conversionContext = ConversionContext.of(
                 argument,
                 request.getLocale().orElse(null),
@@ -157,6 +195,27 @@ public class RequestArgumentSatisfier {
         return Optional.ofNullable(value);
     }
 
+    /**
+     * Finds the binders of the route arguments, which are resolved on the first request of the route.
+     *
+     * @param route The route
+     * @return The binder plan or {@code null} if the binders are resolved per request
+     */
+    @Nullable
+    private ArgumentBinderPlan findBinderPlan(RouteMatch<?> route) {
+        if (!precomputeBinders || !(route instanceof MethodBasedRouteMatch)) {
+            return null;
+        }
+        MethodBasedRouteMatch<?, ?> methodRoute = (MethodBasedRouteMatch<?, ?>) route;
+        ExecutableMethod<?, ?> executableMethod = methodRoute.getExecutableMethod();
+        ArgumentBinderPlan binderPlan = binderPlans.get(executableMethod);
+        if (binderPlan == null) {
+            binderPlan = new ArgumentBinderPlan(methodRoute.getArguments(), binderRegistry);
+            binderPlans.putIfAbsent(executableMethod, binderPlan);
+        }
+        return binderPlan;
+    }
+
     /**
      *
      * @param request The request
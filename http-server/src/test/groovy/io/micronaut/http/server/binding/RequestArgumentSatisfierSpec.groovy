@@ -0,0 +1,109 @@
+package io.micronaut.http.server.binding
+
+import io.micronaut.core.bind.ArgumentBinder
+import io.micronaut.core.convert.ConversionService
+import io.micronaut.core.type.Argument
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.bind.DefaultRequestBinderRegistry
+import io.micronaut.inject.ExecutableMethod
+import io.micronaut.web.router.MethodBasedRouteMatch
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class RequestArgumentSatisfierSpec extends Specification {
+
+    Argument<HttpHeaders> argument = Argument.of(HttpHeaders, 'headers')
+
+    void "test the binders of a route are precomputed with the default registry"() {
+        given:
+        def satisfier = new RequestArgumentSatisfier(new DefaultRequestBinderRegistry(ConversionService.SHARED))
+        Map<String, Object> values = [:]
+        def route = routeMatch(values)
+        def headers1 = Stub(HttpHeaders)
+        def headers2 = Stub(HttpHeaders)
+
+        when:
+        satisfier.fulfillArgumentRequirements(route, request(headers1), false)
+
+        then:
+        values.headers.is(headers1)
+        satisfier.@binderPlans.size() == 1
+
+        when:
+        satisfier.fulfillArgumentRequirements(route, request(headers2), false)
+
+        then:
+        values.headers.is(headers2)
+        satisfier.@binderPlans.size() == 1
+    }
+
+    void "test the binders are resolved per request with a subclass of the default registry"() {
+        given:
+        def satisfier = new RequestArgumentSatisfier(new RequestDependentBinderRegistry())
+        Map<String, Object> values = [:]
+        def route = routeMatch(values)
+        def headers = Stub(HttpHeaders) {
+            contains('X-Custom') >> true
+        }
+
+        when:
+        satisfier.fulfillArgumentRequirements(route, request(headers), false)
+
+        then:
+        values.headers == 'custom'
+        satisfier.@binderPlans.isEmpty()
+
+        when:
+        def otherHeaders = Stub(HttpHeaders)
+        satisfier.fulfillArgumentRequirements(route, request(otherHeaders), false)
+
+        then:
+        values.headers.is(otherHeaders)
+        satisfier.@binderPlans.isEmpty()
+    }
+
+    private MethodBasedRouteMatch routeMatch(Map<String, Object> values) {
+        Argument[] arguments = [argument] as Argument[]
+        ExecutableMethod method = Stub(ExecutableMethod) {
+            getArguments() >> arguments
+        }
+        MethodBasedRouteMatch route = Stub(MethodBasedRouteMatch)
+        route.getArguments() >> arguments
+        route.getRequiredArguments() >> Arrays.asList(arguments)
+        route.getExecutableMethod() >> method
+        route.fulfill(_) >> { Map<String, Object> fulfilled ->
+            values.clear()
+            values.putAll(fulfilled)
+            route
+        }
+        return route
+    }
+
+    private HttpRequest request(HttpHeaders headers) {
+        Stub(HttpRequest) {
+            getHeaders() >> headers
+            getMethod() >> HttpMethod.GET
+            getLocale() >> Optional.empty()
+            getCharacterEncoding() >> StandardCharsets.UTF_8
+        }
+    }
+
+    static class RequestDependentBinderRegistry extends DefaultRequestBinderRegistry {
+        RequestDependentBinderRegistry() {
+            super(ConversionService.SHARED)
+        }
+
+        @Override
+        <T> Optional<ArgumentBinder<T, HttpRequest<?>>> findArgumentBinder(Argument<T> argument, HttpRequest<?> source) {
+            // dereferences the request, so it must not be resolved ahead of the request
+            if (source.headers.contains('X-Custom')) {
+                ArgumentBinder binder = { context, request -> ({ -> Optional.of('custom') } as ArgumentBinder.BindingResult) } as ArgumentBinder
+                return Optional.of(binder)
+            }
+            return super.findArgumentBinder(argument, source)
+        }
+    }
+}
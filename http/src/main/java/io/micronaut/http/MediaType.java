@@ -24,6 +24,7 @@ import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
 import io.micronaut.core.value.OptionalValues;
 import io.micronaut.http.annotation.Produces;
 import org.slf4j.Logger;
@@ -41,7 +42,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -385,6 +385,14 @@ public class MediaType implements CharSequence {
     static final ArgumentConversionContext<MediaType> CONVERSION_CONTEXT = ImmutableArgumentConversionContext.of(ARGUMENT);
 
     private static final char SEMICOLON = ';';
+    private static final int PARSE_CACHE_SIZE = 500;
+    private static final int ORDERED_CACHE_SIZE = 200;
+
+    // parsed media types and Accept header orderings, keyed by the raw header value
+    private static final Map<String, MediaType> PARSE_CACHE =
+            new ConcurrentLinkedHashMap.Builder<String, MediaType>().maximumWeightedCapacity(PARSE_CACHE_SIZE).build();
+    private static final Map<String, List<MediaType>> ORDERED_CACHE =
+            new ConcurrentLinkedHashMap.Builder<String, List<MediaType>>().maximumWeightedCapacity(ORDERED_CACHE_SIZE).build();
 
     @SuppressWarnings("ConstantName")
     private static final String MIME_TYPES_FILE_NAME = "META-INF/http/mime.types";
@@ -511,7 +519,8 @@ public class MediaType implements CharSequence {
     }
 
     /**
-     * Create a new or get a {@link MediaType} from the given text.
+     * Create a new or get a {@link MediaType} from the given text. Well-known and recently parsed media types are
+     * shared instances.
      *
      * @param mediaType The text
      * @return The {@link MediaType}
@@ -569,7 +578,12 @@ public class MediaType implements CharSequence {
             case IMAGE_WEBP:
                 return IMAGE_WEBP_TYPE;
             default:
-                return new MediaType(mediaType);
+                MediaType parsed = PARSE_CACHE.get(mediaType);
+                if (parsed == null) {
+                    parsed = new MediaType(mediaType);
+                    PARSE_CACHE.put(mediaType, parsed);
+                }
+                return parsed;
         }
     }
 
@@ -759,8 +773,22 @@ public class MediaType implements CharSequence {
      * @since 1.3.3
      */
     public static List<MediaType> orderedOf(List<? extends CharSequence> values) {
+        if (values != null && values.size() == 1) {
+            // the common case of a single Accept header
+            String value = values.get(0).toString();
+            List<MediaType> mediaTypes = ORDERED_CACHE.get(value);
+            if (mediaTypes == null) {
+                mediaTypes = parseOrdered(values);
+                ORDERED_CACHE.put(value, mediaTypes);
+            }
+            return mediaTypes;
+        }
+        return parseOrdered(values);
+    }
+
+    private static List<MediaType> parseOrdered(List<? extends CharSequence> values) {
         if (CollectionUtils.isNotEmpty(values)) {
-            List<MediaType> mediaTypes = new LinkedList<>();
+            List<MediaType> mediaTypes = new ArrayList<>(values.size() * 2);
             for (CharSequence value : values) {
                 for (String token : StringUtils.splitOmitEmptyStrings(value, ',')) {
                     try {
@@ -770,7 +798,6 @@ public class MediaType implements CharSequence {
                     }
                 }
             }
-            mediaTypes = new ArrayList<>(mediaTypes);
             mediaTypes.sort((o1, o2) -> {
                 //The */* type is always last
                 if (o1.type.equals("*")) {
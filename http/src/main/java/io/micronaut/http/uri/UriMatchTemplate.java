@@ -41,6 +41,7 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
     private final Pattern matchPattern;
     private final boolean isRoot;
     private final boolean exactMatch;
+    private final SegmentMatcher segmentMatcher;
 
     // Matches cache
     private Optional<UriMatchInfo> rootMatchInfo;
@@ -71,6 +72,7 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
             this.matchPattern = Pattern.compile(pattern.toString());
             this.exactMatch = false;
         }
+        this.segmentMatcher = exactMatch ? null : SegmentMatcher.of(segments, variables, matchPattern);
         this.isRoot = isRoot();
         // cleanup / reduce memory consumption
         this.pattern = null;
@@ -94,6 +96,7 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
             this.matchPattern = matchPattern;
             this.exactMatch = false;
         }
+        this.segmentMatcher = exactMatch ? null : SegmentMatcher.of(segments, variables, matchPattern);
     }
 
     /**
@@ -155,6 +158,9 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
             throw new IllegalArgumentException("Argument 'uri' cannot be null");
         }
         int length = uri.length();
+        if (segmentMatcher != null) {
+            return matchSegments(uri, length);
+        }
         if (length > 1 && uri.charAt(length - 1) == '/') {
             uri = uri.substring(0, length - 1);
         }
@@ -204,6 +210,27 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         return Optional.empty();
     }
 
+    private Optional<UriMatchInfo> matchSegments(String uri, int length) {
+        // same normalization as below, without creating intermediate strings
+        int end = length;
+        if (end > 1 && uri.charAt(end - 1) == '/') {
+            end--;
+        }
+        int parameterIndex = uri.indexOf('?');
+        if (parameterIndex > -1 && parameterIndex < end) {
+            end = parameterIndex;
+        }
+        if (end > 0 && uri.charAt(end - 1) == '/') {
+            end--;
+        }
+        if (!segmentMatcher.match(uri, end, null)) {
+            return Optional.empty();
+        }
+        int[] offsets = new int[segmentMatcher.variableCount * 2];
+        segmentMatcher.match(uri, end, offsets);
+        return Optional.of(new SegmentUriMatchInfo(end == length ? uri : uri.substring(0, end), variables, offsets));
+    }
+
     @Override
     public UriMatchTemplate nest(CharSequence uriTemplate) {
         return (UriMatchTemplate) super.nest(uriTemplate);
@@ -334,6 +361,204 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         }
     }
 
+    /**
+     * Matches templates consisting only of literal text and plain path variables (such as {@code /books/{id}})
+     * without a regular expression. Every variable is either followed by a {@code /} or is the last element of
+     * the path, so its value is always the remainder of the current path segment.
+     *
+     * <p>The matcher is only used if the regular expression it replaces is identical to the one produced by
+     * {@link UriMatchTemplateParser} for the same segments, so both always have the same semantics.</p>
+     */
+    private static final class SegmentMatcher {
+
+        private static final String VARIABLE_PATTERN = "(" + VARIABLE_MATCH_PATTERN + "+?))";
+
+        private final String[] literals;
+        private final int variableCount;
+
+        private SegmentMatcher(String[] literals) {
+            this.literals = literals;
+            this.variableCount = literals.length - 1;
+        }
+
+        /**
+         * @param segments     The template segments
+         * @param variables    The template variables
+         * @param matchPattern The pattern the matcher replaces
+         * @return The matcher or {@code null} if the template requires the regular expression
+         */
+        static SegmentMatcher of(List<PathSegment> segments, List<UriMatchVariable> variables, Pattern matchPattern) {
+            if (matchPattern == null || variables.isEmpty()) {
+                return null;
+            }
+            StringBuilder expectedPattern = new StringBuilder();
+            List<String> literals = new ArrayList<>(variables.size() + 1);
+            StringBuilder literal = new StringBuilder();
+            int variableIndex = 0;
+            boolean queryVariables = false;
+            for (PathSegment segment : segments) {
+                if (segment.isVariable()) {
+                    if (variableIndex >= variables.size()) {
+                        return null;
+                    }
+                    UriMatchVariable variable = variables.get(variableIndex++);
+                    if (variable.isQuery()) {
+                        queryVariables = true;
+                        continue;
+                    }
+                    if (queryVariables) {
+                        return null;
+                    }
+                    // variables must not follow each other and must be terminated by a path separator
+                    if (!literals.isEmpty() && literal.length() == 0) {
+                        return null;
+                    }
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    expectedPattern.append(VARIABLE_PATTERN);
+                } else {
+                    if (segment.isQuerySegment() || queryVariables) {
+                        return null;
+                    }
+                    String value = segment.toString();
+                    if (literal.length() == 0 && !literals.isEmpty() && !value.startsWith("/")) {
+                        return null;
+                    }
+                    literal.append(value);
+                    expectedPattern.append(Pattern.quote(value));
+                }
+            }
+            literals.add(literal.toString());
+            if (variableIndex != variables.size() || literals.size() < 2 || !expectedPattern.toString().equals(matchPattern.pattern())) {
+                return null;
+            }
+            return new SegmentMatcher(literals.toArray(new String[0]));
+        }
+
+        /**
+         * @param uri     The URI
+         * @param end     The end of the path within the URI
+         * @param offsets The array to receive the start and end offsets of the variables or {@code null}
+         * @return Whether the URI matches
+         */
+        boolean match(String uri, int end, int[] offsets) {
+            String first = literals[0];
+            int position = first.length();
+            if (position > end || !uri.startsWith(first)) {
+                return false;
+            }
+            for (int i = 1; i < literals.length; i++) {
+                int start = position;
+                while (position < end) {
+                    char c = uri.charAt(position);
+                    if (c == '/') {
+                        break;
+                    }
+                    if (c == '#' || c == '&' || c == ';' || c == '+' || c == '?') {
+                        return false;
+                    }
+                    position++;
+                }
+                if (position == start) {
+                    return false;
+                }
+                if (offsets != null) {
+                    offsets[(i - 1) * 2] = start;
+                    offsets[(i - 1) * 2 + 1] = position;
+                }
+                String literal = literals[i];
+                int literalLength = literal.length();
+                if (position + literalLength > end || !uri.regionMatches(position, literal, 0, literalLength)) {
+                    return false;
+                }
+                position += literalLength;
+            }
+            return position == end;
+        }
+    }
+
+    /**
+     * A {@link UriMatchInfo} produced by a {@link SegmentMatcher} that only materializes the variable values
+     * when they are requested.
+     */
+    private static final class SegmentUriMatchInfo implements UriMatchInfo {
+
+        private final String uri;
+        private final List<UriMatchVariable> variables;
+        private final int[] offsets;
+        private Map<String, Object> variableValues;
+        private Map<String, UriMatchVariable> variableMap;
+
+        SegmentUriMatchInfo(String uri, List<UriMatchVariable> variables, int[] offsets) {
+            this.uri = uri;
+            this.variables = variables;
+            this.offsets = offsets;
+        }
+
+        @Override
+        public String getUri() {
+            return uri;
+        }
+
+        @Override
+        public Map<String, Object> getVariableValues() {
+            Map<String, Object> values = variableValues;
+            if (values == null) {
+                int count = offsets.length / 2;
+                values = new LinkedHashMap<>(count);
+                for (int i = 0; i < count; i++) {
+                    values.put(variables.get(i).getName(), uri.substring(offsets[i * 2], offsets[i * 2 + 1]));
+                }
+                variableValues = values;
+            }
+            return values;
+        }
+
+        @Override
+        public List<UriMatchVariable> getVariables() {
+            return Collections.unmodifiableList(variables);
+        }
+
+        @Override
+        public Map<String, UriMatchVariable> getVariableMap() {
+            Map<String, UriMatchVariable> map = variableMap;
+            if (map == null) {
+                LinkedHashMap<String, UriMatchVariable> vm = new LinkedHashMap<>(variables.size());
+                for (UriMatchVariable variable : variables) {
+                    vm.put(variable.getName(), variable);
+                }
+                map = Collections.unmodifiableMap(vm);
+                variableMap = map;
+            }
+            return map;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            SegmentUriMatchInfo that = (SegmentUriMatchInfo) o;
+            return uri.equals(that.uri) && variables.equals(that.variables);
+        }
+
+        @Override
+        public String toString() {
+            return getUri();
+        }
+
+        @Override
+        public int hashCode() {
+            int result = uri.hashCode();
+            result = 31 * result + variables.hashCode();
+            return result;
+        }
+    }
+
     /**
      * <p>Extended version of {@link UriTemplate.UriTemplateParser} that builds a regular expression to match a path.
      * Note that fragments (#) and queries (?) are ignored for the purposes of matching.</p>
@@ -125,6 +125,29 @@ class MediaTypeSpec extends Specification {
         "text/plain, text/html, application/json;q=1"     | [new MediaType("text/plain"), new MediaType("text/html"), new MediaType("application/json;q=1")]
     }
 
+    void "test parsed media types and orderings are shared"() {
+        expect:
+        MediaType.of("application/vnd.custom+json;charset=UTF-8").is(MediaType.of("application/vnd.custom+json;charset=UTF-8"))
+        MediaType.of("application/vnd.custom+json;charset=UTF-8").getParameters().get("charset").get() == "UTF-8"
+        MediaType.of("application/json").is(MediaType.APPLICATION_JSON_TYPE)
+        MediaType.orderedOf(["text/plain;q=.5, application/json"]).is(MediaType.orderedOf(["text/plain;q=.5, application/json"]))
+        MediaType.orderedOf(["text/plain;q=.5, application/json"]) == [MediaType.APPLICATION_JSON_TYPE, MediaType.TEXT_PLAIN_TYPE]
+    }
+
+    void "test invalid media types are not cached"() {
+        when:
+        MediaType.of("invalid")
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        MediaType.of("invalid")
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     @Unroll
     void "test type match #desiredType"() {
         given:
@@ -204,4 +204,36 @@ class UriMatchTemplateSpec extends Specification {
         "/{+someId}"    | '/username%2B1@company.com'   | true      | [someId: 'username%2B1@company.com']
         "/{+someId}"    | '/username+1@company.com'     | true      | [someId: 'username+1@company.com']
     }
+
+    @Unroll
+    void "test template #template is matched by segments for #uri"() {
+        given:
+        UriMatchTemplate matchTemplate = new UriMatchTemplate(template)
+        Optional<UriMatchInfo> info = matchTemplate.match(uri)
+
+        expect:
+        info.isPresent() == matches
+        info.orElse(null)?.variableValues == variables
+        !matches || info.get().getClass().simpleName == 'SegmentUriMatchInfo'
+
+        where:
+        template                         | uri                        | matches | variables
+        "/books/{id}"                    | '/books/1'                 | true    | [id: '1']
+        "/books/{id}"                    | '/books/1/'                | true    | [id: '1']
+        "/books/{id}"                    | '/books/1?max=10'          | true    | [id: '1']
+        "/books/{id}"                    | '/books/1/?max=10'         | true    | [id: '1']
+        "/books/{id}"                    | '/books/'                  | false   | null
+        "/books/{id}"                    | '/books/1/2'               | false   | null
+        "/books/{id}"                    | '/books/1;foo'             | false   | null
+        "/books/{id}"                    | '/books/a+b'               | false   | null
+        "/books/{id}"                    | '/authors/1'               | false   | null
+        "/books/{id}{?max}"              | '/books/1?max=10'          | true    | [id: '1']
+        "/books/{id}/authors/{authorId}" | '/books/1/authors/2'       | true    | [id: '1', authorId: '2']
+        "/books/{id}/authors/{authorId}" | '/books/1/authors'         | false   | null
+        "/books/{id}/authors/{authorId}" | '/books/1/authors/2/3'     | false   | null
+        "/books/{id}/authors"            | '/books/1/authors'         | true    | [id: '1']
+        "/books/{id}/authors"            | '/books/1/authorsx'        | false   | null
+        "/books/v{version}"              | '/books/v2'                | true    | [version: '2']
+        "/books/v{version}"              | '/books/2'                 | false   | null
+    }
 }
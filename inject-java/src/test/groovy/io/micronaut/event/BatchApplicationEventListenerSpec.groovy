@@ -0,0 +1,102 @@
+package io.micronaut.event
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.event.ApplicationEventPublisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class BatchApplicationEventListenerSpec extends Specification {
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run('spec.name': 'BatchApplicationEventListenerSpec')
+
+    void 'test batch listeners receive events in publish order'() {
+        given:
+        ApplicationEventPublisher<KeyedEvent> publisher = context.getBean(ApplicationEventPublisher)
+        OrderedKeyedEventListener listener = context.getBean(OrderedKeyedEventListener)
+        CoalescingKeyedEventListener coalescing = context.getBean(CoalescingKeyedEventListener)
+        listener.values.clear()
+        coalescing.batches.clear()
+
+        when:
+        (0..<500).each { publisher.publishEvent(new KeyedEvent('a', it)) }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert listener.values == (0..<500).toList()
+        }
+        listener.batchSizes.every { it <= 16 }
+    }
+
+    void 'test events of typed and untyped publishers reach a batch listener through one queue'() {
+        given:
+        ApplicationEventPublisher<Object> publisher = context.getBean(ApplicationEventPublisher)
+        KeyedEventProducer producer = context.getBean(KeyedEventProducer)
+        OrderedKeyedEventListener listener = context.getBean(OrderedKeyedEventListener)
+        listener.values.clear()
+
+        when:
+        (0..<500).each {
+            if (it % 2 == 0) {
+                producer.publish(new KeyedEvent('a', it))
+            } else {
+                publisher.publishEvent(new KeyedEvent('a', it))
+            }
+        }
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert listener.values == (0..<500).toList()
+        }
+    }
+
+    void 'test a slow batch listener does not delay the others and coalesces events'() {
+        given:
+        ApplicationEventPublisher<KeyedEvent> publisher = context.getBean(ApplicationEventPublisher)
+        OrderedKeyedEventListener listener = context.getBean(OrderedKeyedEventListener)
+        CoalescingKeyedEventListener coalescing = context.getBean(CoalescingKeyedEventListener)
+        listener.values.clear()
+        coalescing.batches.clear()
+        coalescing.started = new CountDownLatch(1)
+        coalescing.release = new CountDownLatch(1)
+
+        when:
+        publisher.publishEvent(new KeyedEvent('x', 0))
+        coalescing.started.await(5, TimeUnit.SECONDS)
+        publisher.publishEvent(new KeyedEvent('a', 1))
+        publisher.publishEvent(new KeyedEvent('b', 1))
+        publisher.publishEvent(new KeyedEvent('a', 2))
+        publisher.publishEvent(new KeyedEvent('c', 1))
+        publisher.publishEvent(new KeyedEvent('a', 3))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert listener.values == [0, 1, 1, 2, 1, 3]
+        }
+        coalescing.batches.isEmpty()
+
+        when:
+        coalescing.release.countDown()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert coalescing.batches == [['x0'], ['b1', 'c1', 'a3']]
+        }
+    }
+
+    void 'test the future of an async event completes once batch listeners handled it'() {
+        given:
+        ApplicationEventPublisher<KeyedEvent> publisher = context.getBean(ApplicationEventPublisher)
+        OrderedKeyedEventListener listener = context.getBean(OrderedKeyedEventListener)
+        listener.values.clear()
+
+        when:
+        publisher.publishEventAsync(new KeyedEvent('a', 42)).get(5, TimeUnit.SECONDS)
+
+        then:
+        listener.values == [42]
+    }
+}
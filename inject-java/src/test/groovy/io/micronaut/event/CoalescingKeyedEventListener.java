@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.event;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BatchApplicationEventListener;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+@Singleton
+@Requires(property = "spec.name", value = "BatchApplicationEventListenerSpec")
+public class CoalescingKeyedEventListener implements BatchApplicationEventListener<KeyedEvent> {
+    final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    volatile CountDownLatch started = new CountDownLatch(1);
+    volatile CountDownLatch release = new CountDownLatch(0);
+
+    @Override
+    public void onApplicationEvents(List<KeyedEvent> events) {
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<String> batch = new ArrayList<>(events.size());
+        for (KeyedEvent event : events) {
+            batch.add(event.toString());
+        }
+        batches.add(batch);
+    }
+
+    @Override
+    public Object getCoalescingKey(KeyedEvent event) {
+        return event.getKey();
+    }
+}
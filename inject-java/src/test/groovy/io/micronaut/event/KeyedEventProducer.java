@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.event;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import jakarta.inject.Singleton;
+
+@Singleton
+@Requires(property = "spec.name", value = "BatchApplicationEventListenerSpec")
+public class KeyedEventProducer {
+    private final ApplicationEventPublisher<KeyedEvent> publisher;
+
+    public KeyedEventProducer(ApplicationEventPublisher<KeyedEvent> publisher) {
+        this.publisher = publisher;
+    }
+
+    void publish(KeyedEvent event) {
+        publisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.event;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BatchApplicationEventListener;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Singleton
+@Requires(property = "spec.name", value = "BatchApplicationEventListenerSpec")
+public class OrderedKeyedEventListener implements BatchApplicationEventListener<KeyedEvent> {
+    final List<Integer> values = new CopyOnWriteArrayList<>();
+    final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onApplicationEvents(List<KeyedEvent> events) {
+        batchSizes.add(events.size());
+        for (KeyedEvent event : events) {
+            values.add(event.getValue());
+        }
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return 16;
+    }
+}
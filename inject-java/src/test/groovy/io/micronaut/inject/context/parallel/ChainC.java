@@ -0,0 +1,12 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+
+@Context
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class ChainC {
+    public ChainC(ChainB b) {
+        StartupRecorder.record(this);
+    }
+}
@@ -0,0 +1,17 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+
+@Context
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class CrossOne {
+    final CrossTwoHelper helper;
+
+    public CrossOne(BeanContext beanContext) {
+        // resolved during construction, the dependency is not visible to the startup waves
+        this.helper = beanContext.getBean(CrossTwoHelper.class);
+        StartupRecorder.record(this);
+    }
+}
@@ -0,0 +1,15 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+@Singleton
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class CrossOneHelper {
+    final Provider<CrossTwoHelper> other;
+
+    public CrossOneHelper(Provider<CrossTwoHelper> other) {
+        this.other = other;
+    }
+}
@@ -0,0 +1,15 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+
+@Context
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class CrossSibling {
+    final CrossOneHelper helper;
+
+    public CrossSibling(CrossOneHelper helper) {
+        this.helper = helper;
+        StartupRecorder.record(this);
+    }
+}
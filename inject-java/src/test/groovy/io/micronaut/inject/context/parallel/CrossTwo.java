@@ -0,0 +1,18 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+
+@Context
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class CrossTwo {
+    final CrossOne one;
+    final CrossOneHelper helper;
+
+    public CrossTwo(CrossOne one, BeanContext beanContext) {
+        this.one = one;
+        this.helper = beanContext.getBean(CrossOneHelper.class);
+        StartupRecorder.record(this);
+    }
+}
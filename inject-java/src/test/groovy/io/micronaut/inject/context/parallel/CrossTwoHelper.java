@@ -0,0 +1,16 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+@Singleton
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class CrossTwoHelper {
+    final CrossOneHelper other;
+
+    public CrossTwoHelper(BeanContext beanContext) {
+        // takes the creation lock of CrossOneHelper while holding its own
+        this.other = beanContext.getBean(CrossOneHelper.class);
+    }
+}
@@ -0,0 +1,13 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.exceptions.DisabledBeanException;
+
+@Context
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class DisabledEager {
+    public DisabledEager() {
+        throw new DisabledBeanException("Disabled at startup");
+    }
+}
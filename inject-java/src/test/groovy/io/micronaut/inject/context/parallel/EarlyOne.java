@@ -0,0 +1,14 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Order;
+
+@Context
+@Order(-10)
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class EarlyOne {
+    public EarlyOne() {
+        StartupRecorder.record(this);
+    }
+}
@@ -0,0 +1,13 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+
+@Context
+@Requires(property = "parallel.fail")
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class FailingEager {
+    public FailingEager() {
+        throw new IllegalStateException("Failed at startup");
+    }
+}
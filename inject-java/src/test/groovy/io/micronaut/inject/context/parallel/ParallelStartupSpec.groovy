@@ -0,0 +1,144 @@
+package io.micronaut.inject.context.parallel
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.exceptions.BeanInstantiationException
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ParallelStartupSpec extends Specification {
+
+    void setup() {
+        StartupRecorder.reset()
+    }
+
+    void "test eager beans are initialized after the eager beans they depend on"() {
+        when:
+        ApplicationContext context = start()
+        List<String> initialized = StartupRecorder.INITIALIZED
+
+        then:
+        initialized.count { it == 'ChainA' } == 1
+        initialized.count { it == 'ChainB' } == 1
+        initialized.count { it == 'ChainC' } == 1
+        initialized.indexOf('ChainA') < initialized.indexOf('ChainB')
+        initialized.indexOf('ChainB') < initialized.indexOf('ChainC')
+
+        cleanup:
+        context.close()
+    }
+
+    void "test order groups are initialized one after the other"() {
+        when:
+        ApplicationContext context = start()
+        List<String> initialized = StartupRecorder.INITIALIZED
+
+        then:
+        [initialized.indexOf('EarlyOne'), initialized.indexOf('EarlyTwo')].max() <
+                [initialized.indexOf('LateOne'), initialized.indexOf('LateTwo')].min()
+
+        cleanup:
+        context.close()
+    }
+
+    void "test cycles through beans that are not eager are resolved"() {
+        when:
+        ApplicationContext context = start()
+
+        then:
+        context.getBean(ViaTwo).one.is(context.getBean(ViaOne))
+        context.getBean(ViaOne).helper.two.get().is(context.getBean(ViaTwo))
+        StartupRecorder.INITIALIZED.count { it == 'ViaOne' } == 1
+        StartupRecorder.INITIALIZED.count { it == 'ViaTwo' } == 1
+
+        cleanup:
+        context.close()
+    }
+
+    void "test eager beans of different waves resolving each other's dependencies do not deadlock"() {
+        given:
+        ExecutorService executor = Executors.newSingleThreadExecutor()
+
+        when: 'CrossOne and CrossSibling contend for the helpers, then CrossTwo resolves the helper of CrossOne'
+        ApplicationContext context = executor.submit({ start() } as Callable<ApplicationContext>)
+                .get(30, TimeUnit.SECONDS)
+        List<String> initialized = StartupRecorder.INITIALIZED
+
+        then:
+        context.getBean(CrossTwo).one.is(context.getBean(CrossOne))
+        context.getBean(CrossOne).helper.is(context.getBean(CrossTwoHelper))
+        context.getBean(CrossTwo).helper.is(context.getBean(CrossOneHelper))
+        context.getBean(CrossTwoHelper).other.is(context.getBean(CrossOneHelper))
+        context.getBean(CrossSibling).helper.is(context.getBean(CrossOneHelper))
+        initialized.indexOf('CrossOne') < initialized.indexOf('CrossTwo')
+        initialized.count { it == 'CrossOne' } == 1
+        initialized.count { it == 'CrossTwo' } == 1
+
+        cleanup:
+        executor.shutdownNow()
+        context?.close()
+    }
+
+    void "test eager beans disabled at startup are skipped"() {
+        when:
+        ApplicationContext context = start()
+
+        then:
+        noExceptionThrown()
+        !context.findBean(DisabledEager).isPresent()
+        StartupRecorder.INITIALIZED.containsAll(['ChainC', 'LateTwo', 'ViaTwo'])
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the failure of an eager bean fails the startup"() {
+        when:
+        start('parallel.fail': true)
+
+        then:
+        BeanInstantiationException e = thrown()
+        e.message.contains('FailingEager')
+        e.message.contains('Failed at startup')
+    }
+
+    void "test eager beans see the context class loader of the starting thread"() {
+        given:
+        Thread thread = Thread.currentThread()
+        ClassLoader previous = thread.contextClassLoader
+        ClassLoader classLoader = new URLClassLoader(new URL[0], previous)
+        thread.contextClassLoader = classLoader
+
+        when:
+        ApplicationContext context = start()
+
+        then:
+        StartupRecorder.CLASS_LOADERS.size() == StartupRecorder.INITIALIZED.size()
+        StartupRecorder.CLASS_LOADERS.values().every { it.is(classLoader) }
+
+        cleanup:
+        thread.contextClassLoader = previous
+        context.close()
+    }
+
+    void "test startup methods are processed in declaration order"() {
+        when:
+        ApplicationContext context = start()
+
+        then:
+        context.getBean(StartupProcessedRecorder).methods == ['first', 'second', 'third']
+
+        cleanup:
+        context.close()
+    }
+
+    private static ApplicationContext start(Map<String, Object> properties = [:]) {
+        ApplicationContext.builder()
+                .parallelStartup(true)
+                .properties(['spec.name': 'ParallelStartupSpec'] + properties)
+                .start()
+    }
+}
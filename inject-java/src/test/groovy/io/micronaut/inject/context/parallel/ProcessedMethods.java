@@ -0,0 +1,20 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+@Singleton
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class ProcessedMethods {
+    @StartupProcessed
+    void first() {
+    }
+
+    @StartupProcessed
+    void second() {
+    }
+
+    @StartupProcessed
+    void third() {
+    }
+}
@@ -0,0 +1,21 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.processor.ExecutableMethodProcessor;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.ExecutableMethod;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Singleton
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class StartupProcessedRecorder implements ExecutableMethodProcessor<StartupProcessed> {
+    final List<String> methods = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void process(BeanDefinition<?> beanDefinition, ExecutableMethod<?, ?> method) {
+        methods.add(method.getMethodName());
+    }
+}
@@ -0,0 +1,25 @@
+package io.micronaut.inject.context.parallel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public final class StartupRecorder {
+    static final List<String> INITIALIZED = new CopyOnWriteArrayList<>();
+    static final Map<String, ClassLoader> CLASS_LOADERS = new ConcurrentHashMap<>();
+
+    private StartupRecorder() {
+    }
+
+    static void record(Object bean) {
+        String name = bean.getClass().getSimpleName();
+        INITIALIZED.add(name);
+        CLASS_LOADERS.put(name, Thread.currentThread().getContextClassLoader());
+    }
+
+    static void reset() {
+        INITIALIZED.clear();
+        CLASS_LOADERS.clear();
+    }
+}
@@ -0,0 +1,15 @@
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+@Singleton
+@Requires(property = "spec.name", value = "ParallelStartupSpec")
+public class ViaHelper {
+    final Provider<ViaTwo> two;
+
+    public ViaHelper(Provider<ViaTwo> two) {
+        this.two = two;
+    }
+}
@@ -0,0 +1,90 @@
+package io.micronaut.inject.requires.index
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.RequirementsIndex
+import io.micronaut.core.version.VersionUtils
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class RequirementsIndexSpec extends Specification {
+
+    private static final String PRESENT_REFERENCE = 'io.micronaut.inject.requires.index.$PresentClassBean$Definition$Reference'
+    private static final String PRESENT_DEFINITION = 'io.micronaut.inject.requires.index.$PresentClassBean$Definition'
+    private static final String ABSENT_REFERENCE = 'io.micronaut.inject.requires.index.$AbsentClassBean$Definition$Reference'
+
+    @TempDir
+    Path resources
+
+    void "test the index records the results of class requirements"() {
+        when:
+        Properties index = generateIndex()
+
+        then:
+        index.getProperty('micronaut.version') == (VersionUtils.MICRONAUT_VERSION ?: '')
+        index.getProperty(PRESENT_REFERENCE) == 'true'
+        index.getProperty(PRESENT_DEFINITION) == 'true'
+        index.getProperty(ABSENT_REFERENCE) == 'false'
+    }
+
+    void "test the context honours a generated index"() {
+        given:
+        Properties index = generateIndex()
+        ApplicationContext context = startContext(index)
+
+        expect:
+        context.containsBean(PresentClassBean)
+        !context.containsBean(AbsentClassBean)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the context does not load the references the index excludes"() {
+        given:
+        Properties index = generateIndex()
+        index.setProperty(PRESENT_REFERENCE, 'false')
+        ApplicationContext context = startContext(index)
+
+        expect:
+        !context.containsBean(PresentClassBean)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test an index generated for another version is ignored"() {
+        given:
+        Properties index = generateIndex()
+        index.setProperty(PRESENT_REFERENCE, 'false')
+        index.setProperty('micronaut.version', '0.0.1')
+        ApplicationContext context = startContext(index)
+
+        expect:
+        context.containsBean(PresentClassBean)
+
+        cleanup:
+        context.close()
+    }
+
+    private Properties generateIndex() {
+        StringWriter writer = new StringWriter()
+        RequirementsIndex.write(getClass().classLoader, writer)
+        Properties index = new Properties()
+        index.load(new StringReader(writer.toString()))
+        return index
+    }
+
+    private ApplicationContext startContext(Properties index) {
+        Path file = resources.resolve(RequirementsIndex.RESOURCE_NAME)
+        Files.createDirectories(file.parent)
+        file.withWriter { index.store(it, null) }
+        ClassLoader classLoader = new URLClassLoader([resources.toUri().toURL()] as URL[], getClass().classLoader)
+        return ApplicationContext.builder()
+                .classLoader(classLoader)
+                .properties('spec.name': 'RequirementsIndexSpec')
+                .start()
+    }
+}
@@ -70,6 +70,35 @@ public interface ApplicationContextBuilder {
         return this;
     }
 
+    /**
+     * Specify the maximum number of entries of each of the bean lookup caches (default is {@code 256}).
+     * A value less than 1 disables eviction.
+     * @param size The maximum size of the bean lookup caches
+     * @return This builder
+     * @since 3.8.0
+     */
+    default @NonNull ApplicationContextBuilder beanLookupCacheSize(int size) {
+        return this;
+    }
+
+    /**
+     * Whether to evaluate the requirements of eagerly initialized beans in parallel, and to initialize the ones that
+     * do not depend on each other concurrently (default is {@code false}). Beans of the same
+     * {@link io.micronaut.core.annotation.Order} that do not depend on each other are then initialized in no
+     * particular order.
+     *
+     * <p>The constructors, factory methods and {@code @PostConstruct} methods of eager beans may then run on threads
+     * of the common {@link java.util.concurrent.ForkJoinPool} instead of the thread starting the context. The
+     * context class loader of the starting thread is propagated to them, but no other thread local state is.</p>
+     *
+     * @param parallelStartup True to enable parallel startup
+     * @return This builder
+     * @since 3.8.0
+     */
+    default @NonNull ApplicationContextBuilder parallelStartup(boolean parallelStartup) {
+        return this;
+    }
+
     /**
      * Specifies to eager init the given annotated types.
      *
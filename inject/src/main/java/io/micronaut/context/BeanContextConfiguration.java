@@ -77,4 +77,23 @@ public interface BeanContextConfiguration {
     default Set<Class<? extends Annotation>> getEagerInitAnnotated() {
         return Collections.emptySet();
     }
+
+    /**
+     * The maximum number of entries of each of the bean lookup caches. A value less than 1 disables eviction.
+     * @return The maximum size of the bean lookup caches
+     * @since 3.8.0
+     */
+    default int getBeanLookupCacheSize() {
+        return 256;
+    }
+
+    /**
+     * Whether the context evaluates the requirements of the eagerly initialized beans in parallel, and initializes
+     * the ones that do not depend on each other concurrently, possibly off the thread starting the context.
+     * @return True if parallel startup is enabled
+     * @since 3.8.0
+     */
+    default boolean isParallelStartup() {
+        return false;
+    }
 }
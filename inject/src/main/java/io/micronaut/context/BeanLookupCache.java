@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.reflect.ClassUtils;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded cache used by {@link DefaultBeanContext} to cache the result of bean lookups. In addition to the
+ * entries the cache maintains an index from the looked up type to the keys, so that the entries affected by the
+ * registration of a new bean can be invalidated by walking the hierarchy of the bean type instead of scanning
+ * every entry.
+ *
+ * <p>An entry and its index are written and invalidated together, under the lock of the index. A value is only cached
+ * if no invalidation happened since the {@link #generation() generation} read before looking it up, so that a lookup
+ * racing with the registration of a bean cannot cache a result that misses the bean.</p>
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ * @since 3.8.0
+ */
+@Internal
+final class BeanLookupCache<K, V> {
+
+    private final String name;
+    private final int maximumSize;
+    private final Function<K, Class<?>> keyType;
+    private final Map<K, V> entries;
+    private final Map<Class<?>, Set<K>> keysByType = new ConcurrentHashMap<>(20);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param name        The name of the cache
+     * @param maximumSize The maximum number of entries, or a value less than 1 for an unbounded cache
+     * @param keyType     Resolves the type a key looks up
+     */
+    BeanLookupCache(@NonNull String name, int maximumSize, @NonNull Function<K, Class<?>> keyType) {
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.keyType = keyType;
+        if (maximumSize > 0) {
+            this.entries = new ConcurrentLinkedHashMap.Builder<K, V>()
+                    .maximumWeightedCapacity(maximumSize)
+                    .listener((key, value) -> {
+                        evictions.increment();
+                        Set<K> keys = keysByType.get(keyType.apply(key));
+                        if (keys != null) {
+                            keys.remove(key);
+                        }
+                    })
+                    .build();
+        } else {
+            this.entries = new ConcurrentHashMap<>(30);
+        }
+    }
+
+    /**
+     * @param key The key
+     * @return The cached value or {@code null}
+     */
+    @Nullable
+    V get(@NonNull K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * @return The generation to pass to {@link #put(Object, Object, long)}, to read before looking up a value
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a value, unless an invalidation happened since the given generation.
+     *
+     * @param key        The key
+     * @param value      The value
+     * @param generation The {@link #generation()} read before looking up the value
+     */
+    void put(@NonNull K key, @NonNull V value, long generation) {
+        keysByType.compute(keyType.apply(key), (type, keys) -> {
+            if (this.generation.get() != generation) {
+                return keys;
+            }
+            if (keys == null) {
+                keys = ConcurrentHashMap.newKeySet();
+            }
+            entries.put(key, value);
+            keys.add(key);
+            return keys;
+        });
+    }
+
+    /**
+     * Removes every entry whose looked up type is assignable from the given type, that is every lookup that may
+     * now resolve a bean of the given type.
+     *
+     * @param type The type
+     */
+    void invalidate(@NonNull Class<?> type) {
+        generation.incrementAndGet();
+        if (type.isArray()) {
+            // arrays have implicit super types that are not part of the reflected hierarchy
+            for (Class<?> indexedType : keysByType.keySet()) {
+                if (indexedType.isAssignableFrom(type)) {
+                    invalidateExact(indexedType);
+                }
+            }
+            return;
+        }
+        invalidateExact(type);
+        List<Class> hierarchy = ClassUtils.resolveHierarchy(type);
+        for (Class<?> superType : hierarchy) {
+            if (superType != type) {
+                invalidateExact(superType);
+            }
+        }
+    }
+
+    private void invalidateExact(Class<?> type) {
+        keysByType.computeIfPresent(type, (t, keys) -> {
+            for (K key : keys) {
+                entries.remove(key);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+        keysByType.clear();
+    }
+
+    /**
+     * @return A snapshot of the statistics of this cache
+     */
+    @NonNull
+    BeanLookupCacheStatistics getStatistics() {
+        return new BeanLookupCacheStatistics(
+                name,
+                hits.sum(),
+                misses.sum(),
+                evictions.sum(),
+                entries.size(),
+                maximumSize
+        );
+    }
+}
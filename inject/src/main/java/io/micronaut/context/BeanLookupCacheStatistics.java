@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * A snapshot of the statistics of one of the bean lookup caches of {@link DefaultBeanContext}.
+ *
+ * @since 3.8.0
+ */
+public final class BeanLookupCacheStatistics {
+
+    private final String name;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+    private final int maximumSize;
+
+    /**
+     * @param name          The name of the cache
+     * @param hitCount      The number of lookups served from the cache
+     * @param missCount     The number of lookups not found in the cache
+     * @param evictionCount The number of entries evicted because the cache was full
+     * @param size          The current number of entries
+     * @param maximumSize   The maximum number of entries or a value less than 1 if unbounded
+     */
+    BeanLookupCacheStatistics(String name, long hitCount, long missCount, long evictionCount, int size, int maximumSize) {
+        this.name = name;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return The name of the cache
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The number of lookups served from the cache
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of lookups not found in the cache
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of entries evicted because the cache was full
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return The current number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The maximum number of entries or a value less than 1 if the cache is unbounded
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return The ratio of lookups served from the cache
+     */
+    public double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + ", size=" + size + "]";
+    }
+}
@@ -67,6 +67,8 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
     private boolean allowEmptyProviders = false;
     private Boolean bootstrapEnvironment = null;
     private boolean enableDefaultPropertySources = true;
+    private int beanLookupCacheSize = 256;
+    private boolean parallelStartup = false;
 
     /**
      * Default constructor.
@@ -100,6 +102,30 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
         return enableDefaultPropertySources;
     }
 
+    @Override
+    @NonNull
+    public ApplicationContextBuilder beanLookupCacheSize(int size) {
+        this.beanLookupCacheSize = size;
+        return this;
+    }
+
+    @Override
+    public int getBeanLookupCacheSize() {
+        return beanLookupCacheSize;
+    }
+
+    @Override
+    @NonNull
+    public ApplicationContextBuilder parallelStartup(boolean parallelStartup) {
+        this.parallelStartup = parallelStartup;
+        return this;
+    }
+
+    @Override
+    public boolean isParallelStartup() {
+        return parallelStartup;
+    }
+
     @NonNull
     @Override
     public ApplicationContextBuilder eagerInitAnnotated(Class<? extends Annotation>... annotations) {
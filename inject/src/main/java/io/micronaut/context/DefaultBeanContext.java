@@ -83,7 +83,6 @@ import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StreamUtils;
 import io.micronaut.core.util.StringUtils;
-import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
 import io.micronaut.core.value.PropertyResolver;
 import io.micronaut.core.value.ValueResolver;
 import io.micronaut.inject.AdvisedBeanType;
@@ -138,8 +137,10 @@ import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -193,15 +194,14 @@ public class DefaultBeanContext implements InitializableBeanContext {
     private final BeanContextConfiguration beanContextConfiguration;
     private final Collection<BeanDefinitionReference> beanDefinitionsClasses = new ConcurrentLinkedQueue<>();
     private final Map<String, BeanConfiguration> beanConfigurations = new HashMap<>(10);
-    private final Map<BeanKey, Boolean> containsBeanCache = new ConcurrentHashMap<>(30);
+    private final BeanLookupCache<BeanKey, Boolean> containsBeanCache;
     private final Map<CharSequence, Object> attributes = Collections.synchronizedMap(new HashMap<>(5));
 
     private final Map<BeanKey, CollectionHolder> singletonBeanRegistrations = new ConcurrentHashMap<>(50);
 
-    private final Map<BeanCandidateKey, Optional<BeanDefinition>> beanConcreteCandidateCache =
-            new ConcurrentLinkedHashMap.Builder<BeanCandidateKey, Optional<BeanDefinition>>().maximumWeightedCapacity(30).build();
+    private final BeanLookupCache<BeanCandidateKey, Optional<BeanDefinition>> beanConcreteCandidateCache;
 
-    private final Map<Argument, Collection<BeanDefinition>> beanCandidateCache = new ConcurrentLinkedHashMap.Builder<Argument, Collection<BeanDefinition>>().maximumWeightedCapacity(30).build();
+    private final BeanLookupCache<Argument, Collection<BeanDefinition>> beanCandidateCache;
 
     private final Map<Class, Collection<BeanDefinitionReference>> beanIndex = new ConcurrentHashMap<>(12);
 
@@ -229,9 +229,11 @@ public class DefaultBeanContext implements InitializableBeanContext {
     private final String[] eagerInitStereotypes;
     private final boolean eagerInitStereotypesPresent;
     private final boolean eagerInitSingletons;
+    private final boolean parallelStartup;
 
     private BeanDefinitionValidator beanValidator;
     private List<BeanDefinitionReference> beanDefinitionReferences;
+    private volatile RequirementsIndex requirementsIndex;
     private List<BeanConfiguration> beanConfigurationsList;
 
     private Set<Map.Entry<Class<?>, List<BeanCreatedEventListener<?>>>> beanCreationEventListeners;
@@ -297,6 +299,11 @@ public class DefaultBeanContext implements InitializableBeanContext {
         this.eagerInitStereotypesPresent = !eagerInitStereotypes.isEmpty();
         this.eagerInitSingletons = eagerInitStereotypesPresent && (eagerInitStereotypes.contains(AnnotationUtil.SINGLETON) || eagerInitStereotypes.contains(Singleton.class.getName()));
         this.beanContextConfiguration = contextConfiguration;
+        this.parallelStartup = contextConfiguration.isParallelStartup();
+        int beanLookupCacheSize = contextConfiguration.getBeanLookupCacheSize();
+        this.containsBeanCache = new BeanLookupCache<>("containsBean", beanLookupCacheSize, key -> key.beanType.getType());
+        this.beanConcreteCandidateCache = new BeanLookupCache<>("concreteCandidates", beanLookupCacheSize, key -> key.beanType.getType());
+        this.beanCandidateCache = new BeanLookupCache<>("candidates", beanLookupCacheSize, Argument::getType);
     }
 
     /**
@@ -682,8 +689,8 @@ public class DefaultBeanContext implements InitializableBeanContext {
             beanDefinition = findBeanDefinition(type, qualifier).orElse(null);
             if (beanDefinition == null) {
                 // Purge cache miss
-                beanCandidateCache.entrySet().removeIf(entry -> entry.getKey().isInstance(singleton));
-                beanConcreteCandidateCache.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
+                beanCandidateCache.invalidate(singleton.getClass());
+                beanConcreteCandidateCache.invalidate(singleton.getClass());
             }
         } else {
             beanDefinition = null;
@@ -731,14 +738,20 @@ public class DefaultBeanContext implements InitializableBeanContext {
                 }
             }
         }
+        // lookups racing with the registration may have cached a result that misses the new bean
+        Class<?> singletonType = singleton.getClass();
+        beanCandidateCache.invalidate(singletonType);
+        beanConcreteCandidateCache.invalidate(singletonType);
+        containsBeanCache.invalidate(singletonType);
         return this;
     }
 
     private <T> void purgeCacheForBeanInstance(T singleton) {
-        beanCandidateCache.entrySet().removeIf(entry -> entry.getKey().isInstance(singleton));
-        beanConcreteCandidateCache.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
+        Class<?> singletonType = singleton.getClass();
+        beanCandidateCache.invalidate(singletonType);
+        beanConcreteCandidateCache.invalidate(singletonType);
         singletonBeanRegistrations.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
-        containsBeanCache.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
+        containsBeanCache.invalidate(singletonType);
     }
 
     @NonNull
@@ -834,13 +847,15 @@ public class DefaultBeanContext implements InitializableBeanContext {
     public <T> boolean containsBean(Argument<T> beanType, Qualifier<T> qualifier) {
         ArgumentUtils.requireNonNull("beanType", beanType);
         BeanKey<T> beanKey = new BeanKey<>(beanType, qualifier);
-        if (containsBeanCache.containsKey(beanKey)) {
-            return containsBeanCache.get(beanKey);
+        long generation = containsBeanCache.generation();
+        Boolean cached = containsBeanCache.get(beanKey);
+        if (cached != null) {
+            return cached;
         } else {
             boolean result = singletonScope.containsBean(beanType, qualifier) ||
                     isCandidatePresent(beanKey.beanType, qualifier);
 
-            containsBeanCache.put(beanKey, result);
+            containsBeanCache.put(beanKey, result, generation);
             return result;
         }
     }
@@ -1466,6 +1481,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
         Qualifier<T> proxyQualifier = qualifier != null ? Qualifiers.byQualifiers(qualifier, PROXY_TARGET_QUALIFIER) : PROXY_TARGET_QUALIFIER;
         BeanCandidateKey<T> key = new BeanCandidateKey<>(beanType, proxyQualifier, true);
 
+        long generation = beanConcreteCandidateCache.generation();
         Optional beanDefinition = beanConcreteCandidateCache.get(key);
         //noinspection OptionalAssignedToNull
         if (beanDefinition == null) {
@@ -1479,7 +1495,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
                 beanDefinition = findConcreteCandidateNoCache(null, beanType, proxyQualifier, true, false);
             }
 
-            beanConcreteCandidateCache.put(key, beanDefinition);
+            beanConcreteCandidateCache.put(key, beanDefinition, generation);
         }
         return beanDefinition;
     }
@@ -1554,10 +1570,10 @@ public class DefaultBeanContext implements InitializableBeanContext {
     public <B> BeanContext registerBeanDefinition(@NonNull RuntimeBeanDefinition<B> definition) {
         Objects.requireNonNull(definition, "Bean definition cannot be null");
         this.beanDefinitionsClasses.add(definition);
-        beanCandidateCache.entrySet().removeIf(entry -> entry.getKey().isAssignableFrom(definition.getBeanType()));
-        beanConcreteCandidateCache.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(definition.getBeanType()));
+        beanCandidateCache.invalidate(definition.getBeanType());
+        beanConcreteCandidateCache.invalidate(definition.getBeanType());
         singletonBeanRegistrations.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(definition.getBeanType()));
-        containsBeanCache.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(definition.getBeanType()));
+        containsBeanCache.invalidate(definition.getBeanType());
         return this;
     }
 
@@ -1696,6 +1712,21 @@ public class DefaultBeanContext implements InitializableBeanContext {
         return this.beanContextConfiguration;
     }
 
+    /**
+     * Returns a snapshot of the statistics of the caches used to speed up bean lookups.
+     *
+     * @return The statistics of the bean lookup caches
+     * @since 3.8.0
+     */
+    @NonNull
+    public List<BeanLookupCacheStatistics> getBeanLookupCacheStatistics() {
+        return Arrays.asList(
+                beanCandidateCache.getStatistics(),
+                beanConcreteCandidateCache.getStatistics(),
+                containsBeanCache.getStatistics()
+        );
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void publishEvent(@NonNull Object event) {
@@ -1748,13 +1779,27 @@ public class DefaultBeanContext implements InitializableBeanContext {
     @NonNull
     protected List<BeanDefinitionReference> resolveBeanDefinitionReferences() {
         if (beanDefinitionReferences == null) {
-            final SoftServiceLoader<BeanDefinitionReference> definitions = SoftServiceLoader.load(BeanDefinitionReference.class, classLoader);
+            final RequirementsIndex index = getRequirementsIndex();
+            final SoftServiceLoader<BeanDefinitionReference> definitions = SoftServiceLoader.load(BeanDefinitionReference.class, classLoader, index::isCandidate);
             beanDefinitionReferences = new ArrayList<>(300);
             definitions.collectAll(beanDefinitionReferences, BeanDefinitionReference::isPresent);
         }
         return beanDefinitionReferences;
     }
 
+    /**
+     * @return The build time index of requirement results, empty if the classpath has none
+     */
+    @NonNull
+    RequirementsIndex getRequirementsIndex() {
+        RequirementsIndex index = requirementsIndex;
+        if (index == null) {
+            index = RequirementsIndex.load(classLoader);
+            requirementsIndex = index;
+        }
+        return index;
+    }
+
     /**
      * Resolves the {@link BeanDefinitionReference} class instances. Default implementation uses ServiceLoader pattern.
      *
@@ -1898,35 +1943,31 @@ public class DefaultBeanContext implements InitializableBeanContext {
             @NonNull List<BeanDefinitionReference> parallelBeans) {
 
         if (CollectionUtils.isNotEmpty(contextScopeBeans)) {
-            final List<BeanDefinition> contextBeans = new ArrayList<>(contextScopeBeans.size());
-
-            for (BeanDefinitionReference contextScopeBean : contextScopeBeans) {
-                try {
-                    loadContextScopeBean(contextScopeBean, contextBeans::add);
-                } catch (Throwable e) {
-                    throw new BeanInstantiationException("Bean definition [" + contextScopeBean.getName() + "] could not be loaded: " + e.getMessage(), e);
+            final List<BeanDefinition> contextBeans;
+            if (parallelStartup) {
+                contextBeans = loadContextScopeBeansInParallel(contextScopeBeans);
+            } else {
+                contextBeans = new ArrayList<>(contextScopeBeans.size());
+                for (BeanDefinitionReference contextScopeBean : contextScopeBeans) {
+                    loadContextScopeBeanOrFail(contextScopeBean, contextBeans::add);
                 }
             }
             filterProxiedTypes((Collection) contextBeans, true, false, null);
             filterReplacedBeans(null, (Collection) contextBeans);
             OrderUtil.sort(contextBeans);
-            for (BeanDefinition contextScopeDefinition : contextBeans) {
-                try {
-                    loadContextScopeBean(contextScopeDefinition);
-                } catch (DisabledBeanException e) {
-                    if (AbstractBeanContextConditional.LOG.isDebugEnabled()) {
-                        AbstractBeanContextConditional.LOG.debug("Bean of type [{}] disabled for reason: {}", contextScopeDefinition.getBeanType().getSimpleName(), e.getMessage());
-                    }
-                } catch (Throwable e) {
-                    throw new BeanInstantiationException("Bean definition [" + contextScopeDefinition.getName() + "] could not be loaded: " + e.getMessage(), e);
+            if (parallelStartup) {
+                initializeContextScopeBeansInParallel(contextBeans);
+            } else {
+                for (BeanDefinition contextScopeDefinition : contextBeans) {
+                    initializeContextScopeBean(contextScopeDefinition);
                 }
             }
         }
 
         if (!processedBeans.isEmpty()) {
 
-            @SuppressWarnings("unchecked") Stream<BeanDefinitionMethodReference<?, ?>> methodStream = processedBeans
-                    .stream()
+            Stream<BeanDefinitionReference> processedStream = parallelStartup ? processedBeans.parallelStream() : processedBeans.stream();
+            @SuppressWarnings("unchecked") Stream<BeanDefinitionMethodReference<?, ?>> methodStream = processedStream
                     // is the bean reference enabled
                     .filter(ref -> ref.isEnabled(this))
                     // ok - continue and load it
@@ -1952,6 +1993,10 @@ public class DefaultBeanContext implements InitializableBeanContext {
             // group the method references by annotation type such that we have a map of Annotation -> MethodReference
             // ie. Class<Scheduled> -> @Scheduled void someAnnotation()
             Map<Class<? extends Annotation>, List<BeanDefinitionMethodReference<?, ?>>> byAnnotation = new HashMap<>(processedBeans.size());
+            if (parallelStartup) {
+                // load and evaluate the requirements in parallel, but group in the declaration order
+                methodStream = methodStream.collect(Collectors.toList()).stream();
+            }
             methodStream.forEach(reference -> {
                 List<Class<? extends Annotation>> annotations = reference.getAnnotationTypesByStereotype(Executable.class);
                 annotations.forEach(annotation -> byAnnotation.compute(annotation, (ann, list) -> {
@@ -2158,6 +2203,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
         Collection<BeanDefinitionReference> beanDefinitionsClasses = this.beanDefinitionsClasses;
         final Class<?> beanClass = instance.getClass();
         Argument<?> beanType = Argument.of(beanClass);
+        long generation = beanCandidateCache.generation();
         Collection<BeanDefinition> beanDefinitions = beanCandidateCache.get(beanType);
         if (beanDefinitions == null) {
             // first traverse component definition classes and load candidates
@@ -2198,7 +2244,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
                 }
                 beanDefinitions = Collections.emptySet();
             }
-            beanCandidateCache.put(beanType, beanDefinitions);
+            beanCandidateCache.put(beanType, beanDefinitions, generation);
         }
         return beanDefinitions;
     }
@@ -2730,6 +2776,172 @@ public class DefaultBeanContext implements InitializableBeanContext {
         }
     }
 
+    private void loadContextScopeBeanOrFail(BeanDefinitionReference contextScopeBean, Consumer<BeanDefinition> beanDefinitionConsumer) {
+        try {
+            loadContextScopeBean(contextScopeBean, beanDefinitionConsumer);
+        } catch (Throwable e) {
+            throw new BeanInstantiationException("Bean definition [" + contextScopeBean.getName() + "] could not be loaded: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads the context scope bean definitions, evaluating their requirements in parallel.
+     *
+     * @param contextScopeBeans The context scope bean references
+     * @return The enabled bean definitions, in the order of the references
+     */
+    private List<BeanDefinition> loadContextScopeBeansInParallel(List<BeanDefinitionReference> contextScopeBeans) {
+        BeanDefinition[] loaded = new BeanDefinition[contextScopeBeans.size()];
+        runInParallel(loaded.length, i ->
+                loadContextScopeBeanOrFail(contextScopeBeans.get(i), beanDefinition -> loaded[i] = beanDefinition)
+        );
+        List<BeanDefinition> contextBeans = new ArrayList<>(loaded.length);
+        for (BeanDefinition beanDefinition : loaded) {
+            if (beanDefinition != null) {
+                contextBeans.add(beanDefinition);
+            }
+        }
+        return contextBeans;
+    }
+
+    private void initializeContextScopeBean(BeanDefinition contextScopeDefinition) {
+        try {
+            loadContextScopeBean(contextScopeDefinition);
+        } catch (DisabledBeanException e) {
+            if (AbstractBeanContextConditional.LOG.isDebugEnabled()) {
+                AbstractBeanContextConditional.LOG.debug("Bean of type [{}] disabled for reason: {}", contextScopeDefinition.getBeanType().getSimpleName(), e.getMessage());
+            }
+        } catch (Throwable e) {
+            throw new BeanInstantiationException("Bean definition [" + contextScopeDefinition.getName() + "] could not be loaded: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Initializes the sorted context scope beans. Beans of the same order are initialized in waves: the beans of a
+     * wave are initialized concurrently, once the beans they depend on have been initialized by a previous wave.
+     * Dependencies through beans that are not eagerly initialized are not known, they are resolved by the creation
+     * locks of the singleton scope.
+     *
+     * @param contextBeans The context scope bean definitions, sorted by order
+     */
+    private void initializeContextScopeBeansInParallel(List<BeanDefinition> contextBeans) {
+        int start = 0;
+        while (start < contextBeans.size()) {
+            int order = OrderUtil.getOrder(contextBeans.get(start));
+            int end = start + 1;
+            while (end < contextBeans.size() && OrderUtil.getOrder(contextBeans.get(end)) == order) {
+                end++;
+            }
+            for (List<BeanDefinition> wave : dependencyWaves(contextBeans.subList(start, end))) {
+                if (wave.size() == 1) {
+                    initializeContextScopeBean(wave.get(0));
+                } else {
+                    runInParallel(wave.size(), i -> initializeContextScopeBean(wave.get(i)));
+                }
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Runs tasks on the common {@link ForkJoinPool}, with the context class loader of the calling thread. Every task
+     * runs even if another one fails, then the failure of the first failed task is rethrown.
+     *
+     * @param count The number of tasks
+     * @param task  The task, given its index
+     */
+    private static void runInParallel(int count, IntConsumer task) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        RuntimeException[] failures = new RuntimeException[count];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(classLoader);
+            try {
+                task.accept(i);
+            } catch (RuntimeException e) {
+                failures[i] = e;
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        });
+        for (RuntimeException failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Splits bean definitions into waves, each bean only depending on beans of earlier waves. Cycles, which can be
+     * reported because qualifiers are not taken into account, are broken in declaration order.
+     *
+     * @param beans The bean definitions
+     * @return The waves
+     */
+    private static List<List<BeanDefinition>> dependencyWaves(List<BeanDefinition> beans) {
+        int size = beans.size();
+        if (size == 1) {
+            return Collections.singletonList(beans);
+        }
+        List<List<Integer>> dependents = new ArrayList<>(size);
+        int[] pending = new int[size];
+        for (int i = 0; i < size; i++) {
+            dependents.add(new ArrayList<>(2));
+        }
+        for (int i = 0; i < size; i++) {
+            Collection<Class<?>> components = beans.get(i).getRequiredComponents();
+            if (components.isEmpty()) {
+                continue;
+            }
+            for (int j = 0; j < size; j++) {
+                if (i != j) {
+                    Class<?> beanType = beans.get(j).getBeanType();
+                    for (Class<?> component : components) {
+                        if (component.isAssignableFrom(beanType)) {
+                            dependents.get(j).add(i);
+                            pending[i]++;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        List<List<BeanDefinition>> waves = new ArrayList<>();
+        boolean[] done = new boolean[size];
+        int remaining = size;
+        List<Integer> ready = new ArrayList<>();
+        while (remaining > 0) {
+            ready.clear();
+            for (int i = 0; i < size; i++) {
+                if (!done[i] && pending[i] == 0) {
+                    ready.add(i);
+                }
+            }
+            if (ready.isEmpty()) {
+                for (int i = 0; i < size; i++) {
+                    if (!done[i]) {
+                        ready.add(i);
+                        break;
+                    }
+                }
+            }
+            List<BeanDefinition> wave = new ArrayList<>(ready.size());
+            for (int i : ready) {
+                done[i] = true;
+                wave.add(beans.get(i));
+            }
+            for (int i : ready) {
+                for (int dependent : dependents.get(i)) {
+                    pending[dependent]--;
+                }
+            }
+            remaining -= ready.size();
+            waves.add(wave);
+        }
+        return waves;
+    }
+
     private void loadContextScopeBean(BeanDefinition beanDefinition) {
         if (beanDefinition.isIterable() || beanDefinition.hasStereotype(ConfigurationReader.class.getName())) {
             Collection<BeanDefinition> beanCandidates = (Collection<BeanDefinition>) transformIterables(null, Collections.singleton(beanDefinition), true);
@@ -3052,6 +3264,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
             return Optional.empty();
         }
         BeanCandidateKey bk = new BeanCandidateKey(beanType, qualifier, throwNonUnique);
+        long generation = beanConcreteCandidateCache.generation();
         Optional beanDefinition = beanConcreteCandidateCache.get(bk);
         //noinspection OptionalAssignedToNull
         if (beanDefinition == null) {
@@ -3062,7 +3275,7 @@ public class DefaultBeanContext implements InitializableBeanContext {
                     throwNonUnique,
                     true
             );
-            beanConcreteCandidateCache.put(bk, beanDefinition);
+            beanConcreteCandidateCache.put(bk, beanDefinition, generation);
         }
         return beanDefinition;
     }
@@ -3342,11 +3555,12 @@ public class DefaultBeanContext implements InitializableBeanContext {
 
     @SuppressWarnings("unchecked")
     private <T> Collection<BeanDefinition<T>> findBeanCandidatesInternal(BeanResolutionContext resolutionContext, Argument<T> beanType) {
+        long generation = beanCandidateCache.generation();
         @SuppressWarnings("rawtypes")
         Collection beanDefinitions = beanCandidateCache.get(beanType);
         if (beanDefinitions == null) {
             beanDefinitions = findBeanCandidates(resolutionContext, beanType, true, null);
-            beanCandidateCache.put(beanType, beanDefinitions);
+            beanCandidateCache.put(beanType, beanDefinitions, generation);
         }
         return beanDefinitions;
     }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.io.service.ServiceDefinition;
+import io.micronaut.core.io.service.SoftServiceLoader;
+import io.micronaut.core.version.VersionUtils;
+import io.micronaut.inject.BeanDefinitionReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * An index of the results of the {@link Requires} conditions that do not depend on the environment the application
+ * runs in, namely the presence or absence of classes and the Micronaut, Groovy and Kotlin versions.
+ *
+ * <p>The index is produced at build time against the final runtime classpath with {@link #write(ClassLoader, Writer)}
+ * and stored as {@value #RESOURCE_NAME}. When it is present, the bean context skips loading the bean definition
+ * references that are known to fail and no longer re-evaluates those conditions for the ones known to pass.
+ * Requirements on the Java version are never indexed since the JVM may differ between build and runtime.</p>
+ *
+ * @since 3.8.0
+ */
+@Internal
+public final class RequirementsIndex {
+
+    /**
+     * The resource the index is read from.
+     */
+    public static final String RESOURCE_NAME = "META-INF/micronaut/bean-requirements.index";
+
+    static final RequirementsIndex EMPTY = new RequirementsIndex(new Properties());
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequirementsIndex.class);
+    private static final String VERSION_KEY = "micronaut.version";
+
+    private final Properties results;
+
+    private RequirementsIndex(Properties results) {
+        this.results = results;
+    }
+
+    /**
+     * Loads the index from the given class loader.
+     *
+     * @param classLoader The class loader
+     * @return The index, empty if there is none or it was generated for another Micronaut version
+     */
+    @NonNull
+    static RequirementsIndex load(@NonNull ClassLoader classLoader) {
+        try (InputStream in = classLoader.getResourceAsStream(RESOURCE_NAME)) {
+            if (in == null) {
+                return EMPTY;
+            }
+            Properties results = new Properties();
+            results.load(in);
+            String version = results.getProperty(VERSION_KEY, "");
+            if (!version.equals(currentVersion())) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Ignoring {} generated for Micronaut version [{}], running [{}]", RESOURCE_NAME, version, currentVersion());
+                }
+                return EMPTY;
+            }
+            return new RequirementsIndex(results);
+        } catch (IOException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Error reading " + RESOURCE_NAME + ", evaluating all requirements at runtime: " + e.getMessage(), e);
+            }
+            return EMPTY;
+        }
+    }
+
+    /**
+     * @param className The class name of a bean definition or bean definition reference
+     * @return Whether the class may be loaded, that is whether it is not known to fail its requirements
+     */
+    boolean isCandidate(@NonNull String className) {
+        return !"false".equals(results.getProperty(className));
+    }
+
+    /**
+     * @param className The class name of a bean definition or bean definition reference
+     * @return Whether the environment independent requirements of the class are known to pass
+     */
+    boolean isVerified(@NonNull String className) {
+        return "true".equals(results.getProperty(className));
+    }
+
+    /**
+     * Evaluates the environment independent requirements of all the bean definition references visible to the given
+     * class loader and writes the results in the format read by the bean context.
+     *
+     * @param classLoader The class loader of the runtime classpath
+     * @param writer      The writer
+     * @throws IOException If the index cannot be written
+     */
+    public static void write(@NonNull ClassLoader classLoader, @NonNull Writer writer) throws IOException {
+        DefaultBeanContext beanContext = new DefaultBeanContext(classLoader);
+        Map<String, Boolean> results = new TreeMap<>();
+        for (ServiceDefinition<BeanDefinitionReference> definition : SoftServiceLoader.load(BeanDefinitionReference.class, classLoader)) {
+            if (!definition.isPresent()) {
+                results.put(definition.getName(), false);
+                continue;
+            }
+            BeanDefinitionReference<?> reference = definition.load();
+            if (!reference.isPresent()) {
+                results.put(definition.getName(), false);
+                continue;
+            }
+            AnnotationMetadata annotationMetadata = reference.getAnnotationMetadata();
+            if (dependsOnJavaVersion(annotationMetadata)) {
+                continue;
+            }
+            DefaultConditionContext<BeanDefinitionReference<?>> conditionContext = new DefaultConditionContext<>(beanContext, reference, null);
+            boolean matches;
+            try {
+                matches = new RequiresCondition(annotationMetadata).matchesStaticRequirements(conditionContext);
+            } catch (Throwable e) {
+                // leave the reference to be evaluated at runtime, for example an SDK check whose SDK is absent
+                continue;
+            }
+            results.put(definition.getName(), matches);
+            if (matches) {
+                results.put(reference.getBeanDefinitionName(), true);
+            }
+        }
+
+        writer.write("# Generated by " + RequirementsIndex.class.getName() + ", regenerate whenever the classpath changes\n");
+        writer.write(VERSION_KEY + "=" + currentVersion() + "\n");
+        for (Map.Entry<String, Boolean> entry : results.entrySet()) {
+            writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+        }
+        writer.flush();
+    }
+
+    private static String currentVersion() {
+        return VersionUtils.MICRONAUT_VERSION != null ? VersionUtils.MICRONAUT_VERSION : "";
+    }
+
+    private static boolean dependsOnJavaVersion(AnnotationMetadata annotationMetadata) {
+        for (AnnotationValue<Requires> requirement : annotationMetadata.getAnnotationValuesByType(Requires.class)) {
+            if (requirement.enumValue(RequiresCondition.MEMBER_SDK, Requires.Sdk.class).orElse(null) == Requires.Sdk.JAVA) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
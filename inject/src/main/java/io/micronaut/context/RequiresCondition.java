@@ -98,17 +98,18 @@ public class RequiresCondition implements Condition {
         List<AnnotationValue<Requires>> requirements = annotationMetadata.getAnnotationValuesByType(Requires.class);
 
         if (!requirements.isEmpty()) {
+            boolean verified = isVerified(context);
             // here we use AnnotationMetadata to avoid loading the classes referenced in the annotations directly
             if (isBeanReference) {
                 for (AnnotationValue<Requires> requirement : requirements) {
-                    processPreStartRequirements(context, requirement);
+                    processPreStartRequirements(context, requirement, verified);
                     if (context.isFailing()) {
                         return false;
                     }
                 }
             } else {
                 for (AnnotationValue<Requires> requires : requirements) {
-                    processPostStartRequirements(context, requires);
+                    processPostStartRequirements(context, requires, verified);
                     if (context.isFailing()) {
                         return false;
                     }
@@ -118,6 +119,31 @@ public class RequiresCondition implements Condition {
         return true;
     }
 
+    /**
+     * Evaluates only the requirements that do not depend on the environment: the presence and absence of classes and
+     * the SDK versions. Used to build the {@link RequirementsIndex}.
+     *
+     * @param context The condition context
+     * @return Whether the environment independent requirements match
+     */
+    boolean matchesStaticRequirements(ConditionContext context) {
+        for (AnnotationValue<Requires> requirements : annotationMetadata.getAnnotationValuesByType(Requires.class)) {
+            if (!matchesPresenceOfClasses(context, requirements)
+                    || !matchesAbsenceOfClasses(context, requirements)
+                    || !matchesSdk(context, requirements)
+                    || !matchesPresenceOfClasses(context, requirements, MEMBER_BEANS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isVerified(ConditionContext context) {
+        BeanContext beanContext = context.getBeanContext();
+        return beanContext instanceof DefaultBeanContext
+                && ((DefaultBeanContext) beanContext).getRequirementsIndex().isVerified(context.getComponent().getClass().getName());
+    }
+
     /**
      * @param context  The condition context
      * @param requirements The requires
@@ -152,15 +178,16 @@ public class RequiresCondition implements Condition {
     }
 
     /**
-     * This method will process requirements for a {@link BeanDefinitionReference} that has not yet been loaded. Unlike {@link #processPostStartRequirements(ConditionContext, AnnotationValue)}
+     * This method will process requirements for a {@link BeanDefinitionReference} that has not yet been loaded. Unlike {@link #processPostStartRequirements(ConditionContext, AnnotationValue, boolean)}
      * this method is executed prior to the bean being loaded and processes requirements that do not require all the beans to be loaded.
+     * The class and SDK requirements are skipped when the {@link RequirementsIndex} already verified them.
      */
-    private void processPreStartRequirements(ConditionContext context, AnnotationValue<Requires> requirements) {
-        if (!matchesPresenceOfClasses(context, requirements)) {
+    private void processPreStartRequirements(ConditionContext context, AnnotationValue<Requires> requirements, boolean verified) {
+        if (!verified && !matchesPresenceOfClasses(context, requirements)) {
             return;
         }
 
-        if (!matchesAbsenceOfClasses(context, requirements)) {
+        if (!verified && !matchesAbsenceOfClasses(context, requirements)) {
             return;
         }
 
@@ -184,7 +211,7 @@ public class RequiresCondition implements Condition {
             return;
         }
 
-        if (!matchesSdk(context, requirements)) {
+        if (!verified && !matchesSdk(context, requirements)) {
             return;
         }
 
@@ -199,14 +226,16 @@ public class RequiresCondition implements Condition {
         // need this check because when this method is called with a BeanDefinitionReference the context
         // is not yet initialized so we cannot know if beans are present or not
         // check only that the classes are present for the beans requirement
-        matchesPresenceOfClasses(context, requirements, MEMBER_BEANS);
+        if (!verified) {
+            matchesPresenceOfClasses(context, requirements, MEMBER_BEANS);
+        }
     }
 
     /**
      * This method will run conditions that require all beans to be loaded. These conditions included "beans", "bean", "missingBeans" and custom conditions.
      */
-    private void processPostStartRequirements(ConditionContext context, AnnotationValue<Requires> requirements) {
-        processPreStartRequirements(context, requirements);
+    private void processPostStartRequirements(ConditionContext context, AnnotationValue<Requires> requirements, boolean verified) {
+        processPreStartRequirements(context, requirements, verified);
 
         if (context.isFailing()) {
             return;
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.env;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable prefix index over the property catalog of a {@link PropertySourcePropertyResolver}.
+ * Keys are split into segments on {@code .}, so that the keys nested under a property name are
+ * found by walking one node per segment instead of scanning the catalog.
+ *
+ * <p>The index is a snapshot of the catalog maps it was built from. The resolver discards it when
+ * the catalog changes and builds a new one on the next prefix lookup.</p>
+ *
+ * @since 3.8.0
+ */
+@Internal
+final class PropertyCatalogIndex {
+
+    private final Map<String, Object>[] catalog;
+    private final Node root = new Node();
+
+    /**
+     * @param catalog The catalog to index. The maps must not be modified while the index is built
+     */
+    PropertyCatalogIndex(Map<String, Object>[] catalog) {
+        this.catalog = catalog.clone();
+        for (Map<String, Object> entries : this.catalog) {
+            if (entries != null) {
+                for (String key : entries.keySet()) {
+                    add(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param entries The entries
+     * @param index   The position of the entries in the catalog
+     * @return Whether this index covers the given catalog entries
+     */
+    boolean isIndexOf(Map<String, Object> entries, int index) {
+        return index >= 0 && index < catalog.length && catalog[index] == entries;
+    }
+
+    /**
+     * Find the keys nested under the given name, i.e. the keys starting with {@code name + '.'}.
+     *
+     * @param name The property name
+     * @return The keys in catalog order
+     */
+    List<String> keysWithPrefix(String name) {
+        Node node = find(name);
+        return node != null ? node.keys : Collections.emptyList();
+    }
+
+    /**
+     * Find the first segment of the keys nested under the given name.
+     *
+     * @param name The property name
+     * @return The segments
+     */
+    Set<String> childSegments(String name) {
+        Node node = find(name);
+        return node != null ? node.children.keySet() : Collections.emptySet();
+    }
+
+    @Nullable
+    private Node find(String name) {
+        Node node = root;
+        int start = 0;
+        int length = name.length();
+        while (node != null) {
+            int end = name.indexOf('.', start);
+            if (end == -1) {
+                end = length;
+            }
+            node = node.children.get(name.substring(start, end));
+            if (end == length) {
+                return node;
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    private void add(String key) {
+        Node node = root;
+        int start = 0;
+        int length = key.length();
+        while (true) {
+            int end = key.indexOf('.', start);
+            if (end == -1) {
+                end = length;
+            }
+            node = node.children.computeIfAbsent(key.substring(start, end), s -> new Node());
+            if (end == length) {
+                return;
+            }
+            node.keys.add(key);
+            start = end + 1;
+        }
+    }
+
+    /**
+     * A segment of the keys.
+     */
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>(4);
+        final List<String> keys = new ArrayList<>(2);
+    }
+}
@@ -32,6 +32,7 @@ import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.EnvironmentProperties;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
 import io.micronaut.core.value.MapPropertyResolver;
 import io.micronaut.core.value.PropertyResolver;
 import io.micronaut.core.value.ValueException;
@@ -52,6 +53,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
@@ -77,6 +79,7 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
     private static final Pattern RANDOM_PATTERN = Pattern.compile("\\$\\{" + RANDOM_PREFIX + "(" + RANDOM_UPPER_LIMIT + "|" + RANDOM_RANGE + ")?\\}");
     private static final Object NO_VALUE = new Object();
     private static final PropertyCatalog[] CONVENTIONS = {PropertyCatalog.GENERATED, PropertyCatalog.RAW};
+    private static final int RESOLVED_VALUE_CACHE_SIZE = 2048;
     protected final ConversionService<?> conversionService;
     protected final PropertyPlaceholderResolver propertyPlaceholderResolver;
     protected final Map<String, PropertySource> propertySources = new ConcurrentHashMap<>(10);
@@ -88,7 +91,12 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
     protected final Map<String, Object>[] nonGenerated = new Map[58];
     private final SecureRandom random = new SecureRandom();
     private final Map<String, Boolean> containsCache = new ConcurrentHashMap<>(20);
-    private final Map<String, Object> resolvedValueCache = new ConcurrentHashMap<>(20);
+    private final Map<String, Object> resolvedValueCache = new ConcurrentLinkedHashMap.Builder<String, Object>()
+            .initialCapacity(20)
+            .maximumWeightedCapacity(RESOLVED_VALUE_CACHE_SIZE)
+            .build();
+    // prefix indexes of the catalogs, built on demand and discarded when the catalog changes
+    private final AtomicReferenceArray<PropertyCatalogIndex> catalogIndexes = new AtomicReferenceArray<>(PropertyCatalog.values().length);
     private final EnvironmentProperties environmentProperties = EnvironmentProperties.fork(CURRENT_ENV);
 
     /**
@@ -184,11 +192,18 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
                     if (entries.containsKey(name)) {
                         return true;
                     } else {
-                        String finalName = name + ".";
-                        for (String key : entries.keySet()) {
-                            if (key.startsWith(finalName)) {
+                        PropertyCatalogIndex index = findIndex(name, entries);
+                        if (index != null) {
+                            if (!index.keysWithPrefix(name).isEmpty()) {
                                 return true;
                             }
+                        } else {
+                            String finalName = name + ".";
+                            for (String key : entries.keySet()) {
+                                if (key.startsWith(finalName)) {
+                                    return true;
+                                }
+                            }
                         }
                     }
                 }
@@ -204,6 +219,10 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
             Map<String, Object> entries = resolveEntriesForKey(
                     name, false, PropertyCatalog.NORMALIZED);
             if (entries != null) {
+                PropertyCatalogIndex index = findIndex(name, entries);
+                if (index != null) {
+                    return Collections.unmodifiableSet(index.childSegments(name));
+                }
                 String prefix = name + '.';
                 return entries.keySet().stream().filter(k -> k.startsWith(prefix))
                               .map(k -> {
@@ -431,16 +450,14 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
             entries = resolveEntriesForKey(name, false, PropertyCatalog.RAW);
         }
         String prefix = name + '.';
-        entries.entrySet().stream()
-            .filter(map -> map.getKey().startsWith(prefix))
-            .forEach(entry -> {
-                Object value = entry.getValue();
-                if (value != null) {
-                    String key = entry.getKey().substring(prefix.length());
-                    key = keyConvention != null ? keyConvention.format(key) : key;
-                    properties.put(key, resolvePlaceHoldersIfNecessary(value.toString()));
-                }
-            });
+        for (String entryKey : keysWithPrefix(name, entries)) {
+            Object value = entries.get(entryKey);
+            if (value != null) {
+                String key = entryKey.substring(prefix.length());
+                key = keyConvention != null ? keyConvention.format(key) : key;
+                properties.put(key, resolvePlaceHoldersIfNecessary(value.toString()));
+            }
+        }
 
         return properties;
     }
@@ -485,33 +502,30 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
             MapFormat.MapTransformation transformation) {
         final Argument<?> valueType = conversionContext.getTypeVariable("V").orElse(Argument.OBJECT_ARGUMENT);
         boolean valueTypeIsList = List.class.isAssignableFrom(valueType.getType());
-        Map<String, Object> subMap = new LinkedHashMap<>(entries.size());
+        Collection<String> keys = keysWithPrefix(name, entries);
+        Map<String, Object> subMap = new LinkedHashMap<>(keys.size());
 
         String prefix = name + '.';
-        for (Map.Entry<String, Object> entry : entries.entrySet()) {
-            final String key = entry.getKey();
-
+        for (String key : keys) {
             if (valueTypeIsList && key.contains("[") && key.endsWith("]")) {
                 continue;
             }
 
-            if (key.startsWith(prefix)) {
-                String subMapKey = key.substring(prefix.length());
+            String subMapKey = key.substring(prefix.length());
 
-                Object value = resolvePlaceHoldersIfNecessary(entry.getValue());
+            Object value = resolvePlaceHoldersIfNecessary(entries.get(key));
 
-                if (transformation == MapFormat.MapTransformation.FLAT) {
-                    subMapKey = keyConvention != null ? keyConvention.format(subMapKey) : subMapKey;
-                    value = conversionService.convert(value, valueType).orElse(null);
-                    subMap.put(subMapKey, value);
-                } else {
-                    processSubmapKey(
-                            subMap,
-                            subMapKey,
-                            value,
-                            keyConvention
-                    );
-                }
+            if (transformation == MapFormat.MapTransformation.FLAT) {
+                subMapKey = keyConvention != null ? keyConvention.format(subMapKey) : subMapKey;
+                value = conversionService.convert(value, valueType).orElse(null);
+                subMap.put(subMapKey, value);
+            } else {
+                processSubmapKey(
+                        subMap,
+                        subMapKey,
+                        value,
+                        keyConvention
+                );
             }
         }
         return subMap;
@@ -589,6 +603,7 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
                     rawEntries.put(property, value);
                 }
             }
+            invalidateIndexes();
         }
     }
 
@@ -780,6 +795,76 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
     protected void resetCaches() {
         containsCache.clear();
         resolvedValueCache.clear();
+        invalidateIndexes();
+    }
+
+    /**
+     * Finds the keys of the given entries that are nested under the given name, using the prefix
+     * index if the entries are part of the catalog.
+     *
+     * @param name    The property name
+     * @param entries The entries
+     * @return The keys starting with {@code name + '.'}
+     */
+    private Collection<String> keysWithPrefix(String name, @Nullable Map<String, Object> entries) {
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+        PropertyCatalogIndex index = findIndex(name, entries);
+        if (index != null) {
+            return index.keysWithPrefix(name);
+        }
+        String prefix = name + '.';
+        List<String> keys = new ArrayList<>();
+        for (String key : entries.keySet()) {
+            if (key.startsWith(prefix)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @param name    The property name
+     * @param entries The entries resolved for the name
+     * @return The prefix index covering the entries, or {@code null} if the entries are not part of the catalog
+     */
+    @Nullable
+    private PropertyCatalogIndex findIndex(String name, Map<String, Object> entries) {
+        if (name.length() == 0 || !Character.isLetter(name.charAt(0))) {
+            return null;
+        }
+        int position = name.charAt(0) - 65;
+        for (PropertyCatalog propertyCatalog : PropertyCatalog.values()) {
+            Map<String, Object>[] catalog = getCatalog(propertyCatalog);
+            if (position >= 0 && position < catalog.length && catalog[position] == entries) {
+                PropertyCatalogIndex index = getIndex(propertyCatalog);
+                // the catalog may have changed in the meantime
+                return index.isIndexOf(entries, position) ? index : null;
+            }
+        }
+        return null;
+    }
+
+    private PropertyCatalogIndex getIndex(PropertyCatalog propertyCatalog) {
+        int i = propertyCatalog.ordinal();
+        PropertyCatalogIndex index = catalogIndexes.get(i);
+        if (index == null) {
+            synchronized (catalog) {
+                index = catalogIndexes.get(i);
+                if (index == null) {
+                    index = new PropertyCatalogIndex(getCatalog(propertyCatalog));
+                    catalogIndexes.set(i, index);
+                }
+            }
+        }
+        return index;
+    }
+
+    private void invalidateIndexes() {
+        for (int i = 0; i < catalogIndexes.length(); i++) {
+            catalogIndexes.set(i, null);
+        }
     }
 
     private void processSubmapKey(Map<String, Object> map, String key, Object value, @Nullable StringConvention keyConvention) {
@@ -65,6 +65,7 @@ public final class ApplicationEventPublisherFactory<T>
     private final AnnotationMetadata annotationMetadata;
     private ApplicationEventPublisher applicationObjectEventPublisher;
     private final Map<Argument, Supplier<ApplicationEventPublisher>> publishers = new ConcurrentHashMap<>();
+    private final Map<BatchDispatcherKey, BatchEventDispatcher> batchDispatchers = new ConcurrentHashMap<>();
     private Supplier<Executor> executorSupplier;
 
     public ApplicationEventPublisherFactory() {
@@ -220,13 +221,29 @@ public final class ApplicationEventPublisherFactory<T>
                 return listeners;
             });
 
+            private volatile BatchDispatchers lazyDispatchers;
+
+            private List<BatchEventDispatcher> getBatchDispatchers(List<ApplicationEventListener> listeners) {
+                // follow the listeners, in case they are looked up again
+                BatchDispatchers dispatchers = lazyDispatchers;
+                if (dispatchers == null || dispatchers.listeners != listeners) {
+                    dispatchers = new BatchDispatchers(listeners, findBatchDispatchers(eventType.getType(), listeners));
+                    lazyDispatchers = dispatchers;
+                }
+                return dispatchers.dispatchers;
+            }
+
             @Override
             public void publishEvent(Object event) {
                 if (event != null) {
                     if (EVENT_LOGGER.isDebugEnabled()) {
                         EVENT_LOGGER.debug("Publishing event: {}", event);
                     }
-                    notifyEventListeners(event, lazyListeners.get());
+                    List<ApplicationEventListener> eventListeners = lazyListeners.get();
+                    notifyEventListeners(event, eventListeners);
+                    for (BatchEventDispatcher dispatcher : getBatchDispatchers(eventListeners)) {
+                        dispatcher.dispatch(event, null);
+                    }
                 }
             }
 
@@ -235,6 +252,18 @@ public final class ApplicationEventPublisherFactory<T>
                 Objects.requireNonNull(event, "Event cannot be null");
                 CompletableFuture<Void> future = new CompletableFuture<>();
                 List<ApplicationEventListener> eventListeners = lazyListeners.get();
+                // batch listeners are queued from the publishing thread to keep the publish order
+                List<CompletableFuture<Void>> batchFutures = null;
+                for (BatchEventDispatcher dispatcher : getBatchDispatchers(eventListeners)) {
+                    CompletableFuture<Void> batchFuture = new CompletableFuture<>();
+                    if (dispatcher.dispatch(event, batchFuture)) {
+                        if (batchFutures == null) {
+                            batchFutures = new ArrayList<>(2);
+                            batchFutures.add(future);
+                        }
+                        batchFutures.add(batchFuture);
+                    }
+                }
                 executorSupplier.get().execute(() -> {
                     try {
                         notifyEventListeners(event, eventListeners);
@@ -243,18 +272,42 @@ public final class ApplicationEventPublisherFactory<T>
                         future.completeExceptionally(e);
                     }
                 });
+                if (batchFutures != null) {
+                    return CompletableFuture.allOf(batchFutures.toArray(new CompletableFuture[0]));
+                }
                 return future;
             }
         };
     }
 
+    /**
+     * Finds the dispatchers of the batch listeners of an event type. They are shared by all the publishers of the
+     * event type, so that the events reach each batch listener through a single queue.
+     *
+     * @param eventType The event type
+     * @param listeners The listeners of the event type
+     * @return The dispatchers
+     */
+    private List<BatchEventDispatcher> findBatchDispatchers(Class<?> eventType, List<ApplicationEventListener> listeners) {
+        List<BatchEventDispatcher> dispatchers = new ArrayList<>(0);
+        for (ApplicationEventListener listener : listeners) {
+            if (listener instanceof BatchApplicationEventListener) {
+                dispatchers.add(batchDispatchers.computeIfAbsent(
+                        new BatchDispatcherKey((BatchApplicationEventListener<?>) listener, eventType),
+                        key -> new BatchEventDispatcher(key.listener, executorSupplier)
+                ));
+            }
+        }
+        return dispatchers;
+    }
+
     private void notifyEventListeners(@NonNull Object event, Collection<ApplicationEventListener> eventListeners) {
         if (!eventListeners.isEmpty()) {
             if (EVENT_LOGGER.isTraceEnabled()) {
                 EVENT_LOGGER.trace("Established event listeners {} for event: {}", eventListeners, event);
             }
             for (ApplicationEventListener listener : eventListeners) {
-                if (listener.supports(event)) {
+                if (!(listener instanceof BatchApplicationEventListener) && listener.supports(event)) {
                     try {
                         if (EVENT_LOGGER.isTraceEnabled()) {
                             EVENT_LOGGER.trace("Invoking event listener [{}] for event: {}", listener, event);
@@ -274,4 +327,47 @@ public final class ApplicationEventPublisherFactory<T>
             }
         }
     }
+
+    /**
+     * The batch dispatchers of a list of listeners.
+     */
+    private static final class BatchDispatchers {
+        final List<ApplicationEventListener> listeners;
+        final List<BatchEventDispatcher> dispatchers;
+
+        BatchDispatchers(List<ApplicationEventListener> listeners, List<BatchEventDispatcher> dispatchers) {
+            this.listeners = listeners;
+            this.dispatchers = dispatchers;
+        }
+    }
+
+    /**
+     * Identifies the dispatcher of a batch listener for an event type.
+     */
+    private static final class BatchDispatcherKey {
+        final BatchApplicationEventListener<?> listener;
+        final Class<?> eventType;
+
+        BatchDispatcherKey(BatchApplicationEventListener<?> listener, Class<?> eventType) {
+            this.listener = listener;
+            this.eventType = eventType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BatchDispatcherKey that = (BatchDispatcherKey) o;
+            return listener == that.listener && eventType.equals(that.eventType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(listener) + eventType.hashCode();
+        }
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.event;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link ApplicationEventListener} that receives events asynchronously, in batches and in publish order.
+ *
+ * <p>Each batch listener has its own bounded queue per event type, drained on the event executor. A slow batch
+ * listener therefore does not delay other listeners, and publishers never wait for it: when its queue is full, the
+ * {@link #getOverflowPolicy() overflow policy} applies. Events that are idempotent can be coalesced: within a batch only the last event of each {@link #getCoalescingKey(Object) key} is
+ * delivered.</p>
+ *
+ * @param <E> An event
+ * @since 3.8.0
+ */
+public interface BatchApplicationEventListener<E> extends ApplicationEventListener<E> {
+
+    /**
+     * The default queue capacity.
+     */
+    int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /**
+     * The default maximum batch size.
+     */
+    int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    /**
+     * Handle a batch of application events.
+     *
+     * @param events The events, in publish order
+     */
+    void onApplicationEvents(@NonNull List<E> events);
+
+    @Override
+    default void onApplicationEvent(E event) {
+        onApplicationEvents(Collections.singletonList(event));
+    }
+
+    /**
+     * @return The number of events that can wait for this listener before the {@link #getOverflowPolicy() overflow policy}
+     * applies
+     */
+    default int getQueueCapacity() {
+        return DEFAULT_QUEUE_CAPACITY;
+    }
+
+    /**
+     * @return The maximum number of events of a batch
+     */
+    default int getMaxBatchSize() {
+        return DEFAULT_MAX_BATCH_SIZE;
+    }
+
+    /**
+     * @return What happens to an event published while the queue is full
+     */
+    @NonNull
+    default OverflowPolicy getOverflowPolicy() {
+        return OverflowPolicy.REJECT;
+    }
+
+    /**
+     * Returns the key used to coalesce events. Within a batch, only the last event of each key is delivered, at the
+     * position of that last event.
+     *
+     * @param event The event
+     * @return The key, or {@code null} if the event must not be coalesced
+     */
+    @Nullable
+    default Object getCoalescingKey(E event) {
+        return null;
+    }
+
+    /**
+     * What happens to an event published while the queue of a listener is full.
+     */
+    enum OverflowPolicy {
+        /**
+         * The event is rejected with a {@link java.util.concurrent.RejectedExecutionException}, thrown by
+         * {@link ApplicationEventPublisher#publishEvent(Object)} or failing the future of
+         * {@link ApplicationEventPublisher#publishEventAsync(Object)}.
+         */
+        REJECT,
+        /**
+         * The event is discarded and a warning is logged.
+         */
+        DROP,
+        /**
+         * The event is delivered alone on the publishing thread, ahead of the queued events. The listener may then
+         * be invoked concurrently and out of publish order.
+         */
+        DELIVER_INLINE
+    }
+}
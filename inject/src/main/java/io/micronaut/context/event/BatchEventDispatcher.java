@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.event;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Delivers the events of one event type to a {@link BatchApplicationEventListener}. Events wait in a bounded queue
+ * that is drained in publish order by at most one task of the event executor at a time. Publishers never wait: an event
+ * published while the queue is full is handled according to the
+ * {@link BatchApplicationEventListener#getOverflowPolicy() overflow policy} of the listener.
+ *
+ * @since 3.8.0
+ */
+@Internal
+final class BatchEventDispatcher {
+    private static final Logger EVENT_LOGGER = LoggerFactory.getLogger(ApplicationEventPublisher.class);
+
+    private final BatchApplicationEventListener<Object> listener;
+    private final Supplier<Executor> executorSupplier;
+    private final BlockingQueue<PendingEvent> queue;
+    private final int maxBatchSize;
+    private final BatchApplicationEventListener.OverflowPolicy overflowPolicy;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param listener         The listener
+     * @param executorSupplier The supplier of the executor the queue is drained on
+     */
+    @SuppressWarnings("unchecked")
+    BatchEventDispatcher(BatchApplicationEventListener<?> listener, Supplier<Executor> executorSupplier) {
+        this.listener = (BatchApplicationEventListener<Object>) listener;
+        this.executorSupplier = executorSupplier;
+        this.queue = new ArrayBlockingQueue<>(listener.getQueueCapacity());
+        this.maxBatchSize = Math.max(1, listener.getMaxBatchSize());
+        BatchApplicationEventListener.OverflowPolicy policy = listener.getOverflowPolicy();
+        this.overflowPolicy = policy != null ? policy : BatchApplicationEventListener.OverflowPolicy.REJECT;
+    }
+
+    /**
+     * Queues an event, or applies the overflow policy if the queue is full.
+     *
+     * @param event  The event
+     * @param future The future to complete once the listener handled the event, or {@code null} to log failures
+     * @return Whether the event is supported by the listener
+     * @throws RejectedExecutionException If the queue is full, the policy is to reject and there is no future
+     */
+    boolean dispatch(@NonNull Object event, @Nullable CompletableFuture<Void> future) {
+        if (!listener.supports(event)) {
+            return false;
+        }
+        PendingEvent pending = new PendingEvent(event, future);
+        if (queue.offer(pending)) {
+            schedule();
+        } else {
+            overflow(pending);
+        }
+        return true;
+    }
+
+    private void overflow(PendingEvent pending) {
+        switch (overflowPolicy) {
+            case DROP:
+                if (EVENT_LOGGER.isWarnEnabled()) {
+                    EVENT_LOGGER.warn("Queue of event listener [{}] is full, dropping event: {}", listener, pending.event);
+                }
+                if (pending.future != null) {
+                    pending.future.complete(null);
+                }
+                break;
+            case DELIVER_INLINE:
+                deliver(Collections.singletonList(pending));
+                break;
+            case REJECT:
+            default:
+                RejectedExecutionException e = new RejectedExecutionException("Queue of event listener [" + listener + "] is full, rejecting event: " + pending.event);
+                if (pending.future == null) {
+                    throw e;
+                }
+                pending.future.completeExceptionally(e);
+                break;
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executorSupplier.get().execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        List<PendingEvent> batch = new ArrayList<>(Math.min(maxBatchSize, queue.size()));
+        queue.drainTo(batch, maxBatchSize);
+        try {
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } finally {
+            scheduled.set(false);
+            // give the executor back between batches, and catch events queued while delivering
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private void deliver(List<PendingEvent> batch) {
+        List<Object> events = coalesce(batch);
+        Throwable failure = null;
+        try {
+            if (EVENT_LOGGER.isTraceEnabled()) {
+                EVENT_LOGGER.trace("Invoking event listener [{}] for events: {}", listener, events);
+            }
+            listener.onApplicationEvents(events);
+        } catch (ClassCastException ex) {
+            String msg = ex.getMessage();
+            if (msg == null || msg.startsWith(events.get(0).getClass().getName())) {
+                if (EVENT_LOGGER.isDebugEnabled()) {
+                    EVENT_LOGGER.debug("Incompatible listener for events: " + listener, ex);
+                }
+            } else {
+                failure = ex;
+            }
+        } catch (Exception e) {
+            failure = e;
+        }
+        boolean unobserved = false;
+        for (PendingEvent pending : batch) {
+            if (pending.future == null) {
+                unobserved = true;
+            } else if (failure == null) {
+                pending.future.complete(null);
+            } else {
+                pending.future.completeExceptionally(failure);
+            }
+        }
+        if (failure != null && unobserved && EVENT_LOGGER.isErrorEnabled()) {
+            EVENT_LOGGER.error("Error invoking event listener [" + listener + "]: " + failure.getMessage(), failure);
+        }
+    }
+
+    private List<Object> coalesce(List<PendingEvent> batch) {
+        Map<Object, Object> coalesced = null;
+        for (int i = 0; i < batch.size(); i++) {
+            Object event = batch.get(i).event;
+            Object key = listener.getCoalescingKey(event);
+            if (key != null && coalesced == null) {
+                coalesced = new LinkedHashMap<>(batch.size() * 2);
+                for (int j = 0; j < i; j++) {
+                    coalesced.put(new Object(), batch.get(j).event);
+                }
+            }
+            if (coalesced != null) {
+                if (key == null) {
+                    key = new Object();
+                } else {
+                    // move to the position of the last event with this key
+                    coalesced.remove(key);
+                }
+                coalesced.put(key, event);
+            }
+        }
+        if (coalesced != null) {
+            return new ArrayList<>(coalesced.values());
+        }
+        List<Object> events = new ArrayList<>(batch.size());
+        for (PendingEvent pending : batch) {
+            events.add(pending.event);
+        }
+        return events;
+    }
+
+    /**
+     * A queued event.
+     */
+    private static final class PendingEvent {
+        final Object event;
+        @Nullable
+        final CompletableFuture<Void> future;
+
+        PendingEvent(Object event, @Nullable CompletableFuture<Void> future) {
+            this.event = event;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.micronaut.context
+
+import io.micronaut.inject.qualifiers.Qualifiers
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+
+class BeanLookupCacheSpec extends Specification {
+
+    void "test invalidate removes the entries for the type hierarchy only"() {
+        given:
+        BeanLookupCache<Class, String> cache = new BeanLookupCache<>("test", 10, { Class key -> key })
+        cache.put(CharSequence, "cs", cache.generation())
+        cache.put(String, "string", cache.generation())
+        cache.put(Object, "object", cache.generation())
+        cache.put(Integer, "integer", cache.generation())
+        cache.put(Number, "number", cache.generation())
+
+        when:
+        cache.invalidate(String)
+
+        then:
+        cache.get(CharSequence) == null
+        cache.get(String) == null
+        cache.get(Object) == null
+        cache.get(Integer) == "integer"
+        cache.get(Number) == "number"
+        cache.statistics.hitCount == 2
+        cache.statistics.missCount == 3
+        cache.statistics.size == 2
+    }
+
+    void "test invalidate array types"() {
+        given:
+        BeanLookupCache<Class, String> cache = new BeanLookupCache<>("test", 10, { Class key -> key })
+        cache.put(Object[], "objects", cache.generation())
+        cache.put(Integer, "integer", cache.generation())
+
+        when:
+        cache.invalidate(String[])
+
+        then:
+        cache.get(Object[]) == null
+        cache.get(Integer) == "integer"
+    }
+
+    void "test a value looked up before an invalidation is not cached"() {
+        given:
+        BeanLookupCache<Class, String> cache = new BeanLookupCache<>("test", 10, { Class key -> key })
+        long generation = cache.generation()
+
+        when:
+        cache.invalidate(String)
+        cache.put(CharSequence, "stale", generation)
+
+        then:
+        cache.get(CharSequence) == null
+
+        when:
+        cache.put(CharSequence, "cs", cache.generation())
+
+        then:
+        cache.get(CharSequence) == "cs"
+    }
+
+    void "test concurrent registrations and lookups do not leave stale entries"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        int count = 200
+        CountDownLatch done = new CountDownLatch(1)
+        def lookups = (1..4).collect {
+            Thread.start {
+                while (done.count > 0) {
+                    context.getBeansOfType(Runnable)
+                    context.containsBean(Runnable, Qualifiers.byName("r" + (count - 1)))
+                }
+            }
+        }
+
+        when:
+        (0..<count).each { i ->
+            context.registerSingleton(Runnable, { } as Runnable, Qualifiers.byName("r" + i))
+        }
+        done.countDown()
+        lookups*.join()
+
+        then:
+        context.getBeansOfType(Runnable).size() == count
+        context.containsBean(Runnable, Qualifiers.byName("r" + (count - 1)))
+
+        cleanup:
+        context.close()
+    }
+
+    void "test evictions are counted"() {
+        given:
+        BeanLookupCache<Class, String> cache = new BeanLookupCache<>("test", 2, { Class key -> key })
+
+        when:
+        cache.put(String, "string", cache.generation())
+        cache.put(Integer, "integer", cache.generation())
+        cache.put(Long, "long", cache.generation())
+
+        then:
+        cache.statistics.size == 2
+        cache.statistics.evictionCount == 1
+        cache.statistics.maximumSize == 2
+    }
+
+    void "test the bean context exposes the statistics of its lookup caches"() {
+        given:
+        ApplicationContext context = ApplicationContext.builder()
+                .beanLookupCacheSize(64)
+                .start()
+
+        when:
+        context.containsBean(BeanLookupCacheSpec)
+        context.containsBean(BeanLookupCacheSpec)
+        context.registerSingleton(new BeanLookupCacheSpec())
+        def statistics = ((DefaultBeanContext) context).beanLookupCacheStatistics
+            .collectEntries { [it.name, it] }
+
+        then:
+        context.containsBean(BeanLookupCacheSpec)
+        statistics.containsBean.hitCount >= 1
+        statistics.candidates.maximumSize == 64
+        statistics.concreteCandidates.maximumSize == 64
+        statistics.containsBean.maximumSize == 64
+
+        cleanup:
+        context.close()
+    }
+}
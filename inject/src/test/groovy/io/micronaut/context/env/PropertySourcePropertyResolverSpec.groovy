@@ -724,6 +724,28 @@ class PropertySourcePropertyResolverSpec extends Specification {
             closed.get()
     }
 
+    void "test prefix lookups reflect property sources added later"() {
+        given:
+        PropertySourcePropertyResolver resolver = new PropertySourcePropertyResolver(
+                PropertySource.of("first", ['micronaut.group1.a': 'one', 'micronaut.group1.b': 'two', 'micronaut.other': 'x'])
+        )
+
+        expect:
+        resolver.containsProperties('micronaut.group1')
+        !resolver.containsProperties('micronaut.group2')
+        resolver.getPropertyEntries('micronaut') == ['group1', 'other'] as Set
+        resolver.getProperties('micronaut.group1') == [a: 'one', b: 'two']
+
+        when:
+        resolver.addPropertySource(PropertySource.of("second", ['micronaut.group2.c': 'three', 'micronaut.group1.a': 'uno']))
+
+        then:
+        resolver.containsProperties('micronaut.group2')
+        resolver.getPropertyEntries('micronaut') == ['group1', 'group2', 'other'] as Set
+        resolver.getProperties('micronaut.group1') == [a: 'uno', b: 'two']
+        resolver.getProperties('micronaut.group2') == [c: 'three']
+    }
+
     interface PropertyExpressionResolverAutoCloseable extends PropertyExpressionResolver, AutoCloseable {
     }
 }
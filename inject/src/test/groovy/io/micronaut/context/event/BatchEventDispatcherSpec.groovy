@@ -0,0 +1,126 @@
+package io.micronaut.context.event
+
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.RejectedExecutionException
+import java.util.function.Supplier
+
+class BatchEventDispatcherSpec extends Specification {
+
+    List<Runnable> tasks = []
+    Supplier<Executor> executor = { { Runnable task -> tasks << task } as Executor } as Supplier<Executor>
+
+    void "test a full queue rejects events without blocking"() {
+        given:
+        RecordingListener listener = new RecordingListener(BatchApplicationEventListener.OverflowPolicy.REJECT)
+        BatchEventDispatcher dispatcher = new BatchEventDispatcher(listener, executor)
+        dispatcher.dispatch("first", null)
+
+        when:
+        dispatcher.dispatch("second", null)
+
+        then:
+        thrown(RejectedExecutionException)
+
+        when:
+        CompletableFuture<Void> future = new CompletableFuture<>()
+        dispatcher.dispatch("third", future)
+        future.get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof RejectedExecutionException
+
+        when:
+        tasks.each { it.run() }
+
+        then:
+        listener.batches == [["first"]]
+    }
+
+    void "test a full queue drops events"() {
+        given:
+        RecordingListener listener = new RecordingListener(BatchApplicationEventListener.OverflowPolicy.DROP)
+        BatchEventDispatcher dispatcher = new BatchEventDispatcher(listener, executor)
+        CompletableFuture<Void> future = new CompletableFuture<>()
+
+        when:
+        dispatcher.dispatch("first", null)
+        dispatcher.dispatch("second", future)
+        tasks.each { it.run() }
+
+        then:
+        future.isDone()
+        !future.isCompletedExceptionally()
+        listener.batches == [["first"]]
+    }
+
+    void "test a full queue delivers events on the publishing thread"() {
+        given:
+        RecordingListener listener = new RecordingListener(BatchApplicationEventListener.OverflowPolicy.DELIVER_INLINE)
+        BatchEventDispatcher dispatcher = new BatchEventDispatcher(listener, executor)
+
+        when:
+        dispatcher.dispatch("first", null)
+        dispatcher.dispatch("second", null)
+
+        then:
+        listener.batches == [["second"]]
+
+        when:
+        tasks.each { it.run() }
+
+        then:
+        listener.batches == [["second"], ["first"]]
+    }
+
+    void "test a listener can publish to its own full queue"() {
+        given:
+        RecordingListener listener = new RecordingListener(BatchApplicationEventListener.OverflowPolicy.DROP)
+        BatchEventDispatcher dispatcher = new BatchEventDispatcher(listener, executor)
+        listener.onBatch = { dispatcher.dispatch("again", null); dispatcher.dispatch("again", null) }
+
+        when:
+        dispatcher.dispatch("first", null)
+        tasks.remove(0).run()
+
+        then: 'one event is queued, the other dropped'
+        listener.batches == [["first"]]
+
+        when:
+        listener.onBatch = {}
+        tasks.remove(0).run()
+
+        then:
+        listener.batches == [["first"], ["again"]]
+    }
+
+    static class RecordingListener implements BatchApplicationEventListener<String> {
+        final BatchApplicationEventListener.OverflowPolicy overflowPolicy
+        final List<List<String>> batches = []
+        Closure onBatch = {}
+
+        RecordingListener(BatchApplicationEventListener.OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy
+        }
+
+        @Override
+        void onApplicationEvents(List<String> events) {
+            batches << new ArrayList<>(events)
+            onBatch.call()
+        }
+
+        @Override
+        int getQueueCapacity() {
+            return 1
+        }
+
+        @Override
+        boolean supports(String event) {
+            return true
+        }
+    }
+}
@@ -17,11 +17,13 @@ package io.micronaut.json.codec;
 
 import io.micronaut.context.BeanProvider;
 import io.micronaut.core.annotation.Experimental;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.io.buffer.ByteBufferFactory;
 import io.micronaut.core.io.buffer.ReferenceCounted;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.ArgumentUtils;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.codec.CodecConfiguration;
 import io.micronaut.http.codec.CodecException;
@@ -38,6 +40,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A {@link MediaTypeCodec} for {@link JsonMapper} based implementations.
@@ -50,6 +53,10 @@ import java.util.List;
 public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
     public static final String REGULAR_JSON_MEDIA_TYPE_CODEC_NAME = "json";
 
+    private static final int MAX_SIZE_HINTS = 256;
+    private static final int MIN_BUFFER_SIZE = 256;
+    private static final int MAX_BUFFER_SIZE_HINT = 1 << 16;
+
     protected final ApplicationConfiguration applicationConfiguration;
     protected final List<MediaType> additionalTypes;
     protected final CodecConfiguration codecConfiguration;
@@ -57,6 +64,10 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
 
     private final BeanProvider<JsonMapper> mapperProvider;
     private volatile JsonMapper mapper;
+    // the buffer size class of the last value encoded per declared type, so that the buffer does not have to grow
+    private final Map<Object, Integer> bufferSizeHints = new ConcurrentLinkedHashMap.Builder<Object, Integer>()
+            .maximumWeightedCapacity(MAX_SIZE_HINTS)
+            .build();
 
     /**
      * @param mapperProvider           To read/write JSON
@@ -250,30 +261,73 @@ public abstract class MapperMediaTypeCodec implements MediaTypeCodec {
 
     @Override
     public <T, B> ByteBuffer<B> encode(T object, ByteBufferFactory<?, B> allocator) throws CodecException {
-        if (object instanceof byte[]) {
-            return allocator.copiedBuffer((byte[]) object);
-        }
-        ByteBuffer<B> buffer = allocator.buffer();
-        OutputStream outputStream = buffer.toOutputStream();
-        encode(object, outputStream);
-        return buffer;
+        return encodeToBuffer(null, object, allocator);
     }
 
     @Override
     public <T, B> ByteBuffer<B> encode(Argument<T> type, T object, ByteBufferFactory<?, B> allocator) throws CodecException {
+        return encodeToBuffer(type, object, allocator);
+    }
+
+    private <T, B> ByteBuffer<B> encodeToBuffer(@Nullable Argument<T> type, T object, ByteBufferFactory<?, B> allocator) {
         if (object instanceof byte[]) {
             return allocator.copiedBuffer((byte[]) object);
         }
-        ByteBuffer<B> buffer = allocator.buffer();
+        Object hintKey = bufferSizeHintKey(type, object);
+        Integer sizeHint = hintKey != null ? bufferSizeHints.get(hintKey) : null;
+        ByteBuffer<B> buffer = sizeHint != null ? allocator.buffer(sizeHint) : allocator.buffer();
         try {
             OutputStream outputStream = buffer.toOutputStream();
-            encode(type, object, outputStream);
-            return buffer;
+            if (type != null) {
+                encode(type, object, outputStream);
+            } else {
+                encode(object, outputStream);
+            }
         } catch (Throwable t) {
             if (buffer instanceof ReferenceCounted) {
                 ((ReferenceCounted) buffer).release();
             }
             throw t;
         }
+        if (hintKey != null) {
+            int sizeClass = bufferSizeClass(buffer.readableBytes());
+            if (sizeHint == null || sizeHint != sizeClass) {
+                bufferSizeHints.put(hintKey, sizeClass);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * The declared type, such as the return type of a route, tells apart {@code List<Book>} from {@code List<Tag>}.
+     * Without it, the class only predicts the size of values whose size does not depend on their content length.
+     *
+     * @param type   The declared type, if any
+     * @param object The value to encode
+     * @return The key of the size hint, or {@code null} if the size of the value cannot be predicted
+     */
+    @Nullable
+    private static Object bufferSizeHintKey(@Nullable Argument<?> type, @Nullable Object object) {
+        if (type != null) {
+            return type;
+        }
+        if (object == null || object instanceof Iterable || object instanceof Map || object instanceof CharSequence || object.getClass().isArray()) {
+            return null;
+        }
+        return object.getClass();
+    }
+
+    /**
+     * @param size The encoded size
+     * @return The smallest power of two that fits the size, within the bounds of the size hints
+     */
+    private static int bufferSizeClass(int size) {
+        if (size <= MIN_BUFFER_SIZE) {
+            return MIN_BUFFER_SIZE;
+        }
+        if (size >= MAX_BUFFER_SIZE_HINT) {
+            return MAX_BUFFER_SIZE_HINT;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
     }
 }
@@ -0,0 +1,155 @@
+package io.micronaut.json.codec
+
+import io.micronaut.core.io.buffer.ByteBuffer
+import io.micronaut.core.io.buffer.ByteBufferFactory
+import io.micronaut.core.type.Argument
+import io.micronaut.json.JsonMapper
+import io.micronaut.runtime.ApplicationConfiguration
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class MapperMediaTypeCodecBufferSpec extends Specification {
+
+    RecordingBufferFactory factory = new RecordingBufferFactory()
+    JsonMediaTypeCodec codec = new JsonMediaTypeCodec(Stub(JsonMapper) {
+        writeValue(_ as OutputStream, _ as Argument, _) >> { OutputStream out, Argument type, Object value ->
+            out.write(('x' * sizeOf(value)).getBytes(StandardCharsets.US_ASCII))
+        }
+        writeValue(_ as OutputStream, _) >> { OutputStream out, Object value ->
+            out.write(('x' * sizeOf(value)).getBytes(StandardCharsets.US_ASCII))
+        }
+    }, new ApplicationConfiguration(), null)
+
+    void "test the buffer size of the previous encoding is recorded for a declared type"() {
+        given:
+        Argument<Payload> type = Argument.of(Payload)
+
+        when:
+        codec.encode(type, new Payload(1000), factory)
+        codec.encode(type, new Payload(1000), factory)
+        codec.encode(type, new Payload(10), factory)
+        codec.encode(type, new Payload(10), factory)
+
+        then:
+        factory.capacities == [null, 1024, 1024, 256]
+    }
+
+    void "test the size hint is clamped to 64 KB"() {
+        given:
+        Argument<Payload> type = Argument.of(Payload)
+
+        when:
+        codec.encode(type, new Payload(1 << 20), factory)
+        codec.encode(type, new Payload(10), factory)
+
+        then:
+        factory.capacities == [null, 1 << 16]
+    }
+
+    void "test different declared types do not share a size hint"() {
+        when:
+        codec.encode(Argument.listOf(Payload), [new Payload(20000)], factory)
+        codec.encode(Argument.listOf(String), ['abc'], factory)
+        codec.encode(Argument.listOf(Payload), [new Payload(10)], factory)
+
+        then:
+        factory.capacities == [null, null, 32768]
+    }
+
+    void "test untyped collections are not hinted"() {
+        when:
+        codec.encode([new Payload(20000)], factory)
+        codec.encode([new Payload(10)], factory)
+
+        then:
+        factory.capacities == [null, null]
+    }
+
+    void "test the output is complete when it exceeds the size hint"() {
+        given:
+        Argument<Payload> type = Argument.of(Payload)
+        codec.encode(type, new Payload(300), factory)
+
+        when:
+        ByteBuffer<Object> buffer = codec.encode(type, new Payload(5000), factory)
+
+        then:
+        factory.capacities == [null, 512]
+        buffer.readableBytes() == 5000
+        new String(buffer.toByteArray(), StandardCharsets.US_ASCII) == 'x' * 5000
+    }
+
+    private static int sizeOf(Object value) {
+        if (value instanceof Payload) {
+            return ((Payload) value).size
+        }
+        if (value instanceof Collection) {
+            return ((Collection) value).sum(0) { sizeOf(it) } as int
+        }
+        return value.toString().length()
+    }
+
+    static class Payload {
+        final int size
+
+        Payload(int size) {
+            this.size = size
+        }
+    }
+
+    static class RecordingBufferFactory implements ByteBufferFactory<Object, Object> {
+        final List<Integer> capacities = []
+
+        @Override
+        Object getNativeAllocator() {
+            return null
+        }
+
+        @Override
+        ByteBuffer<Object> buffer() {
+            capacities << null
+            return newBuffer()
+        }
+
+        @Override
+        ByteBuffer<Object> buffer(int initialCapacity) {
+            capacities << initialCapacity
+            return newBuffer()
+        }
+
+        @Override
+        ByteBuffer<Object> buffer(int initialCapacity, int maxCapacity) {
+            return buffer(initialCapacity)
+        }
+
+        @Override
+        ByteBuffer<Object> copiedBuffer(byte[] bytes) {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        ByteBuffer<Object> copiedBuffer(java.nio.ByteBuffer nioBuffer) {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        ByteBuffer<Object> wrap(Object existing) {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        ByteBuffer<Object> wrap(byte[] existing) {
+            throw new UnsupportedOperationException()
+        }
+
+        private static ByteBuffer<Object> newBuffer() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+            return [
+                    toOutputStream: { out },
+                    readableBytes : { out.size() },
+                    toByteArray   : { out.toByteArray() }
+            ] as ByteBuffer<Object>
+        }
+    }
+}
@@ -15,6 +15,9 @@
  */
 package io.micronaut.management.endpoint.beans.impl;
 
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.BeanLookupCacheStatistics;
+import io.micronaut.context.DefaultBeanContext;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.management.endpoint.beans.BeanDefinitionData;
@@ -27,10 +30,12 @@ import reactor.core.publisher.Mono;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * The default {@link BeanDefinitionDataCollector} implementation. Returns a {@link Map} with
- * a single key, "beans" that has a key of the bean definition class name.
+ * a key, "beans" that has a key of the bean definition class name. When the context is a
+ * {@link DefaultBeanContext} the statistics of its bean lookup caches are included under the key "caches".
  *
  * @author James Kleeh
  * @since 1.0
@@ -40,19 +45,23 @@ import java.util.Map;
 public class DefaultBeanDefinitionDataCollector implements BeanDefinitionDataCollector<Map<String, Object>> {
 
     private BeanDefinitionData beanDefinitionData;
+    private BeanContext beanContext;
 
     /**
      * @param beanDefinitionData The {@link BeanDefinitionData}
+     * @param beanContext        The {@link BeanContext}
      */
-    DefaultBeanDefinitionDataCollector(BeanDefinitionData beanDefinitionData) {
+    DefaultBeanDefinitionDataCollector(BeanDefinitionData beanDefinitionData, BeanContext beanContext) {
         this.beanDefinitionData = beanDefinitionData;
+        this.beanContext = beanContext;
     }
 
     @Override
     public Publisher<Map<String, Object>> getData(Collection<BeanDefinition<?>> beanDefinitions) {
         return Mono.from(getBeans(beanDefinitions)).map(beans -> {
-            Map<String, Object> beanData = new LinkedHashMap<>(1);
+            Map<String, Object> beanData = new LinkedHashMap<>(2);
             beanData.put("beans", beans);
+            getCaches().ifPresent(caches -> beanData.put("caches", caches));
             return beanData;
         });
     }
@@ -68,4 +77,25 @@ public class DefaultBeanDefinitionDataCollector implements BeanDefinitionDataCol
                     return beanDefinitionData.getData(definition);
                 });
     }
+
+    /**
+     * @return The statistics of the bean lookup caches keyed by cache name, if available
+     */
+    protected Optional<Map<String, Object>> getCaches() {
+        if (!(beanContext instanceof DefaultBeanContext)) {
+            return Optional.empty();
+        }
+        Map<String, Object> caches = new LinkedHashMap<>(3);
+        for (BeanLookupCacheStatistics statistics : ((DefaultBeanContext) beanContext).getBeanLookupCacheStatistics()) {
+            Map<String, Object> cache = new LinkedHashMap<>(6);
+            cache.put("hits", statistics.getHitCount());
+            cache.put("misses", statistics.getMissCount());
+            cache.put("hitRatio", statistics.getHitRatio());
+            cache.put("evictions", statistics.getEvictionCount());
+            cache.put("size", statistics.getSize());
+            cache.put("maximumSize", statistics.getMaximumSize());
+            caches.put(statistics.getName(), cache);
+        }
+        return Optional.of(caches);
+    }
 }
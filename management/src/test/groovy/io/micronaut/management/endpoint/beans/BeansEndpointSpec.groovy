@@ -47,6 +47,9 @@ class BeansEndpointSpec extends Specification {
         beans["io.micronaut.management.endpoint.beans.\$BeansEndpoint" + BeanDefinitionWriter.CLASS_SUFFIX].dependencies.contains("io.micronaut.management.endpoint.beans.BeanDefinitionDataCollector")
         beans["io.micronaut.management.endpoint.beans.\$BeansEndpoint" + BeanDefinitionWriter.CLASS_SUFFIX].scope == AnnotationUtil.SINGLETON
         beans["io.micronaut.management.endpoint.beans.\$BeansEndpoint" + BeanDefinitionWriter.CLASS_SUFFIX].type == "io.micronaut.management.endpoint.beans.BeansEndpoint"
+        result.caches.keySet() == ['candidates', 'concreteCandidates', 'containsBean'] as Set
+        result.caches.candidates.maximumSize == 256
+        result.caches.candidates.hits + result.caches.candidates.misses > 0
 
         cleanup:
         rxClient.close()
@@ -16,12 +16,15 @@
 package io.micronaut.web.router;
 
 import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.AnnotationMetadataProvider;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.order.OrderUtil;
 import io.micronaut.core.reflect.ClassUtils;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.core.util.StringUtils;
 import io.micronaut.core.util.SupplierUtil;
+import io.micronaut.core.util.Toggleable;
 import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
@@ -42,14 +45,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -65,6 +71,7 @@ import java.util.stream.Stream;
 public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatch<?>> {
 
     private final Map<String, List<UriRoute>> routesByMethod = new HashMap<>();
+    private final Map<String, UriRouteIndex> routeIndexByMethod = new HashMap<>();
     private final List<StatusRoute> statusRoutes = new ArrayList<>();
     private final List<ErrorRoute> errorRoutes = new ArrayList<>();
     private final Set<Integer> exposedPorts;
@@ -81,6 +88,9 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         httpFilters.sort(OrderUtil.COMPARATOR);
         return httpFilters;
     });
+    private final Supplier<Map<UriRoute, RouteFilterChain>> routeFilterChains = SupplierUtil.memoized(this::buildRouteFilterChains);
+    private final LongAdder precomputedFilterChainCount = new LongAdder();
+    private final LongAdder resolvedFilterChainCount = new LongAdder();
 
     /**
      * Construct a new router for the given route builders.
@@ -131,7 +141,7 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
             this.exposedPorts = Collections.emptySet();
         }
 
-        routesByMethod.values().forEach(this::finalizeRoutes);
+        routesByMethod.forEach(this::finalizeRoutes);
         for (FilterRoute filterRoute : filterRoutes) {
             if (isMatchesAll(filterRoute)) {
                 alwaysMatchesFilterRoutes.add(filterRoute);
@@ -174,6 +184,7 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
                 }
             }
         }
+        routesByMethod.forEach(this::finalizeRoutes);
     }
 
     @NonNull
@@ -284,9 +295,13 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @NonNull
     @Override
     public <T, R> Optional<UriRouteMatch<T, R>> route(@NonNull HttpMethod httpMethod, @NonNull CharSequence uri) {
-        List<UriRoute> routes = routesByMethod.getOrDefault(httpMethod.name(), Collections.emptyList());
-        for (UriRoute uriRoute : routes) {
-            Optional<UriRouteMatch> match = uriRoute.match(uri.toString());
+        UriRouteIndex routeIndex = routeIndexByMethod.get(httpMethod.name());
+        if (routeIndex == null) {
+            return Optional.empty();
+        }
+        final String uriStr = uri.toString();
+        for (UriRoute uriRoute : routeIndex.candidates(uriStr)) {
+            Optional<UriRouteMatch> match = uriRoute.match(uriStr);
             if (match.isPresent()) {
                 return (Optional) match;
             }
@@ -444,15 +459,40 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         return findRouteMatch(matchedRoutes, error);
     }
 
+    /**
+     * @return The number of requests whose filters were resolved from a chain precomputed for the matched route
+     * @since 3.8.0
+     */
+    public long getPrecomputedFilterChainCount() {
+        return precomputedFilterChainCount.sum();
+    }
+
+    /**
+     * @return The number of requests whose filters had to be resolved by evaluating every filter route
+     * @since 3.8.0
+     */
+    public long getResolvedFilterChainCount() {
+        return resolvedFilterChainCount.sum();
+    }
+
     @NonNull
     @Override
     public List<HttpFilter> findFilters(@NonNull HttpRequest<?> request) {
         if (preconditionFilterRoutes.isEmpty()) {
+            precomputedFilterChainCount.increment();
             return alwaysMatchesHttpFilters.get();
         }
+        RouteMatch routeMatch = (RouteMatch) request.getAttribute(HttpAttributes.ROUTE_MATCH).filter(o -> o instanceof RouteMatch).orElse(null);
+        if (routeMatch instanceof UriRouteMatch) {
+            RouteFilterChain filterChain = routeFilterChains.get().get(((UriRouteMatch) routeMatch).getRoute());
+            if (filterChain != null) {
+                precomputedFilterChainCount.increment();
+                return filterChain.resolve(request);
+            }
+        }
+        resolvedFilterChainCount.increment();
         List<HttpFilter> httpFilters = new ArrayList<>(alwaysMatchesFilterRoutes.size() + preconditionFilterRoutes.size());
         httpFilters.addAll(alwaysMatchesHttpFilters.get());
-        RouteMatch routeMatch = (RouteMatch) request.getAttribute(HttpAttributes.ROUTE_MATCH).filter(o -> o instanceof RouteMatch).orElse(null);
         HttpMethod method = request.getMethod();
         URI uri = request.getUri();
         for (FilterRoute filterRoute : preconditionFilterRoutes) {
@@ -473,8 +513,8 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     public <T, R> Stream<UriRouteMatch<T, R>> findAny(@NonNull CharSequence uri, @Nullable HttpRequest<?> context) {
         List matchedRoutes = new ArrayList<>(5);
         final String uriStr = uri.toString();
-        for (List<UriRoute> routes : routesByMethod.values()) {
-            for (UriRoute route : routes) {
+        for (UriRouteIndex routeIndex : routeIndexByMethod.values()) {
+            for (UriRoute route : routeIndex.candidates(uriStr)) {
                 final UriRouteMatch match = route.match(uriStr).orElse(null);
                 if (match != null && match.test(context)) {
                     matchedRoutes.add(match);
@@ -485,9 +525,13 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     }
 
     private <T, R> List<UriRouteMatch<T, R>> find(String httpMethodName, CharSequence uri, @Nullable Predicate<UriRouteMatch> predicate) {
-        List<UriRoute> routes = routesByMethod.getOrDefault(httpMethodName, Collections.emptyList());
-        if (CollectionUtils.isNotEmpty(routes)) {
+        UriRouteIndex routeIndex = routeIndexByMethod.get(httpMethodName);
+        if (routeIndex != null) {
             final String uriStr = uri.toString();
+            UriRoute[] routes = routeIndex.candidates(uriStr);
+            if (routes.length == 0) {
+                return Collections.emptyList();
+            }
             List<UriRouteMatch<T, R>> routeMatches = new LinkedList<>();
             for (UriRoute route : routes) {
                 Optional<UriRouteMatch> match = route.match(uriStr);
@@ -503,9 +547,102 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         }
     }
 
-    private UriRoute[] finalizeRoutes(List<UriRoute> routes) {
+    private void finalizeRoutes(String httpMethodName, List<UriRoute> routes) {
         Collections.sort(routes);
-        return routes.toArray(new UriRoute[0]);
+        routeIndexByMethod.put(httpMethodName, UriRouteIndex.of(routes));
+    }
+
+    /**
+     * Computes the ordered filter chain of every URI route. Filter routes whose outcome does not depend on the
+     * request are decided up front, only the remaining ones are evaluated per request.
+     *
+     * @return The filter chains keyed by route identity
+     */
+    private Map<UriRoute, RouteFilterChain> buildRouteFilterChains() {
+        Map<UriRoute, RouteFilterChain> filterChains = new IdentityHashMap<>();
+        for (UriRouteIndex routeIndex : routeIndexByMethod.values()) {
+            for (UriRoute route : routeIndex.routes()) {
+                List<FilterRoute> candidates = new ArrayList<>(alwaysMatchesFilterRoutes.size() + preconditionFilterRoutes.size());
+                candidates.addAll(alwaysMatchesFilterRoutes);
+                for (FilterRoute filterRoute : preconditionFilterRoutes) {
+                    if (!(route instanceof AnnotationMetadataProvider) && filterRoute.getAnnotationMetadata().hasStereotype(FilterMatcher.NAME)) {
+                        // cannot be decided without the route match
+                        candidates = null;
+                        break;
+                    }
+                    if (route instanceof AnnotationMetadataProvider && !matchesFilterMatcher(filterRoute, (AnnotationMetadataProvider) route)) {
+                        continue;
+                    }
+                    candidates.add(filterRoute);
+                }
+                if (candidates == null) {
+                    continue;
+                }
+                candidates.sort(Comparator.comparing(FilterRoute::getFilter, OrderUtil.COMPARATOR));
+                HttpFilter[] filters = new HttpFilter[candidates.size()];
+                FilterRoute[] conditions = new FilterRoute[filters.length];
+                for (int i = 0; i < filters.length; i++) {
+                    FilterRoute filterRoute = candidates.get(i);
+                    filters[i] = filterRoute.getFilter();
+                    if (!alwaysMatchesFilterRoutes.contains(filterRoute) && !matchesAllRequests(filterRoute, route)) {
+                        conditions[i] = filterRoute;
+                    }
+                }
+                filterChains.put(route, new RouteFilterChain(filters, conditions));
+            }
+        }
+        return filterChains;
+    }
+
+    /**
+     * Whether the given filter route matches every request the given route can match.
+     *
+     * @param filterRoute The filter route
+     * @param route       The route
+     * @return True if the filter route always matches
+     */
+    private boolean matchesAllRequests(FilterRoute filterRoute, UriRoute route) {
+        if (!(filterRoute instanceof DefaultFilterRoute) || filterRoute.hasMethods() || filterRoute.getFilter() instanceof Toggleable) {
+            return false;
+        }
+        if (filterRoute.getPatternStyle() != FilterPatternStyle.ANT) {
+            return false;
+        }
+        String template = route.getUriMatchTemplate().toString();
+        int variableIndex = template.indexOf('{');
+        String literalPath = template;
+        if (variableIndex > -1) {
+            // only the segments followed by a separator are known to be part of the path
+            int lastSeparator = template.lastIndexOf('/', variableIndex);
+            literalPath = lastSeparator > -1 ? template.substring(0, lastSeparator) : "";
+        }
+        if (!literalPath.startsWith("/") || literalPath.indexOf('%') > -1) {
+            return false;
+        }
+        String[] pathTokens = StringUtils.tokenizeToStringArray(literalPath, "/");
+        for (String pattern : filterRoute.getPatterns()) {
+            if (Filter.MATCH_ALL_PATTERN.equals(pattern)) {
+                return true;
+            }
+            if (!pattern.startsWith("/") || !pattern.endsWith("/**")) {
+                continue;
+            }
+            String base = pattern.substring(0, pattern.length() - 3);
+            if (base.indexOf('*') > -1 || base.indexOf('?') > -1 || base.indexOf('{') > -1) {
+                continue;
+            }
+            String[] baseTokens = StringUtils.tokenizeToStringArray(base, "/");
+            if (baseTokens.length <= pathTokens.length) {
+                boolean matches = true;
+                for (int i = 0; i < baseTokens.length && matches; i++) {
+                    matches = baseTokens[i].equals(pathTokens[i]);
+                }
+                if (matches) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     private <T> Optional<RouteMatch<T>> findRouteMatch(Map<ErrorRoute, RouteMatch<T>> matchedRoutes, Throwable error) {
@@ -586,7 +723,7 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         return Collections.unmodifiableList(httpFilters);
     }
 
-    private boolean matchesFilterMatcher(FilterRoute filterRoute, RouteMatch<?> context) {
+    private boolean matchesFilterMatcher(FilterRoute filterRoute, AnnotationMetadataProvider context) {
         AnnotationMetadata annotationMetadata = filterRoute.getAnnotationMetadata();
         boolean matches = !annotationMetadata.hasStereotype(FilterMatcher.NAME);
         if (!matches) {
@@ -597,4 +734,46 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         }
         return matches;
     }
+
+    /**
+     * The precomputed filter chain of a route.
+     */
+    private static final class RouteFilterChain {
+        private final HttpFilter[] filters;
+        private final FilterRoute[] conditions;
+        private final List<HttpFilter> staticFilters;
+
+        /**
+         * @param filters    The ordered filters that may apply to the route
+         * @param conditions The filter routes to evaluate per request, {@code null} for filters that always apply
+         */
+        RouteFilterChain(HttpFilter[] filters, FilterRoute[] conditions) {
+            this.filters = filters;
+            this.conditions = conditions;
+            boolean dynamic = false;
+            for (FilterRoute condition : conditions) {
+                if (condition != null) {
+                    dynamic = true;
+                    break;
+                }
+            }
+            this.staticFilters = dynamic ? null : Collections.unmodifiableList(Arrays.asList(filters));
+        }
+
+        List<HttpFilter> resolve(HttpRequest<?> request) {
+            if (staticFilters != null) {
+                return staticFilters;
+            }
+            List<HttpFilter> httpFilters = new ArrayList<>(filters.length);
+            HttpMethod method = request.getMethod();
+            URI uri = request.getUri();
+            for (int i = 0; i < filters.length; i++) {
+                FilterRoute condition = conditions[i];
+                if (condition == null || condition.match(method, uri).isPresent()) {
+                    httpFilters.add(filters[i]);
+                }
+            }
+            return Collections.unmodifiableList(httpFilters);
+        }
+    }
 }
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.uri.UriMatchTemplate;
+import io.micronaut.http.uri.UriTypeMatchTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A segment trie over a list of {@link UriRoute} instances that narrows down the routes that can possibly
+ * match a given URI before the (comparatively expensive) {@link UriMatchTemplate#match(String)} is invoked.
+ *
+ * <p>Literal path segments become edges of the trie and simple variables (such as {@code {id}} or
+ * {@code {code:3}}) become wildcard edges. Templates that cannot be represented that way (regular expression
+ * modifiers, reserved expansion, optional path variables etc.) are kept in a fallback list and are always
+ * considered candidates. The candidates are returned in the order of the original route list, so the
+ * precedence of the routes is unchanged.</p>
+ *
+ * @since 3.8.0
+ */
+@Internal
+final class UriRouteIndex {
+
+    private static final UriRoute[] NO_ROUTES = new UriRoute[0];
+    private static final Pattern SIMPLE_VARIABLE = Pattern.compile("\\{([A-Za-z0-9_][A-Za-z0-9_\\-]*)(?::(\\d+))?}");
+    private static final Pattern QUERY_VARIABLES = Pattern.compile("(\\{[?&#][^{}]*})*");
+
+    private final UriRoute[] routes;
+    private final Node root;
+    private final int[] fallback;
+
+    private UriRouteIndex(UriRoute[] routes, Node root, int[] fallback) {
+        this.routes = routes;
+        this.root = root;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Builds an index for the given routes. The routes are expected to be sorted already.
+     *
+     * @param routes The routes
+     * @return The index
+     */
+    static UriRouteIndex of(@NonNull List<UriRoute> routes) {
+        UriRoute[] routeArray = routes.toArray(NO_ROUTES);
+        NodeBuilder root = new NodeBuilder();
+        List<Integer> fallback = new ArrayList<>();
+        for (int i = 0; i < routeArray.length; i++) {
+            List<Object> segments = parse(routeArray[i].getUriMatchTemplate());
+            if (segments == null) {
+                fallback.add(i);
+            } else {
+                NodeBuilder node = root;
+                for (Object segment : segments) {
+                    node = segment instanceof Wildcard ? node.wildcard((Wildcard) segment) : node.literal((String) segment);
+                }
+                node.routes.add(i);
+            }
+        }
+        return new UriRouteIndex(routeArray, root.build(), toIntArray(fallback));
+    }
+
+    /**
+     * @return The number of indexed routes
+     */
+    int size() {
+        return routes.length;
+    }
+
+    /**
+     * @return The number of routes that are not represented in the trie
+     */
+    int fallbackSize() {
+        return fallback.length;
+    }
+
+    /**
+     * @return All the routes in precedence order
+     */
+    UriRoute[] routes() {
+        return routes;
+    }
+
+    /**
+     * Finds the routes that may match the given URI. Every route that would match the URI is guaranteed to be
+     * contained in the result, however the result may contain routes that do not match.
+     *
+     * @param uri The URI
+     * @return The candidate routes in precedence order
+     */
+    UriRoute[] candidates(@NonNull String uri) {
+        if (routes.length == 0) {
+            return NO_ROUTES;
+        }
+        // mirror the normalization performed by UriMatchTemplate#match
+        int end = uri.length();
+        if (end > 1 && uri.charAt(end - 1) == '/') {
+            end--;
+        }
+        int queryIndex = uri.indexOf('?');
+        if (queryIndex > -1 && queryIndex < end) {
+            end = queryIndex;
+        }
+        if (end > 0 && uri.charAt(end - 1) == '/') {
+            end--;
+        }
+        int start = end > 0 && uri.charAt(0) == '/' ? 1 : 0;
+
+        Candidates candidates = new Candidates(fallback);
+        collect(root, uri, start, end, candidates);
+        return candidates.toRoutes(routes);
+    }
+
+    private static void collect(Node node, String uri, int start, int end, Candidates candidates) {
+        if (start >= end) {
+            candidates.add(node.routes);
+            return;
+        }
+        int segmentEnd = uri.indexOf('/', start);
+        if (segmentEnd == -1 || segmentEnd > end) {
+            segmentEnd = end;
+        }
+        Node literal = node.findLiteral(uri, start, segmentEnd);
+        if (literal != null) {
+            collect(literal, uri, segmentEnd + 1, end, candidates);
+        }
+        for (Wildcard wildcard : node.wildcards) {
+            if (wildcard.accepts(uri, start, segmentEnd)) {
+                collect(wildcard.node, uri, segmentEnd + 1, end, candidates);
+            }
+        }
+    }
+
+    /**
+     * Splits the path of a template into literal segments and wildcards.
+     *
+     * @param template The template
+     * @return The segments or {@code null} if the template cannot be represented in the trie
+     */
+    private static List<Object> parse(UriMatchTemplate template) {
+        boolean strict;
+        Class<?> templateType = template.getClass();
+        if (templateType == UriMatchTemplate.class) {
+            strict = true;
+        } else if (templateType == UriTypeMatchTemplate.class) {
+            // typed variables allow characters such as '+' and '.'
+            strict = false;
+        } else {
+            // custom templates may define arbitrary variable patterns
+            return null;
+        }
+        String path = template.toString();
+        int queryStart = firstQueryVariable(path);
+        if (queryStart > -1) {
+            if (!QUERY_VARIABLES.matcher(path.substring(queryStart)).matches()) {
+                return null;
+            }
+            path = path.substring(0, queryStart);
+        }
+        if (path.indexOf('?') > -1 || path.indexOf('#') > -1 || path.contains("://")) {
+            return null;
+        }
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        List<Object> segments = new ArrayList<>();
+        if (path.isEmpty()) {
+            return segments;
+        }
+        for (String segment : path.split("/", -1)) {
+            if (segment.isEmpty()) {
+                return null;
+            }
+            if (segment.indexOf('{') > -1 || segment.indexOf('}') > -1) {
+                Matcher matcher = SIMPLE_VARIABLE.matcher(segment);
+                if (!matcher.matches()) {
+                    return null;
+                }
+                String maxLength = matcher.group(2);
+                segments.add(new Wildcard(maxLength != null ? Integer.parseInt(maxLength) : Integer.MAX_VALUE, strict));
+            } else {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static int firstQueryVariable(String path) {
+        int index = -1;
+        for (String start : new String[] {"{?", "{&", "{#"}) {
+            int i = path.indexOf(start);
+            if (i > -1 && (index == -1 || i < index)) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static int hash(String value, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + value.charAt(i);
+        }
+        return h;
+    }
+
+    /**
+     * A wildcard edge that matches a single non-empty path segment.
+     */
+    private static final class Wildcard {
+        final int maxLength;
+        final boolean strict;
+        Node node;
+
+        Wildcard(int maxLength, boolean strict) {
+            this.maxLength = maxLength;
+            this.strict = strict;
+        }
+
+        boolean accepts(String uri, int start, int end) {
+            int length = end - start;
+            if (length == 0 || length > maxLength) {
+                return false;
+            }
+            if (strict) {
+                // see UriMatchTemplate.VARIABLE_MATCH_PATTERN
+                for (int i = start; i < end; i++) {
+                    switch (uri.charAt(i)) {
+                        case '#':
+                        case '&':
+                        case ';':
+                        case '+':
+                            return false;
+                        default:
+                            // no-op
+                    }
+                }
+            }
+            return true;
+        }
+
+        boolean sameType(Wildcard other) {
+            return maxLength == other.maxLength && strict == other.strict;
+        }
+    }
+
+    /**
+     * An immutable node of the trie. Literal children are kept sorted by hash code so they can be
+     * looked up without extracting the segment from the URI.
+     */
+    private static final class Node {
+        final int[] hashes;
+        final String[] literals;
+        final Node[] children;
+        final Wildcard[] wildcards;
+        final int[] routes;
+
+        Node(int[] hashes, String[] literals, Node[] children, Wildcard[] wildcards, int[] routes) {
+            this.hashes = hashes;
+            this.literals = literals;
+            this.children = children;
+            this.wildcards = wildcards;
+            this.routes = routes;
+        }
+
+        Node findLiteral(String uri, int start, int end) {
+            if (literals.length == 0) {
+                return null;
+            }
+            int length = end - start;
+            int hash = hash(uri, start, end);
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) {
+                return null;
+            }
+            // rewind to the first literal with the same hash
+            while (index > 0 && hashes[index - 1] == hash) {
+                index--;
+            }
+            for (int i = index; i < hashes.length && hashes[i] == hash; i++) {
+                String literal = literals[i];
+                if (literal.length() == length && uri.regionMatches(start, literal, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Mutable counterpart of {@link Node} used while building the index.
+     */
+    private static final class NodeBuilder {
+        final Map<String, NodeBuilder> literals = new LinkedHashMap<>();
+        final List<Wildcard> wildcards = new ArrayList<>(1);
+        final List<NodeBuilder> wildcardNodes = new ArrayList<>(1);
+        final List<Integer> routes = new ArrayList<>(1);
+
+        NodeBuilder literal(String segment) {
+            return literals.computeIfAbsent(segment, s -> new NodeBuilder());
+        }
+
+        NodeBuilder wildcard(Wildcard wildcard) {
+            for (int i = 0; i < wildcards.size(); i++) {
+                if (wildcards.get(i).sameType(wildcard)) {
+                    return wildcardNodes.get(i);
+                }
+            }
+            NodeBuilder node = new NodeBuilder();
+            wildcards.add(wildcard);
+            wildcardNodes.add(node);
+            return node;
+        }
+
+        Node build() {
+            String[] keys = literals.keySet().toArray(new String[0]);
+            Arrays.sort(keys, (a, b) -> Integer.compare(a.hashCode(), b.hashCode()));
+            int[] hashes = new int[keys.length];
+            Node[] children = new Node[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                hashes[i] = keys[i].hashCode();
+                children[i] = literals.get(keys[i]).build();
+            }
+            Wildcard[] builtWildcards = new Wildcard[wildcards.size()];
+            for (int i = 0; i < builtWildcards.length; i++) {
+                Wildcard wildcard = wildcards.get(i);
+                wildcard.node = wildcardNodes.get(i).build();
+                builtWildcards[i] = wildcard;
+            }
+            return new Node(hashes, keys, children, builtWildcards, toIntArray(routes));
+        }
+    }
+
+    /**
+     * Collects the indices of the candidate routes.
+     */
+    private static final class Candidates {
+        private int[] indices;
+        private int size;
+
+        Candidates(int[] fallback) {
+            this.indices = fallback.length == 0 ? fallback : Arrays.copyOf(fallback, fallback.length + 4);
+            this.size = fallback.length;
+        }
+
+        void add(int[] routes) {
+            int length = routes.length;
+            if (length == 0) {
+                return;
+            }
+            if (size + length > indices.length) {
+                indices = Arrays.copyOf(indices, Math.max(indices.length * 2, size + length));
+            }
+            System.arraycopy(routes, 0, indices, size, length);
+            size += length;
+        }
+
+        UriRoute[] toRoutes(UriRoute[] routes) {
+            if (size == 0) {
+                return NO_ROUTES;
+            }
+            if (size > 1) {
+                Arrays.sort(indices, 0, size);
+            }
+            UriRoute[] result = new UriRoute[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = routes[indices[i]];
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpAttributes
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MutableHttpResponse
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Filter
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.filter.HttpServerFilter
+import io.micronaut.http.filter.ServerFilterChain
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class DefaultRouterFilterChainSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run(['spec.name': 'DefaultRouterFilterChainSpec'])
+
+    @Shared
+    DefaultRouter router = context.getBean(DefaultRouter)
+
+    void "test filters are resolved from the precomputed chain of the matched route"() {
+        given:
+        long precomputed = router.precomputedFilterChainCount
+
+        when:
+        def request = HttpRequest.create(method, uri)
+        request.setAttribute(HttpAttributes.ROUTE_MATCH, router.find(method, uri, request).findFirst().get())
+        def filters = router.findFilters(request)
+
+        then:
+        filters*.class*.simpleName == expected
+        router.precomputedFilterChainCount == precomputed + 1
+
+        where:
+        method          | uri                | expected
+        HttpMethod.GET  | '/chain/books/1'   | ['ChainFilter']
+        HttpMethod.POST | '/chain/books'     | ['PostFilter', 'ChainFilter']
+        HttpMethod.GET  | '/chain/authors/1' | ['ChainFilter', 'VariableFilter']
+        HttpMethod.GET  | '/chain/authors/x' | ['ChainFilter']
+    }
+
+    @Requires(property = 'spec.name', value = 'DefaultRouterFilterChainSpec')
+    @Controller('/chain')
+    static class ChainController {
+
+        @Get('/books/{id}')
+        String book(String id) { id }
+
+        @Post('/books')
+        String save() { 'saved' }
+
+        @Get('/authors/{id}')
+        String author(String id) { id }
+    }
+
+    @Requires(property = 'spec.name', value = 'DefaultRouterFilterChainSpec')
+    @Filter('/chain/**')
+    static class ChainFilter implements HttpServerFilter {
+        @Override
+        Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+            chain.proceed(request)
+        }
+
+        @Override
+        int getOrder() { 10 }
+    }
+
+    @Requires(property = 'spec.name', value = 'DefaultRouterFilterChainSpec')
+    @Filter(value = '/chain/**', methods = HttpMethod.POST)
+    static class PostFilter implements HttpServerFilter {
+        @Override
+        Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+            chain.proceed(request)
+        }
+
+        @Override
+        int getOrder() { 5 }
+    }
+
+    @Requires(property = 'spec.name', value = 'DefaultRouterFilterChainSpec')
+    @Filter('/chain/authors/1')
+    static class VariableFilter implements HttpServerFilter {
+        @Override
+        Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+            chain.proceed(request)
+        }
+
+        @Override
+        int getOrder() { 20 }
+    }
+}
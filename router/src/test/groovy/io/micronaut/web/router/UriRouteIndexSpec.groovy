@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.stream.Collectors
+
+class UriRouteIndexSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run(['spec.name': 'UriRouteIndexSpec'])
+
+    @Shared
+    Router router = context.getBean(Router)
+
+    @Unroll
+    void "test the index returns the same matches as a linear scan for #uri"() {
+        given:
+        List<UriRoute> routes = router.uriRoutes()
+                .filter({ it.httpMethod == HttpMethod.GET && it.uriMatchTemplate.toString().startsWith('/index') })
+                .sorted()
+                .collect(Collectors.toList())
+        UriRouteIndex index = UriRouteIndex.of(routes)
+
+        when:
+        List<String> expected = routes
+                .findAll { it.match(uri).isPresent() }
+                .collect { it.uriMatchTemplate.toString() }
+        List<String> indexed = index.candidates(uri)
+                .findAll { it.match(uri).isPresent() }
+                .collect { it.uriMatchTemplate.toString() }
+
+        then:
+        indexed == expected
+        router.find(HttpMethod.GET, uri, null)
+                .map({ it.route.uriMatchTemplate.toString() })
+                .filter({ it.startsWith('/index') })
+                .collect(Collectors.toList()) == expected
+
+        where:
+        uri << [
+                '/index',
+                '/index/',
+                '/index/books',
+                '/index/books/1',
+                '/index/books/1/',
+                '/index/books/1?max=10',
+                '/index/books/1;foo',
+                '/index/books/1/authors',
+                '/index/books/abc/authors/2',
+                '/index/books/1234',
+                '/index/books/12',
+                '/index/regex/123',
+                '/index/regex/abc',
+                '/index/reserved/a/b/c',
+                '/index/optional',
+                '/index/optional/1',
+                '/index//books',
+                '/unknown'
+        ]
+    }
+
+    void "test routes that cannot be represented in the trie fall back to the template"() {
+        given:
+        List<UriRoute> routes = router.uriRoutes()
+                .filter({ it.httpMethod == HttpMethod.GET && it.uriMatchTemplate.toString().startsWith('/index') })
+                .sorted()
+                .collect(Collectors.toList())
+
+        expect:
+        UriRouteIndex.of(routes).fallbackSize() == 3
+        UriRouteIndex.of(routes).candidates('/unknown').length == 3
+    }
+
+    @Requires(property = 'spec.name', value = 'UriRouteIndexSpec')
+    @Controller('/index')
+    static class IndexController {
+
+        @Get
+        String index() { 'index' }
+
+        @Get('/books')
+        String books() { 'books' }
+
+        @Get('/books/{id}{?max}')
+        String book(String id, Integer max) { id }
+
+        @Get('/books/{code:3}')
+        String bookCode(String code) { code }
+
+        @Get('/books/{id}/authors')
+        String authors(String id) { id }
+
+        @Get('/books/{id}/authors/{authorId}')
+        String author(String id, String authorId) { authorId }
+
+        @Get('/regex/{id:[0-9]+}')
+        String regex(String id) { id }
+
+        @Get('/reserved{+path}')
+        String reserved(String path) { path }
+
+        @Get('/optional{/id}')
+        String optional(String id) { id }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry;
+
+/**
+ * Statistics of a {@link io.micronaut.retry.annotation.Bulkhead}.
+ *
+ * @since 3.8.0
+ * @see io.micronaut.retry.intercept.BulkheadInterceptor#getBulkheadMetrics()
+ */
+public interface BulkheadMetrics {
+
+    /**
+     * @return The current limit of concurrent calls
+     */
+    int getLimit();
+
+    /**
+     * @return The number of calls in progress
+     */
+    int getConcurrentCalls();
+
+    /**
+     * @return The number of calls waiting for a permit
+     */
+    int getQueuedCalls();
+
+    /**
+     * @return The number of completed calls
+     */
+    long getCompletedCalls();
+
+    /**
+     * @return The number of rejected calls
+     */
+    long getRejectedCalls();
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * Statistics of a sliding window {@link io.micronaut.retry.annotation.CircuitBreaker}, including the number of state
+ * transitions in addition to the {@link io.micronaut.retry.event.CircuitOpenEvent} and
+ * {@link io.micronaut.retry.event.CircuitClosedEvent} events.
+ *
+ * @since 3.8.0
+ * @see io.micronaut.retry.intercept.DefaultRetryInterceptor#getCircuitBreakerMetrics()
+ */
+public interface CircuitBreakerMetrics {
+
+    /**
+     * @return The current state of the circuit
+     */
+    @NonNull
+    CircuitState getState();
+
+    /**
+     * @return The number of calls in the sliding window
+     */
+    int getBufferedCalls();
+
+    /**
+     * @return The percentage of failed calls in the sliding window, or -1 until it holds the minimum number of calls
+     */
+    float getFailureRate();
+
+    /**
+     * @return The percentage of slow calls in the sliding window, or -1 until it holds the minimum number of calls
+     */
+    float getSlowCallRate();
+
+    /**
+     * @return The number of times the circuit opened
+     */
+    long getOpenedCount();
+
+    /**
+     * @return The number of times the circuit half opened
+     */
+    long getHalfOpenedCount();
+
+    /**
+     * @return The number of times the circuit closed after being half open
+     */
+    long getClosedCount();
+
+    /**
+     * @return The number of calls rejected because the circuit was open, or half open without probe calls left
+     */
+    long getRejectedCalls();
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry;
+
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A token bucket shared by all {@link io.micronaut.retry.annotation.Retryable} methods. Every retry takes a token, and
+ * once the bucket is empty operations fail with their last exception instead of being retried, so that a downstream
+ * outage cannot multiply the load on it nor keep the thread pools busy with retries. The bucket holds up to
+ * {@link RetryBudgetConfiguration#getMaxTokens()} tokens and is refilled at
+ * {@link RetryBudgetConfiguration#getTokensPerSecond()}.
+ *
+ * <p>The budget can also bound the number of threads blocked waiting to retry a synchronous method.</p>
+ *
+ * @since 3.8.0
+ */
+@Singleton
+@Requires(beans = RetryBudgetConfiguration.class)
+public final class RetryBudget {
+
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final long startNanos = System.nanoTime();
+    // the time, relative to startNanos, at which the bucket is empty; tokens accrue as time passes it
+    private final AtomicLong emptyAt;
+    private final Semaphore blockedThreads;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rejectedBlocked = new LongAdder();
+
+    /**
+     * @param configuration The retry budget configuration
+     */
+    @Inject
+    public RetryBudget(RetryBudgetConfiguration configuration) {
+        this(configuration.getMaxTokens(), configuration.getTokensPerSecond(), configuration.getMaxBlockedThreads());
+    }
+
+    /**
+     * @param maxTokens         The maximum number of tokens
+     * @param tokensPerSecond   The number of tokens added per second
+     * @param maxBlockedThreads The maximum number of threads blocked waiting to retry, 0 for no limit
+     */
+    public RetryBudget(int maxTokens, double tokensPerSecond, int maxBlockedThreads) {
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("Maximum tokens must be positive: " + maxTokens);
+        }
+        if (tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Tokens per second must be positive: " + tokensPerSecond);
+        }
+        this.nanosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond));
+        this.capacityNanos = nanosPerToken * maxTokens;
+        // the bucket starts full
+        this.emptyAt = new AtomicLong(-capacityNanos);
+        this.blockedThreads = maxBlockedThreads > 0 ? new Semaphore(maxBlockedThreads) : null;
+    }
+
+    /**
+     * Takes a token for a retry.
+     *
+     * @return Whether the retry is allowed
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime() - startNanos;
+        while (true) {
+            long current = emptyAt.get();
+            long next = Math.max(current, now - capacityNanos) + nanosPerToken;
+            if (next > now) {
+                rejected.increment();
+                return false;
+            }
+            if (emptyAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Takes a permit for a thread to block waiting to retry. The permit must be given back with
+     * {@link #releaseBlocked()}.
+     *
+     * @return Whether the thread may block
+     */
+    public boolean tryAcquireBlocked() {
+        if (blockedThreads == null || blockedThreads.tryAcquire()) {
+            return true;
+        }
+        rejectedBlocked.increment();
+        return false;
+    }
+
+    /**
+     * Gives back a permit taken by {@link #tryAcquireBlocked()}.
+     */
+    public void releaseBlocked() {
+        if (blockedThreads != null) {
+            blockedThreads.release();
+        }
+    }
+
+    /**
+     * @return The number of tokens currently available
+     */
+    public long getAvailableTokens() {
+        long now = System.nanoTime() - startNanos;
+        return Math.min(capacityNanos, now - emptyAt.get()) / nanosPerToken;
+    }
+
+    /**
+     * @return The number of retries that were not attempted because the budget was exhausted
+     */
+    public long getRejectedRetries() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return The number of retries that were not attempted because too many threads were blocked waiting to retry
+     */
+    public long getRejectedBlockedRetries() {
+        return rejectedBlocked.sum();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.Toggleable;
+
+/**
+ * Configuration of the {@link RetryBudget} shared by all {@link io.micronaut.retry.annotation.Retryable} methods.
+ *
+ * @since 3.8.0
+ */
+@ConfigurationProperties(RetryBudgetConfiguration.PREFIX)
+@Requires(property = RetryBudgetConfiguration.ENABLED, value = StringUtils.TRUE)
+public class RetryBudgetConfiguration implements Toggleable {
+
+    /**
+     * The prefix used for the retry budget configuration.
+     */
+    public static final String PREFIX = "micronaut.retry.budget";
+
+    /**
+     * Whether the retry budget is enabled.
+     */
+    public static final String ENABLED = PREFIX + ".enabled";
+
+    /**
+     * The default maximum number of retry tokens.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_TOKENS = 100;
+
+    /**
+     * The default number of retry tokens added per second.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final double DEFAULT_TOKENS_PER_SECOND = 10;
+
+    private boolean enabled;
+    private int maxTokens = DEFAULT_MAX_TOKENS;
+    private double tokensPerSecond = DEFAULT_TOKENS_PER_SECOND;
+    private int maxBlockedThreads;
+
+    /**
+     * @return Whether retries are limited by the budget
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Default value (false).
+     * @param enabled Whether retries are limited by the budget
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The maximum number of retry tokens, which bounds a burst of retries
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MAX_TOKENS}).
+     * @param maxTokens The maximum number of retry tokens, which bounds a burst of retries
+     */
+    public void setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    /**
+     * @return The number of retry tokens added per second, which bounds the sustained rate of retries
+     */
+    public double getTokensPerSecond() {
+        return tokensPerSecond;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_TOKENS_PER_SECOND}).
+     * @param tokensPerSecond The number of retry tokens added per second, which bounds the sustained rate of retries
+     */
+    public void setTokensPerSecond(double tokensPerSecond) {
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    /**
+     * @return The maximum number of threads blocked waiting to retry a synchronous method, 0 for no limit
+     */
+    public int getMaxBlockedThreads() {
+        return maxBlockedThreads;
+    }
+
+    /**
+     * Sets the maximum number of threads blocked waiting to retry a synchronous method. A synchronous method that would
+     * block one more thread fails with its last exception instead. Default value (0, no limit).
+     * @param maxBlockedThreads The maximum number of blocked threads
+     */
+    public void setMaxBlockedThreads(int maxBlockedThreads) {
+        this.maxBlockedThreads = maxBlockedThreads;
+    }
+}
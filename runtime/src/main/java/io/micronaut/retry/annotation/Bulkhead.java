@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.annotation;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.Type;
+import io.micronaut.retry.intercept.BulkheadInterceptor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * AOP Advice that bounds the number of concurrent calls to a method, so that a slow dependency cannot hold every thread
+ * or connection of the application. Calls over the limit wait for a permit or are rejected with a
+ * {@link io.micronaut.retry.exception.BulkheadRejectedException}. Applies to blocking methods as well as methods
+ * returning a {@link java.util.concurrent.CompletionStage} or a {@link org.reactivestreams.Publisher}, whose permit is
+ * held until the result completes.
+ *
+ * <p>When combined with {@link Retryable} or {@link CircuitBreaker}, each attempt takes its own permit.</p>
+ *
+ * @since 3.8.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Around
+@Type(BulkheadInterceptor.class)
+public @interface Bulkhead {
+
+    /**
+     * @return The maximum number of concurrent calls, the upper bound of the limit when it is {@link #adaptive()}
+     */
+    String maxConcurrentCalls() default "10";
+
+    /**
+     * @return What happens to the calls over the limit
+     */
+    Mode mode() default Mode.SEMAPHORE;
+
+    /**
+     * The maximum duration a blocking call waits for a permit. In {@link Mode#SEMAPHORE} mode, blocking calls are
+     * rejected immediately by default. In {@link Mode#QUEUE} mode, they wait for their turn for as long as needed by
+     * default.
+     *
+     * @return The maximum wait duration
+     */
+    String maxWaitDuration() default "0ms";
+
+    /**
+     * @return The maximum number of calls waiting for a permit in {@link Mode#QUEUE} mode
+     */
+    String maxQueuedCalls() default "100";
+
+    /**
+     * Whether the limit adapts to the observed latency. The limit starts half way between
+     * {@link #minConcurrentCalls()} and {@link #maxConcurrentCalls()}, and is adjusted once per window of completed
+     * calls, a window being at least as large as the limit. It grows by one after a window in which the method was
+     * busy, and shrinks by a tenth after a window with a failure or whose mean latency exceeds
+     * {@link #latencyTolerance()} times the mean latency smoothed over the previous windows.
+     *
+     * @return Whether the limit is adaptive
+     */
+    boolean adaptive() default false;
+
+    /**
+     * @return The lower bound of the adaptive limit
+     */
+    String minConcurrentCalls() default "1";
+
+    /**
+     * @return The ratio of the mean latency of a window to the smoothed mean latency above which an adaptive limit
+     * shrinks
+     */
+    String latencyTolerance() default "2.0";
+
+    /**
+     * What happens to the calls over the limit.
+     */
+    enum Mode {
+        /**
+         * Calls over the limit are rejected, blocking calls after waiting for up to {@link Bulkhead#maxWaitDuration()}.
+         */
+        SEMAPHORE,
+        /**
+         * Calls over the limit wait in a bounded queue and proceed in order as permits are released. Blocking calls
+         * block until their turn, while asynchronous calls are invoked once a permit is released, without blocking.
+         */
+        QUEUE
+    }
+}
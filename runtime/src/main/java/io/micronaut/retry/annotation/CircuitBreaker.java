@@ -89,6 +89,54 @@ public @interface CircuitBreaker {
      */
     String reset() default "20s";
 
+    /**
+     * The percentage of failed calls, out of the recent calls, at or above which the circuit opens. Setting it, or
+     * {@link #slowCallRateThreshold()}, switches the circuit breaker to a sliding window of the outcomes of the last
+     * {@link #slidingWindowSize()} calls, so that it opens under partial failure instead of once a call exhausted its
+     * retries.
+     *
+     * @return The failure rate threshold, between 1 and 100 (defaults to none)
+     * @since 3.8.0
+     */
+    String failureRateThreshold() default "";
+
+    /**
+     * The percentage of slow calls, out of the recent calls, at or above which the circuit opens. Requires the sliding
+     * window.
+     *
+     * @return The slow call rate threshold, between 1 and 100 (defaults to none)
+     * @see #slowCallDuration()
+     * @since 3.8.0
+     */
+    String slowCallRateThreshold() default "";
+
+    /**
+     * @return The duration, retries included, above which a call is slow
+     * @since 3.8.0
+     */
+    String slowCallDuration() default "5s";
+
+    /**
+     * @return The number of recent calls whose outcomes are kept in the sliding window
+     * @since 3.8.0
+     */
+    String slidingWindowSize() default "100";
+
+    /**
+     * @return The minimum number of calls in the sliding window before the rates are evaluated
+     * @since 3.8.0
+     */
+    String minimumNumberOfCalls() default "10";
+
+    /**
+     * The number of probe calls permitted while the circuit is {@link io.micronaut.retry.CircuitState#HALF_OPEN}. The
+     * circuit closes once they all succeeded, and opens again as soon as one of them fails or is slow.
+     *
+     * @return The number of probe calls
+     * @since 3.8.0
+     */
+    String permittedCallsInHalfOpenState() default "1";
+
     /**
      * @return The retry predicate class to use instead of {@link Retryable#includes} and {@link Retryable#excludes}
      * (defaults to none)
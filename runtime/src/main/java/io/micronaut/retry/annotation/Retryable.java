@@ -81,6 +81,29 @@ public @interface Retryable {
     @Digits(integer = 2, fraction = 2)
     String multiplier() default "1.0";
 
+    /**
+     * The fraction of each delay that is randomized, between 0 and 1. A delay {@code d} with a jitter {@code j} becomes a
+     * random delay between {@code d * (1 - j)} and {@code d}, which spreads out the retries of callers that failed
+     * together. A jitter of 1 gives the full jitter backoff.
+     *
+     * @return The jitter of the delay (defaults to none)
+     * @since 3.8.0
+     */
+    @Digits(integer = 1, fraction = 2)
+    String jitter() default "0";
+
+    /**
+     * Whether the retries of a synchronous method returning {@code void} are offloaded to the scheduled executor.
+     * When enabled, the caller returns once the first attempt failed with an exception that can be retried, and the
+     * next attempts run in the background without blocking a thread during the delays. Failures of the background
+     * attempts are logged and published as {@link io.micronaut.retry.event.RetryEvent} instances. Ignored for other
+     * methods, which block the caller or are retried asynchronously already.
+     *
+     * @return Whether to offload the retries (defaults to false)
+     * @since 3.8.0
+     */
+    boolean offload() default false;
+
     /**
      * @return The retry predicate class to use instead of {@link Retryable#includes} and {@link Retryable#excludes}
      * (defaults to none)
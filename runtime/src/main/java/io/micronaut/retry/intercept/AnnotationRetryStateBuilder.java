@@ -39,6 +39,7 @@ class AnnotationRetryStateBuilder implements RetryStateBuilder {
 
     private static final String ATTEMPTS = "attempts";
     private static final String MULTIPLIER = "multiplier";
+    private static final String JITTER = "jitter";
     private static final String DELAY = "delay";
     private static final String MAX_DELAY = "maxDelay";
     private static final String INCLUDES = "includes";
@@ -76,7 +77,8 @@ class AnnotationRetryStateBuilder implements RetryStateBuilder {
             delay,
             retry.get(MAX_DELAY, Duration.class).orElse(null),
             predicate,
-            capturedException
+            capturedException,
+            retry.get(JITTER, Double.class).orElse(0d)
         );
     }
 
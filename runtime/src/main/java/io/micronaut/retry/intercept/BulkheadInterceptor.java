@@ -0,0 +1,288 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptedMethod;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.BulkheadMetrics;
+import io.micronaut.retry.annotation.Bulkhead;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link MethodInterceptor} that limits the concurrent calls of a method annotated with {@link Bulkhead}. It runs
+ * after the {@link DefaultRetryInterceptor}, so that every attempt of a retried method takes a permit. Queued
+ * asynchronous calls are invoked on the scheduled executor once they get a permit, rather than on the thread that
+ * released it.
+ *
+ * @since 3.8.0
+ */
+@Singleton
+public class BulkheadInterceptor implements MethodInterceptor<Object, Object> {
+
+    /**
+     * The position of the interceptor, right after the {@link InterceptPhase#RETRY} phase.
+     */
+    public static final int POSITION = InterceptPhase.RETRY.getPosition() + 10;
+
+    private static final int DEFAULT_MAX_CONCURRENT_CALLS = 10;
+    private static final int DEFAULT_MAX_QUEUED_CALLS = 100;
+    private static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+
+    private final Map<ExecutableMethod, BulkheadLimiter> limiters = new ConcurrentHashMap<>();
+    private final ExecutorService executorService;
+
+    /**
+     * @param executorService The executor service to invoke the queued asynchronous calls on
+     */
+    public BulkheadInterceptor(@Named(TaskExecutors.SCHEDULED) ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * @return The metrics of the bulkheads, by method
+     */
+    public Map<ExecutableMethod, BulkheadMetrics> getBulkheadMetrics() {
+        return Collections.unmodifiableMap(limiters);
+    }
+
+    @Override
+    public int getOrder() {
+        return POSITION;
+    }
+
+    @Nullable
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (!context.hasStereotype(Bulkhead.class)) {
+            return context.proceed();
+        }
+        BulkheadLimiter limiter = limiters.get(context.getExecutableMethod());
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(context.getExecutableMethod(), method -> newLimiter(context));
+        }
+
+        InterceptedMethod interceptedMethod = InterceptedMethod.of(context);
+        try {
+            switch (interceptedMethod.resultType()) {
+                case PUBLISHER:
+                    return interceptedMethod.handleResult(interceptPublisher(interceptedMethod, limiter));
+                case COMPLETION_STAGE:
+                    return interceptedMethod.handleResult(interceptCompletionStage(interceptedMethod, limiter));
+                case SYNCHRONOUS:
+                    acquireBlocking(limiter);
+                    long start = System.nanoTime();
+                    boolean failed = true;
+                    try {
+                        Object result = interceptedMethod.interceptResult();
+                        failed = false;
+                        return result;
+                    } finally {
+                        limiter.release(System.nanoTime() - start, failed);
+                    }
+                default:
+                    return interceptedMethod.unsupported();
+            }
+        } catch (Exception e) {
+            return interceptedMethod.handleException(e);
+        }
+    }
+
+    private BulkheadLimiter newLimiter(MethodInvocationContext<Object, Object> context) {
+        return new BulkheadLimiter(
+                context.getExecutableMethod(),
+                context.enumValue(Bulkhead.class, "mode", Bulkhead.Mode.class).orElse(Bulkhead.Mode.SEMAPHORE) == Bulkhead.Mode.QUEUE,
+                context.getValue(Bulkhead.class, "maxWaitDuration", Duration.class).map(Duration::toNanos).orElse(0L),
+                context.getValue(Bulkhead.class, "maxQueuedCalls", Integer.class).orElse(DEFAULT_MAX_QUEUED_CALLS),
+                context.isTrue(Bulkhead.class, "adaptive"),
+                context.getValue(Bulkhead.class, "minConcurrentCalls", Integer.class).orElse(1),
+                context.getValue(Bulkhead.class, "maxConcurrentCalls", Integer.class).orElse(DEFAULT_MAX_CONCURRENT_CALLS),
+                context.getValue(Bulkhead.class, "latencyTolerance", Double.class).orElse(DEFAULT_LATENCY_TOLERANCE)
+        );
+    }
+
+    private void acquireBlocking(BulkheadLimiter limiter) {
+        if (limiter.tryAcquire()) {
+            return;
+        }
+        long maxWaitNanos = limiter.getMaxWaitNanos();
+        if (!limiter.isQueue() && maxWaitNanos <= 0) {
+            throw limiter.reject();
+        }
+        BlockingWaiter waiter = new BlockingWaiter();
+        if (!limiter.enqueue(waiter)) {
+            throw limiter.reject();
+        }
+        boolean acquired;
+        try {
+            if (maxWaitNanos > 0) {
+                acquired = waiter.latch.await(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } else {
+                waiter.latch.await();
+                acquired = true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired && limiter.cancel(waiter)) {
+            throw limiter.reject();
+        }
+    }
+
+    private CompletionStage<Object> interceptCompletionStage(InterceptedMethod interceptedMethod,
+                                                             BulkheadLimiter limiter) {
+        CompletableFuture<Object> newFuture = new CompletableFuture<>();
+        if (limiter.tryAcquire()) {
+            invokeCompletionStage(interceptedMethod, limiter, newFuture);
+            return newFuture;
+        }
+        if (!limiter.isQueue()) {
+            throw limiter.reject();
+        }
+        BulkheadLimiter.Waiter waiter = new BulkheadLimiter.Waiter() {
+            @Override
+            void onAcquired() {
+                try {
+                    executorService.execute(() -> invokeCompletionStage(interceptedMethod, limiter, newFuture));
+                } catch (RejectedExecutionException e) {
+                    limiter.release(-1, false);
+                    newFuture.completeExceptionally(e);
+                }
+            }
+        };
+        if (!limiter.enqueue(waiter)) {
+            throw limiter.reject();
+        }
+        newFuture.whenComplete((value, throwable) -> {
+            if (newFuture.isCancelled()) {
+                limiter.cancel(waiter);
+            }
+        });
+        return newFuture;
+    }
+
+    private void invokeCompletionStage(InterceptedMethod interceptedMethod,
+                                       BulkheadLimiter limiter,
+                                       CompletableFuture<Object> newFuture) {
+        long start = System.nanoTime();
+        CompletionStage<?> result;
+        try {
+            result = interceptedMethod.interceptResultAsCompletionStage();
+        } catch (Throwable e) {
+            limiter.release(System.nanoTime() - start, true);
+            newFuture.completeExceptionally(e);
+            return;
+        }
+        result.whenComplete((value, throwable) -> {
+            limiter.release(System.nanoTime() - start, throwable != null);
+            if (throwable != null) {
+                newFuture.completeExceptionally(throwable);
+            } else {
+                newFuture.complete(value);
+            }
+        });
+    }
+
+    private Publisher<Object> interceptPublisher(InterceptedMethod interceptedMethod,
+                                                 BulkheadLimiter limiter) {
+        // the permit is taken on subscription and held until the publisher terminates or is cancelled
+        return Flux.defer(() -> {
+            PublisherWaiter waiter = new PublisherWaiter(executorService);
+            return Mono.<Void>create(sink -> {
+                        waiter.sink = sink;
+                        if (limiter.tryAcquire(waiter)) {
+                            sink.success();
+                        } else if (!limiter.isQueue()) {
+                            sink.error(limiter.reject());
+                        } else {
+                            sink.onCancel(() -> limiter.cancel(waiter));
+                            if (!limiter.enqueue(waiter)) {
+                                sink.error(limiter.reject());
+                            }
+                        }
+                    })
+                    .thenMany(Flux.defer(() -> {
+                        waiter.start = System.nanoTime();
+                        return Flux.from(interceptedMethod.interceptResultAsPublisher());
+                    }))
+                    .doFinally(signal -> limiter.release(
+                            waiter,
+                            waiter.start == 0 ? -1 : System.nanoTime() - waiter.start,
+                            signal == SignalType.ON_ERROR
+                    ));
+        });
+    }
+
+    /**
+     * A blocked thread waiting for a permit.
+     */
+    private static final class BlockingWaiter extends BulkheadLimiter.Waiter {
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        @Override
+        void onAcquired() {
+            latch.countDown();
+        }
+    }
+
+    /**
+     * A subscription waiting for a permit.
+     */
+    private static final class PublisherWaiter extends BulkheadLimiter.Waiter {
+
+        final ExecutorService executorService;
+        volatile MonoSink<Void> sink;
+        volatile long start;
+
+        PublisherWaiter(ExecutorService executorService) {
+            this.executorService = executorService;
+        }
+
+        @Override
+        void onAcquired() {
+            MonoSink<Void> sink = this.sink;
+            try {
+                executorService.execute(sink::success);
+            } catch (RejectedExecutionException e) {
+                // the permit is released once the error terminates the subscription
+                sink.error(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.BulkheadMetrics;
+import io.micronaut.retry.exception.BulkheadRejectedException;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The concurrency limit of a {@link io.micronaut.retry.annotation.Bulkhead} method. Permits are taken by
+ * compare-and-set on the number of calls in progress, and the calls waiting for a permit are {@link Waiter}s queued in
+ * order, each handed a permit by the thread releasing one. A waiter is either handed its permit or cancelled, never
+ * both, so that a waiter that gives up cannot leak a permit.
+ *
+ * <p>When adaptive, the limit follows an additive increase / multiplicative decrease of the latency, evaluated once per
+ * window of completed calls. The limit grows by one after a window in which at least half of it was in use, and
+ * shrinks by a tenth after a window with a failure or whose mean latency exceeds the latency tolerance times a
+ * baseline, the mean latency smoothed over the previous windows.</p>
+ *
+ * @since 3.8.0
+ */
+class BulkheadLimiter implements BulkheadMetrics {
+
+    private static final double DECREASE_RATIO = 0.9;
+    private static final double BASELINE_SMOOTHING = 0.1;
+    private static final int MIN_WINDOW_SIZE = 10;
+
+    private final ExecutableMethod<?, ?> method;
+    private final boolean queue;
+    private final long maxWaitNanos;
+    private final int maxQueuedCalls;
+    private final boolean adaptive;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+    private final AtomicInteger queuedCalls = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final Window window = new Window();
+    private volatile int limit;
+
+    /**
+     * @param method           The method protected by the bulkhead
+     * @param queue            Whether calls over the limit wait in a queue
+     * @param maxWaitNanos     The maximum time a blocking call waits for a permit, 0 to wait as the mode implies
+     * @param maxQueuedCalls   The maximum number of waiting calls
+     * @param adaptive         Whether the limit adapts to the latency
+     * @param minLimit         The lower bound of the adaptive limit
+     * @param maxLimit         The fixed limit, or the upper bound of the adaptive limit
+     * @param latencyTolerance The ratio of the mean latency to the baseline above which the adaptive limit shrinks
+     */
+    BulkheadLimiter(ExecutableMethod<?, ?> method,
+                    boolean queue,
+                    long maxWaitNanos,
+                    int maxQueuedCalls,
+                    boolean adaptive,
+                    int minLimit,
+                    int maxLimit,
+                    double latencyTolerance) {
+        this.method = method;
+        this.queue = queue;
+        this.maxWaitNanos = maxWaitNanos;
+        this.maxQueuedCalls = maxQueuedCalls;
+        this.adaptive = adaptive;
+        this.maxLimit = Math.max(1, maxLimit);
+        this.minLimit = Math.max(1, Math.min(minLimit, this.maxLimit));
+        this.latencyTolerance = latencyTolerance;
+        // an adaptive limit starts half way, so that it can grow as well as shrink
+        this.limit = adaptive ? Math.max(this.minLimit, (this.minLimit + this.maxLimit) / 2) : this.maxLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getConcurrentCalls() {
+        return concurrentCalls.get();
+    }
+
+    @Override
+    public int getQueuedCalls() {
+        return queuedCalls.get();
+    }
+
+    @Override
+    public long getCompletedCalls() {
+        return completed.sum();
+    }
+
+    @Override
+    public long getRejectedCalls() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return Whether calls over the limit wait in a queue
+     */
+    boolean isQueue() {
+        return queue;
+    }
+
+    /**
+     * @return The maximum time a blocking call waits for a permit, 0 to wait as the mode implies
+     */
+    long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * Takes a permit for a new call. In queue mode, a new call does not take a permit while calls are waiting, so
+     * that the calls proceed in order.
+     *
+     * @return Whether a permit was taken
+     */
+    boolean tryAcquire() {
+        if (queue && !waiters.isEmpty()) {
+            return false;
+        }
+        return acquirePermit();
+    }
+
+    /**
+     * Takes a permit for the given waiter if one is available, without queueing it.
+     *
+     * @param waiter The waiter
+     * @return Whether the waiter got a permit
+     */
+    boolean tryAcquire(Waiter waiter) {
+        if (tryAcquire()) {
+            waiter.state.set(Waiter.ACQUIRED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Queues a waiter, which is {@link Waiter#onAcquired() notified} once it gets a permit, possibly before this
+     * method returns.
+     *
+     * @param waiter The waiter
+     * @return Whether the waiter was queued, false if the queue is full
+     */
+    boolean enqueue(Waiter waiter) {
+        if (queuedCalls.incrementAndGet() > maxQueuedCalls) {
+            queuedCalls.decrementAndGet();
+            return false;
+        }
+        waiters.add(waiter);
+        // a permit may have been released before the waiter was visible
+        drain();
+        return true;
+    }
+
+    /**
+     * Cancels a waiter that has not got a permit yet.
+     *
+     * @param waiter The waiter
+     * @return Whether the waiter was cancelled, false if it already got a permit
+     */
+    boolean cancel(Waiter waiter) {
+        if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+            if (waiters.remove(waiter)) {
+                queuedCalls.decrementAndGet();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Releases the permit of a waiter, if it got one and did not release it yet.
+     *
+     * @param waiter       The waiter
+     * @param latencyNanos The latency of the call, negative if the call did not start
+     * @param failed       Whether the call failed
+     */
+    void release(Waiter waiter, long latencyNanos, boolean failed) {
+        if (waiter.state.compareAndSet(Waiter.ACQUIRED, Waiter.RELEASED)) {
+            release(latencyNanos, failed);
+        } else {
+            cancel(waiter);
+        }
+    }
+
+    /**
+     * Releases a permit.
+     *
+     * @param latencyNanos The latency of the call, negative if the call did not start
+     * @param failed       Whether the call failed
+     */
+    void release(long latencyNanos, boolean failed) {
+        concurrentCalls.decrementAndGet();
+        if (latencyNanos >= 0) {
+            completed.increment();
+            if (adaptive) {
+                window.record(latencyNanos, failed);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Counts a rejected call.
+     *
+     * @return The exception to fail the call with
+     */
+    BulkheadRejectedException reject() {
+        rejected.increment();
+        return new BulkheadRejectedException("Bulkhead full for method [" + method + "]: " + concurrentCalls.get() + " concurrent calls, " + queuedCalls.get() + " queued calls");
+    }
+
+    private boolean acquirePermit() {
+        while (true) {
+            int calls = concurrentCalls.get();
+            if (calls >= limit) {
+                return false;
+            }
+            if (concurrentCalls.compareAndSet(calls, calls + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void drain() {
+        // a waiter may release a permit while it is notified, the thread already draining then loops again instead
+        // of recursing
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (!waiters.isEmpty() && acquirePermit()) {
+                Waiter waiter = waiters.poll();
+                if (waiter == null) {
+                    concurrentCalls.decrementAndGet();
+                    continue;
+                }
+                queuedCalls.decrementAndGet();
+                if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.ACQUIRED)) {
+                    waiter.onAcquired();
+                } else {
+                    concurrentCalls.decrementAndGet();
+                }
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * The calls completed since the limit was last adjusted.
+     */
+    private final class Window {
+        private int calls;
+        private long latencySum;
+        private boolean failed;
+        private int maxConcurrentCalls;
+        private double baselineNanos = -1;
+
+        synchronized void record(long latencyNanos, boolean callFailed) {
+            calls++;
+            latencySum += latencyNanos;
+            failed |= callFailed;
+            // the call is already released, count it as in progress
+            maxConcurrentCalls = Math.max(maxConcurrentCalls, concurrentCalls.get() + 1);
+            int current = limit;
+            if (calls < Math.max(MIN_WINDOW_SIZE, current)) {
+                return;
+            }
+            double meanNanos = (double) latencySum / calls;
+            int next = current;
+            if (baselineNanos < 0) {
+                baselineNanos = meanNanos;
+            } else if (failed || meanNanos > baselineNanos * latencyTolerance) {
+                next = Math.max(minLimit, (int) (current * DECREASE_RATIO));
+            } else if (maxConcurrentCalls * 2 >= current) {
+                next = Math.min(maxLimit, current + 1);
+            }
+            // the baseline follows the latency slowly, a sudden increase is seen as congestion
+            baselineNanos += (meanNanos - baselineNanos) * BASELINE_SMOOTHING;
+            limit = next;
+            calls = 0;
+            latencySum = 0;
+            failed = false;
+            maxConcurrentCalls = 0;
+        }
+    }
+
+    /**
+     * A call waiting for a permit.
+     */
+    abstract static class Waiter {
+
+        static final int WAITING = 0;
+        static final int ACQUIRED = 1;
+        static final int CANCELLED = 2;
+        static final int RELEASED = 3;
+
+        final AtomicInteger state = new AtomicInteger(WAITING);
+
+        /**
+         * Invoked once the waiter got a permit, by the thread that released it.
+         */
+        abstract void onAcquired();
+    }
+}
@@ -24,11 +24,14 @@ import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.convert.value.MutableConvertibleValues;
 import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.CircuitBreakerMetrics;
+import io.micronaut.retry.RetryBudget;
 import io.micronaut.retry.RetryState;
 import io.micronaut.retry.annotation.CircuitBreaker;
 import io.micronaut.retry.annotation.Retryable;
 import io.micronaut.retry.event.RetryEvent;
 import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import org.reactivestreams.Publisher;
@@ -38,6 +41,7 @@ import reactor.core.publisher.Flux;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -62,10 +66,20 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultRetryInterceptor.class);
     private static final int DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS = 20;
+    private static final String OFFLOAD = "offload";
+    private static final String FAILURE_RATE_THRESHOLD = "failureRateThreshold";
+    private static final String SLOW_CALL_RATE_THRESHOLD = "slowCallRateThreshold";
+    private static final int DEFAULT_SLOW_CALL_DURATION_IN_SECONDS = 5;
+    private static final int DEFAULT_SLIDING_WINDOW_SIZE = 100;
+    private static final int DEFAULT_MINIMUM_NUMBER_OF_CALLS = 10;
+    private static final Object OFFLOADED = new Object();
 
     private final ApplicationEventPublisher eventPublisher;
     private final ScheduledExecutorService executorService;
     private final Map<ExecutableMethod, CircuitBreakerRetry> circuitContexts = new ConcurrentHashMap<>();
+    private final Map<ExecutableMethod, SlidingWindowCircuitBreaker> slidingWindowCircuits = new ConcurrentHashMap<>();
+    @Nullable
+    private final RetryBudget retryBudget;
 
     /**
      * Construct a default retry method interceptor with the event publisher.
@@ -74,8 +88,32 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
      * @param executorService The executor service to use for completable futures
      */
     public DefaultRetryInterceptor(ApplicationEventPublisher eventPublisher, @Named(TaskExecutors.SCHEDULED) ExecutorService executorService) {
+        this(eventPublisher, executorService, null);
+    }
+
+    /**
+     * Construct a default retry method interceptor with the event publisher and the retry budget.
+     *
+     * @param eventPublisher  The event publisher to publish retry events
+     * @param executorService The executor service to use for completable futures and offloaded retries
+     * @param retryBudget     The budget shared by all the retries, if enabled
+     * @since 3.8.0
+     */
+    @Inject
+    public DefaultRetryInterceptor(ApplicationEventPublisher eventPublisher,
+                                   @Named(TaskExecutors.SCHEDULED) ExecutorService executorService,
+                                   @Nullable RetryBudget retryBudget) {
         this.eventPublisher = eventPublisher;
         this.executorService = (ScheduledExecutorService) executorService;
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * @return The metrics of the circuit breakers with a failure rate or slow call rate threshold, by method
+     * @since 3.8.0
+     */
+    public Map<ExecutableMethod, CircuitBreakerMetrics> getCircuitBreakerMetrics() {
+        return Collections.unmodifiableMap(slidingWindowCircuits);
     }
 
     @Override
@@ -99,13 +137,28 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         );
 
         if (isCircuitBreaker) {
-            long timeout = context
-                    .getValue(CircuitBreaker.class, "reset", Duration.class)
-                    .map(Duration::toMillis).orElse(Duration.ofSeconds(DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS).toMillis());
-            retryState = circuitContexts.computeIfAbsent(
-                    context.getExecutableMethod(),
-                    method -> new CircuitBreakerRetry(timeout, retryStateBuilder, context, eventPublisher)
-            );
+            // a method has either a classic or a sliding window circuit, so the maps also cache which kind it uses
+            ExecutableMethod<Object, Object> executableMethod = context.getExecutableMethod();
+            CircuitBreakerRetry circuit = circuitContexts.get(executableMethod);
+            SlidingWindowCircuitBreaker slidingWindowCircuit = circuit == null ? slidingWindowCircuits.get(executableMethod) : null;
+            if (circuit != null) {
+                retryState = circuit;
+            } else if (slidingWindowCircuit != null) {
+                retryState = slidingWindowCircuit.newCall();
+            } else if (isSlidingWindow(context)) {
+                retryState = slidingWindowCircuits.computeIfAbsent(
+                        executableMethod,
+                        method -> newSlidingWindowCircuitBreaker(context, retryStateBuilder)
+                ).newCall();
+            } else {
+                long timeout = context
+                        .getValue(CircuitBreaker.class, "reset", Duration.class)
+                        .map(Duration::toMillis).orElse(Duration.ofSeconds(DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS).toMillis());
+                retryState = circuitContexts.computeIfAbsent(
+                        executableMethod,
+                        method -> new CircuitBreakerRetry(timeout, retryStateBuilder, context, eventPublisher)
+                );
+            }
         } else {
             retryState = (MutableRetryState) retryStateBuilder.build();
         }
@@ -117,13 +170,17 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         try {
             retryState.open();
             // Retry method call before we have actual Publisher/CompletionStage result
-            Object result = retrySync(context, retryState, interceptedMethod);
+            boolean offload = interceptedMethod.resultType() == InterceptedMethod.ResultType.SYNCHRONOUS
+                    && retry.isTrue(OFFLOAD)
+                    && context.getReturnType().isVoid();
+            Object result = retrySync(context, retryState, interceptedMethod, offload);
             switch (interceptedMethod.resultType()) {
                 case PUBLISHER:
                     Flux<Object> reactiveSequence = Flux.from((Publisher<?>) result);
                     return interceptedMethod.handleResult(
                             reactiveSequence.onErrorResume(retryFlowable(context, retryState, reactiveSequence))
                                     .doOnNext(o -> retryState.close(null))
+                                    .doOnComplete(() -> retryState.close(null))
                     );
                 case COMPLETION_STAGE:
                     CompletableFuture<Object> newFuture = new CompletableFuture<>();
@@ -131,6 +188,9 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                     ((CompletionStage<?>) result).whenComplete(retryCompletable(context, retryState, newFuture, retrySupplier));
                     return interceptedMethod.handleResult(newFuture);
                 case SYNCHRONOUS:
+                    if (result == OFFLOADED) {
+                        return null;
+                    }
                     retryState.close(null);
                     return result;
                 default:
@@ -141,6 +201,39 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         }
     }
 
+    private boolean isSlidingWindow(MethodInvocationContext<Object, Object> context) {
+        return context.getValue(CircuitBreaker.class, FAILURE_RATE_THRESHOLD, Float.class).isPresent()
+                || context.getValue(CircuitBreaker.class, SLOW_CALL_RATE_THRESHOLD, Float.class).isPresent();
+    }
+
+    private SlidingWindowCircuitBreaker newSlidingWindowCircuitBreaker(MethodInvocationContext<Object, Object> context,
+                                                                       AnnotationRetryStateBuilder retryStateBuilder) {
+        return new SlidingWindowCircuitBreaker(
+                context.getExecutableMethod(),
+                retryStateBuilder,
+                eventPublisher,
+                context.getValue(CircuitBreaker.class, "reset", Duration.class).orElse(Duration.ofSeconds(DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS)),
+                rateThreshold(context, FAILURE_RATE_THRESHOLD),
+                rateThreshold(context, SLOW_CALL_RATE_THRESHOLD),
+                context.getValue(CircuitBreaker.class, "slowCallDuration", Duration.class).orElse(Duration.ofSeconds(DEFAULT_SLOW_CALL_DURATION_IN_SECONDS)),
+                context.getValue(CircuitBreaker.class, "slidingWindowSize", Integer.class).orElse(DEFAULT_SLIDING_WINDOW_SIZE),
+                context.getValue(CircuitBreaker.class, "minimumNumberOfCalls", Integer.class).orElse(DEFAULT_MINIMUM_NUMBER_OF_CALLS),
+                context.getValue(CircuitBreaker.class, "permittedCallsInHalfOpenState", Integer.class).orElse(1)
+        );
+    }
+
+    private float rateThreshold(MethodInvocationContext<Object, Object> context, String member) {
+        Optional<Float> threshold = context.getValue(CircuitBreaker.class, member, Float.class);
+        if (!threshold.isPresent()) {
+            return 0f;
+        }
+        float value = threshold.get();
+        if (!(value > 0 && value <= 100)) {
+            throw new IllegalArgumentException("The " + member + " of the circuit breaker of method [" + context.getExecutableMethod() + "] must be greater than 0 and at most 100: " + value);
+        }
+        return value;
+    }
+
     private BiConsumer<Object, ? super Throwable> retryCompletable(MethodInvocationContext<Object, Object> context,
                                                                    MutableRetryState retryState,
                                                                    CompletableFuture<Object> newFuture,
@@ -151,7 +244,7 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                 newFuture.complete(value);
                 return;
             }
-            if (retryState.canRetry(exception)) {
+            if (retryState.canRetry(exception) && acquireRetry(context)) {
                 long delay = retryState.nextDelay();
                 if (eventPublisher != null) {
                     try {
@@ -180,7 +273,7 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
     @SuppressWarnings("unchecked")
     private <T> Function<? super Throwable, ? extends Publisher<? extends T>> retryFlowable(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, Flux<Object> observable) {
         return exception -> {
-            if (retryState.canRetry(exception)) {
+            if (retryState.canRetry(exception) && acquireRetry(context)) {
                 Flux retryObservable = observable.onErrorResume(retryFlowable(context, retryState, observable));
                 long delay = retryState.nextDelay();
                 if (eventPublisher != null) {
@@ -204,7 +297,7 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         };
     }
 
-    private Object retrySync(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, InterceptedMethod interceptedMethod) {
+    private Object retrySync(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, InterceptedMethod interceptedMethod, boolean offload) {
         boolean firstCall = true;
         while (true) {
             try {
@@ -218,7 +311,20 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                     throw e;
                 }
 
-                if (!retryState.canRetry(e)) {
+                boolean canRetry = retryState.canRetry(e);
+                // the blocked thread permit is checked first so that a rejected retry does not spend a budget token
+                boolean blocking = !offload && retryBudget != null;
+                if (canRetry && blocking && !retryBudget.tryAcquireBlocked()) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Too many threads waiting to retry. Rethrowing original exception for method: {}", context);
+                    }
+                    retryState.close(e);
+                    throw e;
+                }
+                if (!canRetry || !acquireRetry(context)) {
+                    if (canRetry && blocking) {
+                        retryBudget.releaseBlocked();
+                    }
                     if (LOG.isDebugEnabled()) {
                         LOG.debug("Cannot retry anymore. Rethrowing original exception for method: {}", context);
                     }
@@ -226,24 +332,75 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                     throw e;
                 } else {
                     long delayMillis = retryState.nextDelay();
-                    try {
-                        if (eventPublisher != null) {
-                            try {
-                                eventPublisher.publishEvent(new RetryEvent(context, retryState, e));
-                            } catch (Exception e1) {
-                                LOG.error("Error occurred publishing RetryEvent: " + e1.getMessage(), e1);
-                            }
+                    if (eventPublisher != null) {
+                        try {
+                            eventPublisher.publishEvent(new RetryEvent(context, retryState, e));
+                        } catch (Exception e1) {
+                            LOG.error("Error occurred publishing RetryEvent: " + e1.getMessage(), e1);
                         }
+                    }
+                    if (offload) {
+                        scheduleOffloaded(context, retryState, interceptedMethod, e, delayMillis);
+                        return OFFLOADED;
+                    }
+                    try {
                         if (LOG.isDebugEnabled()) {
                             LOG.debug("Retrying execution for method [{}] after delay of {}ms for exception: {}", context, delayMillis, e.getMessage());
                         }
                         Thread.sleep(delayMillis);
                     } catch (InterruptedException e1) {
                         throw e;
+                    } finally {
+                        if (blocking) {
+                            retryBudget.releaseBlocked();
+                        }
                     }
                 }
             }
         }
     }
 
+    private void scheduleOffloaded(MethodInvocationContext<Object, Object> context,
+                                   MutableRetryState retryState,
+                                   InterceptedMethod interceptedMethod,
+                                   Throwable exception,
+                                   long delay) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Retrying execution for method [{}] in the background after delay of {}ms for exception: {}", context, delay, exception.getMessage());
+        }
+        executorService.schedule(() -> {
+            try {
+                interceptedMethod.interceptResult(this);
+                retryState.close(null);
+            } catch (Throwable e) {
+                if (retryState.getCapturedException().isAssignableFrom(e.getClass()) && retryState.canRetry(e) && acquireRetry(context)) {
+                    long nextDelay = retryState.nextDelay();
+                    if (eventPublisher != null) {
+                        try {
+                            eventPublisher.publishEvent(new RetryEvent(context, retryState, e));
+                        } catch (Exception e1) {
+                            LOG.error("Error occurred publishing RetryEvent: " + e1.getMessage(), e1);
+                        }
+                    }
+                    scheduleOffloaded(context, retryState, interceptedMethod, e, nextDelay);
+                } else {
+                    retryState.close(e);
+                    if (LOG.isErrorEnabled()) {
+                        LOG.error("Offloaded retries of method [" + context + "] failed: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean acquireRetry(MethodInvocationContext<Object, Object> context) {
+        if (retryBudget == null || retryBudget.tryAcquire()) {
+            return true;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Retry budget exhausted. Not retrying method: {}", context);
+        }
+        return false;
+    }
+
 }
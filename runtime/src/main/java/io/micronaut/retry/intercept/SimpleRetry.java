@@ -23,6 +23,7 @@ import io.micronaut.retry.annotation.RetryPredicate;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.OptionalDouble;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -42,6 +43,7 @@ class SimpleRetry implements RetryState, MutableRetryState {
     private final AtomicLong overallDelay = new AtomicLong(0);
     private final RetryPredicate predicate;
     private final Class<? extends Throwable> capturedException;
+    private final double jitter;
 
     /**
      * @param maxAttempts The maximum number of attemps
@@ -50,6 +52,8 @@ class SimpleRetry implements RetryState, MutableRetryState {
      * @param maxDelay The maximum overall delay
      * @param predicate Predicate to check retry necessity
      * @param capturedException The capture exception types
+     * @param jitter The fraction of each delay that is randomized
+     * @since 3.8.0
      */
     SimpleRetry(
         int maxAttempts,
@@ -57,7 +61,8 @@ class SimpleRetry implements RetryState, MutableRetryState {
         Duration delay,
         Duration maxDelay,
         RetryPredicate predicate,
-        Class<? extends Throwable> capturedException) {
+        Class<? extends Throwable> capturedException,
+        double jitter) {
 
         this.maxAttempts = maxAttempts;
         this.multiplier = multiplier;
@@ -65,6 +70,25 @@ class SimpleRetry implements RetryState, MutableRetryState {
         this.maxDelay = maxDelay;
         this.predicate = predicate;
         this.capturedException = capturedException;
+        this.jitter = Math.max(0, Math.min(1, jitter));
+    }
+
+    /**
+     * @param maxAttempts The maximum number of attemps
+     * @param multiplier The multiplier to use between delays
+     * @param delay The overall delay so far
+     * @param maxDelay The maximum overall delay
+     * @param predicate Predicate to check retry necessity
+     * @param capturedException The capture exception types
+     */
+    SimpleRetry(
+        int maxAttempts,
+        double multiplier,
+        Duration delay,
+        Duration maxDelay,
+        RetryPredicate predicate,
+        Class<? extends Throwable> capturedException) {
+        this(maxAttempts, multiplier, delay, maxDelay, predicate, capturedException, 0);
     }
 
     /**
@@ -172,6 +196,9 @@ class SimpleRetry implements RetryState, MutableRetryState {
         double multiplier = getMultiplier().orElse(1.0);
         int current = attemptNumber.get() + 1;
         long delay = (long) (getDelay().toMillis() * multiplier) * current;
+        if (jitter > 0) {
+            delay -= (long) (delay * jitter * ThreadLocalRandom.current().nextDouble());
+        }
         overallDelay.addAndGet(delay);
         return delay;
     }
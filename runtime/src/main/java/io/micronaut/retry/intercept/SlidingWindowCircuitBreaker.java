@@ -0,0 +1,444 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.CircuitBreakerMetrics;
+import io.micronaut.retry.CircuitState;
+import io.micronaut.retry.RetryStateBuilder;
+import io.micronaut.retry.annotation.RetryPredicate;
+import io.micronaut.retry.event.CircuitClosedEvent;
+import io.micronaut.retry.event.CircuitOpenEvent;
+import io.micronaut.retry.exception.CircuitOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A circuit breaker that opens when the failure rate or the slow call rate of the recent calls of a method reaches a
+ * threshold. The outcomes of the last calls are kept in a ring buffer updated without locks, and the state of the
+ * circuit is an immutable phase replaced by compare-and-set, so that concurrent calls agree on a single transition.
+ *
+ * <p>Unlike {@link CircuitBreakerRetry}, each call gets its own {@link Call} retry state.</p>
+ *
+ * @since 3.8.0
+ */
+class SlidingWindowCircuitBreaker implements CircuitBreakerMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultRetryInterceptor.class);
+    private static final int FAILED = 1;
+    private static final int SLOW = 2;
+    private static final int RECORDED = 4;
+
+    private final ExecutableMethod<?, ?> method;
+    private final RetryStateBuilder retryStateBuilder;
+    @Nullable
+    private final ApplicationEventPublisher eventPublisher;
+    private final long resetNanos;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final int permittedCallsInHalfOpenState;
+    private final AtomicReference<Phase> phase;
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder halfOpened = new LongAdder();
+    private final LongAdder closed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param method                        The method protected by the circuit
+     * @param retryStateBuilder             Builds the retry state of each call
+     * @param eventPublisher                To publish circuit events
+     * @param reset                         How long the circuit stays open before half opening
+     * @param failureRateThreshold          The failure rate percentage that opens the circuit, 0 to ignore failures
+     * @param slowCallRateThreshold         The slow call rate percentage that opens the circuit, 0 to ignore slow calls
+     * @param slowCallDuration              The duration above which a call is slow
+     * @param slidingWindowSize             The number of calls in the sliding window
+     * @param minimumNumberOfCalls          The number of calls required to evaluate the rates
+     * @param permittedCallsInHalfOpenState The number of probe calls while half open
+     */
+    SlidingWindowCircuitBreaker(ExecutableMethod<?, ?> method,
+                                RetryStateBuilder retryStateBuilder,
+                                @Nullable ApplicationEventPublisher eventPublisher,
+                                Duration reset,
+                                float failureRateThreshold,
+                                float slowCallRateThreshold,
+                                Duration slowCallDuration,
+                                int slidingWindowSize,
+                                int minimumNumberOfCalls,
+                                int permittedCallsInHalfOpenState) {
+        if (slidingWindowSize <= 0) {
+            throw new IllegalArgumentException("Sliding window size must be positive: " + slidingWindowSize);
+        }
+        if (failureRateThreshold < 0 || failureRateThreshold > 100 || slowCallRateThreshold < 0 || slowCallRateThreshold > 100
+                || (failureRateThreshold == 0 && slowCallRateThreshold == 0)) {
+            throw new IllegalArgumentException("Rate thresholds must be between 0 and 100 and at least one of them positive: "
+                    + failureRateThreshold + ", " + slowCallRateThreshold);
+        }
+        this.method = method;
+        this.retryStateBuilder = retryStateBuilder;
+        this.eventPublisher = eventPublisher;
+        this.resetNanos = reset.toNanos();
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumNumberOfCalls = Math.max(1, Math.min(minimumNumberOfCalls, slidingWindowSize));
+        this.permittedCallsInHalfOpenState = Math.max(1, permittedCallsInHalfOpenState);
+        this.phase = new AtomicReference<>(Phase.closed(new Window(slidingWindowSize)));
+    }
+
+    /**
+     * @return The retry state of a new call
+     */
+    MutableRetryState newCall() {
+        return new Call((MutableRetryState) retryStateBuilder.build());
+    }
+
+    @NonNull
+    @Override
+    public CircuitState getState() {
+        return phase.get().state;
+    }
+
+    @Override
+    public int getBufferedCalls() {
+        Window window = phase.get().window;
+        return window == null ? 0 : window.size();
+    }
+
+    @Override
+    public float getFailureRate() {
+        Window window = phase.get().window;
+        return window == null ? -1 : rate(window, window.failures.get());
+    }
+
+    @Override
+    public float getSlowCallRate() {
+        Window window = phase.get().window;
+        return window == null ? -1 : rate(window, window.slowCalls.get());
+    }
+
+    @Override
+    public long getOpenedCount() {
+        return opened.sum();
+    }
+
+    @Override
+    public long getHalfOpenedCount() {
+        return halfOpened.sum();
+    }
+
+    @Override
+    public long getClosedCount() {
+        return closed.sum();
+    }
+
+    @Override
+    public long getRejectedCalls() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "Circuit Breaker [" + method + "]: " + getState();
+    }
+
+    private float rate(Window window, int count) {
+        int calls = window.size();
+        return calls < minimumNumberOfCalls ? -1 : count * 100f / calls;
+    }
+
+    /**
+     * Admits a call, half opening the circuit once the reset duration has elapsed.
+     *
+     * @return The phase the call was admitted in
+     */
+    private Phase acquirePermission() {
+        while (true) {
+            Phase current = phase.get();
+            switch (current.state) {
+                case CLOSED:
+                    return current;
+                case OPEN:
+                    if (System.nanoTime() - current.since < resetNanos) {
+                        rejected.increment();
+                        throw rejection(current.cause);
+                    }
+                    halfOpen(current);
+                    break;
+                default:
+                    if (current.permits.getAndDecrement() > 0) {
+                        return current;
+                    }
+                    if (System.nanoTime() - current.since >= resetNanos) {
+                        // the probe calls never completed, start over
+                        halfOpen(current);
+                        break;
+                    }
+                    rejected.increment();
+                    throw new CircuitOpenException("Circuit Half Open: waiting for the outcome of the probe calls");
+            }
+        }
+    }
+
+    private RuntimeException rejection(Throwable cause) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Rethrowing existing exception for Open Circuit [{}]: {}", method, cause.getMessage());
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new CircuitOpenException("Circuit Open: " + cause.getMessage(), cause);
+    }
+
+    private void onResult(Call call, long durationNanos, @Nullable Throwable exception) {
+        boolean failed = exception != null && call.retry.getRetryPredicate().test(exception);
+        boolean slow = durationNanos >= slowCallNanos;
+        Phase admittedIn = call.admittedIn;
+        if (admittedIn.state == CircuitState.HALF_OPEN) {
+            if ((failed && failureRateThreshold > 0) || (slow && slowCallRateThreshold > 0)) {
+                open(admittedIn, call, failed ? exception : slowCallCause());
+            } else if (admittedIn.successes.incrementAndGet() == permittedCallsInHalfOpenState) {
+                close(admittedIn);
+            }
+            return;
+        }
+        if (phase.get() != admittedIn) {
+            // the circuit changed state while the call was in flight
+            return;
+        }
+        Window window = admittedIn.window;
+        window.record(RECORDED | (failed ? FAILED : 0) | (slow ? SLOW : 0));
+        int calls = window.size();
+        if (calls < minimumNumberOfCalls) {
+            return;
+        }
+        if (failureRateThreshold > 0 && window.failures.get() * 100f / calls >= failureRateThreshold) {
+            open(admittedIn, call, exception != null ? exception : new CircuitOpenException("Circuit Open: failure rate above threshold"));
+        } else if (slowCallRateThreshold > 0 && window.slowCalls.get() * 100f / calls >= slowCallRateThreshold) {
+            open(admittedIn, call, failed ? exception : slowCallCause());
+        }
+    }
+
+    private CircuitOpenException slowCallCause() {
+        return new CircuitOpenException("Circuit Open: slow call rate above threshold");
+    }
+
+    private void open(Phase expected, Call call, Throwable cause) {
+        if (!phase.compareAndSet(expected, Phase.open(cause))) {
+            return;
+        }
+        opened.increment();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Opening Circuit Breaker [{}] due to error: {}", method, cause.getMessage());
+        }
+        if (eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(new CircuitOpenEvent(method, call, cause));
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error publishing CircuitOpen event: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private void halfOpen(Phase expected) {
+        if (phase.compareAndSet(expected, Phase.halfOpen(permittedCallsInHalfOpenState))) {
+            halfOpened.increment();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Half Opening Circuit Breaker [{}]", method);
+            }
+        }
+    }
+
+    private void close(Phase expected) {
+        if (!phase.compareAndSet(expected, Phase.closed(new Window(slidingWindowSize)))) {
+            return;
+        }
+        closed.increment();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Closing Circuit Breaker [{}]", method);
+        }
+        if (eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(new CircuitClosedEvent(method));
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error publishing CircuitClosedEvent: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * A state of the circuit. Only the phase that is current is updated.
+     */
+    private static final class Phase {
+        final CircuitState state;
+        final long since = System.nanoTime();
+        final Window window;
+        final Throwable cause;
+        final AtomicInteger permits;
+        final AtomicInteger successes;
+
+        private Phase(CircuitState state, Window window, Throwable cause, int permits) {
+            this.state = state;
+            this.window = window;
+            this.cause = cause;
+            this.permits = permits > 0 ? new AtomicInteger(permits) : null;
+            this.successes = permits > 0 ? new AtomicInteger() : null;
+        }
+
+        static Phase closed(Window window) {
+            return new Phase(CircuitState.CLOSED, window, null, 0);
+        }
+
+        static Phase open(Throwable cause) {
+            return new Phase(CircuitState.OPEN, null, cause, 0);
+        }
+
+        static Phase halfOpen(int permits) {
+            return new Phase(CircuitState.HALF_OPEN, null, null, permits);
+        }
+    }
+
+    /**
+     * The outcomes of the last calls in a ring buffer, along with the number of failed and slow calls among them.
+     */
+    private static final class Window {
+        final AtomicIntegerArray outcomes;
+        final AtomicLong cursor = new AtomicLong();
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger slowCalls = new AtomicInteger();
+
+        Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        void record(int outcome) {
+            long index = cursor.getAndIncrement();
+            int evicted = outcomes.getAndSet((int) (index % outcomes.length()), outcome);
+            int failed = (outcome & FAILED) - (evicted & FAILED);
+            if (failed != 0) {
+                failures.addAndGet(failed);
+            }
+            int slow = ((outcome & SLOW) - (evicted & SLOW)) / SLOW;
+            if (slow != 0) {
+                slowCalls.addAndGet(slow);
+            }
+        }
+
+        int size() {
+            return (int) Math.min(cursor.get(), outcomes.length());
+        }
+    }
+
+    /**
+     * The retry state of a call through the circuit.
+     */
+    private final class Call implements MutableRetryState {
+        final MutableRetryState retry;
+        final AtomicBoolean completed = new AtomicBoolean();
+        Phase admittedIn;
+        long start;
+
+        Call(MutableRetryState retry) {
+            this.retry = retry;
+        }
+
+        @Override
+        public void open() {
+            admittedIn = acquirePermission();
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void close(@Nullable Throwable exception) {
+            if (admittedIn != null && completed.compareAndSet(false, true)) {
+                onResult(this, System.nanoTime() - start, exception);
+            }
+        }
+
+        @Override
+        public boolean canRetry(Throwable exception) {
+            // probe calls are not retried, and neither are calls once the circuit opened
+            return admittedIn.state == CircuitState.CLOSED
+                    && phase.get().state != CircuitState.OPEN
+                    && retry.canRetry(exception);
+        }
+
+        @Override
+        public long nextDelay() {
+            return retry.nextDelay();
+        }
+
+        @Override
+        public int getMaxAttempts() {
+            return retry.getMaxAttempts();
+        }
+
+        @Override
+        public int currentAttempt() {
+            return retry.currentAttempt();
+        }
+
+        @Override
+        public OptionalDouble getMultiplier() {
+            return retry.getMultiplier();
+        }
+
+        @Override
+        public Duration getDelay() {
+            return retry.getDelay();
+        }
+
+        @Override
+        public Duration getOverallDelay() {
+            return retry.getOverallDelay();
+        }
+
+        @Override
+        public Optional<Duration> getMaxDelay() {
+            return retry.getMaxDelay();
+        }
+
+        @Override
+        public RetryPredicate getRetryPredicate() {
+            return retry.getRetryPredicate();
+        }
+
+        @Override
+        public Class<? extends Throwable> getCapturedException() {
+            return retry.getCapturedException();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.retry.BulkheadMetrics
+import io.micronaut.retry.annotation.Bulkhead
+import io.micronaut.retry.exception.BulkheadRejectedException
+import jakarta.inject.Singleton
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class BulkheadSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run('spec.name': 'BulkheadSpec')
+
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void "test blocking calls over the limit are rejected"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        CountDownLatch release = new CountDownLatch(1)
+        Thread thread = Thread.start { service.block(release) }
+
+        expect:
+        conditions.eventually {
+            assert metrics('block').concurrentCalls == 1
+        }
+
+        when:
+        service.block(release)
+
+        then:
+        thrown(BulkheadRejectedException)
+        metrics('block').rejectedCalls == 1
+
+        when:
+        release.countDown()
+        thread.join()
+
+        then:
+        metrics('block').concurrentCalls == 0
+        metrics('block').completedCalls == 1
+    }
+
+    void "test queued completion stages proceed once a permit is released"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        CompletableFuture<String> first = new CompletableFuture<>()
+        CompletableFuture<String> second = new CompletableFuture<>()
+
+        when:
+        CompletableFuture<String> firstResult = service.queued(first)
+        CompletableFuture<String> secondResult = service.queued(second)
+
+        then:
+        metrics('queued').concurrentCalls == 1
+        metrics('queued').queuedCalls == 1
+        service.queuedInvocations == 1
+
+        when: 'the queue is full'
+        service.queued(new CompletableFuture<String>()).get(1, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof BulkheadRejectedException
+
+        when:
+        second.complete("second")
+        first.complete("first")
+
+        then: 'the queued call is invoked on the executor'
+        firstResult.get(1, TimeUnit.SECONDS) == "first"
+        secondResult.get(1, TimeUnit.SECONDS) == "second"
+        service.queuedInvocations == 2
+        metrics('queued').concurrentCalls == 0
+        metrics('queued').queuedCalls == 0
+    }
+
+    void "test the permit of a publisher is held until it terminates"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        Sinks.One<String> sink = Sinks.one()
+
+        when:
+        Mono<String> result = Mono.from(service.publisher(sink.asMono())).cache()
+        result.subscribe()
+
+        then:
+        metrics('publisher').concurrentCalls == 1
+
+        when:
+        Flux.from(service.publisher(Mono.just("other"))).blockFirst()
+
+        then:
+        thrown(BulkheadRejectedException)
+
+        when:
+        sink.tryEmitValue("done")
+
+        then:
+        result.block() == "done"
+        metrics('publisher').concurrentCalls == 0
+        Flux.from(service.publisher(Mono.just("other"))).blockFirst() == "other"
+    }
+
+    void "test a cancelled waiter does not leak its permit"() {
+        given:
+        BulkheadLimiter limiter = new BulkheadLimiter(null, true, 0, 10, false, 1, 1, 2.0)
+        def waiter = new RecordingWaiter()
+
+        expect:
+        limiter.tryAcquire()
+        limiter.enqueue(waiter)
+        limiter.cancel(waiter)
+        limiter.queuedCalls == 0
+
+        when:
+        limiter.release(1, false)
+
+        then:
+        limiter.concurrentCalls == 0
+        limiter.tryAcquire()
+    }
+
+    void "test new calls do not overtake queued calls"() {
+        given:
+        BulkheadLimiter limiter = new BulkheadLimiter(null, queue, 0, 10, false, 1, 1, 2.0)
+        limiter.tryAcquire()
+        limiter.enqueue(new RecordingWaiter())
+        limiter.@limit = 2
+
+        expect:
+        limiter.tryAcquire() == !queue
+
+        where:
+        queue << [true, false]
+    }
+
+    void "test waiters completing synchronously are notified without recursion"() {
+        given:
+        int count = 20000
+        BulkheadLimiter limiter = new BulkheadLimiter(null, true, 0, count, false, 1, 1, 2.0)
+        int notified = 0
+        limiter.tryAcquire()
+        count.times {
+            limiter.enqueue(new BulkheadLimiter.Waiter() {
+                @Override
+                void onAcquired() {
+                    notified++
+                    limiter.release(1, false)
+                }
+            })
+        }
+
+        when:
+        limiter.release(1, false)
+
+        then:
+        notified == count
+        limiter.concurrentCalls == 0
+        limiter.queuedCalls == 0
+        limiter.completedCalls == count + 1
+    }
+
+    void "test the adaptive limit starts half way and grows despite a latency spread"() {
+        given:
+        BulkheadLimiter limiter = new BulkheadLimiter(null, false, 0, 0, true, 2, 20, 2.0)
+        Random random = new Random(42)
+
+        expect:
+        limiter.limit == 11
+
+        when: 'busy calls with latencies between 1ms and 10ms'
+        500.times {
+            fill(limiter)
+            limiter.release(1_000_000 + random.nextInt(9_000_000), false)
+        }
+
+        then:
+        limiter.limit == 20
+    }
+
+    void "test the adaptive limit shrinks at most once per window when the latency rises"() {
+        given:
+        BulkheadLimiter limiter = new BulkheadLimiter(null, false, 0, 0, true, 2, 20, 2.0)
+        window(limiter, 1_000_000, false)
+        int initial = limiter.limit
+
+        when: 'a window five times slower'
+        window(limiter, 5_000_000, false)
+
+        then:
+        limiter.limit == (int) (initial * 0.9)
+
+        when: 'the latency stays high'
+        int previous = limiter.limit
+        List<Integer> limits = (1..20).collect { window(limiter, 5_000_000, false); limiter.limit }
+
+        then: 'it keeps shrinking by at most a tenth per window, until the baseline follows the new latency'
+        limits.every { int current ->
+            boolean step = current >= (int) (previous * 0.9)
+            previous = current
+            step
+        }
+        limits.last() < (int) (initial * 0.9)
+        limits.last() >= 2
+        limits[-1] == limits[-5]
+
+        when: 'a window with a failure'
+        BulkheadLimiter failing = new BulkheadLimiter(null, false, 0, 0, true, 2, 20, 2.0)
+        window(failing, 1_000_000, false)
+        int before = failing.limit
+        window(failing, 1_000_000, true)
+
+        then:
+        failing.limit == (int) (before * 0.9)
+    }
+
+    private static void fill(BulkheadLimiter limiter) {
+        while (limiter.tryAcquire()) {
+        }
+    }
+
+    private static void window(BulkheadLimiter limiter, long latencyNanos, boolean failed) {
+        int size = Math.max(10, limiter.limit)
+        size.times {
+            limiter.tryAcquire()
+            limiter.release(latencyNanos, failed && it == 0)
+        }
+    }
+
+    private BulkheadMetrics metrics(String name) {
+        context.getBean(BulkheadInterceptor).bulkheadMetrics.find { it.key.methodName == name }.value
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'BulkheadSpec')
+    static class LimitedService {
+
+        volatile int queuedInvocations
+
+        @Bulkhead(maxConcurrentCalls = "1")
+        void block(CountDownLatch latch) {
+            latch.await()
+        }
+
+        @Bulkhead(maxConcurrentCalls = "1", mode = Bulkhead.Mode.QUEUE, maxQueuedCalls = "1")
+        CompletableFuture<String> queued(CompletableFuture<String> future) {
+            queuedInvocations++
+            return future
+        }
+
+        @Bulkhead(maxConcurrentCalls = "1")
+        Mono<String> publisher(Mono<String> mono) {
+            return mono
+        }
+    }
+
+    static class RecordingWaiter extends BulkheadLimiter.Waiter {
+        volatile boolean acquired
+
+        @Override
+        void onAcquired() {
+            acquired = true
+        }
+    }
+}
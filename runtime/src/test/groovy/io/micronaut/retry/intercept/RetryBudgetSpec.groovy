@@ -0,0 +1,197 @@
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.retry.RetryBudget
+import io.micronaut.retry.annotation.RetryPredicate
+import io.micronaut.retry.annotation.Retryable
+import jakarta.inject.Singleton
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class RetryBudgetSpec extends Specification {
+
+    void "test the retry budget is disabled by default"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+
+        expect:
+        !context.containsBean(RetryBudget)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test retries stop once the budget is exhausted"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'spec.name': 'RetryBudgetSpec',
+                'micronaut.retry.budget.enabled': true,
+                'micronaut.retry.budget.max-tokens': 3,
+                'micronaut.retry.budget.tokens-per-second': 0.01
+        )
+        FailingService service = context.getBean(FailingService)
+        RetryBudget budget = context.getBean(RetryBudget)
+
+        when: 'the first call uses up the budget'
+        service.fail()
+
+        then: 'it was retried while there were tokens'
+        thrown(IllegalStateException)
+        service.attempts.get() == 4
+        budget.availableTokens == 0
+
+        when: 'another call fails'
+        service.attempts.set(0)
+        service.fail()
+
+        then: 'it is not retried'
+        thrown(IllegalStateException)
+        service.attempts.get() == 1
+        budget.rejectedRetries == 2
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the budget refills over time"() {
+        given:
+        RetryBudget budget = new RetryBudget(2, 1000, 0)
+
+        expect:
+        budget.tryAcquire()
+        budget.tryAcquire()
+        !budget.tryAcquire()
+        new PollingConditions(timeout: 1).eventually {
+            assert budget.tryAcquire()
+        }
+    }
+
+    void "test blocked threads are limited"() {
+        given:
+        RetryBudget budget = new RetryBudget(10, 1, 1)
+
+        expect:
+        budget.tryAcquireBlocked()
+        !budget.tryAcquireBlocked()
+
+        when:
+        budget.releaseBlocked()
+
+        then:
+        budget.tryAcquireBlocked()
+    }
+
+    void "test a retry rejected by the blocked thread limit does not spend a token"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'spec.name': 'RetryBudgetSpec',
+                'micronaut.retry.budget.enabled': true,
+                'micronaut.retry.budget.max-tokens': 10,
+                'micronaut.retry.budget.tokens-per-second': 0.01,
+                'micronaut.retry.budget.max-blocked-threads': 1
+        )
+        FailingService service = context.getBean(FailingService)
+        RetryBudget budget = context.getBean(RetryBudget)
+
+        when: 'a thread waits to retry'
+        Thread waiting = Thread.start {
+            try {
+                service.slow()
+            } catch (IllegalStateException ignored) {
+            }
+        }
+        new PollingConditions(timeout: 5).eventually {
+            assert service.slowAttempts.get() == 1
+            assert budget.availableTokens == 9
+        }
+
+        and: 'another thread would have to wait too'
+        service.fail()
+
+        then: 'it is rejected without taking a token'
+        thrown(IllegalStateException)
+        service.attempts.get() == 1
+        budget.availableTokens == 9
+        budget.rejectedBlockedRetries == 1
+        budget.rejectedRetries == 0
+
+        cleanup:
+        waiting?.join()
+        context.close()
+    }
+
+    void "test the retries of a void method can be offloaded"() {
+        given:
+        ApplicationContext context = ApplicationContext.run('spec.name': 'RetryBudgetSpec')
+        FailingService service = context.getBean(FailingService)
+
+        when:
+        service.offloaded(3)
+
+        then: 'the caller returns after the first attempt'
+        notThrown(IllegalStateException)
+        service.attempts.get() == 1
+
+        and: 'the next attempts run in the background'
+        new PollingConditions(timeout: 5).eventually {
+            assert service.succeeded
+            assert service.attempts.get() == 3
+            assert service.threads.size() == 3
+            assert service.threads[1] != service.threads[0]
+        }
+
+        cleanup:
+        context.close()
+    }
+
+    void "test delays are jittered"() {
+        given:
+        SimpleRetry retry = new SimpleRetry(100, 1, Duration.ofMillis(1000), null, { true } as RetryPredicate, RuntimeException, 0.5)
+
+        when:
+        List<Long> delays = (1..20).collect {
+            retry.canRetry(new RuntimeException())
+            long delay = retry.nextDelay()
+            // the delay grows linearly with the attempts
+            delay.intdiv(retry.currentAttempt() + 1)
+        }
+
+        then:
+        delays.every { it >= 500 && it <= 1000 }
+        delays.toSet().size() > 1
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'RetryBudgetSpec')
+    static class FailingService {
+        AtomicInteger attempts = new AtomicInteger()
+        AtomicInteger slowAttempts = new AtomicInteger()
+        List<Thread> threads = [].asSynchronized()
+        volatile boolean succeeded
+
+        @Retryable(attempts = '5', delay = '1ms')
+        void fail() {
+            attempts.incrementAndGet()
+            throw new IllegalStateException("Bad")
+        }
+
+        @Retryable(attempts = '1', delay = '2s')
+        void slow() {
+            slowAttempts.incrementAndGet()
+            throw new IllegalStateException("Bad")
+        }
+
+        @Retryable(attempts = '5', delay = '10ms', offload = true)
+        void offloaded(int succeedAt) {
+            threads.add(Thread.currentThread())
+            if (attempts.incrementAndGet() < succeedAt) {
+                throw new IllegalStateException("Bad")
+            }
+            succeeded = true
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.retry.CircuitBreakerMetrics
+import io.micronaut.retry.CircuitState
+import io.micronaut.retry.annotation.CircuitBreaker
+import io.micronaut.retry.event.CircuitOpenEvent
+import io.micronaut.retry.exception.CircuitOpenException
+import jakarta.inject.Singleton
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+
+class SlidingWindowCircuitBreakerSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run('spec.name': 'SlidingWindowCircuitBreakerSpec')
+
+    void "test the circuit opens at the failure rate threshold and closes after the probe calls"() {
+        given:
+        FlakyService service = context.getBean(FlakyService)
+        OpenListener listener = context.getBean(OpenListener)
+
+        when: 'half of the calls fail'
+        service.call()
+        service.call()
+        service.failing = true
+        2.times {
+            try {
+                service.call()
+            } catch (IllegalStateException ignored) {
+            }
+        }
+        CircuitBreakerMetrics metrics = metrics('call')
+
+        then: 'the circuit opens'
+        metrics.state == CircuitState.OPEN
+        metrics.openedCount == 1
+        listener.events.size() == 1
+        listener.events[0].source.methodName == 'call'
+
+        when: 'calling while the circuit is open'
+        service.call()
+
+        then: 'the call is rejected without invoking the method'
+        def e = thrown(IllegalStateException)
+        e.message == 'down'
+        service.invocations.get() == 4
+        metrics.rejectedCalls == 1
+
+        when: 'the downstream recovers and the circuit half opens'
+        service.failing = false
+        Thread.sleep(300)
+
+        then: 'the circuit closes once the probe calls succeeded'
+        service.call() == 'ok'
+        metrics.state == CircuitState.HALF_OPEN
+        service.call() == 'ok'
+        metrics.state == CircuitState.CLOSED
+        metrics.halfOpenedCount == 1
+        metrics.closedCount == 1
+        metrics.bufferedCalls == 0
+    }
+
+    void "test a failed probe call opens the circuit again"() {
+        given:
+        FlakyService service = context.getBean(FlakyService)
+        service.failing = true
+        4.times {
+            try {
+                service.probe()
+            } catch (IllegalStateException ignored) {
+            }
+        }
+        CircuitBreakerMetrics metrics = metrics('probe')
+
+        expect:
+        metrics.state == CircuitState.OPEN
+
+        when:
+        Thread.sleep(300)
+        service.probe()
+
+        then:
+        thrown(IllegalStateException)
+        metrics.state == CircuitState.OPEN
+        metrics.openedCount == 2
+        metrics.halfOpenedCount == 1
+    }
+
+    void "test the circuit opens at the slow call rate threshold"() {
+        given:
+        FlakyService service = context.getBean(FlakyService)
+
+        when: 'a quarter of the calls are slow'
+        3.times { service.slow(0) }
+        service.slow(50)
+        CircuitBreakerMetrics metrics = metrics('slow')
+
+        then:
+        metrics.state == CircuitState.CLOSED
+        metrics.slowCallRate == 25f
+        metrics.failureRate == 0f
+
+        when: 'half of the recent calls are slow'
+        service.slow(50)
+
+        then:
+        metrics.state == CircuitState.OPEN
+
+        when:
+        service.slow(0)
+
+        then:
+        def e = thrown(CircuitOpenException)
+        e.message.contains('slow call rate')
+    }
+
+    void "test a rate threshold outside of 0 to 100 is rejected"() {
+        given:
+        FlakyService service = context.getBean(FlakyService)
+
+        when:
+        service.neverOpens()
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.contains('failureRateThreshold')
+
+        when:
+        service.alwaysOpen()
+
+        then:
+        e = thrown(IllegalArgumentException)
+        e.message.contains('slowCallRateThreshold')
+        metrics('neverOpens') == null
+        metrics('alwaysOpen') == null
+    }
+
+    void "test a classic circuit breaker does not use a sliding window"() {
+        given:
+        FlakyService service = context.getBean(FlakyService)
+
+        expect:
+        service.classic() == 'ok'
+        service.classic() == 'ok'
+        metrics('classic') == null
+    }
+
+    private CircuitBreakerMetrics metrics(String methodName) {
+        context.getBean(DefaultRetryInterceptor).circuitBreakerMetrics.find { it.key.methodName == methodName }?.value
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'SlidingWindowCircuitBreakerSpec')
+    static class FlakyService {
+        volatile boolean failing
+        AtomicInteger invocations = new AtomicInteger()
+
+        @CircuitBreaker(attempts = '0', failureRateThreshold = '50', slidingWindowSize = '10', minimumNumberOfCalls = '4', reset = '200ms', permittedCallsInHalfOpenState = '2')
+        String call() {
+            invocations.incrementAndGet()
+            if (failing) {
+                throw new IllegalStateException('down')
+            }
+            return 'ok'
+        }
+
+        @CircuitBreaker(attempts = '0', failureRateThreshold = '50', minimumNumberOfCalls = '4', reset = '200ms')
+        String probe() {
+            if (failing) {
+                throw new IllegalStateException('down')
+            }
+            return 'ok'
+        }
+
+        @CircuitBreaker(attempts = '0', failureRateThreshold = '0')
+        String neverOpens() {
+            return 'ok'
+        }
+
+        @CircuitBreaker(attempts = '0', slowCallRateThreshold = '150')
+        String alwaysOpen() {
+            return 'ok'
+        }
+
+        @CircuitBreaker(attempts = '0')
+        String classic() {
+            return 'ok'
+        }
+
+        @CircuitBreaker(attempts = '0', slowCallRateThreshold = '50', slowCallDuration = '20ms', slidingWindowSize = '4', minimumNumberOfCalls = '4', reset = '1h')
+        String slow(long sleepMillis) {
+            Thread.sleep(sleepMillis)
+            return 'done'
+        }
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'SlidingWindowCircuitBreakerSpec')
+    static class OpenListener implements ApplicationEventListener<CircuitOpenEvent> {
+        List<CircuitOpenEvent> events = new CopyOnWriteArrayList<>()
+
+        @Override
+        void onApplicationEvent(CircuitOpenEvent event) {
+            if (event.source.methodName == 'call') {
+                events.add(event)
+            }
+        }
+    }
+}
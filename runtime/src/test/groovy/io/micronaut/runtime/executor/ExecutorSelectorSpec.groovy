@@ -20,7 +20,10 @@ import io.micronaut.context.annotation.Executable
 import io.micronaut.core.annotation.Blocking
 import io.micronaut.core.annotation.NonBlocking
 import io.micronaut.inject.ExecutableMethod
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.scheduling.TaskExecutors
 import io.micronaut.scheduling.executor.ExecutorSelector
+import io.micronaut.scheduling.executor.LoomSupport
 import io.micronaut.scheduling.executor.ThreadSelection
 import jakarta.inject.Singleton
 import reactor.core.publisher.Mono
@@ -62,6 +65,32 @@ class ExecutorSelectorSpec extends Specification {
         "someStageMethod"            | false
     }
 
+    @Unroll
+    void "test virtual thread selection for method #methodName"() {
+        given:
+        ApplicationContext applicationContext = ApplicationContext.run("test")
+        ExecutorSelector selector = applicationContext.getBean(ExecutorSelector)
+        Optional<ExecutableMethod> method = applicationContext.findExecutableMethod(MyService, methodName)
+        String expectedName = LoomSupport.isSupported() ? TaskExecutors.VIRTUAL : TaskExecutors.IO
+
+        Optional<ExecutorService> executorService = selector.select(method.get(), ThreadSelection.VIRTUAL)
+
+        expect:
+        applicationContext.containsBean(ExecutorService, Qualifiers.byName(TaskExecutors.VIRTUAL)) == LoomSupport.isSupported()
+        executorService.isPresent() == present
+        !present || executorService.get().is(applicationContext.getBean(ExecutorService, Qualifiers.byName(expectedName)))
+
+        cleanup:
+        applicationContext.stop()
+
+        where:
+        methodName                   | present
+        "someMethod"                 | true
+        "someBlockingReactiveMethod" | true
+        "someNonBlockingMethod"      | false
+        "someReactiveMethod"         | false
+    }
+
 
 }
 
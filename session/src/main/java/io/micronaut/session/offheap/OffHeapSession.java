@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.session.offheap;
+
+import io.micronaut.core.convert.value.MutableConvertibleValues;
+import io.micronaut.session.InMemorySession;
+import io.micronaut.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link Session} read from an {@link OffHeapSessionStore}. Changes are only kept once the session is saved, so
+ * attribute values modified in place must be put again.
+ *
+ * @since 3.8.0
+ */
+public class OffHeapSession extends InMemorySession {
+
+    private boolean modified;
+
+    /**
+     * Constructor.
+     *
+     * @param id The session id
+     * @param maxInactiveInterval The max inactive interval
+     */
+    protected OffHeapSession(String id, Duration maxInactiveInterval) {
+        super(id, maxInactiveInterval);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param id The session id
+     * @param creationTime The creation time
+     * @param lastAccessTime The last access time
+     * @param maxInactiveInterval The max inactive interval
+     * @param attributes The attributes
+     */
+    protected OffHeapSession(String id, Instant creationTime, Instant lastAccessTime, Duration maxInactiveInterval, Map<String, Object> attributes) {
+        super(id, creationTime, maxInactiveInterval);
+        this.lastAccessTime = lastAccessTime;
+        this.attributeMap.putAll(attributes);
+        setNew(false);
+    }
+
+    @Override
+    public boolean isModified() {
+        return super.isModified() || modified;
+    }
+
+    @Override
+    public Session setMaxInactiveInterval(Duration duration) {
+        if (duration != null) {
+            modified = true;
+        }
+        return super.setMaxInactiveInterval(duration);
+    }
+
+    @Override
+    public MutableConvertibleValues<Object> put(CharSequence key, Object value) {
+        modified = true;
+        return super.put(key, value);
+    }
+
+    @Override
+    public MutableConvertibleValues<Object> remove(CharSequence key) {
+        modified = true;
+        return super.remove(key);
+    }
+
+    @Override
+    public MutableConvertibleValues<Object> clear() {
+        modified = true;
+        return super.clear();
+    }
+
+    /**
+     * @return A copy of the attributes to serialize
+     */
+    Map<String, Object> attributes() {
+        Map<String, Object> attributes = new LinkedHashMap<>(attributeMap.size());
+        attributeMap.forEach((name, value) -> attributes.put(name.toString(), value));
+        return attributes;
+    }
+
+    /**
+     * @param modified Whether the session has unsaved changes
+     */
+    void setModified(boolean modified) {
+        this.modified = modified;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.session.offheap;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.session.SessionSettings;
+
+/**
+ * Configuration of the {@link OffHeapSessionStore}, which replaces the in-memory session store when enabled.
+ *
+ * @since 3.8.0
+ */
+@ConfigurationProperties(OffHeapSessionConfiguration.PREFIX)
+@Requires(property = OffHeapSessionConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class OffHeapSessionConfiguration {
+
+    /**
+     * The prefix for the off-heap session store configuration.
+     */
+    public static final String PREFIX = SessionSettings.PREFIX + ".off-heap";
+
+    /**
+     * The default maximum memory in bytes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_MAX_MEMORY = 64L * 1024 * 1024;
+
+    /**
+     * The default slab size in bytes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+
+    /**
+     * The default block size in bytes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+
+    private boolean enabled;
+    private long maxMemory = DEFAULT_MAX_MEMORY;
+    private int slabSize = DEFAULT_SLAB_SIZE;
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+
+    /**
+     * @return Whether the off-heap session store is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the off-heap session store is enabled. Default value (false).
+     *
+     * @param enabled True if it is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The maximum amount of off-heap memory used by sessions
+     */
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * Sets the maximum amount of off-heap memory used by sessions. The least recently used sessions are expired to
+     * stay below it. Default value ({@value #DEFAULT_MAX_MEMORY}).
+     *
+     * @param maxMemory The maximum memory
+     */
+    public void setMaxMemory(@ReadableBytes long maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * @return The size of the off-heap slabs allocated as sessions are stored
+     */
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    /**
+     * Sets the size of the off-heap slabs allocated as sessions are stored. Default value ({@value #DEFAULT_SLAB_SIZE}).
+     *
+     * @param slabSize The slab size
+     */
+    public void setSlabSize(@ReadableBytes int slabSize) {
+        this.slabSize = slabSize;
+    }
+
+    /**
+     * @return The size of the blocks that slabs are split into
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Sets the size of the blocks that slabs are split into. A session uses as many blocks as it needs. Default value
+     * ({@value #DEFAULT_BLOCK_SIZE}).
+     *
+     * @param blockSize The block size
+     */
+    public void setBlockSize(@ReadableBytes int blockSize) {
+        this.blockSize = blockSize;
+    }
+}
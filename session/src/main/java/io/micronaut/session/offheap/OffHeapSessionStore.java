@@ -0,0 +1,447 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.session.offheap;
+
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.serialize.JdkSerializer;
+import io.micronaut.core.serialize.ObjectSerializer;
+import io.micronaut.core.serialize.exceptions.SerializationException;
+import io.micronaut.session.InMemorySessionStore;
+import io.micronaut.session.Session;
+import io.micronaut.session.SessionConfiguration;
+import io.micronaut.session.SessionIdGenerator;
+import io.micronaut.session.SessionStore;
+import io.micronaut.session.event.SessionCreatedEvent;
+import io.micronaut.session.event.SessionDeletedEvent;
+import io.micronaut.session.event.SessionExpiredEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A {@link SessionStore} that serializes sessions into off-heap memory, so that millions of sessions do not weigh on
+ * the garbage collector.
+ *
+ * <p>Sessions are stored as chains of blocks of a {@link SlabArena} bounded by
+ * {@link OffHeapSessionConfiguration#getMaxMemory()}, and are found through a primitive index of the hash of their id.
+ * Idle sessions are expired by a {@link TimingWheel}, and the least recently used sessions are expired when the memory
+ * or the {@link SessionConfiguration#getMaxActiveSessions() maximum number of sessions} is exhausted. Expiry happens
+ * as the store is used, or periodically when prompt expiration is enabled.</p>
+ *
+ * <p>Attributes are serialized when the session is saved, so values modified in place must be put in the session
+ * again to be kept.</p>
+ *
+ * @since 3.8.0
+ */
+@Singleton
+@Replaces(InMemorySessionStore.class)
+@Requires(beans = OffHeapSessionConfiguration.class)
+public class OffHeapSessionStore implements SessionStore<OffHeapSession>, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapSessionStore.class);
+    private static final long TICK_MILLIS = TimeUnit.SECONDS.toMillis(1);
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NONE = -1;
+    // record layout: creation time, last access time, max inactive interval, id, attributes
+    private static final int LAST_ACCESS_POSITION = Long.BYTES;
+    private static final int MAX_INACTIVE_POSITION = 2 * Long.BYTES;
+
+    private final SessionIdGenerator sessionIdGenerator;
+    private final SessionConfiguration sessionConfiguration;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectSerializer serializer;
+    private final int maxActiveSessions;
+
+    private final Object lock = new Object();
+    private final SlabArena arena;
+    private final LongIntHashMap index;
+    private final TimingWheel wheel;
+    private long[] hashes = new long[INITIAL_CAPACITY];
+    private long[] checks = new long[INITIAL_CAPACITY];
+    private int[] records = new int[INITIAL_CAPACITY];
+    private int[] lruPrevious = new int[INITIAL_CAPACITY];
+    private int[] lruNext = new int[INITIAL_CAPACITY];
+    private int[] freeEntries = new int[INITIAL_CAPACITY];
+    private int freeEntryCount;
+    private int entryCount;
+    private int lruHead = NONE;
+    private int lruTail = NONE;
+    private final ScheduledFuture<?> cleanUpTask;
+
+    /**
+     * Constructor.
+     *
+     * @param sessionIdGenerator The session id generator
+     * @param sessionConfiguration The sessions configuration
+     * @param offHeapConfiguration The off-heap store configuration
+     * @param eventPublisher The application event publisher
+     */
+    @Inject
+    public OffHeapSessionStore(
+        SessionIdGenerator sessionIdGenerator,
+        SessionConfiguration sessionConfiguration,
+        OffHeapSessionConfiguration offHeapConfiguration,
+        ApplicationEventPublisher eventPublisher) {
+        this(sessionIdGenerator, sessionConfiguration, offHeapConfiguration, eventPublisher, new JdkSerializer());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sessionIdGenerator The session id generator
+     * @param sessionConfiguration The sessions configuration
+     * @param offHeapConfiguration The off-heap store configuration
+     * @param eventPublisher The application event publisher
+     * @param serializer The serializer of the session attributes
+     */
+    public OffHeapSessionStore(
+        SessionIdGenerator sessionIdGenerator,
+        SessionConfiguration sessionConfiguration,
+        OffHeapSessionConfiguration offHeapConfiguration,
+        ApplicationEventPublisher eventPublisher,
+        ObjectSerializer serializer) {
+
+        this.sessionIdGenerator = sessionIdGenerator;
+        this.sessionConfiguration = sessionConfiguration;
+        this.eventPublisher = eventPublisher;
+        this.serializer = serializer;
+        this.maxActiveSessions = sessionConfiguration.getMaxActiveSessions().orElse(Integer.MAX_VALUE);
+        this.arena = new SlabArena(offHeapConfiguration.getMaxMemory(), offHeapConfiguration.getSlabSize(), offHeapConfiguration.getBlockSize());
+        this.index = new LongIntHashMap(INITIAL_CAPACITY);
+        this.wheel = new TimingWheel(TICK_MILLIS, System.currentTimeMillis(), INITIAL_CAPACITY);
+        this.cleanUpTask = sessionConfiguration.isPromptExpiration() ? sessionConfiguration.getExecutorService()
+                .map(executor -> executor.scheduleAtFixedRate(this::cleanUp, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS))
+                .orElse(null) : null;
+    }
+
+    @Override
+    public OffHeapSession newSession() {
+        return new OffHeapSession(sessionIdGenerator.generateId(), sessionConfiguration.getMaxInactiveInterval());
+    }
+
+    @Override
+    public CompletableFuture<Optional<OffHeapSession>> findSession(String id) {
+        long now = System.currentTimeMillis();
+        long hash = hash(id);
+        List<byte[]> expired = new ArrayList<>(0);
+        byte[] found = null;
+        synchronized (lock) {
+            expire(now, expired);
+            int entry = index.get(hash);
+            if (entry != LongIntHashMap.MISSING && checks[entry] == check(id)) {
+                if (wheel.deadline(entry) <= now) {
+                    expired.add(removeEntry(entry));
+                } else {
+                    int record = records[entry];
+                    arena.putLong(record, LAST_ACCESS_POSITION, now);
+                    wheel.schedule(entry, now + arena.getLong(record, MAX_INACTIVE_POSITION));
+                    moveToFront(entry);
+                    found = arena.read(record);
+                }
+            }
+        }
+        publish(expired, SessionExpiredEvent::new);
+        if (found == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        try {
+            return CompletableFuture.completedFuture(Optional.of(decode(found)));
+        } catch (SerializationException e) {
+            return failed(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteSession(String id) {
+        long hash = hash(id);
+        List<byte[]> expired = new ArrayList<>(0);
+        byte[] deleted = null;
+        synchronized (lock) {
+            expire(System.currentTimeMillis(), expired);
+            int entry = index.get(hash);
+            if (entry != LongIntHashMap.MISSING && checks[entry] == check(id)) {
+                deleted = removeEntry(entry);
+            }
+        }
+        publish(expired, SessionExpiredEvent::new);
+        if (deleted != null) {
+            publish(Collections.singletonList(deleted), SessionDeletedEvent::new);
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<OffHeapSession> save(OffHeapSession session) {
+        if (session == null) {
+            throw new IllegalArgumentException("Session cannot be null");
+        }
+        long now = System.currentTimeMillis();
+        String id = session.getId();
+        long hash = hash(id);
+        session.setLastAccessedTime(Instant.ofEpochMilli(now));
+        byte[] data;
+        try {
+            data = encode(session);
+        } catch (SerializationException e) {
+            return failed(e);
+        }
+        if (!arena.fits(data.length)) {
+            return failed(new IllegalArgumentException("Session " + id + " of " + data.length + " bytes does not fit in the off-heap session store"));
+        }
+        List<byte[]> expired = new ArrayList<>(0);
+        boolean created = false;
+        synchronized (lock) {
+            expire(now, expired);
+            int entry = index.get(hash);
+            if (entry != LongIntHashMap.MISSING && checks[entry] != check(id)) {
+                // the 64-bit hashes of two ids collided, the older session is discarded
+                expired.add(removeEntry(entry));
+                entry = LongIntHashMap.MISSING;
+            }
+            if (entry != LongIntHashMap.MISSING) {
+                unlinkLru(entry);
+                arena.free(records[entry]);
+            } else if (index.size() >= maxActiveSessions && lruTail != NONE) {
+                expired.add(removeEntry(lruTail));
+            }
+            int record;
+            while ((record = arena.allocate(data, data.length)) == SlabArena.NO_BLOCK) {
+                expired.add(removeEntry(lruTail));
+            }
+            if (entry == LongIntHashMap.MISSING) {
+                entry = newEntry();
+                hashes[entry] = hash;
+                checks[entry] = check(id);
+                index.put(hash, entry);
+                created = true;
+            }
+            records[entry] = record;
+            linkFront(entry);
+            wheel.schedule(entry, now + session.getMaxInactiveInterval().toMillis());
+        }
+        session.setNew(false);
+        session.setModified(false);
+        publish(expired, SessionExpiredEvent::new);
+        if (created) {
+            eventPublisher.publishEvent(new SessionCreatedEvent(session));
+        }
+        return CompletableFuture.completedFuture(session);
+    }
+
+    /**
+     * @return The number of stored sessions
+     */
+    public int getSessionCount() {
+        synchronized (lock) {
+            return index.size();
+        }
+    }
+
+    /**
+     * @return The number of bytes of off-heap memory held by stored sessions
+     */
+    public long getUsedMemory() {
+        synchronized (lock) {
+            return arena.getUsedMemory();
+        }
+    }
+
+    /**
+     * @return The number of bytes of off-heap memory reserved by the store
+     */
+    public long getReservedMemory() {
+        synchronized (lock) {
+            return arena.getReservedMemory();
+        }
+    }
+
+    /**
+     * Expires the sessions that have been idle for longer than their max inactive interval.
+     */
+    @Internal
+    void cleanUp() {
+        List<byte[]> expired = new ArrayList<>(0);
+        synchronized (lock) {
+            expire(System.currentTimeMillis(), expired);
+        }
+        publish(expired, SessionExpiredEvent::new);
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        if (cleanUpTask != null) {
+            cleanUpTask.cancel(false);
+        }
+    }
+
+    private void expire(long now, List<byte[]> expired) {
+        wheel.advance(now, entry -> expired.add(removeEntry(entry)));
+    }
+
+    private byte[] removeEntry(int entry) {
+        int record = records[entry];
+        byte[] data = arena.read(record);
+        arena.free(record);
+        records[entry] = SlabArena.NO_BLOCK;
+        index.remove(hashes[entry]);
+        unlinkLru(entry);
+        wheel.cancel(entry);
+        freeEntries[freeEntryCount++] = entry;
+        return data;
+    }
+
+    private int newEntry() {
+        if (freeEntryCount > 0) {
+            return freeEntries[--freeEntryCount];
+        }
+        if (entryCount == records.length) {
+            int capacity = records.length << 1;
+            hashes = Arrays.copyOf(hashes, capacity);
+            checks = Arrays.copyOf(checks, capacity);
+            records = Arrays.copyOf(records, capacity);
+            lruPrevious = Arrays.copyOf(lruPrevious, capacity);
+            lruNext = Arrays.copyOf(lruNext, capacity);
+            freeEntries = Arrays.copyOf(freeEntries, capacity);
+            wheel.ensureCapacity(capacity);
+        }
+        return entryCount++;
+    }
+
+    private void moveToFront(int entry) {
+        if (lruHead != entry) {
+            unlinkLru(entry);
+            linkFront(entry);
+        }
+    }
+
+    private void linkFront(int entry) {
+        lruPrevious[entry] = NONE;
+        lruNext[entry] = lruHead;
+        if (lruHead != NONE) {
+            lruPrevious[lruHead] = entry;
+        } else {
+            lruTail = entry;
+        }
+        lruHead = entry;
+    }
+
+    private void unlinkLru(int entry) {
+        int previous = lruPrevious[entry];
+        int next = lruNext[entry];
+        if (previous != NONE) {
+            lruNext[previous] = next;
+        } else if (lruHead == entry) {
+            lruHead = next;
+        }
+        if (next != NONE) {
+            lruPrevious[next] = previous;
+        } else if (lruTail == entry) {
+            lruTail = previous;
+        }
+        lruPrevious[entry] = NONE;
+        lruNext[entry] = NONE;
+    }
+
+    private void publish(List<byte[]> records, Function<Session, Object> event) {
+        for (byte[] record : records) {
+            try {
+                eventPublisher.publishEvent(event.apply(decode(record)));
+            } catch (SerializationException e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error reading removed session: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private byte[] encode(OffHeapSession session) {
+        byte[] serialized = serializer.serialize(session.attributes()).orElse(new byte[0]);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(3 * Long.BYTES + session.getId().length() + serialized.length + 8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(session.getCreationTime().toEpochMilli());
+            out.writeLong(session.getLastAccessedTime().toEpochMilli());
+            out.writeLong(session.getMaxInactiveInterval().toMillis());
+            out.writeUTF(session.getId());
+            out.writeInt(serialized.length);
+            out.write(serialized);
+        } catch (IOException e) {
+            throw new SerializationException("Error writing session: " + e.getMessage(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private OffHeapSession decode(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            Instant creationTime = Instant.ofEpochMilli(in.readLong());
+            Instant lastAccessTime = Instant.ofEpochMilli(in.readLong());
+            Duration maxInactiveInterval = Duration.ofMillis(in.readLong());
+            String id = in.readUTF();
+            byte[] serialized = new byte[in.readInt()];
+            in.readFully(serialized);
+            Map<String, Object> attributes = serialized.length == 0 ? Collections.emptyMap() :
+                    serializer.deserialize(serialized, Map.class).orElse(Collections.emptyMap());
+            return new OffHeapSession(id, creationTime, lastAccessTime, maxInactiveInterval, attributes);
+        } catch (IOException e) {
+            throw new SerializationException("Error reading session: " + e.getMessage(), e);
+        }
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    private static long hash(String id) {
+        // FNV-1a
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long check(String id) {
+        return ((long) id.hashCode() << 32) | (id.length() & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.session.offheap;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * An arena of off-heap memory split into fixed-size blocks. Slabs of blocks are allocated lazily up to a maximum, and a
+ * record is stored as a chain of blocks so that any freed block can be reused by a record of any size.
+ *
+ * <p>Each block starts with the index of the next block of its chain, or of the free list. The first block of a record
+ * also holds the length of the record. Not thread safe.</p>
+ *
+ * @since 3.8.0
+ */
+final class SlabArena {
+
+    static final int NO_BLOCK = -1;
+    static final int MIN_BLOCK_SIZE = 64;
+
+    private static final int NEXT_SIZE = Integer.BYTES;
+    private static final int LENGTH_SIZE = Integer.BYTES;
+
+    private final int blockSize;
+    private final int blocksPerSlab;
+    private final int maxBlocks;
+    private final ByteBuffer[] slabs;
+    private int allocatedBlocks;
+    private int freeHead = NO_BLOCK;
+    private int freeBlocks;
+
+    /**
+     * @param maxMemory The maximum amount of off-heap memory
+     * @param slabSize  The size of a slab
+     * @param blockSize The size of a block
+     */
+    SlabArena(long maxMemory, int slabSize, int blockSize) {
+        if (blockSize < MIN_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Block size must be at least " + MIN_BLOCK_SIZE + " bytes: " + blockSize);
+        }
+        if (slabSize < blockSize) {
+            throw new IllegalArgumentException("Slab size " + slabSize + " is smaller than the block size " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.blocksPerSlab = slabSize / blockSize;
+        long slabCount = Math.max(1, maxMemory / ((long) blocksPerSlab * blockSize));
+        if ((long) blocksPerSlab * slabCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many blocks for a maximum memory of " + maxMemory + " bytes");
+        }
+        this.slabs = new ByteBuffer[(int) slabCount];
+        this.maxBlocks = (int) (slabCount * blocksPerSlab);
+    }
+
+    /**
+     * Stores a record.
+     *
+     * @param data   The data of the record
+     * @param length The length of the data
+     * @return The first block of the record, or {@link #NO_BLOCK} if there are not enough free blocks
+     */
+    int allocate(byte[] data, int length) {
+        int needed = blocksFor(length);
+        if (needed > freeBlocks + maxBlocks - allocatedBlocks) {
+            return NO_BLOCK;
+        }
+        int first = NO_BLOCK;
+        int previous = NO_BLOCK;
+        int written = 0;
+        for (int i = 0; i < needed; i++) {
+            int block = takeBlock();
+            if (previous == NO_BLOCK) {
+                first = block;
+                slab(block).putInt(offset(block) + NEXT_SIZE, length);
+            } else {
+                slab(previous).putInt(offset(previous), block);
+            }
+            int header = previous == NO_BLOCK ? NEXT_SIZE + LENGTH_SIZE : NEXT_SIZE;
+            int chunk = Math.min(length - written, blockSize - header);
+            put(slab(block), offset(block) + header, data, written, chunk);
+            written += chunk;
+            previous = block;
+        }
+        slab(previous).putInt(offset(previous), NO_BLOCK);
+        return first;
+    }
+
+    /**
+     * @param first The first block of a record
+     * @return The data of the record
+     */
+    byte[] read(int first) {
+        int length = slab(first).getInt(offset(first) + NEXT_SIZE);
+        byte[] data = new byte[length];
+        int block = first;
+        int header = NEXT_SIZE + LENGTH_SIZE;
+        int read = 0;
+        while (read < length) {
+            ByteBuffer slab = slab(block);
+            int chunk = Math.min(length - read, blockSize - header);
+            get(slab, offset(block) + header, data, read, chunk);
+            read += chunk;
+            block = slab.getInt(offset(block));
+            header = NEXT_SIZE;
+        }
+        return data;
+    }
+
+    /**
+     * Reads a long from the first block of a record.
+     *
+     * @param first    The first block of a record
+     * @param position The position in the record data
+     * @return The value
+     */
+    long getLong(int first, int position) {
+        return slab(first).getLong(dataOffset(first, position));
+    }
+
+    /**
+     * Overwrites a long in the first block of a record.
+     *
+     * @param first    The first block of a record
+     * @param position The position in the record data
+     * @param value    The value
+     */
+    void putLong(int first, int position, long value) {
+        slab(first).putLong(dataOffset(first, position), value);
+    }
+
+    /**
+     * Returns the blocks of a record to the free list.
+     *
+     * @param first The first block of a record
+     */
+    void free(int first) {
+        int last = first;
+        int count = 1;
+        int next;
+        while ((next = slab(last).getInt(offset(last))) != NO_BLOCK) {
+            last = next;
+            count++;
+        }
+        slab(last).putInt(offset(last), freeHead);
+        freeHead = first;
+        freeBlocks += count;
+    }
+
+    /**
+     * @param length The length of a record
+     * @return Whether the record could ever fit in this arena
+     */
+    boolean fits(int length) {
+        return blocksFor(length) <= maxBlocks;
+    }
+
+    /**
+     * @return The number of bytes of off-heap memory reserved by the slabs
+     */
+    long getReservedMemory() {
+        return (long) ((allocatedBlocks + blocksPerSlab - 1) / blocksPerSlab) * blocksPerSlab * blockSize;
+    }
+
+    /**
+     * @return The number of bytes held by blocks in use
+     */
+    long getUsedMemory() {
+        return (long) (allocatedBlocks - freeBlocks) * blockSize;
+    }
+
+    private int blocksFor(int length) {
+        int payload = blockSize - NEXT_SIZE;
+        return (length + LENGTH_SIZE + payload - 1) / payload;
+    }
+
+    private int takeBlock() {
+        if (freeHead != NO_BLOCK) {
+            int block = freeHead;
+            freeHead = slab(block).getInt(offset(block));
+            freeBlocks--;
+            return block;
+        }
+        int block = allocatedBlocks++;
+        int slab = block / blocksPerSlab;
+        if (slabs[slab] == null) {
+            slabs[slab] = ByteBuffer.allocateDirect(blocksPerSlab * blockSize);
+        }
+        return block;
+    }
+
+    private int dataOffset(int first, int position) {
+        if (position < 0 || position + Long.BYTES > blockSize - NEXT_SIZE - LENGTH_SIZE) {
+            throw new IndexOutOfBoundsException("Position outside of the first block: " + position);
+        }
+        return offset(first) + NEXT_SIZE + LENGTH_SIZE + position;
+    }
+
+    private ByteBuffer slab(int block) {
+        return slabs[block / blocksPerSlab];
+    }
+
+    private int offset(int block) {
+        return (block % blocksPerSlab) * blockSize;
+    }
+
+    private static void put(ByteBuffer slab, int offset, byte[] data, int from, int length) {
+        // cast for Java 8 compatibility of the covariant position method
+        ((Buffer) slab).position(offset);
+        slab.put(data, from, length);
+    }
+
+    private static void get(ByteBuffer slab, int offset, byte[] data, int from, int length) {
+        ((Buffer) slab).position(offset);
+        slab.get(data, from, length);
+    }
+}
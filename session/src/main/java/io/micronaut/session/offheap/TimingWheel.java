@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017-2022 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.session.offheap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A hierarchical timing wheel of integer entries. Each level has {@value #BUCKETS} buckets, a bucket of a level spans
+ * all the buckets of the level below. Entries are kept in intrusive doubly linked lists, so scheduling, rescheduling and
+ * cancelling are constant time. Entries are cascaded to the level below when its wheel wraps around. Not thread safe.
+ *
+ * @since 3.8.0
+ */
+final class TimingWheel {
+
+    static final int BUCKETS = 64;
+
+    private static final int BUCKET_BITS = 6;
+    private static final int LEVELS = 4;
+    private static final int NONE = -1;
+    private static final long MAX_DELAY_TICKS = (1L << (BUCKET_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final int[] heads = new int[BUCKETS * LEVELS];
+    private int[] next;
+    private int[] previous;
+    private int[] bucketOf;
+    private long[] deadlines;
+    private long currentTick;
+
+    /**
+     * @param tickMillis The duration of a tick
+     * @param nowMillis  The current time
+     * @param capacity   The initial number of entries
+     */
+    TimingWheel(long tickMillis, long nowMillis, int capacity) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        Arrays.fill(heads, NONE);
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.bucketOf = new int[capacity];
+        this.deadlines = new long[capacity];
+        Arrays.fill(bucketOf, NONE);
+    }
+
+    /**
+     * Makes room for entries up to the given capacity.
+     *
+     * @param capacity The number of entries
+     */
+    void ensureCapacity(int capacity) {
+        int length = bucketOf.length;
+        if (capacity > length) {
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            bucketOf = Arrays.copyOf(bucketOf, capacity);
+            Arrays.fill(bucketOf, length, capacity, NONE);
+        }
+    }
+
+    /**
+     * Schedules an entry, replacing any previous deadline.
+     *
+     * @param entry          The entry
+     * @param deadlineMillis The deadline
+     */
+    void schedule(int entry, long deadlineMillis) {
+        cancel(entry);
+        deadlines[entry] = deadlineMillis;
+        link(entry, currentTick + 1);
+    }
+
+    /**
+     * @param entry The entry
+     * @return The deadline of the entry
+     */
+    long deadline(int entry) {
+        return deadlines[entry];
+    }
+
+    /**
+     * Removes an entry from the wheel if it is scheduled.
+     *
+     * @param entry The entry
+     */
+    void cancel(int entry) {
+        int bucket = bucketOf[entry];
+        if (bucket == NONE) {
+            return;
+        }
+        int n = next[entry];
+        int p = previous[entry];
+        if (p == NONE) {
+            heads[bucket] = n;
+        } else {
+            next[p] = n;
+        }
+        if (n != NONE) {
+            previous[n] = p;
+        }
+        bucketOf[entry] = NONE;
+    }
+
+    /**
+     * Advances the wheel to the given time.
+     *
+     * @param nowMillis The current time
+     * @param expired   Receives the entries whose deadline passed, they are no longer scheduled
+     */
+    void advance(long nowMillis, IntConsumer expired) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            for (int level = 1; level < LEVELS && (currentTick & mask(level)) == 0; level++) {
+                cascade(level * BUCKETS + (int) ((currentTick >>> (BUCKET_BITS * level)) & (BUCKETS - 1)));
+            }
+            int bucket = (int) (currentTick & (BUCKETS - 1));
+            int entry = heads[bucket];
+            heads[bucket] = NONE;
+            while (entry != NONE) {
+                int n = next[entry];
+                bucketOf[entry] = NONE;
+                if (dueTick(entry) <= currentTick) {
+                    expired.accept(entry);
+                } else {
+                    // only entries clamped to the maximum delay are not due yet
+                    link(entry, currentTick + 1);
+                }
+                entry = n;
+            }
+        }
+    }
+
+    private void cascade(int bucket) {
+        int entry = heads[bucket];
+        heads[bucket] = NONE;
+        while (entry != NONE) {
+            int n = next[entry];
+            bucketOf[entry] = NONE;
+            // the bucket of the current tick is expired right after cascading
+            link(entry, currentTick);
+            entry = n;
+        }
+    }
+
+    private void link(int entry, long earliestTick) {
+        long tick = Math.max(dueTick(entry), earliestTick);
+        long delay = tick - currentTick;
+        if (delay > MAX_DELAY_TICKS) {
+            tick = currentTick + MAX_DELAY_TICKS;
+            delay = MAX_DELAY_TICKS;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (BUCKET_BITS * (level + 1))) {
+            level++;
+        }
+        int bucket = level * BUCKETS + (int) ((tick >>> (BUCKET_BITS * level)) & (BUCKETS - 1));
+        int head = heads[bucket];
+        next[entry] = head;
+        previous[entry] = NONE;
+        if (head != NONE) {
+            previous[head] = entry;
+        }
+        heads[bucket] = entry;
+        bucketOf[entry] = bucket;
+    }
+
+    private long dueTick(int entry) {
+        // round up so that entries never expire before their deadline
+        return (deadlines[entry] + tickMillis - 1) / tickMillis;
+    }
+
+    private static long mask(int level) {
+        return (1L << (BUCKET_BITS * level)) - 1;
+    }
+}
@@ -0,0 +1,184 @@
+package io.micronaut.session.offheap
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.session.Session
+import io.micronaut.session.SessionStore
+import io.micronaut.session.event.AbstractSessionEvent
+import io.micronaut.session.event.SessionCreatedEvent
+import io.micronaut.session.event.SessionDeletedEvent
+import io.micronaut.session.event.SessionExpiredEvent
+import jakarta.inject.Singleton
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class OffHeapSessionStoreSpec extends Specification {
+
+    void "test off-heap session store read and write"() {
+        when:
+        ApplicationContext applicationContext = ApplicationContext.run(['micronaut.session.off-heap.enabled': true])
+        SessionStore sessionStore = applicationContext.getBean(SessionStore)
+        OffHeapListener listener = applicationContext.getBean(OffHeapListener)
+        Session session = sessionStore.newSession()
+        session.put("foo", "bar")
+        session.put("count", 10)
+
+        then:
+        sessionStore instanceof OffHeapSessionStore
+        session.isNew()
+
+        when:
+        sessionStore.save(session).get()
+
+        then:
+        !session.isNew()
+        !session.isModified()
+        listener.events.size() == 1
+        listener.events[0] instanceof SessionCreatedEvent
+
+        when:
+        Session found = sessionStore.findSession(session.id).get().get()
+
+        then:
+        !found.is(session)
+        found.id == session.id
+        found.creationTime.toEpochMilli() == session.creationTime.toEpochMilli()
+        found.get("foo").get() == "bar"
+        found.get("count", Integer).get() == 10
+        !found.isModified()
+
+        when:
+        found.put("foo", "baz")
+        sessionStore.save(found).get()
+
+        then:
+        listener.events.size() == 1
+        sessionStore.findSession(session.id).get().get().get("foo").get() == "baz"
+
+        when:
+        sessionStore.deleteSession(session.id).get()
+
+        then:
+        listener.events.size() == 2
+        listener.events[1] instanceof SessionDeletedEvent
+        listener.events[1].source.get("foo").get() == "baz"
+        !sessionStore.findSession(session.id).get().isPresent()
+        applicationContext.getBean(OffHeapSessionStore).sessionCount == 0
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test off-heap session expiry"() {
+        when:
+        ApplicationContext applicationContext = ApplicationContext.run([
+                'micronaut.session.off-heap.enabled': true,
+                'micronaut.session.max-inactive-interval': 'PT1S'
+        ])
+        SessionStore sessionStore = applicationContext.getBean(SessionStore)
+        OffHeapListener listener = applicationContext.getBean(OffHeapListener)
+        Session session = sessionStore.newSession()
+        session.put("foo", "bar")
+        sessionStore.save(session).get()
+        String id = session.id
+        PollingConditions conditions = new PollingConditions(timeout: 5, initialDelay: 2)
+
+        then:
+        conditions.eventually {
+            assert !sessionStore.findSession(id).get().isPresent()
+            assert listener.events.any { it instanceof SessionExpiredEvent && it.source.id == id }
+        }
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test off-heap session prompt expiration"() {
+        when:
+        ApplicationContext applicationContext = ApplicationContext.run([
+                'micronaut.session.off-heap.enabled': true,
+                'micronaut.session.prompt-expiration': true,
+                'micronaut.session.max-inactive-interval': 'PT1S'
+        ])
+        SessionStore sessionStore = applicationContext.getBean(SessionStore)
+        OffHeapListener listener = applicationContext.getBean(OffHeapListener)
+        Session session = sessionStore.newSession()
+        sessionStore.save(session).get()
+
+        then:
+        new PollingConditions(timeout: 5, initialDelay: 1).eventually {
+            assert listener.events.any { it instanceof SessionExpiredEvent }
+        }
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test least recently used sessions are expired when the memory is exhausted"() {
+        when:
+        ApplicationContext applicationContext = ApplicationContext.run([
+                'micronaut.session.off-heap.enabled': true,
+                'micronaut.session.off-heap.max-memory': '16KB',
+                'micronaut.session.off-heap.slab-size': '4KB',
+                'micronaut.session.off-heap.block-size': 256
+        ])
+        OffHeapSessionStore sessionStore = applicationContext.getBean(OffHeapSessionStore)
+        OffHeapListener listener = applicationContext.getBean(OffHeapListener)
+        List<Session> sessions = (0..<8).collect {
+            Session session = sessionStore.newSession()
+            session.put("payload", 'x' * 2000)
+            sessionStore.save(session).get()
+        }
+
+        then:
+        sessionStore.usedMemory <= 16 * 1024
+        sessionStore.sessionCount < 8
+        listener.events.findAll { it instanceof SessionExpiredEvent }*.source*.id ==
+                sessions.take(8 - sessionStore.sessionCount)*.id
+        sessionStore.findSession(sessions.last().id).get().isPresent()
+        !sessionStore.findSession(sessions.first().id).get().isPresent()
+
+        when:
+        Session tooLarge = sessionStore.newSession()
+        tooLarge.put("payload", 'x' * 20000)
+        sessionStore.save(tooLarge).get()
+
+        then:
+        def e = thrown(Exception)
+        e.cause instanceof IllegalArgumentException
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test the maximum number of sessions is enforced"() {
+        when:
+        ApplicationContext applicationContext = ApplicationContext.run([
+                'micronaut.session.off-heap.enabled': true,
+                'micronaut.session.max-active-sessions': 2
+        ])
+        OffHeapSessionStore sessionStore = applicationContext.getBean(OffHeapSessionStore)
+        OffHeapSession first = sessionStore.save(sessionStore.newSession()).get()
+        OffHeapSession second = sessionStore.save(sessionStore.newSession()).get()
+        sessionStore.findSession(first.id).get()
+        OffHeapSession third = sessionStore.save(sessionStore.newSession()).get()
+
+        then:
+        sessionStore.sessionCount == 2
+        sessionStore.findSession(first.id).get().isPresent()
+        !sessionStore.findSession(second.id).get().isPresent()
+        sessionStore.findSession(third.id).get().isPresent()
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    @Singleton
+    static class OffHeapListener implements ApplicationEventListener<AbstractSessionEvent> {
+        List<AbstractSessionEvent> events = []
+        @Override
+        void onApplicationEvent(AbstractSessionEvent event) {
+            events.add(event)
+        }
+    }
+}
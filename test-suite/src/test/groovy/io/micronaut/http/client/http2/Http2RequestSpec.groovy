@@ -17,6 +17,8 @@ import io.micronaut.http.client.HttpClient
 import io.micronaut.http.client.HttpClientConfiguration
 import io.micronaut.http.client.StreamingHttpClient
 import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.netty.ConnectionPoolStatistics
+import io.micronaut.http.client.netty.DefaultHttpClient
 import io.micronaut.http.sse.Event
 import io.micronaut.http.ssl.AbstractClientSslConfiguration
 import io.micronaut.runtime.server.EmbeddedServer
@@ -144,6 +146,41 @@ class Http2RequestSpec extends Specification {
         server.close()
     }
 
+    void "test concurrent HTTP/2 requests are multiplexed over a single connection"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'micronaut.server.ssl.enabled': true,
+                "micronaut.server.http-version" : "2.0",
+                "micronaut.http.client.http-version" : "2.0",
+                'micronaut.server.ssl.buildSelfSigned': true,
+                'micronaut.server.ssl.port': -1,
+                'micronaut.http.client.ssl.insecure-trust-all-certificates': true
+        ])
+        DefaultHttpClient client = (DefaultHttpClient) server.getApplicationContext().getBean(HttpClient)
+
+        when:
+        List<String> results = Flux.range(0, 20)
+                .flatMap({ client.retrieve("${server.URL}/http2") })
+                .collectList()
+                .block()
+
+        then:
+        results.size() == 20
+        results.every { it == 'Version: HTTP_2_0' }
+
+        when:
+        List<ConnectionPoolStatistics> statistics = client.connectionPoolStatistics
+
+        then:
+        statistics.size() == 1
+        statistics[0].connections == 1
+        statistics[0].activeStreams == 0
+        statistics[0].pendingAcquires == 0
+
+        cleanup:
+        server.close()
+    }
+
 
     void "test HTTP/2 server with HTTP/1 client request works"() {
         given:
@@ -25,6 +25,7 @@ import org.reactivestreams.Publisher;
 
 import java.net.URI;
 import java.security.Principal;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -177,6 +178,66 @@ public interface WebSocketSession extends MutableConvertibleValues<Object>, Auto
         throw new UnsupportedOperationException("Ping not supported by this implementation");
     }
 
+    /**
+     * Subscribes this session to the given topic, so that it receives the messages broadcast to it. Subscribing
+     * again to the same topic has no effect, and the subscriptions end when the session closes.
+     *
+     * <p>Topics are optional: the default implementation throws {@link UnsupportedOperationException}, which
+     * implementations without a topic broadcaster keep. The Netty sessions support topics, client sessions only
+     * record the subscriptions since topics are broadcast by the server.</p>
+     *
+     * @param topic The topic, for example {@code room:42}
+     * @throws UnsupportedOperationException If the implementation does not support topics
+     * @throws WebSocketSessionException If the session is closed
+     * @see WebSocketBroadcaster#broadcastToTopic(String, Object, MediaType)
+     * @since 3.8.0
+     */
+    default void subscribe(@NonNull String topic) {
+        throw new UnsupportedOperationException("Topics not supported by this implementation");
+    }
+
+    /**
+     * Unsubscribes this session from the given topic. Unsubscribing from a topic the session is not subscribed to
+     * has no effect.
+     *
+     * @param topic The topic
+     * @throws UnsupportedOperationException If the implementation does not support topics, see {@link #subscribe(String)}
+     * @since 3.8.0
+     */
+    default void unsubscribe(@NonNull String topic) {
+        throw new UnsupportedOperationException("Topics not supported by this implementation");
+    }
+
+    /**
+     * @return The topics this session is subscribed to
+     * @since 3.8.0
+     */
+    @NonNull
+    default Set<String> getSubscriptions() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * The number of outbound bytes waiting for the session to become writable. Only sessions protected against slow
+     * consumers queue messages.
+     *
+     * @return The number of queued bytes
+     * @since 3.8.0
+     */
+    default long getQueuedBytes() {
+        return 0;
+    }
+
+    /**
+     * The number of outbound messages that were dropped because the session was too slow to consume them.
+     *
+     * @return The number of dropped messages
+     * @since 3.8.0
+     */
+    default long getDroppedMessages() {
+        return 0;
+    }
+
     /**
      * The subprotocol if one is used.
      * @return The subprotocol